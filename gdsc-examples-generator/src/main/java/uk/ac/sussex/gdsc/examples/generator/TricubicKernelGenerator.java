@@ -0,0 +1,1217 @@
+/*-
+ * #%L
+ * Code generators for the GDSC examples.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.generator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Generate the source for the tricubic functions.
+ *
+ * <p>A function class is created for each combination of coefficient precision and storage
+ * layout. Each class has the value, gradient, second derivative and Hessian kernels using the
+ * powers of the position and using a power table of each precision with the same storage layout.
+ * A matrix class is created to evaluate the kernels of each combination of coefficient precision,
+ * storage layout and power table precision.
+ *
+ * <p>The sources are written to the directory given as the first argument. This is run during
+ * the generate-sources phase of the benchmark module.
+ */
+public final class TricubicKernelGenerator {
+  /** The package of the generated sources. */
+  private static final String PACKAGE = "uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation";
+  /** The name of the generated matrix. */
+  static final String MATRIX = "TricubicFunctionMatrix";
+  /** The maximum line length. */
+  private static final int MAX_LINE = 100;
+  /** The indent for a statement. */
+  private static final String INDENT = "    ";
+  /** The indent for a continuation line. */
+  private static final String CONTINUATION = "        + ";
+  /** The name of each axis. */
+  private static final String[] AXIS = {"x", "y", "z"};
+
+  /** The note added to the documentation of a generated class. */
+  private static final String GENERATED = " *\n * <p>This class has been generated by"
+      + " {@code TricubicKernelGenerator} (gdsc-examples-generator).\n * Do not edit.\n";
+  /** The license header. */
+  private static final String HEADER = String.join("\n",
+      "/*-",
+      " * #%L",
+      " * Code for running JMH benchmarks to assess performance.",
+      " * %%",
+      " * Copyright (C) 2018 - 2020 Alex Herbert",
+      " * %%",
+      " * This program is free software: you can redistribute it and/or modify",
+      " * it under the terms of the GNU General Public License as",
+      " * published by the Free Software Foundation, either version 3 of the",
+      " * License, or (at your option) any later version.",
+      " *",
+      " * This program is distributed in the hope that it will be useful,",
+      " * but WITHOUT ANY WARRANTY; without even the implied warranty of",
+      " * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the",
+      " * GNU General Public License for more details.",
+      " *",
+      " * You should have received a copy of the GNU General Public",
+      " * License along with this program.  If not, see",
+      " * <http://www.gnu.org/licenses/gpl-3.0.html>.",
+      " * #L%",
+      " */",
+      "",
+      "package " + PACKAGE + ";",
+      "");
+
+  /** The single precision kernels using pairwise summation and the float power table. */
+  private static final String FLOAT_KERNELS = String.join("\n",
+      "  /**",
+      "   * Compute the value using single precision arithmetic. The 64 terms are combined"
+          + " using pairwise",
+      "   * summation.",
+      "   *",
+      "   * <p>Using a power table from {@link #computePowerTable(float, float, float)} the"
+          + " rounding error",
+      "   * is bounded by {@code gamma(15)} times the sum of the absolute terms, where",
+      "   * {@code gamma(n) = n u / (1 - n u)} and {@code u = 2^-24}. Each term has at most 8"
+          + " roundings in",
+      "   * the power table (2 for each cube and 2 for the products), 1 for the product with the",
+      "   * coefficient and 6 for the additions of the pairwise tree of depth log2(64).",
+      "   *",
+      "   * @param table the power table",
+      "   * @return the value",
+      "   * @see #computePowerTable(float, float, float)",
+      "   */",
+      "  public float valueFloat(float[] table) {",
+      "    return (sum16(table, 0) + sum16(table, 16)) + (sum16(table, 32) + sum16(table, 48));",
+      "  }",
+      "",
+      "  /**",
+      "   * Compute the value and gradient using single precision arithmetic. The terms are"
+          + " combined",
+      "   * using pairwise summation.",
+      "   *",
+      "   * <p>The rounding error of each partial derivative is bounded by {@code gamma(15)}"
+          + " times the sum",
+      "   * of the absolute terms (including the power factor). Each term has at most 7"
+          + " roundings in the",
+      "   * power table (the table entry has a power of at most 2 for the derivative"
+          + " dimension), 1 for the",
+      "   * product with the coefficient, 4 for the pairwise tree of the 16 terms of each"
+          + " power, 1 for the",
+      "   * power factor 3 and 2 for the additions of the 3 powers.",
+      "   *",
+      "   * @param table the power table",
+      "   * @param derivative1 the partial first order derivatives with respect to x,y,z",
+      "   * @return the value",
+      "   * @see #computePowerTable(float, float, float)",
+      "   */",
+      "  public float valueFloat(float[] table, float[] derivative1) {",
+      "    // Sum the terms for each power of the dimension then apply the power factor",
+      "    derivative1[0] = sumX(table, 0) + 2 * sumX(table, 1) + 3 * sumX(table, 2);",
+      "    derivative1[1] = sumY(table, 0) + 2 * sumY(table, 4) + 3 * sumY(table, 8);",
+      "    derivative1[2] = sumZ(table, 0) + 2 * sumZ(table, 16) + 3 * sumZ(table, 32);",
+      "    return valueFloat(table);",
+      "  }",
+      "",
+      "  /**",
+      "   * Sum the 16 terms {@code table[i] * coeff[i]} from the start index.",
+      "   *",
+      "   * @param table the power table",
+      "   * @param start the start index",
+      "   * @return the sum",
+      "   */",
+      "  private float sum16(float[] table, int start) {",
+      "    return (dot4(table, start, 0) + dot4(table, start + 4, 0))",
+      "        + (dot4(table, start + 8, 0) + dot4(table, start + 12, 0));",
+      "  }",
+      "",
+      "  /**",
+      "   * Sum the 16 terms for the derivative with respect to x for the power of x.",
+      "   *",
+      "   * @param table the power table",
+      "   * @param power the power of x in the table (0, 1 or 2)",
+      "   * @return the sum",
+      "   */",
+      "  private float sumX(float[] table, int power) {",
+      "    return (dotX(table, power) + dotX(table, power + 16))",
+      "        + (dotX(table, power + 32) + dotX(table, power + 48));",
+      "  }",
+      "",
+      "  /**",
+      "   * Sum the 16 terms for the derivative with respect to y for the power of y.",
+      "   *",
+      "   * @param table the power table",
+      "   * @param start the start index of the power of y in the table (0, 4 or 8)",
+      "   * @return the sum",
+      "   */",
+      "  private float sumY(float[] table, int start) {",
+      "    return (dot4(table, start, 4) + dot4(table, start + 16, 4))",
+      "        + (dot4(table, start + 32, 4) + dot4(table, start + 48, 4));",
+      "  }",
+      "",
+      "  /**",
+      "   * Sum the 16 terms for the derivative with respect to z for the power of z.",
+      "   *",
+      "   * @param table the power table",
+      "   * @param start the start index of the power of z in the table (0, 16 or 32)",
+      "   * @return the sum",
+      "   */",
+      "  private float sumZ(float[] table, int start) {",
+      "    return (dot4(table, start, 16) + dot4(table, start + 4, 16))",
+      "        + (dot4(table, start + 8, 16) + dot4(table, start + 12, 16));",
+      "  }",
+      "",
+      "  /**",
+      "   * Sum the 4 consecutive terms {@code table[i] * coeff[i + offset]} from the start index.",
+      "   *",
+      "   * @param table the power table",
+      "   * @param start the start index",
+      "   * @param offset the offset of the coefficients",
+      "   * @return the sum",
+      "   */",
+      "  private float dot4(float[] table, int start, int offset) {",
+      "    final int j = start + offset;",
+      "    return (table[start] * coeff[j] + table[start + 1] * coeff[j + 1])",
+      "        + (table[start + 2] * coeff[j + 2] + table[start + 3] * coeff[j + 3]);",
+      "  }",
+      "",
+      "  /**",
+      "   * Sum the 4 terms {@code table[i] * coeff[i + 1]} for each power of y from the start"
+          + " index.",
+      "   *",
+      "   * @param table the power table",
+      "   * @param start the start index",
+      "   * @return the sum",
+      "   */",
+      "  private float dotX(float[] table, int start) {",
+      "    return (table[start] * coeff[start + 1] + table[start + 4] * coeff[start + 5])",
+      "        + (table[start + 8] * coeff[start + 9] + table[start + 12] * coeff[start + 13]);",
+      "  }",
+      "",
+      "  /**",
+      "   * Compute the power table using single precision arithmetic.",
+      "   *",
+      "   * @param x the x position within the node (in [0, 1])",
+      "   * @param y the y position within the node (in [0, 1])",
+      "   * @param z the z position within the node (in [0, 1])",
+      "   * @return the power table",
+      "   */",
+      "  public static float[] computePowerTable(float x, float y, float z) {",
+      "    final float x2 = x * x;",
+      "    final float y2 = y * y;",
+      "    final float z2 = z * z;",
+      "    final float[] px = {1, x, x2, x2 * x};",
+      "    final float[] py = {1, y, y2, y2 * y};",
+      "    final float[] pz = {1, z, z2, z2 * z};",
+      "    final float[] table = new float[64];",
+      "    int n = 0;",
+      "    for (int k = 0; k < 4; k++) {",
+      "      for (int j = 0; j < 4; j++) {",
+      "        final float pyz = py[j] * pz[k];",
+      "        for (int i = 0; i < 4; i++) {",
+      "          table[n++] = px[i] * pyz;",
+      "        }",
+      "      }",
+      "    }",
+      "    return table;",
+      "  }",
+      "");
+
+  /**
+   * The precision of the stored values.
+   */
+  enum Precision {
+    /** Double precision. */
+    DOUBLE("double", "Double", "double"),
+    /** Single precision. */
+    FLOAT("float", "Float", "single");
+
+    /** The primitive type. */
+    final String primitive;
+    /** The name used as a prefix. */
+    final String prefix;
+    /** The description of the precision. */
+    final String description;
+
+    Precision(String primitive, String prefix, String description) {
+      this.primitive = primitive;
+      this.prefix = prefix;
+      this.description = description;
+    }
+  }
+
+  /**
+   * The storage layout of the 64 values.
+   */
+  enum Layout {
+    /** An array indexed using {@code i + 4 * j + 16 * k}. */
+    ARRAY("Array"),
+    /** An object with a field for each value named {@code xiyjzk}. */
+    DATA("Data");
+
+    /** The name used as a suffix. */
+    final String suffix;
+
+    Layout(String suffix) {
+      this.suffix = suffix;
+    }
+  }
+
+  /**
+   * The source of the powers of the position.
+   */
+  enum Powers {
+    /** Arrays of the double powers named {@code powerX}, etc. */
+    DOUBLE_ARRAY,
+    /** Arrays of the float powers named {@code powerX}, etc. */
+    FLOAT_ARRAY,
+    /** Cubic spline positions named {@code x}, etc. */
+    POSITION,
+    /** Local variables named {@code x1, x2, x3}, etc. */
+    SCALAR;
+  }
+
+  /**
+   * The kernel to compute.
+   */
+  enum Kernel {
+    /** The value. */
+    VALUE,
+    /** The value and gradient. */
+    GRADIENT,
+    /** The value, gradient and second derivatives. */
+    SECOND_DERIVATIVE,
+    /** The value, gradient and full Hessian. */
+    HESSIAN;
+  }
+
+  /** No public construction. */
+  private TricubicKernelGenerator() {}
+
+  /**
+   * Generate the sources. The argument is the source root directory.
+   *
+   * @param args the arguments
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 1) {
+      throw new IllegalArgumentException("Usage: TricubicKernelGenerator <source directory>");
+    }
+    final Path dir = Paths.get(args[0]).resolve(PACKAGE.replace('.', '/'));
+    Files.createDirectories(dir);
+    for (final Precision precision : Precision.values()) {
+      for (final Layout layout : Layout.values()) {
+        write(dir, className(precision, layout), generateFunction(precision, layout));
+      }
+    }
+    write(dir, MATRIX, generateMatrix());
+  }
+
+  private static void write(Path dir, String name, String source) throws IOException {
+    Files.write(dir.resolve(name + ".java"), source.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Get the name of the function class.
+   *
+   * @param precision the coefficient precision
+   * @param layout the storage layout
+   * @return the class name
+   */
+  static String className(Precision precision, Layout layout) {
+    return precision.prefix + "CustomTricubicFunction" + layout.suffix;
+  }
+
+  /**
+   * Get the type used to store 64 values.
+   *
+   * @param precision the precision
+   * @param layout the storage layout
+   * @return the type
+   */
+  static String type(Precision precision, Layout layout) {
+    return layout == Layout.ARRAY ? precision.primitive + "[]"
+        : precision.prefix + "CubicSplineData";
+  }
+
+  /**
+   * Get the reference to the value at the index.
+   *
+   * @param name the variable name
+   * @param layout the storage layout
+   * @param index the index
+   * @return the element
+   */
+  static String element(String name, Layout layout, int index) {
+    if (layout == Layout.ARRAY) {
+      return name + '[' + index + ']';
+    }
+    return name + ".x" + (index & 3) + 'y' + ((index >> 2) & 3) + 'z' + (index >> 4);
+  }
+
+  /**
+   * Get the reference to the power of the position.
+   *
+   * @param powers the source of the powers
+   * @param axis the axis
+   * @param power the power (1, 2 or 3)
+   * @return the power
+   */
+  static String power(Powers powers, int axis, int power) {
+    switch (powers) {
+      case POSITION:
+        return AXIS[axis] + ".x" + power;
+      case SCALAR:
+        return AXIS[axis] + power;
+      default:
+        return "power" + AXIS[axis].toUpperCase() + '[' + (power - 1) + ']';
+    }
+  }
+
+  /**
+   * Get the parameters for the powers of the position.
+   *
+   * @param powers the source of the powers
+   * @return the parameters
+   */
+  static List<String> powerParameters(Powers powers) {
+    final List<String> params = new ArrayList<>();
+    for (int axis = 0; axis < 3; axis++) {
+      switch (powers) {
+        case DOUBLE_ARRAY:
+          params.add("final double[] power" + AXIS[axis].toUpperCase());
+          break;
+        case FLOAT_ARRAY:
+          params.add("final float[] power" + AXIS[axis].toUpperCase());
+          break;
+        case POSITION:
+          params.add("final CubicSplinePosition " + AXIS[axis]);
+          break;
+        case SCALAR:
+        default:
+          for (int p = 1; p <= 3; p++) {
+            params.add("double " + AXIS[axis] + p);
+          }
+          break;
+      }
+    }
+    return params;
+  }
+
+  /**
+   * Create the rows of the polynomial in two axes for the fixed power of the remaining axis. Each
+   * row is the polynomial in the inner axis for a power of the outer axis, prefixed by the power
+   * of the outer axis.
+   *
+   * @param layout the storage layout
+   * @param powers the source of the powers
+   * @param outer the outer axis
+   * @param inner the inner axis
+   * @param fixed the fixed axis
+   * @param power the power of the fixed axis
+   * @return the rows
+   */
+  static List<String> rows(Layout layout, Powers powers, int outer, int inner, int fixed,
+      int power) {
+    final List<String> rows = new ArrayList<>(4);
+    for (int r = 0; r < 4; r++) {
+      final StringBuilder sb = new StringBuilder();
+      if (r != 0) {
+        sb.append(power(powers, outer, r)).append(" * ");
+      }
+      sb.append('(');
+      for (int q = 0; q < 4; q++) {
+        if (q != 0) {
+          sb.append(" + ").append(power(powers, inner, q)).append(" * ");
+        }
+        final int index = (r << (2 * outer)) + (q << (2 * inner)) + (power << (2 * fixed));
+        sb.append(element("coeff", layout, index));
+      }
+      rows.add(sb.append(')').toString());
+    }
+    return rows;
+  }
+
+  /**
+   * Create the rows of the polynomial for the partial derivative with respect to the axis for
+   * the power of the axis.
+   *
+   * @param layout the storage layout
+   * @param powers the source of the powers
+   * @param axis the axis
+   * @param power the power
+   * @return the rows
+   */
+  private static List<String> factorRows(Layout layout, Powers powers, int axis, int power) {
+    return rows(layout, powers, axis == 2 ? 1 : 2, axis == 0 ? 1 : 0, axis, power);
+  }
+
+  /**
+   * Append the statement using the lines. The first line follows the left hand side and the
+   * remaining lines are continuation lines.
+   *
+   * @param sb the source
+   * @param indent the indent of the statement
+   * @param lhs the left hand side of the statement
+   * @param lines the lines
+   */
+  private static void appendLines(StringBuilder sb, String indent, String lhs,
+      List<String> lines) {
+    sb.append(indent).append(lhs).append(lines.get(0)).append('\n');
+    for (int i = 1; i < lines.size(); i++) {
+      sb.append(indent).append(INDENT).append("+ ").append(lines.get(i)).append('\n');
+    }
+    sb.setLength(sb.length() - 1);
+    sb.append(";\n");
+  }
+
+  /**
+   * Create the lines of the polynomial of the power of the position. The polynomial is arranged
+   * as z(y(x)). If the factors of z are provided the terms with a power of z use the factors.
+   *
+   * @param layout the storage layout
+   * @param powers the source of the powers
+   * @param factorZ the prefix of the factors of z (or null)
+   * @return the lines
+   */
+  private static List<String> valueLines(Layout layout, Powers powers, String factorZ) {
+    final List<String> lines = new ArrayList<>(rows(layout, powers, 1, 0, 2, 0));
+    for (int k = 1; k < 4; k++) {
+      final String z = power(powers, 2, k) + " * ";
+      if (factorZ != null) {
+        lines.add(z + factorZ + k);
+        continue;
+      }
+      final List<String> rows = rows(layout, powers, 1, 0, 2, k);
+      lines.add(z + '(' + rows.get(0));
+      for (int j = 1; j < 4; j++) {
+        lines.add(INDENT + "+ " + rows.get(j) + (j == 3 ? ")" : ""));
+      }
+    }
+    // The nested lines are continuation lines of the previous line
+    final List<String> result = new ArrayList<>(lines.size());
+    for (final String line : lines) {
+      if (line.startsWith(INDENT)) {
+        final int last = result.size() - 1;
+        result.set(last, result.get(last) + "\n        " + line);
+      } else {
+        result.add(line);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Create the terms of the partial derivative of the function. The term for each coefficient
+   * x^i y^j z^k is the coefficient multiplied by the derivative of the power; this is the table
+   * entry of the reduced power multiplied by an integer factor.
+   *
+   * <p>If the tables are scaled the factors 1, 2, 3 and 6 use the table of the same scale. Terms
+   * with other factors are summed and then scaled.
+   *
+   * @param layout the storage layout
+   * @param scaled true to use the power tables scaled by 2, 3 and 6
+   * @param order the order of the derivative with respect to x, y and z
+   * @return the terms
+   */
+  static List<String> terms(Layout layout, boolean scaled, int... order) {
+    final List<String> terms = new ArrayList<>(64);
+    final Map<Integer, List<String>> groups = new TreeMap<>();
+    for (int n = 0; n < 64; n++) {
+      final int[] power = {n & 3, (n >> 2) & 3, n >> 4};
+      int factor = 1;
+      int index = 0;
+      boolean zero = false;
+      for (int axis = 0; axis < 3; axis++) {
+        if (power[axis] < order[axis]) {
+          zero = true;
+          break;
+        }
+        for (int m = 0; m < order[axis]; m++) {
+          factor *= power[axis] - m;
+        }
+        index += (power[axis] - order[axis]) << (2 * axis);
+      }
+      if (zero) {
+        continue;
+      }
+      final String coeff = " * " + element("coeff", layout, n);
+      if (factor == 1) {
+        terms.add(element("table", layout, index) + coeff);
+      } else if (!scaled) {
+        terms.add(factor + " * " + element("table", layout, index) + coeff);
+      } else if (factor == 2 || factor == 3 || factor == 6) {
+        terms.add(element("table" + factor, layout, index) + coeff);
+      } else {
+        groups.computeIfAbsent(factor, f -> new ArrayList<>())
+            .add(element("table", layout, index) + coeff);
+      }
+    }
+    groups.forEach((factor, group) -> {
+      final int last = group.size() - 1;
+      group.set(0, factor + " * (" + group.get(0));
+      group.set(last, group.get(last) + ')');
+      terms.addAll(group);
+    });
+    return terms;
+  }
+
+  /**
+   * Create the terms of the value for the lane of the axis. The lane contains the table entries
+   * with the given power of the axis. The coefficient is offset by the power of the axis for the
+   * partial derivative.
+   *
+   * @param layout the storage layout
+   * @param axis the axis
+   * @param power the power of the axis
+   * @param derivative true to offset the coefficient for the partial derivative
+   * @return the terms
+   */
+  static List<String> lane(Layout layout, int axis, int power, boolean derivative) {
+    final List<String> terms = new ArrayList<>(16);
+    for (int n = 0; n < 64; n++) {
+      if (((n >> (2 * axis)) & 3) == power) {
+        final int index = derivative ? n + (1 << (2 * axis)) : n;
+        terms.add(element("table", layout, n) + " * " + element("coeff", layout, index));
+      }
+    }
+    return terms;
+  }
+
+  /**
+   * Append the statement assigning the sum of the terms, wrapping lines at the maximum length.
+   *
+   * @param sb the source
+   * @param lhs the left hand side of the statement including the assignment operator
+   * @param terms the terms
+   */
+  static void appendSum(StringBuilder sb, String lhs, List<String> terms) {
+    final StringBuilder line = new StringBuilder(MAX_LINE).append(INDENT).append(lhs);
+    for (int i = 0; i < terms.size(); i++) {
+      final String piece = i == 0 ? terms.get(i) : " + " + terms.get(i);
+      final int end = i == terms.size() - 1 ? 1 : 0;
+      if (i != 0 && line.length() + piece.length() + end > MAX_LINE) {
+        sb.append(line).append('\n');
+        line.setLength(0);
+        line.append(CONTINUATION).append(terms.get(i));
+      } else {
+        line.append(piece);
+      }
+    }
+    sb.append(line).append(";\n");
+  }
+
+  /**
+   * Append the method signature, wrapping the parameters at the maximum line length.
+   *
+   * @param sb the source
+   * @param start the start of the signature including the opening parenthesis
+   * @param params the parameters
+   */
+  static void appendSignature(StringBuilder sb, String start, List<String> params) {
+    final StringBuilder line = new StringBuilder(MAX_LINE).append("  ").append(start);
+    for (int i = 0; i < params.size(); i++) {
+      final String piece = params.get(i) + (i == params.size() - 1 ? ") {" : ",");
+      if (i != 0 && line.length() + 1 + piece.length() > MAX_LINE) {
+        sb.append(line).append('\n');
+        line.setLength(0);
+        line.append("     ");
+      }
+      if (i != 0) {
+        line.append(' ');
+      }
+      line.append(piece);
+    }
+    sb.append(line).append('\n');
+  }
+
+  private static List<String> params(String... params) {
+    final List<String> list = new ArrayList<>(params.length);
+    for (final String param : params) {
+      list.add(param);
+    }
+    return list;
+  }
+
+  private static List<String> params(List<String> first, String... params) {
+    final List<String> list = new ArrayList<>(first);
+    list.addAll(params(params));
+    return list;
+  }
+
+  /**
+   * Generate the function class.
+   *
+   * @param precision the coefficient precision
+   * @param layout the storage layout
+   * @return the source
+   */
+  static String generateFunction(Precision precision, Layout layout) {
+    final String name = className(precision, layout);
+    final StringBuilder sb = new StringBuilder(1 << 18).append(HEADER);
+    sb.append("\n/**\n * 3D-spline function using ").append(precision.description)
+        .append(" precision float values to store the coefficients in ")
+        .append(layout == Layout.ARRAY ? "an array." : "an object\n * with a field per"
+            + " coefficient.")
+        .append("\n *\n * <p>This class is immutable.\n").append(GENERATED)
+        .append(" */\npublic class ").append(name).append(" {\n")
+        .append("  /** The 64 coefficients (coeff) for the tri-cubic function. */\n")
+        .append("  private final ").append(type(precision, layout)).append(" coeff;\n\n")
+        .append("  /**\n   * Create a new instance.\n   *\n")
+        .append("   * @param coefficients the 64 spline coefficients\n   */\n")
+        .append("  ").append(name).append('(').append(type(precision, layout))
+        .append(" coefficients) {\n    this.coeff = coefficients;\n  }\n\n")
+        .append("  // CHECKSTYLE.OFF: JavadocMethod\n");
+
+    appendValue000(sb, layout);
+
+    sb.append("\n  // Allow the working variables for the power computation\n")
+        .append("  // to be declared at the top of the method\n")
+        .append("  // CHECKSTYLE.OFF: VariableDeclarationUsageDistance\n")
+        .append("  // CHECKSTYLE.OFF: LocalVariableName\n");
+    final List<Powers> sources = new ArrayList<>();
+    sources.add(Powers.DOUBLE_ARRAY);
+    if (precision == Precision.FLOAT) {
+      sources.add(Powers.FLOAT_ARRAY);
+    }
+    sources.add(Powers.POSITION);
+    for (final Powers powers : sources) {
+      appendPowerKernel(sb, layout, powers, "protected", Kernel.VALUE);
+      appendPowerKernel(sb, layout, powers, "protected", Kernel.GRADIENT);
+      appendPowerKernel(sb, layout, powers, "protected", Kernel.SECOND_DERIVATIVE);
+    }
+    appendBatch(sb, layout);
+
+    sb.append("\n  // CHECKSTYLE.ON: VariableDeclarationUsageDistance\n")
+        .append("  // CHECKSTYLE.ON: LocalVariableName\n");
+    for (final Precision table : Precision.values()) {
+      final String tableType = type(table, layout);
+      for (final Kernel kernel : Kernel.values()) {
+        appendTableKernel(sb, layout, tableType, kernel, false);
+      }
+      appendGradient(sb, layout, tableType);
+      appendLanes(sb, layout, tableType, precision == Precision.FLOAT && table == Precision.FLOAT);
+      appendScaledKernels(sb, layout, tableType);
+    }
+    if (precision == Precision.FLOAT && layout == Layout.ARRAY) {
+      sb.append('\n').append(FLOAT_KERNELS);
+    }
+    return sb.append("}\n").toString();
+  }
+
+  private static void appendValue000(StringBuilder sb, Layout layout) {
+    final String value = element("coeff", layout, 0);
+    final String[] d1 = new String[3];
+    final String[] d2 = new String[3];
+    for (int axis = 0; axis < 3; axis++) {
+      d1[axis] = "    derivative1[" + axis + "] = " + element("coeff", layout, 1 << (2 * axis))
+          + ";\n";
+      d2[axis] = "    derivative2[" + axis + "] = 2 * " + element("coeff", layout, 2 << (2 * axis))
+          + ";\n";
+    }
+    sb.append("\n  public double value000() {\n    return ").append(value).append(";\n  }\n")
+        .append("\n  public double value000(double[] derivative1) {\n")
+        .append(d1[0]).append(d1[1]).append(d1[2])
+        .append("    return ").append(value).append(";\n  }\n")
+        .append("\n  public double value000(double[] derivative1, double[] derivative2) {\n")
+        .append(d1[0]).append(d1[1]).append(d1[2]).append(d2[0]).append(d2[1]).append(d2[2])
+        .append("    return ").append(value).append(";\n  }\n");
+  }
+
+  /**
+   * Append the kernel using the powers of the position. The derivatives with respect to each
+   * axis are computed using the factors of each power of the axis.
+   *
+   * @param sb the source
+   * @param layout the storage layout
+   * @param powers the source of the powers
+   * @param modifier the access modifier
+   * @param kernel the kernel (value, gradient or second derivative)
+   */
+  private static void appendPowerKernel(StringBuilder sb, Layout layout, Powers powers,
+      String modifier, Kernel kernel) {
+    final String method = modifier + " double value" + kernel.ordinal() + '(';
+    List<String> params = powerParameters(powers);
+    if (kernel != Kernel.VALUE) {
+      params = params(params, "final double[] derivative1");
+    }
+    if (kernel == Kernel.SECOND_DERIVATIVE) {
+      params = params(params, "final double[] derivative2");
+    }
+    sb.append('\n');
+    appendSignature(sb, method, params);
+    sb.append("    //@formatter:off\n");
+    if (kernel == Kernel.VALUE) {
+      appendLines(sb, INDENT, "return ", valueLines(layout, powers, null));
+    } else {
+      for (int axis = 0; axis < 3; axis++) {
+        final String factor = "factor" + AXIS[axis].toUpperCase();
+        sb.append("    // Pre-compute the factors for ").append(AXIS[axis]).append('\n');
+        for (int p = 1; p < 4; p++) {
+          appendLines(sb, INDENT, "final double " + factor + p + " = ",
+              factorRows(layout, powers, axis, p));
+        }
+        sb.append("    derivative1[").append(axis).append("] = ").append(factor).append("1 + 2 * ")
+            .append(power(powers, axis, 1)).append(" * ").append(factor).append("2 + 3 * ")
+            .append(power(powers, axis, 2)).append(" * ").append(factor).append("3;\n");
+        if (kernel == Kernel.SECOND_DERIVATIVE) {
+          sb.append("    derivative2[").append(axis).append("] = 2 * ").append(factor)
+              .append("2 + 6 * ").append(power(powers, axis, 1)).append(" * ").append(factor)
+              .append("3;\n");
+        }
+      }
+      sb.append("    // The computation for the value is arranged using zyx so reuse the factors"
+          + " for z\n");
+      appendLines(sb, INDENT, "return ", valueLines(layout, powers, "factorZ"));
+    }
+    sb.append("    //@formatter:on\n  }\n");
+  }
+
+  /**
+   * Append the evaluation of the value for points and the lattice evaluation.
+   *
+   * @param sb the source
+   * @param layout the storage layout
+   */
+  private static void appendBatch(StringBuilder sb, Layout layout) {
+    sb.append("\n  /**\n")
+        .append("   * Compute the value at each of the sample points. The powers of each point are"
+            + " computed on the\n")
+        .append("   * fly. The point coordinates must be in the range [0, 1] within the spline"
+            + " node.\n")
+        .append("   *\n   * @param x the x coordinates\n   * @param y the y coordinates\n")
+        .append("   * @param z the z coordinates\n")
+        .append("   * @param out the output values (the length defines the number of points)\n")
+        .append("   */\n")
+        .append("  public void batchValue(double[] x, double[] y, double[] z, double[] out) {\n")
+        .append("    for (int i = 0; i < out.length; i++) {\n")
+        .append("      final double x1 = x[i];\n")
+        .append("      final double y1 = y[i];\n")
+        .append("      final double z1 = z[i];\n")
+        .append("      out[i] = value0(x1, x1 * x1, x1 * x1 * x1, y1, y1 * y1, y1 * y1 * y1, z1,"
+            + " z1 * z1,\n")
+        .append("          z1 * z1 * z1);\n")
+        .append("    }\n  }\n")
+        .append("\n  /**\n")
+        .append("   * Compute the value at a batch of points using the pre-computed positions.\n")
+        .append("   *\n   * @param x the x positions\n   * @param y the y positions\n")
+        .append("   * @param z the z positions\n   * @param out the output values\n")
+        .append("   * @throws IllegalArgumentException if the number of positions and output"
+            + " values do not match\n")
+        .append("   */\n")
+        .append("  public void batchValue(CubicSplinePositions x, CubicSplinePositions y,"
+            + " CubicSplinePositions z,\n")
+        .append("      double[] out) {\n")
+        .append("    final int size = x.size();\n")
+        .append("    if (y.size() != size || z.size() != size || out.length != size) {\n")
+        .append("      throw new IllegalArgumentException(\"Size mismatch: x=\" + size + \","
+            + " y=\" + y.size() + \", z=\"\n")
+        .append("          + z.size() + \", out=\" + out.length);\n")
+        .append("    }\n")
+        .append("    for (int i = 0; i < size; i++) {\n")
+        .append("      out[i] = value0(x.x1[i], x.x2[i], x.x3[i], y.x1[i], y.x2[i], y.x3[i],"
+            + " z.x1[i], z.x2[i],\n")
+        .append("          z.x3[i]);\n")
+        .append("    }\n  }\n")
+        .append("\n  /**\n   * Compute the value using the powers of the position.\n   *\n");
+    for (int axis = 0; axis < 3; axis++) {
+      sb.append("   * @param ").append(AXIS[axis]).append("1 ").append(AXIS[axis]).append('\n')
+          .append("   * @param ").append(AXIS[axis]).append("2 ").append(AXIS[axis])
+          .append("^2\n")
+          .append("   * @param ").append(AXIS[axis]).append("3 ").append(AXIS[axis])
+          .append("^3\n");
+    }
+    sb.append("   * @return the value\n   */");
+    appendPowerKernel(sb, layout, Powers.SCALAR, "private", Kernel.VALUE);
+    sb.append("\n  /**\n   * Compute the value at the position.\n   *\n")
+        .append("   * @param x the x position\n   * @param y the y position\n")
+        .append("   * @param z the z position\n   * @return the value\n   */\n")
+        .append("  public double value(CubicSplinePosition x, CubicSplinePosition y,"
+            + " CubicSplinePosition z) {\n")
+        .append("    return value0(x.x1, x.x2, x.x3, y.x1, y.x2, y.x3, z.x1, z.x2, z.x3);\n")
+        .append("  }\n")
+        .append("\n  /**\n   * Compute the value at the position.\n   *\n")
+        .append("   * @param x the x position\n   * @param y the y position\n")
+        .append("   * @param z the z position\n   * @return the value\n   */\n")
+        .append("  public double value(MutableCubicSplinePosition x, MutableCubicSplinePosition"
+            + " y,\n")
+        .append("      MutableCubicSplinePosition z) {\n")
+        .append("    return value0(x.powers, y.powers, z.powers);\n")
+        .append("  }\n")
+        .append("\n  /**\n")
+        .append("   * Compute the value at each point of a lattice. The point coordinates must"
+            + " be in the range\n")
+        .append("   * [0, 1] within the spline node.\n   *\n")
+        .append("   * <p>The polynomial is evaluated using Horner's method in z, then y, then x."
+            + " The 16 terms in z\n")
+        .append("   * are computed once per plane and the 4 terms in y once per row leaving 3"
+            + " multiplies per point.\n")
+        .append("   * The terms are held in local variables so no working storage is"
+            + " allocated.\n")
+        .append("   * The output is packed with x changing fastest, then y, then z.\n   *\n")
+        .append("   * @param x the x coordinates of the lattice\n")
+        .append("   * @param y the y coordinates of the lattice\n")
+        .append("   * @param z the z coordinates of the lattice\n")
+        .append("   * @param out the output values (length {@code x.length * y.length *"
+            + " z.length})\n")
+        .append("   */\n")
+        .append("  public void latticeValue(double[] x, double[] y, double[] z, double[] out)"
+            + " {\n")
+        .append("    int index = 0;\n")
+        .append("    for (final double zz : z) {\n");
+    for (int n = 0; n < 16; n++) {
+      sb.append("      final double b").append(n).append(" = ")
+          .append(element("coeff", layout, n)).append(" + zz * (")
+          .append(element("coeff", layout, n + 16)).append(" + zz * (")
+          .append(element("coeff", layout, n + 32)).append(" + zz * ")
+          .append(element("coeff", layout, n + 48)).append("));\n");
+    }
+    sb.append("      for (final double yy : y) {\n");
+    for (int i = 0; i < 4; i++) {
+      sb.append("        final double a").append(i).append(" = b").append(i)
+          .append(" + yy * (b").append(i + 4).append(" + yy * (b").append(i + 8)
+          .append(" + yy * b").append(i + 12).append("));\n");
+    }
+    sb.append("        for (final double xx : x) {\n")
+        .append("          out[index++] = a0 + xx * (a1 + xx * (a2 + xx * a3));\n")
+        .append("        }\n      }\n    }\n  }\n");
+  }
+
+  private static void appendTableKernel(StringBuilder sb, Layout layout, String tableType,
+      Kernel kernel, boolean scaled) {
+    final List<String> params = params(tableType + " table");
+    if (scaled) {
+      params.add(tableType + " table2");
+      params.add(tableType + " table3");
+      if (kernel != Kernel.GRADIENT) {
+        params.add(tableType + " table6");
+      }
+    }
+    if (kernel != Kernel.VALUE) {
+      params.add("double[] derivative1");
+    }
+    if (kernel == Kernel.SECOND_DERIVATIVE) {
+      params.add("double[] derivative2");
+    } else if (kernel == Kernel.HESSIAN) {
+      params.add("double[] hessian");
+    }
+    sb.append('\n');
+    if (scaled && kernel == Kernel.HESSIAN) {
+      sb.append("  /**\n")
+          .append("   * Compute the value, gradient and the full Hessian matrix in a single pass"
+              + " using the power\n")
+          .append("   * table and the power table scaled by 2, 3 and 6. Cross terms with a factor"
+              + " of 4 or 9 are\n")
+          .append("   * summed and then scaled.\n   *\n")
+          .append("   * <p>The Hessian is a symmetric 3x3 matrix of the second order partial"
+              + " derivatives with respect\n")
+          .append("   * to x, y and z stored in row-major order.\n   *\n")
+          .append("   * @param table the power table\n")
+          .append("   * @param table2 the power table * 2\n")
+          .append("   * @param table3 the power table * 3\n")
+          .append("   * @param table6 the power table * 6\n")
+          .append("   * @param derivative1 the partial first order derivatives with respect to"
+              + " x,y,z\n")
+          .append("   * @param hessian the Hessian (length 9)\n")
+          .append("   * @return the value\n   */\n");
+    }
+    appendSignature(sb, kernel == Kernel.HESSIAN ? "public double valueHessian("
+        : "public double value(", params);
+    appendDerivatives(sb, layout, kernel, scaled);
+    appendSum(sb, "return ", terms(layout, false, 0, 0, 0));
+    sb.append("  }\n");
+  }
+
+  private static void appendDerivatives(StringBuilder sb, Layout layout, Kernel kernel,
+      boolean scaled) {
+    if (kernel != Kernel.VALUE) {
+      for (int axis = 0; axis < 3; axis++) {
+        appendSum(sb, "derivative1[" + axis + "] = ", terms(layout, scaled, unit(axis, 1)));
+      }
+    }
+    if (kernel == Kernel.SECOND_DERIVATIVE) {
+      for (int axis = 0; axis < 3; axis++) {
+        appendSum(sb, "derivative2[" + axis + "] = ", terms(layout, scaled, unit(axis, 2)));
+      }
+    } else if (kernel == Kernel.HESSIAN) {
+      // Upper triangle of the symmetric matrix
+      for (int a = 0; a < 3; a++) {
+        for (int b = a; b < 3; b++) {
+          final int[] order = unit(a, 1);
+          order[b]++;
+          appendSum(sb, "hessian[" + (a * 3 + b) + "] = ", terms(layout, scaled, order));
+        }
+      }
+      sb.append("    hessian[3] = hessian[1];\n")
+          .append("    hessian[6] = hessian[2];\n")
+          .append("    hessian[7] = hessian[5];\n");
+    }
+  }
+
+  private static void appendGradient(StringBuilder sb, Layout layout, String tableType) {
+    sb.append('\n');
+    appendSignature(sb, "public void gradient(",
+        params(tableType + " table", "double[] derivative1"));
+    appendDerivatives(sb, layout, Kernel.GRADIENT, false);
+    sb.append("  }\n");
+  }
+
+  /**
+   * Append the kernels that sum the terms in independent lanes. Each lane is the terms with a
+   * power of the axis.
+   *
+   * @param sb the source
+   * @param layout the storage layout
+   * @param tableType the table type
+   * @param single true to sum using single precision
+   */
+  private static void appendLanes(StringBuilder sb, Layout layout, String tableType,
+      boolean single) {
+    final String sum = single ? "final float " : "final double ";
+    sb.append('\n');
+    appendSignature(sb, "public double valueLanes(", params(tableType + " table"));
+    for (int p = 0; p < 4; p++) {
+      appendSum(sb, sum + 's' + p + " = ", lane(layout, 0, p, false));
+    }
+    sb.append("    return (s0 + s1) + (s2 + s3);\n  }\n\n");
+    appendSignature(sb, "public double valueLanes(",
+        params(tableType + " table", "double[] derivative1"));
+    sb.append("    // Lanes for each power of x\n");
+    for (int p = 0; p < 4; p++) {
+      appendSum(sb, sum + 's' + p + " = ", lane(layout, 0, p, false));
+    }
+    for (int axis = 0; axis < 3; axis++) {
+      if (axis != 0) {
+        sb.append("    // Lanes for each power of ").append(AXIS[axis]).append('\n');
+      }
+      for (int p = 0; p < 3; p++) {
+        appendSum(sb, sum + 'd' + AXIS[axis] + p + " = ", lane(layout, axis, p, true));
+      }
+    }
+    for (int axis = 0; axis < 3; axis++) {
+      final String d = "d" + AXIS[axis];
+      sb.append("    derivative1[").append(axis).append("] = ").append(d).append("0 + 2 * ")
+          .append(d).append("1 + 3 * ").append(d).append("2;\n");
+    }
+    sb.append("    return (s0 + s1) + (s2 + s3);\n  }\n\n");
+    appendSignature(sb, "public double value(",
+        params(tableType + " table", "TricubicKernel kernel"));
+    sb.append("    return kernel == TricubicKernel.LANES ? valueLanes(table) : value(table);\n")
+        .append("  }\n\n");
+    appendSignature(sb, "public double value(",
+        params(tableType + " table", "double[] derivative1", "TricubicKernel kernel"));
+    sb.append("    return kernel == TricubicKernel.LANES ? valueLanes(table, derivative1)\n")
+        .append("        : value(table, derivative1);\n  }\n");
+  }
+
+  private static void appendScaledKernels(StringBuilder sb, Layout layout, String tableType) {
+    appendTableKernel(sb, layout, tableType, Kernel.GRADIENT, true);
+    appendTableKernel(sb, layout, tableType, Kernel.SECOND_DERIVATIVE, true);
+    appendTableKernel(sb, layout, tableType, Kernel.HESSIAN, true);
+  }
+
+  private static int[] unit(int axis, int order) {
+    final int[] result = new int[3];
+    result[axis] = order;
+    return result;
+  }
+
+  /**
+   * Generate the matrix of the kernels for each combination of coefficient precision, storage
+   * layout and power table precision.
+   *
+   * @return the source
+   */
+  static String generateMatrix() {
+    final StringBuilder sb = new StringBuilder(1 << 15).append(HEADER);
+    sb.append("\nimport uk.ac.sussex.gdsc.core.utils.SimpleArrayUtils;\n\n")
+        .append("/**\n")
+        .append(" * Evaluate the tricubic function kernels for a combination of the coefficient"
+            + " precision, the\n")
+        .append(" * storage layout and the power table precision. Each combination is a"
+            + " separate implementation\n")
+        .append(" * so a call site that uses a single combination is monomorphic.\n")
+        .append(GENERATED)
+        .append(" */\n")
+        .append("public abstract class ").append(MATRIX).append(" {\n")
+        .append("  /**\n   * The precision of the stored values.\n   */\n")
+        .append("  public enum Precision {\n");
+    final Precision[] precisions = Precision.values();
+    for (final Precision precision : precisions) {
+      sb.append("    /** ").append(precision.prefix).append(" precision. */\n")
+          .append("    ").append(precision.name())
+          .append(precision.ordinal() == precisions.length - 1 ? ";\n" : ",\n");
+    }
+    sb.append("  }\n\n")
+        .append("  /**\n   * The storage layout of the 64 values.\n   */\n")
+        .append("  public enum Layout {\n")
+        .append("    /** An array. */\n    ARRAY,\n")
+        .append("    /** An object with a field for each value. */\n    DATA;\n")
+        .append("  }\n\n")
+        .append("  /**\n   * Create an instance.\n   *\n")
+        .append("   * @param coefficients the precision of the coefficients\n")
+        .append("   * @param layout the storage layout\n")
+        .append("   * @param table the precision of the power table\n")
+        .append("   * @param nodes the 64 coefficients of each function\n")
+        .append("   * @param x the x position of each sample\n")
+        .append("   * @param y the y position of each sample\n")
+        .append("   * @param z the z position of each sample\n")
+        .append("   * @return the matrix\n   */\n")
+        .append("  public static ").append(MATRIX)
+        .append(" create(Precision coefficients, Layout layout,\n")
+        .append("      Precision table, double[][] nodes, CubicSplinePosition[] x,"
+            + " CubicSplinePosition[] y,\n")
+        .append("      CubicSplinePosition[] z) {\n");
+    final List<String> combinations = new ArrayList<>();
+    for (final Precision precision : precisions) {
+      for (final Layout layout : Layout.values()) {
+        for (final Precision table : precisions) {
+          final String name = precision.prefix + layout.suffix + table.prefix + "Table";
+          if (!combinations.isEmpty()) {
+            sb.append("    if (coefficients == Precision.").append(combinations.get(0))
+                .append(" && layout == Layout.").append(combinations.get(1))
+                .append(" && table == Precision.").append(combinations.get(2)).append(") {\n")
+                .append("      return new ").append(combinations.get(3))
+                .append("(nodes, x, y, z);\n    }\n");
+            combinations.clear();
+          }
+          combinations.add(precision.name());
+          combinations.add(layout.name());
+          combinations.add(table.name());
+          combinations.add(name);
+        }
+      }
+    }
+    sb.append("    return new ").append(combinations.get(3)).append("(nodes, x, y, z);\n  }\n");
+
+    sb.append("\n  /**\n   * Compute the value of the function using the power table of the"
+        + " sample.\n   *\n")
+        .append("   * @param function the function index\n")
+        .append("   * @param sample the sample index\n")
+        .append("   * @return the value\n   */\n")
+        .append("  public abstract double value(int function, int sample);\n")
+        .append("\n  /**\n   * Compute the value and gradient of the function using the power"
+            + " table of the sample.\n   *\n")
+        .append("   * @param function the function index\n")
+        .append("   * @param sample the sample index\n")
+        .append("   * @param derivative1 the partial first order derivatives with respect to"
+            + " x,y,z\n")
+        .append("   * @return the value\n   */\n")
+        .append("  public abstract double value(int function, int sample, double[]"
+            + " derivative1);\n")
+        .append("\n  /**\n   * Compute the value, gradient and second derivatives of the function"
+            + " using the power table\n   * of the sample.\n   *\n")
+        .append("   * @param function the function index\n")
+        .append("   * @param sample the sample index\n")
+        .append("   * @param derivative1 the partial first order derivatives with respect to"
+            + " x,y,z\n")
+        .append("   * @param derivative2 the partial second order derivatives with respect to"
+            + " x,y,z\n")
+        .append("   * @return the value\n   */\n")
+        .append("  public abstract double value(int function, int sample, double[]"
+            + " derivative1,\n")
+        .append("      double[] derivative2);\n")
+        .append("\n  /**\n   * Compute the value, gradient and Hessian of the function using the"
+            + " power table of the\n   * sample.\n   *\n")
+        .append("   * @param function the function index\n")
+        .append("   * @param sample the sample index\n")
+        .append("   * @param derivative1 the partial first order derivatives with respect to"
+            + " x,y,z\n")
+        .append("   * @param hessian the Hessian (length 9)\n")
+        .append("   * @return the value\n   */\n")
+        .append("  public abstract double valueHessian(int function, int sample, double[]"
+            + " derivative1,\n")
+        .append("      double[] hessian);\n");
+
+    for (final Precision precision : precisions) {
+      for (final Layout layout : Layout.values()) {
+        for (final Precision table : precisions) {
+          appendMatrixImplementation(sb, precision, layout, table);
+        }
+      }
+    }
+    return sb.append("}\n").toString();
+  }
+
+  private static void appendMatrixImplementation(StringBuilder sb, Precision precision,
+      Layout layout, Precision table) {
+    final String name = precision.prefix + layout.suffix + table.prefix + "Table";
+    final String function = className(precision, layout);
+    final String tableType = type(table, layout);
+    final String coefficients = precision == Precision.DOUBLE ? "nodes[i]"
+        : "SimpleArrayUtils.toFloat(nodes[i])";
+    String tableValue = layout == Layout.ARRAY
+        ? "PowerTables.computePowerTable(x[i].x1, y[i].x1, z[i].x1)"
+        : "new " + tableType + "(x[i], y[i], z[i])";
+    if (layout == Layout.ARRAY && table == Precision.FLOAT) {
+      tableValue = "SimpleArrayUtils.toFloat(" + tableValue + ")";
+    }
+    sb.append("\n  /**\n   * Functions using ").append(precision.primitive)
+        .append(" coefficients in ").append(layout == Layout.ARRAY ? "an array" : "an object")
+        .append(" with ").append(table.primitive).append(" power tables.\n   */\n")
+        .append("  private static final class ").append(name).append(" extends ").append(MATRIX)
+        .append(" {\n")
+        .append("    /** The functions. */\n")
+        .append("    private final ").append(function).append("[] functions;\n")
+        .append("    /** The power tables. */\n")
+        .append("    private final ").append(tableType).append("[] tables;\n\n")
+        .append("    ").append(name).append("(double[][] nodes, CubicSplinePosition[] x,"
+            + " CubicSplinePosition[] y,\n")
+        .append("        CubicSplinePosition[] z) {\n")
+        .append("      functions = new ").append(function).append("[nodes.length];\n")
+        .append("      for (int i = 0; i < nodes.length; i++) {\n")
+        .append("        functions[i] = new ").append(function).append('(')
+        .append(layout == Layout.ARRAY ? coefficients
+            : "new " + type(precision, layout) + '(' + coefficients + ')')
+        .append(");\n      }\n")
+        .append("      tables = new ")
+        .append(layout == Layout.ARRAY ? table.primitive + "[x.length][]"
+            : tableType + "[x.length]")
+        .append(";\n")
+        .append("      for (int i = 0; i < x.length; i++) {\n")
+        .append("        tables[i] = ").append(tableValue).append(";\n      }\n    }\n")
+        .append("\n    @Override\n    public double value(int function, int sample) {\n")
+        .append("      return functions[function].value(tables[sample]);\n    }\n")
+        .append("\n    @Override\n    public double value(int function, int sample,"
+            + " double[] derivative1) {\n")
+        .append("      return functions[function].value(tables[sample], derivative1);\n    }\n")
+        .append("\n    @Override\n    public double value(int function, int sample,"
+            + " double[] derivative1,\n")
+        .append("        double[] derivative2) {\n")
+        .append("      return functions[function].value(tables[sample], derivative1,"
+            + " derivative2);\n    }\n")
+        .append("\n    @Override\n    public double valueHessian(int function, int sample,"
+            + " double[] derivative1,\n")
+        .append("        double[] hessian) {\n")
+        .append("      return functions[function].valueHessian(tables[sample], derivative1,"
+            + " hessian);\n    }\n")
+        .append("  }\n");
+  }
+}
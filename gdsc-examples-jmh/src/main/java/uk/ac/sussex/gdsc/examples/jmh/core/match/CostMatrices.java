@@ -0,0 +1,163 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.match;
+
+import java.util.Random;
+
+/**
+ * Generate cost matrices for the Linear Assignment Problem (LAP).
+ */
+final class CostMatrices {
+  /** The mean spacing between points in a point set (in cost units). */
+  private static final double SPACING = 64;
+
+  /** No public construction. */
+  private CostMatrices() {}
+
+  /**
+   * Create a matrix of uniform random costs in {@code [0, max)}.
+   *
+   * @param rng the random generator
+   * @param rows the rows
+   * @param cols the columns
+   * @param max the upper bound (exclusive) on the cost
+   * @return the costs
+   */
+  static int[][] uniform(Random rng, int rows, int cols, int max) {
+    final int[][] c = new int[rows][];
+    for (int i = 0; i < rows; i++) {
+      c[i] = rng.ints(cols, 0, max).toArray();
+    }
+    return c;
+  }
+
+  /**
+   * Create the Machol-Wien matrix {@code c[i][j] = i * j}. This is a hard instance for the
+   * assignment algorithms as there are many near-optimal solutions.
+   *
+   * <ul>
+   * <li>R.E. Machol and M. Wien (1976) A hard assignment problem. Operations Research 24(1),
+   * 190-192.
+   * </ul>
+   *
+   * @param rows the rows
+   * @param cols the columns
+   * @return the costs
+   */
+  static int[][] macholWien(int rows, int cols) {
+    final int[][] c = new int[rows][cols];
+    for (int i = 0; i < rows; i++) {
+      for (int j = 0; j < cols; j++) {
+        c[i][j] = i * j;
+      }
+    }
+    return c;
+  }
+
+  /**
+   * Create a matrix of squared distances between two point sets. This simulates matching a set
+   * of objects to a set of noisy observations.
+   *
+   * <p>The rows are points sampled uniformly in a square with a mean spacing of 64 units between
+   * points. A fraction of the points (the overlap) are observed in the second set with Gaussian
+   * jitter. The second set is then extended with uniform clutter points. The number of columns is
+   * {@code round(rows * overlap) + round(rows * clutter)}. The order of the columns is random.
+   *
+   * @param rng the random generator
+   * @param rows the rows
+   * @param overlap the fraction of rows that have an observation in the columns (in [0, 1])
+   * @param clutter the number of clutter points relative to the number of rows
+   * @param jitter the standard deviation of the observation error relative to the point spacing
+   * @return the costs
+   */
+  static int[][] pointSet(Random rng, int rows, double overlap, double clutter, double jitter) {
+    final int observed = (int) Math.round(rows * overlap);
+    final int cols = observed + (int) Math.round(rows * clutter);
+    final double width = Math.sqrt(rows) * SPACING;
+    final double sd = jitter * SPACING;
+    final double[][] a = new double[rows][];
+    for (int i = 0; i < rows; i++) {
+      a[i] = new double[] {rng.nextDouble() * width, rng.nextDouble() * width};
+    }
+    // Observe a random subset
+    final int[] order = shuffle(rng, rows);
+    final double[][] b = new double[cols][];
+    for (int j = 0; j < observed; j++) {
+      final double[] p = a[order[j]];
+      b[j] = new double[] {p[0] + rng.nextGaussian() * sd, p[1] + rng.nextGaussian() * sd};
+    }
+    for (int j = observed; j < cols; j++) {
+      b[j] = new double[] {rng.nextDouble() * width, rng.nextDouble() * width};
+    }
+    final int[] colOrder = shuffle(rng, cols);
+    final double[][] shuffled = new double[cols][];
+    for (int j = 0; j < cols; j++) {
+      shuffled[j] = b[colOrder[j]];
+    }
+    return distance2(a, shuffled);
+  }
+
+  /**
+   * Compute the squared Euclidean distance between each pair of points, rounded to the nearest
+   * integer.
+   *
+   * @param a the first set of points
+   * @param b the second set of points
+   * @return the costs
+   */
+  static int[][] distance2(double[][] a, double[][] b) {
+    final int[][] c = new int[a.length][b.length];
+    for (int i = 0; i < a.length; i++) {
+      final double x = a[i][0];
+      final double y = a[i][1];
+      final int[] ci = c[i];
+      for (int j = 0; j < b.length; j++) {
+        final double dx = x - b[j][0];
+        final double dy = y - b[j][1];
+        ci[j] = (int) Math.round(dx * dx + dy * dy);
+      }
+    }
+    return c;
+  }
+
+  /**
+   * Create a random permutation of {@code [0, n)}.
+   *
+   * @param rng the random generator
+   * @param n the size
+   * @return the permutation
+   */
+  private static int[] shuffle(Random rng, int n) {
+    final int[] order = new int[n];
+    for (int i = 0; i < n; i++) {
+      order[i] = i;
+    }
+    for (int i = n; i > 1; i--) {
+      final int j = rng.nextInt(i);
+      final int t = order[i - 1];
+      order[i - 1] = order[j];
+      order[j] = t;
+    }
+    return order;
+  }
+}
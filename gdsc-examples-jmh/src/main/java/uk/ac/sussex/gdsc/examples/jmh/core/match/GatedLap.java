@@ -0,0 +1,333 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.match;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Solves the Linear Assignment Problem (LAP) where assignments are only allowed if the cost is
+ * within a gating threshold.
+ *
+ * <p>The allowed pairs define a bipartite graph between the rows and columns. The connected
+ * components of the graph are identified using a union-find structure and each component is
+ * solved as an independent assignment problem. The solution maximises the number of allowed
+ * assignments and then minimises the total cost. It is the same as solving the entire matrix with
+ * each disallowed cost replaced by a cost larger than any set of allowed assignments.
+ *
+ * <p>Costs must be non-negative.
+ */
+public final class GatedLap {
+
+  /** No public construction. */
+  private GatedLap() {}
+
+  /**
+   * Partition the rows and columns into the connected components of the graph of allowed
+   * assignments.
+   */
+  private static class Components {
+    /** The component index for each row. */
+    final int[] rowComponent;
+    /** The component index for each column. */
+    final int[] colComponent;
+    /** The number of rows in each component. */
+    final int[] rowCount;
+    /** The number of columns in each component. */
+    final int[] colCount;
+    /** The number of components. */
+    final int size;
+
+    /**
+     * Create an instance.
+     *
+     * @param cost the cost
+     * @param gate the gate
+     */
+    Components(int[][] cost, int gate) {
+      final int rows = cost.length;
+      final int cols = cost[0].length;
+      // Union-find over rows [0, rows) and columns [rows, rows + cols)
+      final int[] parent = new int[rows + cols];
+      final int[] rank = new int[parent.length];
+      final boolean[] linked = new boolean[parent.length];
+      for (int i = 0; i < parent.length; i++) {
+        parent[i] = i;
+      }
+      for (int i = 0; i < rows; i++) {
+        final int[] c = cost[i];
+        for (int j = 0; j < cols; j++) {
+          if (c[j] <= gate) {
+            union(parent, rank, i, rows + j);
+            linked[i] = true;
+            linked[rows + j] = true;
+          }
+        }
+      }
+      // Number the components. A row or column without an allowed assignment is not a component.
+      final int[] id = new int[parent.length];
+      Arrays.fill(id, -1);
+      int count = 0;
+      rowComponent = new int[rows];
+      colComponent = new int[cols];
+      for (int x = 0; x < parent.length; x++) {
+        int k = -1;
+        if (linked[x]) {
+          final int root = find(parent, x);
+          if (id[root] < 0) {
+            id[root] = count++;
+          }
+          k = id[root];
+        }
+        if (x < rows) {
+          rowComponent[x] = k;
+        } else {
+          colComponent[x - rows] = k;
+        }
+      }
+      size = count;
+      rowCount = new int[count];
+      colCount = new int[count];
+      for (final int k : rowComponent) {
+        if (k >= 0) {
+          rowCount[k]++;
+        }
+      }
+      for (final int k : colComponent) {
+        if (k >= 0) {
+          colCount[k]++;
+        }
+      }
+    }
+
+    /**
+     * Find the root of the element. Uses path halving.
+     *
+     * @param parent the parent of each element
+     * @param x the element
+     * @return the root
+     */
+    private static int find(int[] parent, int x) {
+      while (parent[x] != x) {
+        parent[x] = parent[parent[x]];
+        x = parent[x];
+      }
+      return x;
+    }
+
+    /**
+     * Join the sets containing the two elements. Uses union by rank.
+     *
+     * @param parent the parent of each element
+     * @param rank the rank of each root
+     * @param x the first element
+     * @param y the second element
+     */
+    private static void union(int[] parent, int[] rank, int x, int y) {
+      x = find(parent, x);
+      y = find(parent, y);
+      if (x == y) {
+        return;
+      }
+      if (rank[x] < rank[y]) {
+        parent[x] = y;
+      } else if (rank[x] > rank[y]) {
+        parent[y] = x;
+      } else {
+        parent[y] = x;
+        rank[x]++;
+      }
+    }
+  }
+
+  /**
+   * Compute the assignments of rows to columns that maximise the number of allowed assignments and
+   * then minimise the total cost. A row is unassigned (-1) if it has no allowed assignment in the
+   * solution.
+   *
+   * @param cost the cost matrix
+   * @param gate the maximum allowed cost
+   * @return the assignments
+   * @throws IllegalArgumentException if the gate is negative, or the gate is too large to construct
+   *         a disallowed cost for the size of a component
+   */
+  public static int[] compute(int[][] cost, int gate) {
+    return compute(cost, gate, null);
+  }
+
+  /**
+   * Compute the assignments of rows to columns that maximise the number of allowed assignments and
+   * then minimise the total cost. A row is unassigned (-1) if it has no allowed assignment in the
+   * solution.
+   *
+   * <p>The components are solved in parallel using the pool. If the pool is null the components
+   * are solved sequentially.
+   *
+   * @param cost the cost matrix
+   * @param gate the maximum allowed cost
+   * @param pool the pool (can be null)
+   * @return the assignments
+   * @throws IllegalArgumentException if the gate is negative, or the gate is too large to construct
+   *         a disallowed cost for the size of a component
+   */
+  public static int[] compute(int[][] cost, int gate, ForkJoinPool pool) {
+    if (gate < 0) {
+      throw new IllegalArgumentException("Gate is negative: " + gate);
+    }
+    final int rows = cost.length;
+    final int[] assignments = new int[rows];
+    if (rows == 0) {
+      return assignments;
+    }
+    final int cols = cost[0].length;
+    final Components components = new Components(cost, gate);
+
+    // Index of each row and column within its component
+    final int[][] rowIndex = new int[components.size][];
+    final int[][] colIndex = new int[components.size][];
+    final int[] count = new int[components.size];
+    for (int k = 0; k < components.size; k++) {
+      rowIndex[k] = new int[components.rowCount[k]];
+      colIndex[k] = new int[components.colCount[k]];
+    }
+    for (int i = 0; i < rows; i++) {
+      final int k = components.rowComponent[i];
+      assignments[i] = -1;
+      if (k >= 0) {
+        rowIndex[k][count[k]++] = i;
+      }
+    }
+    Arrays.fill(count, 0);
+    for (int j = 0; j < cols; j++) {
+      final int k = components.colComponent[j];
+      if (k >= 0) {
+        colIndex[k][count[k]++] = j;
+      }
+    }
+
+    // Extract each component that requires a solver. A single row or column has a single allowed
+    // assignment to the minimum cost.
+    final List<int[][]> costs = new ArrayList<>();
+    final int[] index = new int[components.size];
+    for (int k = 0; k < components.size; k++) {
+      final int[] ri = rowIndex[k];
+      final int[] ci = colIndex[k];
+      if (ri.length == 1) {
+        final int[] c = cost[ri[0]];
+        int jmin = ci[0];
+        for (final int j : ci) {
+          if (c[j] < c[jmin]) {
+            jmin = j;
+          }
+        }
+        assignments[ri[0]] = jmin;
+      } else if (ci.length == 1) {
+        final int j = ci[0];
+        int imin = ri[0];
+        for (final int i : ri) {
+          if (cost[i][j] < cost[imin][j]) {
+            imin = i;
+          }
+        }
+        assignments[imin] = j;
+      } else {
+        index[costs.size()] = k;
+        costs.add(extract(cost, gate, ri, ci));
+      }
+    }
+
+    final int[][] result;
+    if (pool == null || costs.size() < 2) {
+      final LapSolver solver = new LapSolver();
+      result = new int[costs.size()][];
+      for (int k = 0; k < result.length; k++) {
+        result[k] = solver.compute(costs.get(k));
+      }
+    } else {
+      result = LapBatch.compute(costs, pool);
+    }
+
+    // Merge the results. Assignments to a disallowed pair are ignored.
+    for (int n = 0; n < result.length; n++) {
+      final int k = index[n];
+      final int[] ri = rowIndex[k];
+      final int[] ci = colIndex[k];
+      final int[] a = result[n];
+      for (int i = 0; i < a.length; i++) {
+        if (a[i] >= 0) {
+          final int row = ri[i];
+          final int col = ci[a[i]];
+          if (cost[row][col] <= gate) {
+            assignments[row] = col;
+          }
+        }
+      }
+    }
+    return assignments;
+  }
+
+  /**
+   * Extract the cost matrix for the component. Disallowed costs are replaced with a cost larger
+   * than any set of allowed assignments.
+   *
+   * @param cost the cost
+   * @param gate the gate
+   * @param rowIndex the rows of the component
+   * @param colIndex the columns of the component
+   * @return the cost matrix
+   * @throws IllegalArgumentException if the gate is too large to construct a disallowed cost
+   */
+  private static int[][] extract(int[][] cost, int gate, int[] rowIndex, int[] colIndex) {
+    final int disallowed = disallowedCost(gate, Math.min(rowIndex.length, colIndex.length));
+    final int[][] c = new int[rowIndex.length][colIndex.length];
+    for (int i = 0; i < rowIndex.length; i++) {
+      final int[] source = cost[rowIndex[i]];
+      final int[] target = c[i];
+      for (int j = 0; j < colIndex.length; j++) {
+        final int v = source[colIndex[j]];
+        target[j] = v <= gate ? v : disallowed;
+      }
+    }
+    return c;
+  }
+
+  /**
+   * Get the cost for a disallowed assignment. This is larger than the total cost of any set of
+   * allowed assignments in a matrix where the smaller dimension is {@code size}.
+   *
+   * @param gate the gate
+   * @param size the size of the smaller dimension of the matrix
+   * @return the disallowed cost
+   * @throws IllegalArgumentException if the gate is too large to construct a disallowed cost
+   */
+  static int disallowedCost(int gate, int size) {
+    final long cost = (long) gate * size + 1;
+    if (cost > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(
+          "Gate is too large for the matrix size: " + gate + " x " + size);
+    }
+    return (int) cost;
+  }
+}
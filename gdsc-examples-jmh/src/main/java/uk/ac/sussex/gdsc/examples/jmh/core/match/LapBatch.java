@@ -0,0 +1,129 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.match;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Solves a batch of independent Linear Assignment Problems (LAP).
+ *
+ * <p>The problems are partitioned recursively and solved on a work-stealing
+ * {@link ForkJoinPool}. Each worker thread uses a thread-local {@link LapSolver} so the working
+ * space is reused across all the problems solved by that thread.
+ */
+public final class LapBatch {
+  /** The number of problems below which a task is not split. */
+  private static final int THRESHOLD = 4;
+
+  /** The solver for each thread. */
+  private static final ThreadLocal<LapSolver> SOLVER = ThreadLocal.withInitial(LapSolver::new);
+
+  /**
+   * Solve a range of problems.
+   */
+  private static class SolveTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    /** The costs. */
+    private final List<int[][]> costs;
+    /** The assignments. */
+    private final int[][] assignments;
+    /** The start index (inclusive). */
+    private final int from;
+    /** The end index (exclusive). */
+    private final int to;
+
+    /**
+     * Create an instance.
+     *
+     * @param costs the costs
+     * @param assignments the assignments
+     * @param from the start index (inclusive)
+     * @param to the end index (exclusive)
+     */
+    SolveTask(List<int[][]> costs, int[][] assignments, int from, int to) {
+      this.costs = costs;
+      this.assignments = assignments;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= THRESHOLD) {
+        final LapSolver solver = SOLVER.get();
+        for (int i = from; i < to; i++) {
+          assignments[i] = solver.compute(costs.get(i));
+        }
+      } else {
+        final int mid = (from + to) >>> 1;
+        invokeAll(new SolveTask(costs, assignments, from, mid),
+            new SolveTask(costs, assignments, mid, to));
+      }
+    }
+  }
+
+  /** No public construction. */
+  private LapBatch() {}
+
+  /**
+   * Compute the assignments for each cost matrix using the common pool.
+   *
+   * @param costs the costs
+   * @return the assignments
+   * @see LapSolver#compute(int[][])
+   */
+  public static int[][] compute(int[][][] costs) {
+    return compute(Arrays.asList(costs), ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Compute the assignments for each cost matrix using the common pool.
+   *
+   * @param costs the costs
+   * @return the assignments
+   * @see LapSolver#compute(int[][])
+   */
+  public static int[][] compute(List<int[][]> costs) {
+    return compute(costs, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Compute the assignments for each cost matrix using the specified pool.
+   *
+   * <p>The list should support efficient random access.
+   *
+   * @param costs the costs
+   * @param pool the pool
+   * @return the assignments
+   * @see LapSolver#compute(int[][])
+   */
+  public static int[][] compute(List<int[][]> costs, ForkJoinPool pool) {
+    final int[][] assignments = new int[costs.size()][];
+    pool.invoke(new SolveTask(costs, assignments, 0, assignments.length));
+    return assignments;
+  }
+}
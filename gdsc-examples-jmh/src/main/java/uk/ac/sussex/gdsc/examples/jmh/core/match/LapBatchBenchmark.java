@@ -0,0 +1,191 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.match;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.ac.sussex.gdsc.core.match.JonkerVolgenantAssignment;
+
+/**
+ * Executes benchmark to compare the throughput of solving many small Linear Assignment Problems
+ * (LAP). The score is the number of problems solved per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OperationsPerInvocation(LapBatchBenchmark.PROBLEMS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class LapBatchBenchmark {
+  /** Number of problems in the batch. */
+  static final int PROBLEMS = 2000;
+
+  /**
+   * The batch of matrix costs to analyse.
+   */
+  @State(Scope.Benchmark)
+  public static class BatchData {
+    /**
+     * Size of matrix.
+     */
+    @Param({"4", "16", "64"})
+    private int rows;
+
+    /** The costs. */
+    private List<int[][]> costs;
+
+    /**
+     * Gets the costs.
+     *
+     * @return the costs
+     */
+    public List<int[][]> getCosts() {
+      return costs;
+    }
+
+    /** Create the samples. */
+    @Setup
+    public void setup() {
+      final SplittableRandom rng = new SplittableRandom();
+      costs = IntStream.range(0, PROBLEMS).mapToObj(x -> {
+        final int[][] c = new int[rows][];
+        for (int i = 0; i < rows; i++) {
+          c[i] = rng.ints(rows, 0, rows).toArray();
+        }
+        return c;
+      }).collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * The thread pool.
+   */
+  @State(Scope.Benchmark)
+  public static class ThreadPool {
+    /**
+     * Number of threads.
+     */
+    @Param({"2", "4"})
+    private int threads;
+
+    /** The pool. */
+    private ForkJoinPool pool;
+
+    /**
+     * Gets the pool.
+     *
+     * @return the pool
+     */
+    public ForkJoinPool getPool() {
+      return pool;
+    }
+
+    /** Create the pool. */
+    @Setup
+    public void setup() {
+      pool = new ForkJoinPool(threads);
+    }
+
+    /** Shutdown the pool. */
+    @TearDown
+    public void tearDown() {
+      pool.shutdown();
+    }
+  }
+
+  // Benchmarks methods below.
+
+  /**
+   * Solve each problem in turn.
+   *
+   * @param data the data
+   * @return the assignments
+   */
+  @Benchmark
+  public int[][] sequential(BatchData data) {
+    final List<int[][]> costs = data.getCosts();
+    final int[][] assignments = new int[costs.size()][];
+    for (int i = 0; i < assignments.length; i++) {
+      assignments[i] = JonkerVolgenantAssignment.compute(costs.get(i));
+    }
+    return assignments;
+  }
+
+  /**
+   * Solve each problem in turn using a solver with reusable workspace.
+   *
+   * @param data the data
+   * @return the assignments
+   */
+  @Benchmark
+  public int[][] sequentialWorkspace(BatchData data) {
+    final List<int[][]> costs = data.getCosts();
+    final int[][] assignments = new int[costs.size()][];
+    final LapSolver solver = new LapSolver();
+    for (int i = 0; i < assignments.length; i++) {
+      assignments[i] = solver.compute(costs.get(i));
+    }
+    return assignments;
+  }
+
+  /**
+   * Solve the problems in parallel using the common pool.
+   *
+   * @param data the data
+   * @return the assignments
+   */
+  @Benchmark
+  public int[][] batch(BatchData data) {
+    return LapBatch.compute(data.getCosts());
+  }
+
+  /**
+   * Solve the problems in parallel using a pool with a fixed number of threads.
+   *
+   * @param data the data
+   * @param pool the pool
+   * @return the assignments
+   */
+  @Benchmark
+  public int[][] batchThreads(BatchData data, ThreadPool pool) {
+    return LapBatch.compute(data.getCosts(), pool.getPool());
+  }
+}
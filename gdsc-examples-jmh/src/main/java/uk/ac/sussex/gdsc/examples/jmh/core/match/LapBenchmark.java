@@ -22,11 +22,14 @@
 
 package uk.ac.sussex.gdsc.examples.jmh.core.match;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -71,6 +74,12 @@ public class LapBenchmark {
     @Param({"256", "512"})
     private int rows;
 
+    /**
+     * The cost generator. The Machol-Wien matrix is the same for each trial.
+     */
+    @Param({"uniform", "distance", "macholwien"})
+    private String generator;
+
     /** The costs. */
     private List<int[][]> costs;
 
@@ -87,13 +96,78 @@ public class LapBenchmark {
     @Setup
     public void setup() {
       final Random rng = ThreadLocalRandom.current();
-      costs = IntStream.range(0, trials).mapToObj(x -> {
-        final int[][] c = new int[rows][];
-        for (int i = 0; i < rows; i++) {
-          c[i] = rng.ints(rows, 0, rows).toArray();
-        }
-        return c;
-      }).collect(Collectors.toList());
+      Supplier<int[][]> gen;
+      if ("uniform".equals(generator)) {
+        gen = () -> CostMatrices.uniform(rng, rows, rows, rows);
+      } else if ("distance".equals(generator)) {
+        gen = () -> CostMatrices.pointSet(rng, rows, 1, 0, 0.25);
+      } else if ("macholwien".equals(generator)) {
+        gen = () -> CostMatrices.macholWien(rows, rows);
+      } else {
+        throw new IllegalStateException("Unknown generator: " + generator);
+      }
+      costs = IntStream.range(0, trials).mapToObj(x -> gen.get()).collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * The matrix costs to analyse using the squared distances between a set of points and a set of
+   * noisy observations. The number of columns is {@code round(rows * overlap) +
+   * round(rows * clutter)}.
+   *
+   * @see CostMatrices#pointSet(Random, int, double, double, double)
+   */
+  @State(Scope.Benchmark)
+  public static class PointSetMatrixData {
+    /**
+     * Number of trials.
+     */
+    @Param({"10"})
+    private int trials;
+
+    /**
+     * Number of points (rows).
+     */
+    @Param({"256", "512"})
+    private int rows;
+
+    /**
+     * Fraction of the points that are observed.
+     */
+    @Param({"1", "0.8"})
+    private double overlap;
+
+    /**
+     * Number of clutter observations relative to the number of points.
+     */
+    @Param({"0", "0.25"})
+    private double clutter;
+
+    /**
+     * Observation error relative to the mean point spacing.
+     */
+    @Param({"0.1", "0.5"})
+    private double jitter;
+
+    /** The costs. */
+    private List<int[][]> costs;
+
+    /**
+     * Gets the costs.
+     *
+     * @return the costs
+     */
+    public List<int[][]> getCosts() {
+      return costs;
+    }
+
+    /** Create the samples. */
+    @Setup
+    public void setup() {
+      final Random rng = ThreadLocalRandom.current();
+      costs = IntStream.range(0, trials)
+          .mapToObj(x -> CostMatrices.pointSet(rng, rows, overlap, clutter, jitter))
+          .collect(Collectors.toList());
     }
   }
 
@@ -205,15 +279,192 @@ public class LapBenchmark {
     }
   }
 
+  /**
+   * The matrix costs to analyse with a gating threshold. The costs are the squared distances
+   * between two sets of points sampled from the same clusters. Only pairs from the same cluster are
+   * within the gating distance.
+   */
+  @State(Scope.Benchmark)
+  public static class ClusteredMatrixData {
+    /** The width of the region containing the cluster centres. */
+    private static final double WIDTH = 1024;
+    /** The standard deviation of the points around the cluster centre. */
+    private static final double SIGMA = 4;
+    /** The gating distance (in units of the standard deviation). */
+    private static final double GATE = 3;
+
+    /**
+     * Number of trials.
+     */
+    @Param({"10"})
+    private int trials;
+
+    /**
+     * Size of matrix.
+     */
+    @Param({"256", "512"})
+    private int rows;
+
+    /**
+     * Number of clusters.
+     */
+    @Param({"8", "32"})
+    private int clusters;
+
+    /** The costs. */
+    private List<int[][]> costs;
+
+    /** The gate. */
+    private int gate;
+
+    /**
+     * Gets the costs.
+     *
+     * @return the costs
+     */
+    public List<int[][]> getCosts() {
+      return costs;
+    }
+
+    /**
+     * Gets the gate.
+     *
+     * @return the gate
+     */
+    public int getGate() {
+      return gate;
+    }
+
+    /** Create the samples. */
+    @Setup
+    public void setup() {
+      final Random rng = ThreadLocalRandom.current();
+      gate = (int) Math.round(GATE * GATE * SIGMA * SIGMA);
+      costs = IntStream.range(0, trials).mapToObj(x -> {
+        final double[][] centres = new double[clusters][];
+        for (int i = 0; i < clusters; i++) {
+          centres[i] = new double[] {rng.nextDouble() * WIDTH, rng.nextDouble() * WIDTH};
+        }
+        return CostMatrices.distance2(createPoints(rng, centres), createPoints(rng, centres));
+      }).collect(Collectors.toList());
+    }
+
+    /**
+     * Creates the points distributed around the cluster centres.
+     *
+     * @param rng the random generator
+     * @param centres the centres
+     * @return the points
+     */
+    private double[][] createPoints(Random rng, double[][] centres) {
+      final double[][] points = new double[rows][];
+      for (int i = 0; i < rows; i++) {
+        final double[] centre = centres[rng.nextInt(centres.length)];
+        points[i] = new double[] {centre[0] + rng.nextGaussian() * SIGMA,
+            centre[1] + rng.nextGaussian() * SIGMA};
+      }
+      return points;
+    }
+  }
+
+  /**
+   * The matrix costs to analyse with a cost for leaving each row and column unassigned.
+   */
+  @State(Scope.Benchmark)
+  public static class UnassignedMatrixData {
+    /**
+     * Number of trials.
+     */
+    @Param({"10"})
+    private int trials;
+
+    /**
+     * Size of matrix.
+     */
+    @Param({"256", "512"})
+    private int rows;
+
+    /**
+     * The cost of leaving a row or column unassigned.
+     */
+    @Param({"8", "64"})
+    private int unassignedCost;
+
+    /** The costs. */
+    private List<int[][]> costs;
+    /** The cost of leaving each row unassigned. */
+    private int[] rowCost;
+    /** The cost of leaving each column unassigned. */
+    private int[] colCost;
+    /** The padded costs. */
+    private List<int[][]> paddedCosts;
+
+    /**
+     * Gets the costs.
+     *
+     * @return the costs
+     */
+    public List<int[][]> getCosts() {
+      return costs;
+    }
+
+    /**
+     * Gets the cost of leaving each row unassigned.
+     *
+     * @return the row cost
+     */
+    public int[] getRowCost() {
+      return rowCost;
+    }
+
+    /**
+     * Gets the cost of leaving each column unassigned.
+     *
+     * @return the column cost
+     */
+    public int[] getColCost() {
+      return colCost;
+    }
+
+    /**
+     * Gets the costs padded to a square matrix with the unassigned costs.
+     *
+     * @return the padded costs
+     */
+    public List<int[][]> getPaddedCosts() {
+      return paddedCosts;
+    }
+
+    /** Create the samples. */
+    @Setup
+    public void setup() {
+      final Random rng = ThreadLocalRandom.current();
+      costs = IntStream.range(0, trials).mapToObj(x -> {
+        final int[][] c = new int[rows][];
+        for (int i = 0; i < rows; i++) {
+          c[i] = rng.ints(rows, 0, rows).toArray();
+        }
+        return c;
+      }).collect(Collectors.toList());
+      rowCost = new int[rows];
+      colCost = new int[rows];
+      Arrays.fill(rowCost, unassignedCost);
+      Arrays.fill(colCost, unassignedCost);
+      paddedCosts = costs.stream().map(c -> padUnassigned(c, rowCost, colCost))
+          .collect(Collectors.toList());
+    }
+  }
+
   /**
    * The algorithms.
    */
   @State(Scope.Benchmark)
   public static class LapAlgorithm {
     /**
-     * Algorithm name.
+     * Algorithm name. The jvws algorithm is the Jonker-Volgenant algorithm with reusable workspace;
+     * jvpad is the same algorithm with rectangular matrices padded to square.
      */
-    @Param({"km", "jv"})
+    @Param({"km", "jv", "jvws", "jvpad"})
     private String name;
 
     /** The algorithm. */
@@ -235,12 +486,119 @@ public class LapBenchmark {
         algorithm = KuhnMunkresAssignment::compute;
       } else if ("jv".equals(name)) {
         algorithm = JonkerVolgenantAssignment::compute;
+      } else if ("jvws".equals(name)) {
+        algorithm = new LapSolver()::compute;
+      } else if ("jvpad".equals(name)) {
+        final LapSolver solver = new LapSolver();
+        algorithm = c -> {
+          // Remove assignments to dummy columns
+          final int[] a = Arrays.copyOf(solver.compute(pad(c)), c.length);
+          final int cols = c[0].length;
+          for (int i = 0; i < a.length; i++) {
+            if (a[i] >= cols) {
+              a[i] = -1;
+            }
+          }
+          return a;
+        };
       } else {
         throw new IllegalStateException("Unknown algorithm: " + name);
       }
     }
   }
 
+  /**
+   * Pad the cost matrix to a square matrix using zero cost.
+   *
+   * @param cost the cost
+   * @return the square matrix
+   */
+  static int[][] pad(int[][] cost) {
+    final int rows = cost.length;
+    final int cols = cost[0].length;
+    if (rows == cols) {
+      return cost;
+    }
+    final int n = Math.max(rows, cols);
+    final int[][] square = new int[n][];
+    for (int i = 0; i < rows; i++) {
+      square[i] = Arrays.copyOf(cost[i], n);
+    }
+    for (int i = rows; i < n; i++) {
+      square[i] = new int[n];
+    }
+    return square;
+  }
+
+  /**
+   * Compute the assignments with a gating threshold by solving the entire matrix. Costs above the
+   * gate are replaced with a disallowed cost and any assignment to a disallowed pair is removed.
+   *
+   * @param cost the cost
+   * @param gate the gate
+   * @param solver the solver
+   * @return the assignments
+   */
+  static int[] computeGated(int[][] cost, int gate, LapSolver solver) {
+    final int rows = cost.length;
+    final int cols = cost[0].length;
+    final int disallowed = GatedLap.disallowedCost(gate, Math.min(rows, cols));
+    final int[][] c = new int[rows][];
+    for (int i = 0; i < rows; i++) {
+      c[i] = cost[i].clone();
+      for (int j = 0; j < cols; j++) {
+        if (c[i][j] > gate) {
+          c[i][j] = disallowed;
+        }
+      }
+    }
+    final int[] a = solver.compute(c);
+    for (int i = 0; i < rows; i++) {
+      if (a[i] >= 0 && c[i][a[i]] == disallowed) {
+        a[i] = -1;
+      }
+    }
+    return a;
+  }
+
+  /**
+   * Pad the cost matrix to a square matrix of size {@code rows + columns} that includes the cost
+   * of leaving each row and column unassigned. Each row has a dummy column and each column has a
+   * dummy row with the unassigned cost. Assignment of a row to the dummy column of another row, or
+   * a column to the dummy row of another column, is disallowed. Assignment of a dummy row to a dummy
+   * column has zero cost.
+   *
+   * <p>The assignment for each row of the original matrix is within the first {@code rows} entries
+   * of the solution to the padded matrix; an assignment to a column {@code >= columns} is
+   * unassigned.
+   *
+   * @param cost the cost
+   * @param rowCost the cost of leaving each row unassigned
+   * @param colCost the cost of leaving each column unassigned
+   * @return the square matrix
+   */
+  static int[][] padUnassigned(int[][] cost, int[] rowCost, int[] colCost) {
+    final int rows = cost.length;
+    final int cols = cost[0].length;
+    final int n = rows + cols;
+    // Larger than any total of the unassigned costs
+    final long sum = Arrays.stream(rowCost).asLongStream().sum()
+        + Arrays.stream(colCost).asLongStream().sum() + 1;
+    final int disallowed = (int) Math.min(Integer.MAX_VALUE, sum);
+    final int[][] square = new int[n][];
+    for (int i = 0; i < rows; i++) {
+      square[i] = Arrays.copyOf(cost[i], n);
+      Arrays.fill(square[i], cols, n, disallowed);
+      square[i][cols + i] = rowCost[i];
+    }
+    for (int j = 0; j < cols; j++) {
+      square[rows + j] = new int[n];
+      Arrays.fill(square[rows + j], 0, cols, disallowed);
+      square[rows + j][j] = colCost[j];
+    }
+    return square;
+  }
+
   // Benchmarks methods below.
 
   /**
@@ -278,4 +636,82 @@ public class LapBenchmark {
   public void unbalanced2(UnbalancedMatrixData2 costs, Blackhole bh, LapAlgorithm algorithm) {
     costs.getCosts().forEach(c -> bh.consume(algorithm.getAlgorithm().apply(c)));
   }
+
+  /**
+   * Benchmark a point set distance matrix.
+   *
+   * @param costs the costs
+   * @param bh the data sink
+   * @param algorithm the algorithm
+   */
+  @Benchmark
+  public void pointSet(PointSetMatrixData costs, Blackhole bh, LapAlgorithm algorithm) {
+    costs.getCosts().forEach(c -> bh.consume(algorithm.getAlgorithm().apply(c)));
+  }
+
+  /**
+   * Benchmark a gated clustered matrix solved as a single problem.
+   *
+   * @param costs the costs
+   * @param bh the data sink
+   */
+  @Benchmark
+  public void gatedWhole(ClusteredMatrixData costs, Blackhole bh) {
+    final LapSolver solver = new LapSolver();
+    final int gate = costs.getGate();
+    costs.getCosts().forEach(c -> bh.consume(computeGated(c, gate, solver)));
+  }
+
+  /**
+   * Benchmark a gated clustered matrix solved as independent components.
+   *
+   * @param costs the costs
+   * @param bh the data sink
+   */
+  @Benchmark
+  public void gatedComponents(ClusteredMatrixData costs, Blackhole bh) {
+    final int gate = costs.getGate();
+    costs.getCosts().forEach(c -> bh.consume(GatedLap.compute(c, gate)));
+  }
+
+  /**
+   * Benchmark a gated clustered matrix solved as independent components in parallel.
+   *
+   * @param costs the costs
+   * @param bh the data sink
+   */
+  @Benchmark
+  public void gatedComponentsParallel(ClusteredMatrixData costs, Blackhole bh) {
+    final int gate = costs.getGate();
+    final ForkJoinPool pool = ForkJoinPool.commonPool();
+    costs.getCosts().forEach(c -> bh.consume(GatedLap.compute(c, gate, pool)));
+  }
+
+  /**
+   * Benchmark a square matrix with a cost for leaving each row and column unassigned. The
+   * solver supports the unassigned cost directly.
+   *
+   * @param costs the costs
+   * @param bh the data sink
+   */
+  @Benchmark
+  public void unassigned(UnassignedMatrixData costs, Blackhole bh) {
+    final LapSolver solver = new LapSolver();
+    final int[] rowCost = costs.getRowCost();
+    final int[] colCost = costs.getColCost();
+    costs.getCosts().forEach(c -> bh.consume(solver.compute(c, rowCost, colCost)));
+  }
+
+  /**
+   * Benchmark a square matrix with a cost for leaving each row and column unassigned. The
+   * matrix is padded to include the unassigned costs.
+   *
+   * @param costs the costs
+   * @param bh the data sink
+   * @param algorithm the algorithm
+   */
+  @Benchmark
+  public void unassignedPadded(UnassignedMatrixData costs, Blackhole bh, LapAlgorithm algorithm) {
+    costs.getPaddedCosts().forEach(c -> bh.consume(algorithm.getAlgorithm().apply(c)));
+  }
 }
@@ -0,0 +1,458 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.match;
+
+import java.util.Arrays;
+
+/**
+ * Solves the Linear Assignment Problem (LAP) using the Jonker-Volgenant algorithm.
+ *
+ * <p>For a square matrix the solver uses the column reduction and reduction transfer
+ * initialisation of Jonker and Volgenant followed by shortest augmenting paths for the remaining
+ * unassigned rows. The augmenting row reduction phase is not performed.
+ *
+ * <p>A rectangular matrix is solved directly without padding to a square matrix using the
+ * variant of Bijsterbosch and Volgenant. Column reduction is not valid when some columns remain
+ * unassigned; the dual variables are initialised by row reduction and every row of the smaller
+ * dimension is assigned using a shortest augmenting path. If there are more rows than columns the
+ * roles of rows and columns are swapped by indexing the matrix by column; the matrix is not
+ * transposed. The run-time is {@code O(min^2 * max)} for a {@code min x max} matrix.
+ *
+ * <p>The solver supports a cost for leaving each row and column unassigned. This is equivalent to
+ * solving a {@code (rows + columns)} square matrix augmented with a dummy column for each row and a
+ * dummy row for each column. The augmented matrix is not constructed. The dual variable of each
+ * column is initialised to the cost of leaving the column unassigned, and the search for each
+ * shortest augmenting path may end at the exclusive dummy column of any row in the search tree.
+ *
+ * <p>All working arrays are retained between calls to {@link #compute(int[][])} and are only
+ * reallocated when a larger matrix is solved. An instance is therefore suitable for solving many
+ * small problems without allocation of working space. This class is not thread-safe.
+ *
+ * <ul>
+ * <li>R. Jonker and A. Volgenant (1987) A shortest augmenting path algorithm for dense and sparse
+ * linear assignment problems. Computing 38, 325-340.
+ * <li>J. Bijsterbosch and A. Volgenant (2010) Solving the rectangular assignment problem and
+ * applications. Annals of Operations Research 181, 443-462.
+ * <li>D.F. Crouse (2016) On implementing 2D rectangular assignment algorithms. IEEE Transactions
+ * on Aerospace and Electronic Systems 52(4), 1679-1696.
+ * </ul>
+ *
+ * @see <a href="https://doi.org/10.1007/BF02278710">Jonker and Volgenant (1987)</a>
+ * @see <a href="https://doi.org/10.1007/s10479-010-0757-3">Bijsterbosch and Volgenant (2010)</a>
+ * @see <a href="https://doi.org/10.1109/TAES.2016.140952">Crouse (2016)</a>
+ */
+public final class LapSolver {
+  /** Distance used for an unreached column in the shortest path search. */
+  private static final long INF = Long.MAX_VALUE;
+
+  /** The dual variable for each row (of the smaller dimension). */
+  private long[] u;
+  /** The dual variable for each column (of the larger dimension). */
+  private long[] v;
+  /** The shortest path cost to each column. */
+  private long[] shortest;
+  /** The column assigned to each row (or -1). */
+  private int[] col4row;
+  /** The row assigned to each column (or -1). */
+  private int[] row4col;
+  /** The predecessor row of each column on the shortest path tree. */
+  private int[] path;
+  /** The columns that have not been scanned in the shortest path search. */
+  private int[] remaining;
+  /** The count of columns for which each row has the minimum cost. */
+  private int[] matches;
+  /** Flag for each row indicating it was scanned in the shortest path search. */
+  private boolean[] scannedRows;
+  /** Flag for each column indicating it was scanned in the shortest path search. */
+  private boolean[] scannedCols;
+
+  /**
+   * Create an instance.
+   */
+  public LapSolver() {
+    this(0);
+  }
+
+  /**
+   * Create an instance with working space for a matrix with the given maximum dimension.
+   *
+   * @param capacity the capacity
+   */
+  public LapSolver(int capacity) {
+    allocate(capacity);
+  }
+
+  /**
+   * Allocate the working arrays.
+   *
+   * @param size the size
+   */
+  private void allocate(int size) {
+    u = new long[size];
+    v = new long[size];
+    shortest = new long[size];
+    col4row = new int[size];
+    row4col = new int[size];
+    path = new int[size];
+    remaining = new int[size];
+    matches = new int[size];
+    scannedRows = new boolean[size];
+    scannedCols = new boolean[size];
+  }
+
+  /**
+   * Compute the assignments of rows to columns that minimise the total cost.
+   *
+   * <p>The cost matrix must be rectangular. The result contains the assigned column for each row,
+   * or -1 if the row is not assigned (when there are more rows than columns).
+   *
+   * @param cost the cost matrix
+   * @return the assignments
+   */
+  public int[] compute(int[][] cost) {
+    final int rows = cost.length;
+    if (rows == 0) {
+      return new int[0];
+    }
+    final int cols = cost[0].length;
+    final int n = Math.max(rows, cols);
+    if (u.length < n) {
+      allocate(n);
+    }
+    if (rows == cols) {
+      solveSquare(cost, n);
+      return Arrays.copyOf(col4row, rows);
+    }
+    if (rows < cols) {
+      solveRectangular(cost, rows, cols, false);
+      return Arrays.copyOf(col4row, rows);
+    }
+    // Solve using the columns as the rows
+    solveRectangular(cost, cols, rows, true);
+    final int[] assignments = new int[rows];
+    Arrays.fill(assignments, -1);
+    for (int j = 0; j < cols; j++) {
+      assignments[col4row[j]] = j;
+    }
+    return assignments;
+  }
+
+  /**
+   * Compute the assignments of rows to columns that minimise the total cost, where each row and
+   * column may be left unassigned for a fixed cost.
+   *
+   * <p>The total cost is the sum of the assigned costs, the cost of each unassigned row and the
+   * cost of each unassigned column. The cost matrix must be rectangular. The result contains the
+   * assigned column for each row, or -1 if the row is not assigned.
+   *
+   * @param cost the cost matrix
+   * @param rowCost the cost of leaving each row unassigned
+   * @param colCost the cost of leaving each column unassigned
+   * @return the assignments
+   * @throws IllegalArgumentException if the unassigned costs do not match the matrix dimensions
+   */
+  public int[] compute(int[][] cost, int[] rowCost, int[] colCost) {
+    final int rows = cost.length;
+    final int cols = rows == 0 ? 0 : cost[0].length;
+    if (rowCost.length != rows || colCost.length != cols) {
+      throw new IllegalArgumentException("Unassigned costs do not match the matrix: " + rows + " x "
+          + cols + " : " + rowCost.length + ", " + colCost.length);
+    }
+    if (rows == 0) {
+      return new int[0];
+    }
+    final int n = Math.max(rows, cols);
+    if (u.length < n) {
+      allocate(n);
+    }
+    if (rows <= cols) {
+      solveUnassigned(cost, rows, cols, false, rowCost, colCost);
+      return Arrays.copyOf(col4row, rows);
+    }
+    // Solve using the columns as the rows
+    solveUnassigned(cost, cols, rows, true, colCost, rowCost);
+    final int[] assignments = new int[rows];
+    Arrays.fill(assignments, -1);
+    for (int j = 0; j < cols; j++) {
+      if (col4row[j] >= 0) {
+        assignments[col4row[j]] = j;
+      }
+    }
+    return assignments;
+  }
+
+  /**
+   * Solve the square assignment problem.
+   *
+   * @param cost the cost
+   * @param n the size of the matrix
+   */
+  private void solveSquare(int[][] cost, int n) {
+    Arrays.fill(col4row, 0, n, -1);
+    Arrays.fill(row4col, 0, n, -1);
+    Arrays.fill(matches, 0, n, 0);
+
+    // Column reduction. Assign each column to the row with the minimum cost if that row is free.
+    for (int j = n; j-- > 0;) {
+      int imin = 0;
+      int min = cost[0][j];
+      for (int i = 1; i < n; i++) {
+        if (cost[i][j] < min) {
+          min = cost[i][j];
+          imin = i;
+        }
+      }
+      v[j] = min;
+      if (++matches[imin] == 1) {
+        col4row[imin] = j;
+        row4col[j] = imin;
+      }
+    }
+
+    // Reduction transfer from rows assigned once. This leaves all reduced costs non-negative.
+    for (int i = 0; i < n; i++) {
+      final int j1 = col4row[i];
+      if (matches[i] == 1) {
+        final int[] c = cost[i];
+        long min = INF;
+        for (int j = 0; j < n; j++) {
+          if (j != j1 && c[j] - v[j] < min) {
+            min = c[j] - v[j];
+          }
+        }
+        if (min != INF) {
+          v[j1] -= min;
+        }
+      }
+      u[i] = j1 < 0 ? 0 : cost[i][j1] - v[j1];
+    }
+
+    // Shortest augmenting path for the free rows
+    for (int i = 0; i < n; i++) {
+      if (col4row[i] < 0) {
+        augment(cost, n, n, i, false, null);
+      }
+    }
+  }
+
+  /**
+   * Solve the rectangular assignment problem. All of the rows are assigned.
+   *
+   * <p>If transposed then the rows are the columns of the cost matrix and the columns are the rows
+   * of the cost matrix.
+   *
+   * @param cost the cost
+   * @param nr the number of rows
+   * @param nc the number of columns (must be above the number of rows)
+   * @param transposed set to true to index the cost matrix using {@code cost[column][row]}
+   */
+  private void solveRectangular(int[][] cost, int nr, int nc, boolean transposed) {
+    Arrays.fill(col4row, 0, nr, -1);
+    Arrays.fill(row4col, 0, nc, -1);
+    // The dual for all unassigned columns must be zero.
+    // Initialise using row reduction.
+    Arrays.fill(v, 0, nc, 0);
+    if (transposed) {
+      for (int i = 0; i < nr; i++) {
+        u[i] = cost[0][i];
+      }
+      for (int j = 1; j < nc; j++) {
+        final int[] c = cost[j];
+        for (int i = 0; i < nr; i++) {
+          u[i] = Math.min(u[i], c[i]);
+        }
+      }
+    } else {
+      for (int i = 0; i < nr; i++) {
+        final int[] c = cost[i];
+        int min = c[0];
+        for (int j = 1; j < nc; j++) {
+          min = Math.min(min, c[j]);
+        }
+        u[i] = min;
+      }
+    }
+
+    // Shortest augmenting path for all rows
+    for (int i = 0; i < nr; i++) {
+      augment(cost, nr, nc, i, transposed, null);
+    }
+  }
+
+  /**
+   * Solve the assignment problem where each row and column may be left unassigned for a fixed cost.
+   *
+   * <p>If transposed then the rows are the columns of the cost matrix and the columns are the rows
+   * of the cost matrix.
+   *
+   * @param cost the cost
+   * @param nr the number of rows
+   * @param nc the number of columns
+   * @param transposed set to true to index the cost matrix using {@code cost[column][row]}
+   * @param rowCost the cost of leaving each row unassigned
+   * @param colCost the cost of leaving each column unassigned
+   */
+  private void solveUnassigned(int[][] cost, int nr, int nc, boolean transposed, int[] rowCost,
+      int[] colCost) {
+    Arrays.fill(col4row, 0, nr, -1);
+    Arrays.fill(row4col, 0, nc, -1);
+    // Each row has a dummy column with the unassigned cost. The dual for all unassigned columns
+    // must equal the cost of not assigning the column: this is zero for the dummy columns and the
+    // unassigned cost for real columns. Initialise the rows using row reduction.
+    for (int j = 0; j < nc; j++) {
+      v[j] = colCost[j];
+    }
+    for (int i = 0; i < nr; i++) {
+      long min = rowCost[i];
+      for (int j = 0; j < nc; j++) {
+        min = Math.min(min, (transposed ? cost[j][i] : cost[i][j]) - v[j]);
+      }
+      u[i] = min;
+    }
+
+    // Shortest augmenting path for all rows
+    for (int i = 0; i < nr; i++) {
+      augment(cost, nr, nc, i, transposed, rowCost);
+    }
+  }
+
+  /**
+   * Find the shortest augmenting path from the free row to an unassigned column using
+   * Dijkstra's algorithm on the reduced costs, update the dual variables and augment the
+   * assignment along the path.
+   *
+   * <p>If transposed then the rows are the columns of the cost matrix and the columns are the rows
+   * of the cost matrix.
+   *
+   * <p>If the cost of leaving each row unassigned is provided then each row has an exclusive dummy
+   * column with that cost. The dual of a dummy column is always zero: only the dummy column that
+   * ends a search is scanned and the dual of the sink is unchanged.
+   *
+   * @param cost the cost
+   * @param nr the number of rows
+   * @param nc the number of columns
+   * @param free the free row
+   * @param transposed set to true to index the cost matrix using {@code cost[column][row]}
+   * @param rowCost the cost of leaving each row unassigned (can be null)
+   */
+  private void augment(int[][] cost, int nr, int nc, int free, boolean transposed,
+      int[] rowCost) {
+    final long[] u = this.u;
+    final long[] v = this.v;
+    final long[] shortest = this.shortest;
+    final int[] row4col = this.row4col;
+    final int[] remaining = this.remaining;
+
+    for (int j = 0; j < nc; j++) {
+      remaining[j] = j;
+    }
+    Arrays.fill(shortest, 0, nc, INF);
+    Arrays.fill(scannedRows, 0, nr, false);
+    Arrays.fill(scannedCols, 0, nc, false);
+
+    int numRemaining = nc;
+    long minVal = 0;
+    int i = free;
+    int sink;
+    // The row with the lowest cost path to its dummy column
+    long dummyLowest = INF;
+    int dummyRow = -1;
+    for (;;) {
+      scannedRows[i] = true;
+      final int[] c = transposed ? null : cost[i];
+      final long ui = u[i];
+      int index = 0;
+      long lowest = INF;
+      for (int k = 0; k < numRemaining; k++) {
+        final int j = remaining[k];
+        final long r = minVal + (transposed ? cost[j][i] : c[j]) - ui - v[j];
+        if (r < shortest[j]) {
+          path[j] = i;
+          shortest[j] = r;
+        }
+        // On ties prefer an unassigned column to end the search
+        if (shortest[j] < lowest || (shortest[j] == lowest && row4col[j] < 0)) {
+          lowest = shortest[j];
+          index = k;
+        }
+      }
+      if (rowCost != null) {
+        // A dummy column is only reachable from its row and is always unassigned
+        final long r = minVal + rowCost[i] - ui;
+        if (r < dummyLowest) {
+          dummyLowest = r;
+          dummyRow = i;
+        }
+        if (dummyLowest <= lowest) {
+          minVal = dummyLowest;
+          sink = -1;
+          break;
+        }
+      }
+      minVal = lowest;
+      final int j = remaining[index];
+      scannedCols[j] = true;
+      remaining[index] = remaining[--numRemaining];
+      if (row4col[j] < 0) {
+        sink = j;
+        break;
+      }
+      i = row4col[j];
+    }
+
+    // Update the dual variables
+    u[free] += minVal;
+    for (int k = 0; k < nr; k++) {
+      if (scannedRows[k] && k != free) {
+        u[k] += minVal - shortest[col4row[k]];
+      }
+    }
+    for (int k = 0; k < nc; k++) {
+      if (scannedCols[k]) {
+        v[k] -= minVal - shortest[k];
+      }
+    }
+
+    // Augment the assignment along the path
+    int j = sink;
+    if (j < 0) {
+      // The path ends at a dummy column: unassign the row and pass its column back along the path
+      i = dummyRow;
+      j = col4row[i];
+      col4row[i] = -1;
+      if (i == free) {
+        return;
+      }
+    }
+    for (;;) {
+      i = path[j];
+      row4col[j] = i;
+      final int previous = col4row[i];
+      col4row[i] = j;
+      if (i == free) {
+        break;
+      }
+      j = previous;
+    }
+  }
+}
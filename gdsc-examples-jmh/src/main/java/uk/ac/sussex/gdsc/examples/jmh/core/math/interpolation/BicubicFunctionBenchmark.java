@@ -0,0 +1,643 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import uk.ac.sussex.gdsc.core.utils.SimpleArrayUtils;
+
+/**
+ * Executes benchmark to compare the speed of evaluation of a bicubic function using different
+ * storage layouts for the coefficients and the power table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms256M", "-Xmx256M"})
+public class BicubicFunctionBenchmark {
+  /** Number of functions per run. */
+  private static final int NUM_FUNCTIONS = 100;
+  /** Number of samples per run. */
+  private static final int NUM_SAMPLES = 100;
+
+  /** The x position. */
+  private static final CubicSplinePosition[] x;
+  /** The Y position. */
+  private static final CubicSplinePosition[] y;
+  /** Powers for the x position. */
+  private static final double[][] powerX;
+  /** Powers for the x position as float. */
+  private static final float[][] powerXF;
+  /** Powers for the y position. */
+  private static final double[][] powerY;
+  /** Powers for the y position as float. */
+  private static final float[][] powerYF;
+  /** The cubic spline function using array data. */
+  private static final DoubleCustomBicubicFunctionArray[] arrayF;
+  /** The cubic spline function using float array data. */
+  private static final FloatCustomBicubicFunctionArray[] arrayFF;
+  /** The cubic spline function using custom object data. */
+  private static final DoubleCustomBicubicFunctionData[] dataF;
+  /** Power tables. */
+  private static final double[][] arrayTables;
+  /** Power tables as float. */
+  private static final float[][] arrayTablesF;
+  /** Power tables * 2. */
+  private static final double[][] arrayTables2;
+  /** Power tables * 3. */
+  private static final double[][] arrayTables3;
+  /** Power tables * 6. */
+  private static final double[][] arrayTables6;
+  /** Power tables. */
+  private static final DoubleBicubicSplineData[] dataTables;
+  /** Power tables as float. */
+  private static final FloatBicubicSplineData[] dataTablesF;
+  /** Power tables * 2. */
+  private static final DoubleBicubicSplineData[] dataTables2;
+  /** Power tables * 3. */
+  private static final DoubleBicubicSplineData[] dataTables3;
+  /** Power tables * 6. */
+  private static final DoubleBicubicSplineData[] dataTables6;
+
+  static {
+    final ThreadLocalRandom rng = ThreadLocalRandom.current();
+    x = new CubicSplinePosition[NUM_SAMPLES];
+    y = new CubicSplinePosition[NUM_SAMPLES];
+    powerX = new double[NUM_SAMPLES][];
+    powerXF = new float[NUM_SAMPLES][];
+    powerY = new double[NUM_SAMPLES][];
+    powerYF = new float[NUM_SAMPLES][];
+    arrayTables = new double[NUM_SAMPLES][];
+    arrayTablesF = new float[NUM_SAMPLES][];
+    arrayTables2 = new double[NUM_SAMPLES][];
+    arrayTables3 = new double[NUM_SAMPLES][];
+    arrayTables6 = new double[NUM_SAMPLES][];
+    dataTables = new DoubleBicubicSplineData[NUM_SAMPLES];
+    dataTablesF = new FloatBicubicSplineData[NUM_SAMPLES];
+    dataTables2 = new DoubleBicubicSplineData[NUM_SAMPLES];
+    dataTables3 = new DoubleBicubicSplineData[NUM_SAMPLES];
+    dataTables6 = new DoubleBicubicSplineData[NUM_SAMPLES];
+    for (int i = 0; i < NUM_SAMPLES; i++) {
+      x[i] = new CubicSplinePosition(rng.nextDouble());
+      y[i] = new CubicSplinePosition(rng.nextDouble());
+      powerX[i] = new double[] {x[i].x1, x[i].x2, x[i].x3};
+      powerXF[i] = SimpleArrayUtils.toFloat(powerX[i]);
+      powerY[i] = new double[] {y[i].x1, y[i].x2, y[i].x3};
+      powerYF[i] = SimpleArrayUtils.toFloat(powerY[i]);
+      final double[] tmp = computePowerTable(powerX[i], powerY[i]);
+      arrayTables[i] = tmp;
+      arrayTablesF[i] = SimpleArrayUtils.toFloat(tmp);
+      arrayTables2[i] = multiply(tmp, 2);
+      arrayTables3[i] = multiply(tmp, 3);
+      arrayTables6[i] = multiply(tmp, 6);
+      dataTables[i] = new DoubleBicubicSplineData(x[i], y[i]);
+      dataTablesF[i] = new FloatBicubicSplineData(x[i], y[i]);
+      dataTables2[i] = dataTables[i].scale(2);
+      dataTables3[i] = dataTables[i].scale(3);
+      dataTables6[i] = dataTables[i].scale(6);
+    }
+
+    arrayF = new DoubleCustomBicubicFunctionArray[NUM_FUNCTIONS];
+    arrayFF = new FloatCustomBicubicFunctionArray[NUM_FUNCTIONS];
+    dataF = new DoubleCustomBicubicFunctionData[NUM_FUNCTIONS];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final double[] tmp = rng.doubles(16, 0, 456).toArray();
+      arrayF[i] = new DoubleCustomBicubicFunctionArray(tmp);
+      arrayFF[i] = new FloatCustomBicubicFunctionArray(SimpleArrayUtils.toFloat(tmp));
+      dataF[i] = new DoubleCustomBicubicFunctionData(new DoubleBicubicSplineData(tmp));
+    }
+  }
+
+  /**
+   * Compute the power table.
+   *
+   * @param powerX x-coordinate powers of the interpolation point.
+   * @param powerY y-coordinate powers of the interpolation point.
+   * @return the power table.
+   */
+  private static double[] computePowerTable(final double[] powerX, final double[] powerY) {
+    final double[] table = new double[16];
+
+    table[0] = 1;
+    table[1] = powerX[0];
+    table[2] = powerX[1];
+    table[3] = powerX[2];
+    table[4] = powerY[0];
+    table[5] = powerY[0] * powerX[0];
+    table[6] = powerY[0] * powerX[1];
+    table[7] = powerY[0] * powerX[2];
+    table[8] = powerY[1];
+    table[9] = powerY[1] * powerX[0];
+    table[10] = powerY[1] * powerX[1];
+    table[11] = powerY[1] * powerX[2];
+    table[12] = powerY[2];
+    table[13] = powerY[2] * powerX[0];
+    table[14] = powerY[2] * powerX[1];
+    table[15] = powerY[2] * powerX[2];
+
+    return table;
+  }
+
+  private static double[] multiply(double[] x, double f) {
+    x = x.clone();
+    for (int i = 0; i < x.length; i++) {
+      x[i] *= f;
+    }
+    return x;
+  }
+
+  private static class Sink64 {
+    long counter;
+
+    void put(double value) {
+      counter += Double.doubleToRawLongBits(value);
+    }
+
+    void put(double[] derivative) {
+      put(derivative[0]);
+      put(derivative[1]);
+    }
+  }
+
+  // Benchmarks methods below.
+  // @CHECKSTYLE.OFF: JavadocMethod
+  // @CHECKSTYLE.OFF: AbbreviationAsWordInName
+
+  // Non precomputed powers
+
+  @Benchmark
+  public void arrayValue0(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final DoubleCustomBicubicFunctionArray f = arrayF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value0(powerX[j], powerY[j]));
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayDFValue0(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final FloatCustomBicubicFunctionArray f = arrayFF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value0(powerX[j], powerY[j]));
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayFFValue0(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final FloatCustomBicubicFunctionArray f = arrayFF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value0(powerXF[j], powerYF[j]));
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void dataValue0(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final DoubleCustomBicubicFunctionData f = dataF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value0(x[j], y[j]));
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayValue1(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[2];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final DoubleCustomBicubicFunctionArray f = arrayF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value1(powerX[j], powerY[j], derivative1));
+        sink.put(derivative1);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayDFValue1(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[2];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final FloatCustomBicubicFunctionArray f = arrayFF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value1(powerX[j], powerY[j], derivative1));
+        sink.put(derivative1);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayFFValue1(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[2];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final FloatCustomBicubicFunctionArray f = arrayFF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value1(powerXF[j], powerYF[j], derivative1));
+        sink.put(derivative1);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void dataValue1(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[2];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final DoubleCustomBicubicFunctionData f = dataF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value1(x[j], y[j], derivative1));
+        sink.put(derivative1);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayValue2(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[2];
+    final double[] derivative2 = new double[2];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final DoubleCustomBicubicFunctionArray f = arrayF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value2(powerX[j], powerY[j], derivative1, derivative2));
+        sink.put(derivative1);
+        sink.put(derivative2);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayDFValue2(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[2];
+    final double[] derivative2 = new double[2];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final FloatCustomBicubicFunctionArray f = arrayFF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value2(powerX[j], powerY[j], derivative1, derivative2));
+        sink.put(derivative1);
+        sink.put(derivative2);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayFFValue2(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[2];
+    final double[] derivative2 = new double[2];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final FloatCustomBicubicFunctionArray f = arrayFF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value2(powerXF[j], powerYF[j], derivative1, derivative2));
+        sink.put(derivative1);
+        sink.put(derivative2);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void dataValue2(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[2];
+    final double[] derivative2 = new double[2];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final DoubleCustomBicubicFunctionData f = dataF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value2(x[j], y[j], derivative1, derivative2));
+        sink.put(derivative1);
+        sink.put(derivative2);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  // Precomputed power table
+
+  @Benchmark
+  public void arrayPreValue0(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final DoubleCustomBicubicFunctionArray f = arrayF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(arrayTables[j]));
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayDFPreValue0(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final FloatCustomBicubicFunctionArray f = arrayFF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(arrayTables[j]));
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayFFPreValue0(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final FloatCustomBicubicFunctionArray f = arrayFF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(arrayTablesF[j]));
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void dataPreValue0(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final DoubleCustomBicubicFunctionData f = dataF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(dataTables[j]));
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void dataFPreValue0(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final DoubleCustomBicubicFunctionData f = dataF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(dataTablesF[j]));
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayPreValue1(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[2];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final DoubleCustomBicubicFunctionArray f = arrayF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(arrayTables[j], derivative1));
+        sink.put(derivative1);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayDFPreValue1(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[2];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final FloatCustomBicubicFunctionArray f = arrayFF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(arrayTables[j], derivative1));
+        sink.put(derivative1);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayFFPreValue1(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[2];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final FloatCustomBicubicFunctionArray f = arrayFF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(arrayTablesF[j], derivative1));
+        sink.put(derivative1);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void dataPreValue1(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[2];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final DoubleCustomBicubicFunctionData f = dataF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(dataTables[j], derivative1));
+        sink.put(derivative1);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void dataFPreValue1(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[2];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final DoubleCustomBicubicFunctionData f = dataF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(dataTablesF[j], derivative1));
+        sink.put(derivative1);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayPreValue2(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[2];
+    final double[] derivative2 = new double[2];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final DoubleCustomBicubicFunctionArray f = arrayF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(arrayTables[j], derivative1, derivative2));
+        sink.put(derivative1);
+        sink.put(derivative2);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayDFPreValue2(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[2];
+    final double[] derivative2 = new double[2];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final FloatCustomBicubicFunctionArray f = arrayFF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(arrayTables[j], derivative1, derivative2));
+        sink.put(derivative1);
+        sink.put(derivative2);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayFFPreValue2(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[2];
+    final double[] derivative2 = new double[2];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final FloatCustomBicubicFunctionArray f = arrayFF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(arrayTablesF[j], derivative1, derivative2));
+        sink.put(derivative1);
+        sink.put(derivative2);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void dataPreValue2(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[2];
+    final double[] derivative2 = new double[2];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final DoubleCustomBicubicFunctionData f = dataF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(dataTables[j], derivative1, derivative2));
+        sink.put(derivative1);
+        sink.put(derivative2);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void dataFPreValue2(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[2];
+    final double[] derivative2 = new double[2];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final DoubleCustomBicubicFunctionData f = dataF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(dataTablesF[j], derivative1, derivative2));
+        sink.put(derivative1);
+        sink.put(derivative2);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  // Precomputed power table with pre-scaled tables for the gradients
+
+  @Benchmark
+  public void arrayPreScaledValue1(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[2];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final DoubleCustomBicubicFunctionArray f = arrayF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(arrayTables[j], arrayTables2[j], arrayTables3[j], derivative1));
+        sink.put(derivative1);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void dataPreScaledValue1(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[2];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final DoubleCustomBicubicFunctionData f = dataF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(dataTables[j], dataTables2[j], dataTables3[j], derivative1));
+        sink.put(derivative1);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayPreScaledValue2(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[2];
+    final double[] derivative2 = new double[2];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final DoubleCustomBicubicFunctionArray f = arrayF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(arrayTables[j], arrayTables2[j], arrayTables3[j],
+            arrayTables6[j], derivative1, derivative2));
+        sink.put(derivative1);
+        sink.put(derivative2);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void dataPreScaledValue2(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[2];
+    final double[] derivative2 = new double[2];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final DoubleCustomBicubicFunctionData f = dataF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(dataTables[j], dataTables2[j], dataTables3[j],
+            dataTables6[j], derivative1, derivative2));
+        sink.put(derivative1);
+        sink.put(derivative2);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+}
@@ -68,6 +68,29 @@ public class CubicSplinePosition {
     x3 = x2 * x;
   }
 
+  /**
+   * Compute the powers of each value. The values must be in the range 0 to 1.
+   *
+   * @param x the values (the length defines the number of points)
+   * @param x1 the output x^1
+   * @param x2 the output x^2
+   * @param x3 the output x^3
+   * @throws OutOfRangeException If a value is not in the range 0 to 1
+   */
+  public static void computePowers(double[] x, double[] x1, double[] x2, double[] x3) {
+    for (int i = 0; i < x.length; i++) {
+      final double v = x[i];
+      // Use negation to catch NaN
+      if (!(v >= 0 && v <= 1)) {
+        throw new OutOfRangeException(v, 0, 1);
+      }
+      final double v2 = v * v;
+      x1[i] = v;
+      x2[i] = v2;
+      x3[i] = v2 * v;
+    }
+  }
+
   /**
    * Gets x.
    *
@@ -0,0 +1,112 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import org.apache.commons.math3.exception.OutOfRangeException;
+
+/**
+ * Contains the cubic spline positions for a vector of values within the interpolation range. The
+ * powers of each value are stored in primitive arrays.
+ *
+ * <p>This class is mutable and can be reused for successive batches of values.
+ */
+public final class CubicSplinePositions {
+  /** The number of positions. */
+  private int size;
+  /** The values x^1. */
+  double[] x1;
+  /** The values x^2. */
+  double[] x2;
+  /** The values x^3. */
+  double[] x3;
+
+  /**
+   * Create a new instance.
+   *
+   * @param capacity the initial capacity
+   */
+  public CubicSplinePositions(int capacity) {
+    x1 = new double[capacity];
+    x2 = new double[capacity];
+    x3 = new double[capacity];
+  }
+
+  /**
+   * Set the positions. The capacity is increased if required.
+   *
+   * @param x the distance along the spline to the next node for each position (range 0 to 1)
+   * @return this instance
+   * @throws OutOfRangeException If a value is not in the range 0 to 1
+   */
+  public CubicSplinePositions set(double[] x) {
+    if (x1.length < x.length) {
+      x1 = new double[x.length];
+      x2 = new double[x.length];
+      x3 = new double[x.length];
+    }
+    // Invalidate before a possible exception
+    size = 0;
+    CubicSplinePosition.computePowers(x, x1, x2, x3);
+    size = x.length;
+    return this;
+  }
+
+  /**
+   * Gets the number of positions.
+   *
+   * @return the size
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets x^1 for the position.
+   *
+   * @param i the index
+   * @return x
+   */
+  public double getX(int i) {
+    return x1[i];
+  }
+
+  /**
+   * Gets x^2 for the position.
+   *
+   * @param i the index
+   * @return x^2
+   */
+  public double getX2(int i) {
+    return x2[i];
+  }
+
+  /**
+   * Gets x^3 for the position.
+   *
+   * @param i the index
+   * @return x^3
+   */
+  public double getX3(int i) {
+    return x3[i];
+  }
+}
@@ -0,0 +1,292 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+/**
+ * 2D-spline function using double precision float values to store the coefficients.
+ */
+public class DoubleCustomBicubicFunctionArray {
+  /** The 16 coefficients (coeff) for the bi-cubic function. */
+  private final double[] coeff;
+
+  /**
+   * Instantiates a new double custom bicubic function.
+   *
+   * @param coefficients List of spline coefficients.
+   */
+  DoubleCustomBicubicFunctionArray(double[] coefficients) {
+    // Use the table directly
+    this.coeff = coefficients;
+  }
+
+  // CHECKSTYLE.OFF: JavadocMethod
+
+  public double value00() {
+    return coeff[0];
+  }
+
+  public double value00(double[] derivative1) {
+    derivative1[0] = coeff[1];
+    derivative1[1] = coeff[4];
+    return coeff[0];
+  }
+
+  public double value00(double[] derivative1, double[] derivative2) {
+    derivative1[0] = coeff[1];
+    derivative1[1] = coeff[4];
+    derivative2[0] = 2 * coeff[2];
+    derivative2[1] = 2 * coeff[8];
+    return coeff[0];
+  }
+
+  // Allow the working variables for the power computation
+  // to be declared at the top of the method
+  // CHECKSTYLE.OFF: VariableDeclarationUsageDistance
+
+  protected double value0(final double[] powerX, final double[] powerY) {
+    //@formatter:off
+    return                (coeff[ 0] + powerX[0] * coeff[ 1] + powerX[1] * coeff[ 2] + powerX[2] * coeff[ 3])
+            + powerY[0] * (coeff[ 4] + powerX[0] * coeff[ 5] + powerX[1] * coeff[ 6] + powerX[2] * coeff[ 7])
+            + powerY[1] * (coeff[ 8] + powerX[0] * coeff[ 9] + powerX[1] * coeff[10] + powerX[2] * coeff[11])
+            + powerY[2] * (coeff[12] + powerX[0] * coeff[13] + powerX[1] * coeff[14] + powerX[2] * coeff[15]);
+    //@formatter:on
+  }
+
+  protected double value1(final double[] powerX, final double[] powerY,
+      final double[] derivative1) {
+    //@formatter:off
+    derivative1[0] =                  (coeff[ 1] + powerY[0] * coeff[ 5] + powerY[1] * coeff[ 9] + powerY[2] * coeff[13])
+                    + 2 * powerX[0] * (coeff[ 2] + powerY[0] * coeff[ 6] + powerY[1] * coeff[10] + powerY[2] * coeff[14])
+                    + 3 * powerX[1] * (coeff[ 3] + powerY[0] * coeff[ 7] + powerY[1] * coeff[11] + powerY[2] * coeff[15]);
+
+    // Pre-compute the factors for y
+    final double factorY1 = (coeff[ 4] + powerX[0] * coeff[ 5] + powerX[1] * coeff[ 6] + powerX[2] * coeff[ 7]);
+    final double factorY2 = (coeff[ 8] + powerX[0] * coeff[ 9] + powerX[1] * coeff[10] + powerX[2] * coeff[11]);
+    final double factorY3 = (coeff[12] + powerX[0] * coeff[13] + powerX[1] * coeff[14] + powerX[2] * coeff[15]);
+    derivative1[1] =                  factorY1
+                    + 2 * powerY[0] * factorY2
+                    + 3 * powerY[1] * factorY3;
+
+    return                (coeff[ 0] + powerX[0] * coeff[ 1] + powerX[1] * coeff[ 2] + powerX[2] * coeff[ 3])
+            + powerY[0] * factorY1
+            + powerY[1] * factorY2
+            + powerY[2] * factorY3;
+    //@formatter:on
+  }
+
+  protected double value2(final double[] powerX, final double[] powerY,
+      final double[] derivative1, double[] derivative2) {
+    //@formatter:off
+    // Pre-compute the factors for x
+    final double factorX1 = (coeff[ 1] + powerY[0] * coeff[ 5] + powerY[1] * coeff[ 9] + powerY[2] * coeff[13]);
+    final double factorX2 = (coeff[ 2] + powerY[0] * coeff[ 6] + powerY[1] * coeff[10] + powerY[2] * coeff[14]);
+    final double factorX3 = (coeff[ 3] + powerY[0] * coeff[ 7] + powerY[1] * coeff[11] + powerY[2] * coeff[15]);
+    derivative1[0] = factorX1 + 2 * powerX[0] * factorX2 + 3 * powerX[1] * factorX3;
+    derivative2[0] = 2 * factorX2 + 6 * powerX[0] * factorX3;
+
+    // Pre-compute the factors for y
+    final double factorY1 = (coeff[ 4] + powerX[0] * coeff[ 5] + powerX[1] * coeff[ 6] + powerX[2] * coeff[ 7]);
+    final double factorY2 = (coeff[ 8] + powerX[0] * coeff[ 9] + powerX[1] * coeff[10] + powerX[2] * coeff[11]);
+    final double factorY3 = (coeff[12] + powerX[0] * coeff[13] + powerX[1] * coeff[14] + powerX[2] * coeff[15]);
+    derivative1[1] = factorY1 + 2 * powerY[0] * factorY2 + 3 * powerY[1] * factorY3;
+    derivative2[1] = 2 * factorY2 + 6 * powerY[0] * factorY3;
+
+    return                (coeff[ 0] + powerX[0] * coeff[ 1] + powerX[1] * coeff[ 2] + powerX[2] * coeff[ 3])
+            + powerY[0] * factorY1
+            + powerY[1] * factorY2
+            + powerY[2] * factorY3;
+    //@formatter:on
+  }
+
+  // CHECKSTYLE.ON: VariableDeclarationUsageDistance
+
+  public double value(double[] table) {
+    return table[0] * coeff[0] + table[1] * coeff[1] + table[2] * coeff[2] + table[3] * coeff[3]
+        + table[4] * coeff[4] + table[5] * coeff[5] + table[6] * coeff[6] + table[7] * coeff[7]
+        + table[8] * coeff[8] + table[9] * coeff[9] + table[10] * coeff[10] + table[11] * coeff[11]
+        + table[12] * coeff[12] + table[13] * coeff[13] + table[14] * coeff[14]
+        + table[15] * coeff[15];
+  }
+
+  public double value(double[] table, double[] derivative1) {
+    derivative1[0] = table[0] * coeff[1] + 2 * table[1] * coeff[2] + 3 * table[2] * coeff[3]
+        + table[4] * coeff[5] + 2 * table[5] * coeff[6] + 3 * table[6] * coeff[7]
+        + table[8] * coeff[9] + 2 * table[9] * coeff[10] + 3 * table[10] * coeff[11]
+        + table[12] * coeff[13] + 2 * table[13] * coeff[14] + 3 * table[14] * coeff[15];
+    derivative1[1] = table[0] * coeff[4] + table[1] * coeff[5] + table[2] * coeff[6]
+        + table[3] * coeff[7] + 2 * table[4] * coeff[8] + 2 * table[5] * coeff[9]
+        + 2 * table[6] * coeff[10] + 2 * table[7] * coeff[11] + 3 * table[8] * coeff[12]
+        + 3 * table[9] * coeff[13] + 3 * table[10] * coeff[14] + 3 * table[11] * coeff[15];
+    return table[0] * coeff[0] + table[1] * coeff[1] + table[2] * coeff[2] + table[3] * coeff[3]
+        + table[4] * coeff[4] + table[5] * coeff[5] + table[6] * coeff[6] + table[7] * coeff[7]
+        + table[8] * coeff[8] + table[9] * coeff[9] + table[10] * coeff[10] + table[11] * coeff[11]
+        + table[12] * coeff[12] + table[13] * coeff[13] + table[14] * coeff[14]
+        + table[15] * coeff[15];
+  }
+
+  public double value(double[] table, double[] table2, double[] table3, double[] derivative1) {
+    derivative1[0] = table[0] * coeff[1] + table2[1] * coeff[2] + table3[2] * coeff[3]
+        + table[4] * coeff[5] + table2[5] * coeff[6] + table3[6] * coeff[7] + table[8] * coeff[9]
+        + table2[9] * coeff[10] + table3[10] * coeff[11] + table[12] * coeff[13]
+        + table2[13] * coeff[14] + table3[14] * coeff[15];
+    derivative1[1] = table[0] * coeff[4] + table[1] * coeff[5] + table[2] * coeff[6]
+        + table[3] * coeff[7] + table2[4] * coeff[8] + table2[5] * coeff[9] + table2[6] * coeff[10]
+        + table2[7] * coeff[11] + table3[8] * coeff[12] + table3[9] * coeff[13]
+        + table3[10] * coeff[14] + table3[11] * coeff[15];
+    return table[0] * coeff[0] + table[1] * coeff[1] + table[2] * coeff[2] + table[3] * coeff[3]
+        + table[4] * coeff[4] + table[5] * coeff[5] + table[6] * coeff[6] + table[7] * coeff[7]
+        + table[8] * coeff[8] + table[9] * coeff[9] + table[10] * coeff[10] + table[11] * coeff[11]
+        + table[12] * coeff[12] + table[13] * coeff[13] + table[14] * coeff[14]
+        + table[15] * coeff[15];
+  }
+
+  public double value(double[] table, double[] derivative1, double[] derivative2) {
+    derivative1[0] = table[0] * coeff[1] + 2 * table[1] * coeff[2] + 3 * table[2] * coeff[3]
+        + table[4] * coeff[5] + 2 * table[5] * coeff[6] + 3 * table[6] * coeff[7]
+        + table[8] * coeff[9] + 2 * table[9] * coeff[10] + 3 * table[10] * coeff[11]
+        + table[12] * coeff[13] + 2 * table[13] * coeff[14] + 3 * table[14] * coeff[15];
+    derivative1[1] = table[0] * coeff[4] + table[1] * coeff[5] + table[2] * coeff[6]
+        + table[3] * coeff[7] + 2 * table[4] * coeff[8] + 2 * table[5] * coeff[9]
+        + 2 * table[6] * coeff[10] + 2 * table[7] * coeff[11] + 3 * table[8] * coeff[12]
+        + 3 * table[9] * coeff[13] + 3 * table[10] * coeff[14] + 3 * table[11] * coeff[15];
+    derivative2[0] = 2 * table[0] * coeff[2] + 6 * table[1] * coeff[3] + 2 * table[4] * coeff[6]
+        + 6 * table[5] * coeff[7] + 2 * table[8] * coeff[10] + 6 * table[9] * coeff[11]
+        + 2 * table[12] * coeff[14] + 6 * table[13] * coeff[15];
+    derivative2[1] = 2 * table[0] * coeff[8] + 2 * table[1] * coeff[9] + 2 * table[2] * coeff[10]
+        + 2 * table[3] * coeff[11] + 6 * table[4] * coeff[12] + 6 * table[5] * coeff[13]
+        + 6 * table[6] * coeff[14] + 6 * table[7] * coeff[15];
+    return table[0] * coeff[0] + table[1] * coeff[1] + table[2] * coeff[2] + table[3] * coeff[3]
+        + table[4] * coeff[4] + table[5] * coeff[5] + table[6] * coeff[6] + table[7] * coeff[7]
+        + table[8] * coeff[8] + table[9] * coeff[9] + table[10] * coeff[10] + table[11] * coeff[11]
+        + table[12] * coeff[12] + table[13] * coeff[13] + table[14] * coeff[14]
+        + table[15] * coeff[15];
+  }
+
+  public double value(double[] table, double[] table2, double[] table3, double[] table6,
+      double[] derivative1, double[] derivative2) {
+    derivative1[0] = table[0] * coeff[1] + table2[1] * coeff[2] + table3[2] * coeff[3]
+        + table[4] * coeff[5] + table2[5] * coeff[6] + table3[6] * coeff[7] + table[8] * coeff[9]
+        + table2[9] * coeff[10] + table3[10] * coeff[11] + table[12] * coeff[13]
+        + table2[13] * coeff[14] + table3[14] * coeff[15];
+    derivative1[1] = table[0] * coeff[4] + table[1] * coeff[5] + table[2] * coeff[6]
+        + table[3] * coeff[7] + table2[4] * coeff[8] + table2[5] * coeff[9] + table2[6] * coeff[10]
+        + table2[7] * coeff[11] + table3[8] * coeff[12] + table3[9] * coeff[13]
+        + table3[10] * coeff[14] + table3[11] * coeff[15];
+    derivative2[0] = table2[0] * coeff[2] + table6[1] * coeff[3] + table2[4] * coeff[6]
+        + table6[5] * coeff[7] + table2[8] * coeff[10] + table6[9] * coeff[11]
+        + table2[12] * coeff[14] + table6[13] * coeff[15];
+    derivative2[1] = table2[0] * coeff[8] + table2[1] * coeff[9] + table2[2] * coeff[10]
+        + table2[3] * coeff[11] + table6[4] * coeff[12] + table6[5] * coeff[13]
+        + table6[6] * coeff[14] + table6[7] * coeff[15];
+    return table[0] * coeff[0] + table[1] * coeff[1] + table[2] * coeff[2] + table[3] * coeff[3]
+        + table[4] * coeff[4] + table[5] * coeff[5] + table[6] * coeff[6] + table[7] * coeff[7]
+        + table[8] * coeff[8] + table[9] * coeff[9] + table[10] * coeff[10] + table[11] * coeff[11]
+        + table[12] * coeff[12] + table[13] * coeff[13] + table[14] * coeff[14]
+        + table[15] * coeff[15];
+  }
+
+  public double value(float[] table) {
+    return table[0] * coeff[0] + table[1] * coeff[1] + table[2] * coeff[2] + table[3] * coeff[3]
+        + table[4] * coeff[4] + table[5] * coeff[5] + table[6] * coeff[6] + table[7] * coeff[7]
+        + table[8] * coeff[8] + table[9] * coeff[9] + table[10] * coeff[10] + table[11] * coeff[11]
+        + table[12] * coeff[12] + table[13] * coeff[13] + table[14] * coeff[14]
+        + table[15] * coeff[15];
+  }
+
+  public double value(float[] table, double[] derivative1) {
+    derivative1[0] = table[0] * coeff[1] + 2 * table[1] * coeff[2] + 3 * table[2] * coeff[3]
+        + table[4] * coeff[5] + 2 * table[5] * coeff[6] + 3 * table[6] * coeff[7]
+        + table[8] * coeff[9] + 2 * table[9] * coeff[10] + 3 * table[10] * coeff[11]
+        + table[12] * coeff[13] + 2 * table[13] * coeff[14] + 3 * table[14] * coeff[15];
+    derivative1[1] = table[0] * coeff[4] + table[1] * coeff[5] + table[2] * coeff[6]
+        + table[3] * coeff[7] + 2 * table[4] * coeff[8] + 2 * table[5] * coeff[9]
+        + 2 * table[6] * coeff[10] + 2 * table[7] * coeff[11] + 3 * table[8] * coeff[12]
+        + 3 * table[9] * coeff[13] + 3 * table[10] * coeff[14] + 3 * table[11] * coeff[15];
+    return table[0] * coeff[0] + table[1] * coeff[1] + table[2] * coeff[2] + table[3] * coeff[3]
+        + table[4] * coeff[4] + table[5] * coeff[5] + table[6] * coeff[6] + table[7] * coeff[7]
+        + table[8] * coeff[8] + table[9] * coeff[9] + table[10] * coeff[10] + table[11] * coeff[11]
+        + table[12] * coeff[12] + table[13] * coeff[13] + table[14] * coeff[14]
+        + table[15] * coeff[15];
+  }
+
+  public double value(float[] table, float[] table2, float[] table3, double[] derivative1) {
+    derivative1[0] = table[0] * coeff[1] + table2[1] * coeff[2] + table3[2] * coeff[3]
+        + table[4] * coeff[5] + table2[5] * coeff[6] + table3[6] * coeff[7] + table[8] * coeff[9]
+        + table2[9] * coeff[10] + table3[10] * coeff[11] + table[12] * coeff[13]
+        + table2[13] * coeff[14] + table3[14] * coeff[15];
+    derivative1[1] = table[0] * coeff[4] + table[1] * coeff[5] + table[2] * coeff[6]
+        + table[3] * coeff[7] + table2[4] * coeff[8] + table2[5] * coeff[9] + table2[6] * coeff[10]
+        + table2[7] * coeff[11] + table3[8] * coeff[12] + table3[9] * coeff[13]
+        + table3[10] * coeff[14] + table3[11] * coeff[15];
+    return table[0] * coeff[0] + table[1] * coeff[1] + table[2] * coeff[2] + table[3] * coeff[3]
+        + table[4] * coeff[4] + table[5] * coeff[5] + table[6] * coeff[6] + table[7] * coeff[7]
+        + table[8] * coeff[8] + table[9] * coeff[9] + table[10] * coeff[10] + table[11] * coeff[11]
+        + table[12] * coeff[12] + table[13] * coeff[13] + table[14] * coeff[14]
+        + table[15] * coeff[15];
+  }
+
+  public double value(float[] table, double[] derivative1, double[] derivative2) {
+    derivative1[0] = table[0] * coeff[1] + 2 * table[1] * coeff[2] + 3 * table[2] * coeff[3]
+        + table[4] * coeff[5] + 2 * table[5] * coeff[6] + 3 * table[6] * coeff[7]
+        + table[8] * coeff[9] + 2 * table[9] * coeff[10] + 3 * table[10] * coeff[11]
+        + table[12] * coeff[13] + 2 * table[13] * coeff[14] + 3 * table[14] * coeff[15];
+    derivative1[1] = table[0] * coeff[4] + table[1] * coeff[5] + table[2] * coeff[6]
+        + table[3] * coeff[7] + 2 * table[4] * coeff[8] + 2 * table[5] * coeff[9]
+        + 2 * table[6] * coeff[10] + 2 * table[7] * coeff[11] + 3 * table[8] * coeff[12]
+        + 3 * table[9] * coeff[13] + 3 * table[10] * coeff[14] + 3 * table[11] * coeff[15];
+    derivative2[0] = 2 * table[0] * coeff[2] + 6 * table[1] * coeff[3] + 2 * table[4] * coeff[6]
+        + 6 * table[5] * coeff[7] + 2 * table[8] * coeff[10] + 6 * table[9] * coeff[11]
+        + 2 * table[12] * coeff[14] + 6 * table[13] * coeff[15];
+    derivative2[1] = 2 * table[0] * coeff[8] + 2 * table[1] * coeff[9] + 2 * table[2] * coeff[10]
+        + 2 * table[3] * coeff[11] + 6 * table[4] * coeff[12] + 6 * table[5] * coeff[13]
+        + 6 * table[6] * coeff[14] + 6 * table[7] * coeff[15];
+    return table[0] * coeff[0] + table[1] * coeff[1] + table[2] * coeff[2] + table[3] * coeff[3]
+        + table[4] * coeff[4] + table[5] * coeff[5] + table[6] * coeff[6] + table[7] * coeff[7]
+        + table[8] * coeff[8] + table[9] * coeff[9] + table[10] * coeff[10] + table[11] * coeff[11]
+        + table[12] * coeff[12] + table[13] * coeff[13] + table[14] * coeff[14]
+        + table[15] * coeff[15];
+  }
+
+  public double value(float[] table, float[] table2, float[] table3, float[] table6,
+      double[] derivative1, double[] derivative2) {
+    derivative1[0] = table[0] * coeff[1] + table2[1] * coeff[2] + table3[2] * coeff[3]
+        + table[4] * coeff[5] + table2[5] * coeff[6] + table3[6] * coeff[7] + table[8] * coeff[9]
+        + table2[9] * coeff[10] + table3[10] * coeff[11] + table[12] * coeff[13]
+        + table2[13] * coeff[14] + table3[14] * coeff[15];
+    derivative1[1] = table[0] * coeff[4] + table[1] * coeff[5] + table[2] * coeff[6]
+        + table[3] * coeff[7] + table2[4] * coeff[8] + table2[5] * coeff[9] + table2[6] * coeff[10]
+        + table2[7] * coeff[11] + table3[8] * coeff[12] + table3[9] * coeff[13]
+        + table3[10] * coeff[14] + table3[11] * coeff[15];
+    derivative2[0] = table2[0] * coeff[2] + table6[1] * coeff[3] + table2[4] * coeff[6]
+        + table6[5] * coeff[7] + table2[8] * coeff[10] + table6[9] * coeff[11]
+        + table2[12] * coeff[14] + table6[13] * coeff[15];
+    derivative2[1] = table2[0] * coeff[8] + table2[1] * coeff[9] + table2[2] * coeff[10]
+        + table2[3] * coeff[11] + table6[4] * coeff[12] + table6[5] * coeff[13]
+        + table6[6] * coeff[14] + table6[7] * coeff[15];
+    return table[0] * coeff[0] + table[1] * coeff[1] + table[2] * coeff[2] + table[3] * coeff[3]
+        + table[4] * coeff[4] + table[5] * coeff[5] + table[6] * coeff[6] + table[7] * coeff[7]
+        + table[8] * coeff[8] + table[9] * coeff[9] + table[10] * coeff[10] + table[11] * coeff[11]
+        + table[12] * coeff[12] + table[13] * coeff[13] + table[14] * coeff[14]
+        + table[15] * coeff[15];
+  }
+}
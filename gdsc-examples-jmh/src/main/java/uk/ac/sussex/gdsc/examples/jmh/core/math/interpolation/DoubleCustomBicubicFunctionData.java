@@ -0,0 +1,312 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+/**
+ * 2D-spline function using double precision float values to store the coefficients.
+ *
+ * <p>This class is immutable.
+ */
+public class DoubleCustomBicubicFunctionData {
+  /** The 16 coefficients (coeff) for the bi-cubic function. */
+  private final DoubleBicubicSplineData coeff;
+
+  /**
+   * Instantiates a new double custom bicubic function.
+   *
+   * @param coefficients List of spline coefficients.
+   */
+  DoubleCustomBicubicFunctionData(DoubleBicubicSplineData coefficients) {
+    // Use the table directly
+    this.coeff = coefficients;
+  }
+
+  // CHECKSTYLE.OFF: JavadocMethod
+
+  public double value00() {
+    return coeff.x0y0;
+  }
+
+  public double value00(double[] derivative1) {
+    derivative1[0] = coeff.x1y0;
+    derivative1[1] = coeff.x0y1;
+    return coeff.x0y0;
+  }
+
+  public double value00(double[] derivative1, double[] derivative2) {
+    derivative1[0] = coeff.x1y0;
+    derivative1[1] = coeff.x0y1;
+    derivative2[0] = 2 * coeff.x2y0;
+    derivative2[1] = 2 * coeff.x0y2;
+    return coeff.x0y0;
+  }
+
+  // Allow the working variables for the power computation
+  // to be declared at the top of the method
+  // CHECKSTYLE.OFF: VariableDeclarationUsageDistance
+
+  protected double value0(final CubicSplinePosition x, final CubicSplinePosition y) {
+    //@formatter:off
+    return           (coeff.x0y0 + x.x1 * coeff.x1y0 + x.x2 * coeff.x2y0 + x.x3 * coeff.x3y0)
+            + y.x1 * (coeff.x0y1 + x.x1 * coeff.x1y1 + x.x2 * coeff.x2y1 + x.x3 * coeff.x3y1)
+            + y.x2 * (coeff.x0y2 + x.x1 * coeff.x1y2 + x.x2 * coeff.x2y2 + x.x3 * coeff.x3y2)
+            + y.x3 * (coeff.x0y3 + x.x1 * coeff.x1y3 + x.x2 * coeff.x2y3 + x.x3 * coeff.x3y3);
+    //@formatter:on
+  }
+
+  protected double value1(final CubicSplinePosition x, final CubicSplinePosition y,
+      final double[] derivative1) {
+    //@formatter:off
+    derivative1[0] =             (coeff.x1y0 + y.x1 * coeff.x1y1 + y.x2 * coeff.x1y2 + y.x3 * coeff.x1y3)
+                    + 2 * x.x1 * (coeff.x2y0 + y.x1 * coeff.x2y1 + y.x2 * coeff.x2y2 + y.x3 * coeff.x2y3)
+                    + 3 * x.x2 * (coeff.x3y0 + y.x1 * coeff.x3y1 + y.x2 * coeff.x3y2 + y.x3 * coeff.x3y3);
+
+    // Pre-compute the factors for y
+    final double factorY1 = (coeff.x0y1 + x.x1 * coeff.x1y1 + x.x2 * coeff.x2y1 + x.x3 * coeff.x3y1);
+    final double factorY2 = (coeff.x0y2 + x.x1 * coeff.x1y2 + x.x2 * coeff.x2y2 + x.x3 * coeff.x3y2);
+    final double factorY3 = (coeff.x0y3 + x.x1 * coeff.x1y3 + x.x2 * coeff.x2y3 + x.x3 * coeff.x3y3);
+    derivative1[1] =             factorY1
+                    + 2 * y.x1 * factorY2
+                    + 3 * y.x2 * factorY3;
+
+    return           (coeff.x0y0 + x.x1 * coeff.x1y0 + x.x2 * coeff.x2y0 + x.x3 * coeff.x3y0)
+            + y.x1 * factorY1
+            + y.x2 * factorY2
+            + y.x3 * factorY3;
+    //@formatter:on
+  }
+
+  protected double value2(final CubicSplinePosition x, final CubicSplinePosition y,
+      final double[] derivative1, double[] derivative2) {
+    //@formatter:off
+    // Pre-compute the factors for x
+    final double factorX1 = (coeff.x1y0 + y.x1 * coeff.x1y1 + y.x2 * coeff.x1y2 + y.x3 * coeff.x1y3);
+    final double factorX2 = (coeff.x2y0 + y.x1 * coeff.x2y1 + y.x2 * coeff.x2y2 + y.x3 * coeff.x2y3);
+    final double factorX3 = (coeff.x3y0 + y.x1 * coeff.x3y1 + y.x2 * coeff.x3y2 + y.x3 * coeff.x3y3);
+    derivative1[0] = factorX1 + 2 * x.x1 * factorX2 + 3 * x.x2 * factorX3;
+    derivative2[0] = 2 * factorX2 + 6 * x.x1 * factorX3;
+
+    // Pre-compute the factors for y
+    final double factorY1 = (coeff.x0y1 + x.x1 * coeff.x1y1 + x.x2 * coeff.x2y1 + x.x3 * coeff.x3y1);
+    final double factorY2 = (coeff.x0y2 + x.x1 * coeff.x1y2 + x.x2 * coeff.x2y2 + x.x3 * coeff.x3y2);
+    final double factorY3 = (coeff.x0y3 + x.x1 * coeff.x1y3 + x.x2 * coeff.x2y3 + x.x3 * coeff.x3y3);
+    derivative1[1] = factorY1 + 2 * y.x1 * factorY2 + 3 * y.x2 * factorY3;
+    derivative2[1] = 2 * factorY2 + 6 * y.x1 * factorY3;
+
+    return           (coeff.x0y0 + x.x1 * coeff.x1y0 + x.x2 * coeff.x2y0 + x.x3 * coeff.x3y0)
+            + y.x1 * factorY1
+            + y.x2 * factorY2
+            + y.x3 * factorY3;
+    //@formatter:on
+  }
+
+  // CHECKSTYLE.ON: VariableDeclarationUsageDistance
+
+  public double value(DoubleBicubicSplineData table) {
+    return table.x0y0 * coeff.x0y0 + table.x1y0 * coeff.x1y0 + table.x2y0 * coeff.x2y0
+        + table.x3y0 * coeff.x3y0 + table.x0y1 * coeff.x0y1 + table.x1y1 * coeff.x1y1
+        + table.x2y1 * coeff.x2y1 + table.x3y1 * coeff.x3y1 + table.x0y2 * coeff.x0y2
+        + table.x1y2 * coeff.x1y2 + table.x2y2 * coeff.x2y2 + table.x3y2 * coeff.x3y2
+        + table.x0y3 * coeff.x0y3 + table.x1y3 * coeff.x1y3 + table.x2y3 * coeff.x2y3
+        + table.x3y3 * coeff.x3y3;
+  }
+
+  public double value(DoubleBicubicSplineData table, double[] derivative1) {
+    derivative1[0] = table.x0y0 * coeff.x1y0 + 2 * table.x1y0 * coeff.x2y0
+        + 3 * table.x2y0 * coeff.x3y0 + table.x0y1 * coeff.x1y1 + 2 * table.x1y1 * coeff.x2y1
+        + 3 * table.x2y1 * coeff.x3y1 + table.x0y2 * coeff.x1y2 + 2 * table.x1y2 * coeff.x2y2
+        + 3 * table.x2y2 * coeff.x3y2 + table.x0y3 * coeff.x1y3 + 2 * table.x1y3 * coeff.x2y3
+        + 3 * table.x2y3 * coeff.x3y3;
+    derivative1[1] = table.x0y0 * coeff.x0y1 + table.x1y0 * coeff.x1y1 + table.x2y0 * coeff.x2y1
+        + table.x3y0 * coeff.x3y1 + 2 * table.x0y1 * coeff.x0y2 + 2 * table.x1y1 * coeff.x1y2
+        + 2 * table.x2y1 * coeff.x2y2 + 2 * table.x3y1 * coeff.x3y2 + 3 * table.x0y2 * coeff.x0y3
+        + 3 * table.x1y2 * coeff.x1y3 + 3 * table.x2y2 * coeff.x2y3 + 3 * table.x3y2 * coeff.x3y3;
+    return table.x0y0 * coeff.x0y0 + table.x1y0 * coeff.x1y0 + table.x2y0 * coeff.x2y0
+        + table.x3y0 * coeff.x3y0 + table.x0y1 * coeff.x0y1 + table.x1y1 * coeff.x1y1
+        + table.x2y1 * coeff.x2y1 + table.x3y1 * coeff.x3y1 + table.x0y2 * coeff.x0y2
+        + table.x1y2 * coeff.x1y2 + table.x2y2 * coeff.x2y2 + table.x3y2 * coeff.x3y2
+        + table.x0y3 * coeff.x0y3 + table.x1y3 * coeff.x1y3 + table.x2y3 * coeff.x2y3
+        + table.x3y3 * coeff.x3y3;
+  }
+
+  public double value(DoubleBicubicSplineData table, DoubleBicubicSplineData table2,
+      DoubleBicubicSplineData table3, double[] derivative1) {
+    derivative1[0] = table.x0y0 * coeff.x1y0 + table2.x1y0 * coeff.x2y0 + table3.x2y0 * coeff.x3y0
+        + table.x0y1 * coeff.x1y1 + table2.x1y1 * coeff.x2y1 + table3.x2y1 * coeff.x3y1
+        + table.x0y2 * coeff.x1y2 + table2.x1y2 * coeff.x2y2 + table3.x2y2 * coeff.x3y2
+        + table.x0y3 * coeff.x1y3 + table2.x1y3 * coeff.x2y3 + table3.x2y3 * coeff.x3y3;
+    derivative1[1] = table.x0y0 * coeff.x0y1 + table.x1y0 * coeff.x1y1 + table.x2y0 * coeff.x2y1
+        + table.x3y0 * coeff.x3y1 + table2.x0y1 * coeff.x0y2 + table2.x1y1 * coeff.x1y2
+        + table2.x2y1 * coeff.x2y2 + table2.x3y1 * coeff.x3y2 + table3.x0y2 * coeff.x0y3
+        + table3.x1y2 * coeff.x1y3 + table3.x2y2 * coeff.x2y3 + table3.x3y2 * coeff.x3y3;
+    return table.x0y0 * coeff.x0y0 + table.x1y0 * coeff.x1y0 + table.x2y0 * coeff.x2y0
+        + table.x3y0 * coeff.x3y0 + table.x0y1 * coeff.x0y1 + table.x1y1 * coeff.x1y1
+        + table.x2y1 * coeff.x2y1 + table.x3y1 * coeff.x3y1 + table.x0y2 * coeff.x0y2
+        + table.x1y2 * coeff.x1y2 + table.x2y2 * coeff.x2y2 + table.x3y2 * coeff.x3y2
+        + table.x0y3 * coeff.x0y3 + table.x1y3 * coeff.x1y3 + table.x2y3 * coeff.x2y3
+        + table.x3y3 * coeff.x3y3;
+  }
+
+  public double value(DoubleBicubicSplineData table, double[] derivative1, double[] derivative2) {
+    derivative1[0] = table.x0y0 * coeff.x1y0 + 2 * table.x1y0 * coeff.x2y0
+        + 3 * table.x2y0 * coeff.x3y0 + table.x0y1 * coeff.x1y1 + 2 * table.x1y1 * coeff.x2y1
+        + 3 * table.x2y1 * coeff.x3y1 + table.x0y2 * coeff.x1y2 + 2 * table.x1y2 * coeff.x2y2
+        + 3 * table.x2y2 * coeff.x3y2 + table.x0y3 * coeff.x1y3 + 2 * table.x1y3 * coeff.x2y3
+        + 3 * table.x2y3 * coeff.x3y3;
+    derivative1[1] = table.x0y0 * coeff.x0y1 + table.x1y0 * coeff.x1y1 + table.x2y0 * coeff.x2y1
+        + table.x3y0 * coeff.x3y1 + 2 * table.x0y1 * coeff.x0y2 + 2 * table.x1y1 * coeff.x1y2
+        + 2 * table.x2y1 * coeff.x2y2 + 2 * table.x3y1 * coeff.x3y2 + 3 * table.x0y2 * coeff.x0y3
+        + 3 * table.x1y2 * coeff.x1y3 + 3 * table.x2y2 * coeff.x2y3 + 3 * table.x3y2 * coeff.x3y3;
+    derivative2[0] = 2 * table.x0y0 * coeff.x2y0 + 6 * table.x1y0 * coeff.x3y0
+        + 2 * table.x0y1 * coeff.x2y1 + 6 * table.x1y1 * coeff.x3y1 + 2 * table.x0y2 * coeff.x2y2
+        + 6 * table.x1y2 * coeff.x3y2 + 2 * table.x0y3 * coeff.x2y3 + 6 * table.x1y3 * coeff.x3y3;
+    derivative2[1] = 2 * table.x0y0 * coeff.x0y2 + 2 * table.x1y0 * coeff.x1y2
+        + 2 * table.x2y0 * coeff.x2y2 + 2 * table.x3y0 * coeff.x3y2 + 6 * table.x0y1 * coeff.x0y3
+        + 6 * table.x1y1 * coeff.x1y3 + 6 * table.x2y1 * coeff.x2y3 + 6 * table.x3y1 * coeff.x3y3;
+    return table.x0y0 * coeff.x0y0 + table.x1y0 * coeff.x1y0 + table.x2y0 * coeff.x2y0
+        + table.x3y0 * coeff.x3y0 + table.x0y1 * coeff.x0y1 + table.x1y1 * coeff.x1y1
+        + table.x2y1 * coeff.x2y1 + table.x3y1 * coeff.x3y1 + table.x0y2 * coeff.x0y2
+        + table.x1y2 * coeff.x1y2 + table.x2y2 * coeff.x2y2 + table.x3y2 * coeff.x3y2
+        + table.x0y3 * coeff.x0y3 + table.x1y3 * coeff.x1y3 + table.x2y3 * coeff.x2y3
+        + table.x3y3 * coeff.x3y3;
+  }
+
+  public double value(DoubleBicubicSplineData table, DoubleBicubicSplineData table2,
+      DoubleBicubicSplineData table3, DoubleBicubicSplineData table6, double[] derivative1,
+      double[] derivative2) {
+    derivative1[0] = table.x0y0 * coeff.x1y0 + table2.x1y0 * coeff.x2y0 + table3.x2y0 * coeff.x3y0
+        + table.x0y1 * coeff.x1y1 + table2.x1y1 * coeff.x2y1 + table3.x2y1 * coeff.x3y1
+        + table.x0y2 * coeff.x1y2 + table2.x1y2 * coeff.x2y2 + table3.x2y2 * coeff.x3y2
+        + table.x0y3 * coeff.x1y3 + table2.x1y3 * coeff.x2y3 + table3.x2y3 * coeff.x3y3;
+    derivative1[1] = table.x0y0 * coeff.x0y1 + table.x1y0 * coeff.x1y1 + table.x2y0 * coeff.x2y1
+        + table.x3y0 * coeff.x3y1 + table2.x0y1 * coeff.x0y2 + table2.x1y1 * coeff.x1y2
+        + table2.x2y1 * coeff.x2y2 + table2.x3y1 * coeff.x3y2 + table3.x0y2 * coeff.x0y3
+        + table3.x1y2 * coeff.x1y3 + table3.x2y2 * coeff.x2y3 + table3.x3y2 * coeff.x3y3;
+    derivative2[0] = table2.x0y0 * coeff.x2y0 + table6.x1y0 * coeff.x3y0 + table2.x0y1 * coeff.x2y1
+        + table6.x1y1 * coeff.x3y1 + table2.x0y2 * coeff.x2y2 + table6.x1y2 * coeff.x3y2
+        + table2.x0y3 * coeff.x2y3 + table6.x1y3 * coeff.x3y3;
+    derivative2[1] = table2.x0y0 * coeff.x0y2 + table2.x1y0 * coeff.x1y2 + table2.x2y0 * coeff.x2y2
+        + table2.x3y0 * coeff.x3y2 + table6.x0y1 * coeff.x0y3 + table6.x1y1 * coeff.x1y3
+        + table6.x2y1 * coeff.x2y3 + table6.x3y1 * coeff.x3y3;
+    return table.x0y0 * coeff.x0y0 + table.x1y0 * coeff.x1y0 + table.x2y0 * coeff.x2y0
+        + table.x3y0 * coeff.x3y0 + table.x0y1 * coeff.x0y1 + table.x1y1 * coeff.x1y1
+        + table.x2y1 * coeff.x2y1 + table.x3y1 * coeff.x3y1 + table.x0y2 * coeff.x0y2
+        + table.x1y2 * coeff.x1y2 + table.x2y2 * coeff.x2y2 + table.x3y2 * coeff.x3y2
+        + table.x0y3 * coeff.x0y3 + table.x1y3 * coeff.x1y3 + table.x2y3 * coeff.x2y3
+        + table.x3y3 * coeff.x3y3;
+  }
+
+  public double value(FloatBicubicSplineData table) {
+    return table.x0y0 * coeff.x0y0 + table.x1y0 * coeff.x1y0 + table.x2y0 * coeff.x2y0
+        + table.x3y0 * coeff.x3y0 + table.x0y1 * coeff.x0y1 + table.x1y1 * coeff.x1y1
+        + table.x2y1 * coeff.x2y1 + table.x3y1 * coeff.x3y1 + table.x0y2 * coeff.x0y2
+        + table.x1y2 * coeff.x1y2 + table.x2y2 * coeff.x2y2 + table.x3y2 * coeff.x3y2
+        + table.x0y3 * coeff.x0y3 + table.x1y3 * coeff.x1y3 + table.x2y3 * coeff.x2y3
+        + table.x3y3 * coeff.x3y3;
+  }
+
+  public double value(FloatBicubicSplineData table, double[] derivative1) {
+    derivative1[0] = table.x0y0 * coeff.x1y0 + 2 * table.x1y0 * coeff.x2y0
+        + 3 * table.x2y0 * coeff.x3y0 + table.x0y1 * coeff.x1y1 + 2 * table.x1y1 * coeff.x2y1
+        + 3 * table.x2y1 * coeff.x3y1 + table.x0y2 * coeff.x1y2 + 2 * table.x1y2 * coeff.x2y2
+        + 3 * table.x2y2 * coeff.x3y2 + table.x0y3 * coeff.x1y3 + 2 * table.x1y3 * coeff.x2y3
+        + 3 * table.x2y3 * coeff.x3y3;
+    derivative1[1] = table.x0y0 * coeff.x0y1 + table.x1y0 * coeff.x1y1 + table.x2y0 * coeff.x2y1
+        + table.x3y0 * coeff.x3y1 + 2 * table.x0y1 * coeff.x0y2 + 2 * table.x1y1 * coeff.x1y2
+        + 2 * table.x2y1 * coeff.x2y2 + 2 * table.x3y1 * coeff.x3y2 + 3 * table.x0y2 * coeff.x0y3
+        + 3 * table.x1y2 * coeff.x1y3 + 3 * table.x2y2 * coeff.x2y3 + 3 * table.x3y2 * coeff.x3y3;
+    return table.x0y0 * coeff.x0y0 + table.x1y0 * coeff.x1y0 + table.x2y0 * coeff.x2y0
+        + table.x3y0 * coeff.x3y0 + table.x0y1 * coeff.x0y1 + table.x1y1 * coeff.x1y1
+        + table.x2y1 * coeff.x2y1 + table.x3y1 * coeff.x3y1 + table.x0y2 * coeff.x0y2
+        + table.x1y2 * coeff.x1y2 + table.x2y2 * coeff.x2y2 + table.x3y2 * coeff.x3y2
+        + table.x0y3 * coeff.x0y3 + table.x1y3 * coeff.x1y3 + table.x2y3 * coeff.x2y3
+        + table.x3y3 * coeff.x3y3;
+  }
+
+  public double value(FloatBicubicSplineData table, FloatBicubicSplineData table2,
+      FloatBicubicSplineData table3, double[] derivative1) {
+    derivative1[0] = table.x0y0 * coeff.x1y0 + table2.x1y0 * coeff.x2y0 + table3.x2y0 * coeff.x3y0
+        + table.x0y1 * coeff.x1y1 + table2.x1y1 * coeff.x2y1 + table3.x2y1 * coeff.x3y1
+        + table.x0y2 * coeff.x1y2 + table2.x1y2 * coeff.x2y2 + table3.x2y2 * coeff.x3y2
+        + table.x0y3 * coeff.x1y3 + table2.x1y3 * coeff.x2y3 + table3.x2y3 * coeff.x3y3;
+    derivative1[1] = table.x0y0 * coeff.x0y1 + table.x1y0 * coeff.x1y1 + table.x2y0 * coeff.x2y1
+        + table.x3y0 * coeff.x3y1 + table2.x0y1 * coeff.x0y2 + table2.x1y1 * coeff.x1y2
+        + table2.x2y1 * coeff.x2y2 + table2.x3y1 * coeff.x3y2 + table3.x0y2 * coeff.x0y3
+        + table3.x1y2 * coeff.x1y3 + table3.x2y2 * coeff.x2y3 + table3.x3y2 * coeff.x3y3;
+    return table.x0y0 * coeff.x0y0 + table.x1y0 * coeff.x1y0 + table.x2y0 * coeff.x2y0
+        + table.x3y0 * coeff.x3y0 + table.x0y1 * coeff.x0y1 + table.x1y1 * coeff.x1y1
+        + table.x2y1 * coeff.x2y1 + table.x3y1 * coeff.x3y1 + table.x0y2 * coeff.x0y2
+        + table.x1y2 * coeff.x1y2 + table.x2y2 * coeff.x2y2 + table.x3y2 * coeff.x3y2
+        + table.x0y3 * coeff.x0y3 + table.x1y3 * coeff.x1y3 + table.x2y3 * coeff.x2y3
+        + table.x3y3 * coeff.x3y3;
+  }
+
+  public double value(FloatBicubicSplineData table, double[] derivative1, double[] derivative2) {
+    derivative1[0] = table.x0y0 * coeff.x1y0 + 2 * table.x1y0 * coeff.x2y0
+        + 3 * table.x2y0 * coeff.x3y0 + table.x0y1 * coeff.x1y1 + 2 * table.x1y1 * coeff.x2y1
+        + 3 * table.x2y1 * coeff.x3y1 + table.x0y2 * coeff.x1y2 + 2 * table.x1y2 * coeff.x2y2
+        + 3 * table.x2y2 * coeff.x3y2 + table.x0y3 * coeff.x1y3 + 2 * table.x1y3 * coeff.x2y3
+        + 3 * table.x2y3 * coeff.x3y3;
+    derivative1[1] = table.x0y0 * coeff.x0y1 + table.x1y0 * coeff.x1y1 + table.x2y0 * coeff.x2y1
+        + table.x3y0 * coeff.x3y1 + 2 * table.x0y1 * coeff.x0y2 + 2 * table.x1y1 * coeff.x1y2
+        + 2 * table.x2y1 * coeff.x2y2 + 2 * table.x3y1 * coeff.x3y2 + 3 * table.x0y2 * coeff.x0y3
+        + 3 * table.x1y2 * coeff.x1y3 + 3 * table.x2y2 * coeff.x2y3 + 3 * table.x3y2 * coeff.x3y3;
+    derivative2[0] = 2 * table.x0y0 * coeff.x2y0 + 6 * table.x1y0 * coeff.x3y0
+        + 2 * table.x0y1 * coeff.x2y1 + 6 * table.x1y1 * coeff.x3y1 + 2 * table.x0y2 * coeff.x2y2
+        + 6 * table.x1y2 * coeff.x3y2 + 2 * table.x0y3 * coeff.x2y3 + 6 * table.x1y3 * coeff.x3y3;
+    derivative2[1] = 2 * table.x0y0 * coeff.x0y2 + 2 * table.x1y0 * coeff.x1y2
+        + 2 * table.x2y0 * coeff.x2y2 + 2 * table.x3y0 * coeff.x3y2 + 6 * table.x0y1 * coeff.x0y3
+        + 6 * table.x1y1 * coeff.x1y3 + 6 * table.x2y1 * coeff.x2y3 + 6 * table.x3y1 * coeff.x3y3;
+    return table.x0y0 * coeff.x0y0 + table.x1y0 * coeff.x1y0 + table.x2y0 * coeff.x2y0
+        + table.x3y0 * coeff.x3y0 + table.x0y1 * coeff.x0y1 + table.x1y1 * coeff.x1y1
+        + table.x2y1 * coeff.x2y1 + table.x3y1 * coeff.x3y1 + table.x0y2 * coeff.x0y2
+        + table.x1y2 * coeff.x1y2 + table.x2y2 * coeff.x2y2 + table.x3y2 * coeff.x3y2
+        + table.x0y3 * coeff.x0y3 + table.x1y3 * coeff.x1y3 + table.x2y3 * coeff.x2y3
+        + table.x3y3 * coeff.x3y3;
+  }
+
+  public double value(FloatBicubicSplineData table, FloatBicubicSplineData table2,
+      FloatBicubicSplineData table3, FloatBicubicSplineData table6, double[] derivative1,
+      double[] derivative2) {
+    derivative1[0] = table.x0y0 * coeff.x1y0 + table2.x1y0 * coeff.x2y0 + table3.x2y0 * coeff.x3y0
+        + table.x0y1 * coeff.x1y1 + table2.x1y1 * coeff.x2y1 + table3.x2y1 * coeff.x3y1
+        + table.x0y2 * coeff.x1y2 + table2.x1y2 * coeff.x2y2 + table3.x2y2 * coeff.x3y2
+        + table.x0y3 * coeff.x1y3 + table2.x1y3 * coeff.x2y3 + table3.x2y3 * coeff.x3y3;
+    derivative1[1] = table.x0y0 * coeff.x0y1 + table.x1y0 * coeff.x1y1 + table.x2y0 * coeff.x2y1
+        + table.x3y0 * coeff.x3y1 + table2.x0y1 * coeff.x0y2 + table2.x1y1 * coeff.x1y2
+        + table2.x2y1 * coeff.x2y2 + table2.x3y1 * coeff.x3y2 + table3.x0y2 * coeff.x0y3
+        + table3.x1y2 * coeff.x1y3 + table3.x2y2 * coeff.x2y3 + table3.x3y2 * coeff.x3y3;
+    derivative2[0] = table2.x0y0 * coeff.x2y0 + table6.x1y0 * coeff.x3y0 + table2.x0y1 * coeff.x2y1
+        + table6.x1y1 * coeff.x3y1 + table2.x0y2 * coeff.x2y2 + table6.x1y2 * coeff.x3y2
+        + table2.x0y3 * coeff.x2y3 + table6.x1y3 * coeff.x3y3;
+    derivative2[1] = table2.x0y0 * coeff.x0y2 + table2.x1y0 * coeff.x1y2 + table2.x2y0 * coeff.x2y2
+        + table2.x3y0 * coeff.x3y2 + table6.x0y1 * coeff.x0y3 + table6.x1y1 * coeff.x1y3
+        + table6.x2y1 * coeff.x2y3 + table6.x3y1 * coeff.x3y3;
+    return table.x0y0 * coeff.x0y0 + table.x1y0 * coeff.x1y0 + table.x2y0 * coeff.x2y0
+        + table.x3y0 * coeff.x3y0 + table.x0y1 * coeff.x0y1 + table.x1y1 * coeff.x1y1
+        + table.x2y1 * coeff.x2y1 + table.x3y1 * coeff.x3y1 + table.x0y2 * coeff.x0y2
+        + table.x1y2 * coeff.x1y2 + table.x2y2 * coeff.x2y2 + table.x3y2 * coeff.x3y2
+        + table.x0y3 * coeff.x0y3 + table.x1y3 * coeff.x1y3 + table.x2y3 * coeff.x2y3
+        + table.x3y3 * coeff.x3y3;
+  }
+}
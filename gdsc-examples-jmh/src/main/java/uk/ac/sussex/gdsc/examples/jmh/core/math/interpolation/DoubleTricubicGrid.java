@@ -0,0 +1,574 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import org.apache.commons.math3.exception.OutOfRangeException;
+
+/**
+ * 3D-spline grid using double precision float values to store the coefficients.
+ *
+ * <p>The 64 coefficients for each node of the grid are packed into a single contiguous array. The
+ * coefficients for node (i, j, k) start at {@code 64 * (i + maxx * (j + maxy * k))}. This avoids
+ * the object header and indirection of storing each node as a separate object.
+ *
+ * <p>The nodes can optionally be stored in a tiled Morton order. The grid is divided into bricks
+ * of up to 4 nodes in each dimension; bricks are stored in row-major order and the nodes within a
+ * brick in Morton order (Z-order curve) created by interleaving the bits of (i, j, k). Nodes that
+ * are neighbours in any dimension are then typically close in memory, which improves locality when
+ * evaluating positions that move through neighbouring nodes in x, y and z. The brick size is
+ * reduced for a dimension with fewer than 4 nodes and only the edge bricks are padded.
+ *
+ * <p>This class is immutable if the input coefficients are not modified.
+ */
+public class DoubleTricubicGrid {
+  /** The number of coefficients per node. */
+  static final int NODE_SIZE = 64;
+  /** The maximum number of bits for the brick size in each dimension of the Morton layout. */
+  static final int BRICK_BITS = 2;
+
+  /**
+   * The storage order of the nodes.
+   */
+  public enum Layout {
+    /** Nodes are stored with x changing fastest, then y, then z. */
+    ROW_MAJOR,
+    /** Nodes are stored in row-major bricks with Morton order of the nodes within a brick. */
+    MORTON
+  }
+
+  /** The number of nodes in the x dimension. */
+  private final int maxx;
+  /** The number of nodes in the y dimension. */
+  private final int maxy;
+  /** The number of nodes in the z dimension. */
+  private final int maxz;
+  /** The coefficients for all the nodes. */
+  private final double[] coeff;
+  /** The storage order of the nodes. */
+  private final Layout layout;
+  /** The number of bits for the brick size in the x dimension. */
+  private final int bitsX;
+  /** The number of bits for the brick size in the y dimension. */
+  private final int bitsY;
+  /** The number of bits for the brick size in the z dimension. */
+  private final int bitsZ;
+  /** The number of bricks in the x dimension. */
+  private final int bricksX;
+  /** The number of bricks in the y dimension. */
+  private final int bricksY;
+  /** The rank of each node within a brick, indexed using the row-major position in the brick. */
+  private final int[] rank;
+
+  /**
+   * Create a new instance.
+   *
+   * @param maxx the number of nodes in the x dimension
+   * @param maxy the number of nodes in the y dimension
+   * @param maxz the number of nodes in the z dimension
+   * @param coefficients the packed coefficients for all the nodes
+   * @throws IllegalArgumentException if the dimensions are not strictly positive or the
+   *         coefficients length does not match the dimensions
+   */
+  public DoubleTricubicGrid(int maxx, int maxy, int maxz, double[] coefficients) {
+    this(maxx, maxy, maxz, coefficients, Layout.ROW_MAJOR);
+  }
+
+  /**
+   * Create a new instance.
+   *
+   * <p>The length of the coefficients must be
+   * {@link #getCoefficientsLength(int, int, int, Layout)}.
+   *
+   * @param maxx the number of nodes in the x dimension
+   * @param maxy the number of nodes in the y dimension
+   * @param maxz the number of nodes in the z dimension
+   * @param coefficients the packed coefficients for all the nodes
+   * @param layout the storage order of the nodes
+   * @throws IllegalArgumentException if the dimensions are not strictly positive or the
+   *         coefficients length does not match the dimensions
+   */
+  public DoubleTricubicGrid(int maxx, int maxy, int maxz, double[] coefficients, Layout layout) {
+    final long size = getCoefficientsLength(maxx, maxy, maxz, layout);
+    if (coefficients.length != size) {
+      throw new IllegalArgumentException(
+          "Coefficients length " + coefficients.length + " != " + size);
+    }
+    this.maxx = maxx;
+    this.maxy = maxy;
+    this.maxz = maxz;
+    this.coeff = coefficients;
+    this.layout = layout;
+    if (layout == Layout.MORTON) {
+      bitsX = brickBits(maxx);
+      bitsY = brickBits(maxy);
+      bitsZ = brickBits(maxz);
+      bricksX = bricks(maxx, bitsX);
+      bricksY = bricks(maxy, bitsY);
+      rank = createRank(bitsX, bitsY, bitsZ);
+    } else {
+      bitsX = bitsY = bitsZ = 0;
+      bricksX = bricksY = 0;
+      rank = null;
+    }
+  }
+
+  /**
+   * Gets the length of the packed coefficients for the dimensions. For the Morton layout this
+   * includes padding to fill the edge bricks.
+   *
+   * @param maxx the number of nodes in the x dimension
+   * @param maxy the number of nodes in the y dimension
+   * @param maxz the number of nodes in the z dimension
+   * @param layout the storage order of the nodes
+   * @return the length
+   * @throws IllegalArgumentException if the dimensions are not strictly positive
+   */
+  public static long getCoefficientsLength(int maxx, int maxy, int maxz, Layout layout) {
+    if (maxx < 1 || maxy < 1 || maxz < 1) {
+      throw new IllegalArgumentException(
+          "Invalid dimensions: " + maxx + "x" + maxy + "x" + maxz);
+    }
+    if (layout == Layout.MORTON) {
+      final int bx = brickBits(maxx);
+      final int by = brickBits(maxy);
+      final int bz = brickBits(maxz);
+      return ((long) bricks(maxx, bx) * bricks(maxy, by) * bricks(maxz, bz) << (bx + by + bz))
+          * NODE_SIZE;
+    }
+    return (long) maxx * maxy * maxz * NODE_SIZE;
+  }
+
+  /**
+   * Gets the number of bits for the brick size of the dimension. This is the smallest power of 2
+   * that covers the dimension, up to the maximum brick size.
+   *
+   * @param max the number of nodes
+   * @return the bits
+   */
+  private static int brickBits(int max) {
+    return Math.min(BRICK_BITS, 32 - Integer.numberOfLeadingZeros(max - 1));
+  }
+
+  /**
+   * Gets the number of bricks to cover the dimension.
+   *
+   * @param max the number of nodes
+   * @param bits the number of bits for the brick size
+   * @return the number of bricks
+   */
+  private static int bricks(int max, int bits) {
+    return ((max - 1) >> bits) + 1;
+  }
+
+  /**
+   * Create the rank of the Morton index of each node within a brick. This compacts the Morton
+   * order for bricks that do not have the same size in each dimension.
+   *
+   * @param bx the number of bits for the brick size in the x dimension
+   * @param by the number of bits for the brick size in the y dimension
+   * @param bz the number of bits for the brick size in the z dimension
+   * @return the rank, indexed using {@code i + (j << bx) + (k << (bx + by))}
+   */
+  private static int[] createRank(int bx, int by, int bz) {
+    final int[] code = new int[1 << (bx + by + bz)];
+    for (int n = 0; n < code.length; n++) {
+      code[n] = morton(n & ((1 << bx) - 1), (n >> bx) & ((1 << by) - 1), n >> (bx + by));
+    }
+    final int[] rank = new int[code.length];
+    for (int n = 0; n < code.length; n++) {
+      for (final int c : code) {
+        if (c < code[n]) {
+          rank[n]++;
+        }
+      }
+    }
+    return rank;
+  }
+
+  /**
+   * Create a new instance from the coefficients of each node. The nodes are ordered with x
+   * changing fastest, then y, then z.
+   *
+   * @param maxx the number of nodes in the x dimension
+   * @param maxy the number of nodes in the y dimension
+   * @param maxz the number of nodes in the z dimension
+   * @param nodes the coefficients for each node (length 64)
+   * @return the grid
+   * @throws IllegalArgumentException if the number of nodes does not match the dimensions or a
+   *         node does not have 64 coefficients
+   */
+  public static DoubleTricubicGrid create(int maxx, int maxy, int maxz, double[][] nodes) {
+    return create(maxx, maxy, maxz, nodes, Layout.ROW_MAJOR);
+  }
+
+  /**
+   * Create a new instance from the coefficients of each node. The nodes are ordered with x
+   * changing fastest, then y, then z. The nodes are stored using the specified layout.
+   *
+   * @param maxx the number of nodes in the x dimension
+   * @param maxy the number of nodes in the y dimension
+   * @param maxz the number of nodes in the z dimension
+   * @param nodes the coefficients for each node (length 64)
+   * @param layout the storage order of the nodes
+   * @return the grid
+   * @throws IllegalArgumentException if the number of nodes does not match the dimensions or a
+   *         node does not have 64 coefficients
+   */
+  public static DoubleTricubicGrid create(int maxx, int maxy, int maxz, double[][] nodes,
+      Layout layout) {
+    if (nodes.length != (long) maxx * maxy * maxz) {
+      throw new IllegalArgumentException("Invalid number of nodes: " + nodes.length);
+    }
+    final long size = getCoefficientsLength(maxx, maxy, maxz, layout);
+    if (size > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Grid is too large: " + size);
+    }
+    final double[] coefficients = new double[(int) size];
+    final DoubleTricubicGrid grid =
+        new DoubleTricubicGrid(maxx, maxy, maxz, coefficients, layout);
+    int n = 0;
+    for (int k = 0; k < maxz; k++) {
+      for (int j = 0; j < maxy; j++) {
+        for (int i = 0; i < maxx; i++) {
+          final double[] node = nodes[n++];
+          if (node.length != NODE_SIZE) {
+            throw new IllegalArgumentException("Invalid node coefficients length: " + node.length);
+          }
+          System.arraycopy(node, 0, coefficients, grid.index(i, j, k), NODE_SIZE);
+        }
+      }
+    }
+    return grid;
+  }
+
+  /**
+   * Gets the number of nodes in the x dimension.
+   *
+   * @return the max x
+   */
+  public int getMaxX() {
+    return maxx;
+  }
+
+  /**
+   * Gets the number of nodes in the y dimension.
+   *
+   * @return the max y
+   */
+  public int getMaxY() {
+    return maxy;
+  }
+
+  /**
+   * Gets the number of nodes in the z dimension.
+   *
+   * @return the max z
+   */
+  public int getMaxZ() {
+    return maxz;
+  }
+
+  /**
+   * Gets the storage order of the nodes.
+   *
+   * @return the layout
+   */
+  public Layout getLayout() {
+    return layout;
+  }
+
+  /**
+   * Gets the size in bytes of the coefficients.
+   *
+   * @return the size
+   */
+  public long getCoefficientBytes() {
+    return (long) coeff.length * Double.BYTES;
+  }
+
+  /**
+   * Gets the packed coefficients. This is not a copy.
+   *
+   * @return the coefficients
+   */
+  double[] getCoefficients() {
+    return coeff;
+  }
+
+  /**
+   * Gets the index of the first coefficient for the node.
+   *
+   * @param i the x node index
+   * @param j the y node index
+   * @param k the z node index
+   * @return the index
+   */
+  int index(int i, int j, int k) {
+    if (layout == Layout.MORTON) {
+      final int brick = (i >> bitsX) + bricksX * ((j >> bitsY) + bricksY * (k >> bitsZ));
+      final int local = (i & ((1 << bitsX) - 1)) | ((j & ((1 << bitsY) - 1)) << bitsX)
+          | ((k & ((1 << bitsZ) - 1)) << (bitsX + bitsY));
+      return ((brick << (bitsX + bitsY + bitsZ)) + rank[local]) * NODE_SIZE;
+    }
+    return (i + maxx * (j + maxy * k)) * NODE_SIZE;
+  }
+
+  /**
+   * Compute the Morton index of the node by interleaving the lower 10 bits of each index.
+   *
+   * @param i the x node index
+   * @param j the y node index
+   * @param k the z node index
+   * @return the Morton index
+   */
+  static int morton(int i, int j, int k) {
+    return spread(i) | (spread(j) << 1) | (spread(k) << 2);
+  }
+
+  /**
+   * Spread the lower 10 bits of the value so there are 2 zero bits between each bit.
+   *
+   * @param value the value
+   * @return the spread bits
+   */
+  private static int spread(int value) {
+    int x = value & 0x3ff;
+    x = (x | (x << 16)) & 0x030000ff;
+    x = (x | (x << 8)) & 0x0300f00f;
+    x = (x | (x << 4)) & 0x030c30c3;
+    return (x | (x << 2)) & 0x09249249;
+  }
+
+  /**
+   * Compute the value at the grid position. The position is in grid units with the node (i, j, k)
+   * spanning {@code [i, i+1]}, {@code [j, j+1]} and {@code [k, k+1]}.
+   *
+   * @param x the x position (in [0, maxx])
+   * @param y the y position (in [0, maxy])
+   * @param z the z position (in [0, maxz])
+   * @return the value
+   * @throws OutOfRangeException if a position is outside the grid
+   */
+  public double value(double x, double y, double z) {
+    final int i = nodeIndex(x, maxx);
+    final int j = nodeIndex(y, maxy);
+    final int k = nodeIndex(z, maxz);
+    return value(i, j, k, x - i, y - j, z - k);
+  }
+
+  /**
+   * Compute the value and gradient at the grid position. The position is in grid units with the
+   * node (i, j, k) spanning {@code [i, i+1]}, {@code [j, j+1]} and {@code [k, k+1]}.
+   *
+   * @param x the x position (in [0, maxx])
+   * @param y the y position (in [0, maxy])
+   * @param z the z position (in [0, maxz])
+   * @param derivative1 the partial first order derivatives with respect to x,y,z
+   * @return the value
+   * @throws OutOfRangeException if a position is outside the grid
+   */
+  public double value(double x, double y, double z, double[] derivative1) {
+    final int i = nodeIndex(x, maxx);
+    final int j = nodeIndex(y, maxy);
+    final int k = nodeIndex(z, maxz);
+    return value(i, j, k, x - i, y - j, z - k, derivative1);
+  }
+
+  /**
+   * Get the index of the node containing the position.
+   *
+   * @param x the position
+   * @param max the number of nodes
+   * @return the node index
+   * @throws OutOfRangeException if the position is outside the grid
+   */
+  static int nodeIndex(double x, int max) {
+    if (x >= 0 && x <= max) {
+      // The upper bound is in the last node
+      return Math.min((int) x, max - 1);
+    }
+    throw new OutOfRangeException(x, 0, max);
+  }
+
+  // Allow the working variables for the power computation
+  // to be declared at the top of the method
+  // CHECKSTYLE.OFF: VariableDeclarationUsageDistance
+
+  /**
+   * Compute the value within the node.
+   *
+   * @param i the x node index
+   * @param j the y node index
+   * @param k the z node index
+   * @param x the x position within the node (in [0, 1])
+   * @param y the y position within the node (in [0, 1])
+   * @param z the z position within the node (in [0, 1])
+   * @return the value
+   */
+  public double value(int i, int j, int k, double x, double y, double z) {
+    final double[] c = coeff;
+    final int o = index(i, j, k);
+    final double x1 = x;
+    final double x2 = x1 * x1;
+    final double x3 = x2 * x1;
+    final double y1 = y;
+    final double y2 = y1 * y1;
+    final double y3 = y2 * y1;
+    final double z1 = z;
+    final double z2 = z1 * z1;
+    final double z3 = z2 * z1;
+    //@formatter:off
+    return                        (c[o +  0] + x1 * c[o +  1] + x2 * c[o +  2] + x3 * c[o +  3])
+                    + y1 * (c[o +  4] + x1 * c[o +  5] + x2 * c[o +  6] + x3 * c[o +  7])
+                    + y2 * (c[o +  8] + x1 * c[o +  9] + x2 * c[o + 10] + x3 * c[o + 11])
+                    + y3 * (c[o + 12] + x1 * c[o + 13] + x2 * c[o + 14] + x3 * c[o + 15])
+            + z1 * (       (c[o + 16] + x1 * c[o + 17] + x2 * c[o + 18] + x3 * c[o + 19])
+                    + y1 * (c[o + 20] + x1 * c[o + 21] + x2 * c[o + 22] + x3 * c[o + 23])
+                    + y2 * (c[o + 24] + x1 * c[o + 25] + x2 * c[o + 26] + x3 * c[o + 27])
+                    + y3 * (c[o + 28] + x1 * c[o + 29] + x2 * c[o + 30] + x3 * c[o + 31]))
+            + z2 * (       (c[o + 32] + x1 * c[o + 33] + x2 * c[o + 34] + x3 * c[o + 35])
+                    + y1 * (c[o + 36] + x1 * c[o + 37] + x2 * c[o + 38] + x3 * c[o + 39])
+                    + y2 * (c[o + 40] + x1 * c[o + 41] + x2 * c[o + 42] + x3 * c[o + 43])
+                    + y3 * (c[o + 44] + x1 * c[o + 45] + x2 * c[o + 46] + x3 * c[o + 47]))
+            + z3 * (       (c[o + 48] + x1 * c[o + 49] + x2 * c[o + 50] + x3 * c[o + 51])
+                    + y1 * (c[o + 52] + x1 * c[o + 53] + x2 * c[o + 54] + x3 * c[o + 55])
+                    + y2 * (c[o + 56] + x1 * c[o + 57] + x2 * c[o + 58] + x3 * c[o + 59])
+                    + y3 * (c[o + 60] + x1 * c[o + 61] + x2 * c[o + 62] + x3 * c[o + 63]));
+    //@formatter:on
+  }
+
+  /**
+   * Compute the value and gradient within the node.
+   *
+   * @param i the x node index
+   * @param j the y node index
+   * @param k the z node index
+   * @param x the x position within the node (in [0, 1])
+   * @param y the y position within the node (in [0, 1])
+   * @param z the z position within the node (in [0, 1])
+   * @param derivative1 the partial first order derivatives with respect to x,y,z
+   * @return the value
+   */
+  public double value(int i, int j, int k, double x, double y, double z,
+      double[] derivative1) {
+    final double[] c = coeff;
+    final int o = index(i, j, k);
+    final double x1 = x;
+    final double x2 = x1 * x1;
+    final double x3 = x2 * x1;
+    final double y1 = y;
+    final double y2 = y1 * y1;
+    final double y3 = y2 * y1;
+    final double z1 = z;
+    final double z2 = z1 * z1;
+    final double z3 = z2 * z1;
+    //@formatter:off
+    derivative1[0] =                          (c[o +  1] + y1 * c[o +  5] + y2 * c[o +  9] + y3 * c[o + 13])
+                               +  z1 * (c[o + 17] + y1 * c[o + 21] + y2 * c[o + 25] + y3 * c[o + 29])
+                               +  z2 * (c[o + 33] + y1 * c[o + 37] + y2 * c[o + 41] + y3 * c[o + 45])
+                               +  z3 * (c[o + 49] + y1 * c[o + 53] + y2 * c[o + 57] + y3 * c[o + 61])
+                    + 2 * x1 * (       (c[o +  2] + y1 * c[o +  6] + y2 * c[o + 10] + y3 * c[o + 14])
+                                + z1 * (c[o + 18] + y1 * c[o + 22] + y2 * c[o + 26] + y3 * c[o + 30])
+                                + z2 * (c[o + 34] + y1 * c[o + 38] + y2 * c[o + 42] + y3 * c[o + 46])
+                                + z3 * (c[o + 50] + y1 * c[o + 54] + y2 * c[o + 58] + y3 * c[o + 62]))
+                    + 3 * x2 * (       (c[o +  3] + y1 * c[o +  7] + y2 * c[o + 11] + y3 * c[o + 15])
+                                + z1 * (c[o + 19] + y1 * c[o + 23] + y2 * c[o + 27] + y3 * c[o + 31])
+                                + z2 * (c[o + 35] + y1 * c[o + 39] + y2 * c[o + 43] + y3 * c[o + 47])
+                                + z3 * (c[o + 51] + y1 * c[o + 55] + y2 * c[o + 59] + y3 * c[o + 63]));
+
+    derivative1[1] =                     (c[o +  4] + x1 * c[o +  5] + x2 * c[o +  6] + x3 * c[o +  7])
+                                + z1 * (c[o + 20] + x1 * c[o + 21] + x2 * c[o + 22] + x3 * c[o + 23])
+                                + z2 * (c[o + 36] + x1 * c[o + 37] + x2 * c[o + 38] + x3 * c[o + 39])
+                                + z3 * (c[o + 52] + x1 * c[o + 53] + x2 * c[o + 54] + x3 * c[o + 55])
+                    + 2 * y1 * (       (c[o +  8] + x1 * c[o +  9] + x2 * c[o + 10] + x3 * c[o + 11])
+                                + z1 * (c[o + 24] + x1 * c[o + 25] + x2 * c[o + 26] + x3 * c[o + 27])
+                                + z2 * (c[o + 40] + x1 * c[o + 41] + x2 * c[o + 42] + x3 * c[o + 43])
+                                + z3 * (c[o + 56] + x1 * c[o + 57] + x2 * c[o + 58] + x3 * c[o + 59]))
+                    + 3 * y2 * (       (c[o + 12] + x1 * c[o + 13] + x2 * c[o + 14] + x3 * c[o + 15])
+                                + z1 * (c[o + 28] + x1 * c[o + 29] + x2 * c[o + 30] + x3 * c[o + 31])
+                                + z2 * (c[o + 44] + x1 * c[o + 45] + x2 * c[o + 46] + x3 * c[o + 47])
+                                + z3 * (c[o + 60] + x1 * c[o + 61] + x2 * c[o + 62] + x3 * c[o + 63]));
+
+    // Note: the computation for value0 is arranged using zyx so precompute the factors for z
+    final double factorZ1 =               (c[o + 16] + x1 * c[o + 17] + x2 * c[o + 18] + x3 * c[o + 19])
+                            + y1 * (c[o + 20] + x1 * c[o + 21] + x2 * c[o + 22] + x3 * c[o + 23])
+                            + y2 * (c[o + 24] + x1 * c[o + 25] + x2 * c[o + 26] + x3 * c[o + 27])
+                            + y3 * (c[o + 28] + x1 * c[o + 29] + x2 * c[o + 30] + x3 * c[o + 31]);
+    final double factorZ2 =          (c[o + 32] + x1 * c[o + 33] + x2 * c[o + 34] + x3 * c[o + 35])
+                            + y1 * (c[o + 36] + x1 * c[o + 37] + x2 * c[o + 38] + x3 * c[o + 39])
+                            + y2 * (c[o + 40] + x1 * c[o + 41] + x2 * c[o + 42] + x3 * c[o + 43])
+                            + y3 * (c[o + 44] + x1 * c[o + 45] + x2 * c[o + 46] + x3 * c[o + 47]);
+    final double factorZ3 =          (c[o + 48] + x1 * c[o + 49] + x2 * c[o + 50] + x3 * c[o + 51])
+                            + y1 * (c[o + 52] + x1 * c[o + 53] + x2 * c[o + 54] + x3 * c[o + 55])
+                            + y2 * (c[o + 56] + x1 * c[o + 57] + x2 * c[o + 58] + x3 * c[o + 59])
+                            + y3 * (c[o + 60] + x1 * c[o + 61] + x2 * c[o + 62] + x3 * c[o + 63]);
+    derivative1[2] =                  factorZ1
+                    + 2 * z1 * factorZ2
+                    + 3 * z2 * factorZ3;
+
+    return                        (c[o +  0] + x1 * c[o +  1] + x2 * c[o +  2] + x3 * c[o +  3])
+                    + y1 * (c[o +  4] + x1 * c[o +  5] + x2 * c[o +  6] + x3 * c[o +  7])
+                    + y2 * (c[o +  8] + x1 * c[o +  9] + x2 * c[o + 10] + x3 * c[o + 11])
+                    + y3 * (c[o + 12] + x1 * c[o + 13] + x2 * c[o + 14] + x3 * c[o + 15])
+            + z1 * factorZ1
+            + z2 * factorZ2
+            + z3 * factorZ3;
+    //@formatter:on
+  }
+
+  /**
+   * Compute the value within the node using the pre-computed powers of the position.
+   *
+   * @param i the x node index
+   * @param j the y node index
+   * @param k the z node index
+   * @param powerX the powers of the x position within the node (x^1, x^2, x^3)
+   * @param powerY the powers of the y position within the node (y^1, y^2, y^3)
+   * @param powerZ the powers of the z position within the node (z^1, z^2, z^3)
+   * @return the value
+   */
+  public double value(int i, int j, int k, double[] powerX, double[] powerY, double[] powerZ) {
+    final double[] c = coeff;
+    final int o = index(i, j, k);
+    //@formatter:off
+    return                        (c[o +  0] + powerX[0] * c[o +  1] + powerX[1] * c[o +  2] + powerX[2] * c[o +  3])
+                    + powerY[0] * (c[o +  4] + powerX[0] * c[o +  5] + powerX[1] * c[o +  6] + powerX[2] * c[o +  7])
+                    + powerY[1] * (c[o +  8] + powerX[0] * c[o +  9] + powerX[1] * c[o + 10] + powerX[2] * c[o + 11])
+                    + powerY[2] * (c[o + 12] + powerX[0] * c[o + 13] + powerX[1] * c[o + 14] + powerX[2] * c[o + 15])
+            + powerZ[0] * (       (c[o + 16] + powerX[0] * c[o + 17] + powerX[1] * c[o + 18] + powerX[2] * c[o + 19])
+                    + powerY[0] * (c[o + 20] + powerX[0] * c[o + 21] + powerX[1] * c[o + 22] + powerX[2] * c[o + 23])
+                    + powerY[1] * (c[o + 24] + powerX[0] * c[o + 25] + powerX[1] * c[o + 26] + powerX[2] * c[o + 27])
+                    + powerY[2] * (c[o + 28] + powerX[0] * c[o + 29] + powerX[1] * c[o + 30] + powerX[2] * c[o + 31]))
+            + powerZ[1] * (       (c[o + 32] + powerX[0] * c[o + 33] + powerX[1] * c[o + 34] + powerX[2] * c[o + 35])
+                    + powerY[0] * (c[o + 36] + powerX[0] * c[o + 37] + powerX[1] * c[o + 38] + powerX[2] * c[o + 39])
+                    + powerY[1] * (c[o + 40] + powerX[0] * c[o + 41] + powerX[1] * c[o + 42] + powerX[2] * c[o + 43])
+                    + powerY[2] * (c[o + 44] + powerX[0] * c[o + 45] + powerX[1] * c[o + 46] + powerX[2] * c[o + 47]))
+            + powerZ[2] * (       (c[o + 48] + powerX[0] * c[o + 49] + powerX[1] * c[o + 50] + powerX[2] * c[o + 51])
+                    + powerY[0] * (c[o + 52] + powerX[0] * c[o + 53] + powerX[1] * c[o + 54] + powerX[2] * c[o + 55])
+                    + powerY[1] * (c[o + 56] + powerX[0] * c[o + 57] + powerX[1] * c[o + 58] + powerX[2] * c[o + 59])
+                    + powerY[2] * (c[o + 60] + powerX[0] * c[o + 61] + powerX[1] * c[o + 62] + powerX[2] * c[o + 63]));
+    //@formatter:on
+  }
+
+  // CHECKSTYLE.ON: VariableDeclarationUsageDistance
+}
@@ -0,0 +1,159 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.io.Serializable;
+
+/**
+ * Contains the 16 data points of a bicubic spline stored as a {@code float}.
+ *
+ * <p>Can be used to represent a bicubic spline power table or bicubic spline coefficients.
+ *
+ * <p>This class is immutable.
+ */
+public class FloatBicubicSplineData implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  /** Data for x^0 * y^0 (data[0]). */
+  public final float x0y0;
+  /** Data for x^1 * y^0 (data[1]). */
+  public final float x1y0;
+  /** Data for x^2 * y^0 (data[2]). */
+  public final float x2y0;
+  /** Data for x^3 * y^0 (data[3]). */
+  public final float x3y0;
+  /** Data for x^0 * y^1 (data[4]). */
+  public final float x0y1;
+  /** Data for x^1 * y^1 (data[5]). */
+  public final float x1y1;
+  /** Data for x^2 * y^1 (data[6]). */
+  public final float x2y1;
+  /** Data for x^3 * y^1 (data[7]). */
+  public final float x3y1;
+  /** Data for x^0 * y^2 (data[8]). */
+  public final float x0y2;
+  /** Data for x^1 * y^2 (data[9]). */
+  public final float x1y2;
+  /** Data for x^2 * y^2 (data[10]). */
+  public final float x2y2;
+  /** Data for x^3 * y^2 (data[11]). */
+  public final float x3y2;
+  /** Data for x^0 * y^3 (data[12]). */
+  public final float x0y3;
+  /** Data for x^1 * y^3 (data[13]). */
+  public final float x1y3;
+  /** Data for x^2 * y^3 (data[14]). */
+  public final float x2y3;
+  /** Data for x^3 * y^3 (data[15]). */
+  public final float x3y3;
+
+  /**
+   * Create a new instance of the bicubic spline power table. The data represents y^a * x^b with
+   * a,b in [0, 3].
+   *
+   * @param x x-coordinate of the interpolation point.
+   * @param y y-coordinate of the interpolation point.
+   */
+  public FloatBicubicSplineData(CubicSplinePosition x, CubicSplinePosition y) {
+    // Table computed as if iterating: y^a * x^b a,b in [0, 3]
+    x0y0 = 1.0f;
+    x1y0 = (float) (x.x1);
+    x2y0 = (float) (x.x2);
+    x3y0 = (float) (x.x3);
+    x0y1 = (float) (y.x1);
+    x1y1 = (float) (y.x1 * x.x1);
+    x2y1 = (float) (y.x1 * x.x2);
+    x3y1 = (float) (y.x1 * x.x3);
+    x0y2 = (float) (y.x2);
+    x1y2 = (float) (y.x2 * x.x1);
+    x2y2 = (float) (y.x2 * x.x2);
+    x3y2 = (float) (y.x2 * x.x3);
+    x0y3 = (float) (y.x3);
+    x1y3 = (float) (y.x3 * x.x1);
+    x2y3 = (float) (y.x3 * x.x2);
+    x3y3 = (float) (y.x3 * x.x3);
+  }
+
+  /**
+   * Create a new instance of the bicubic spline coefficients.
+   *
+   * <p>Coefficients must be computed as if iterating: y^a * x^b with a,b in [0, 3].
+   *
+   * @param coefficients the coefficients.
+   */
+  FloatBicubicSplineData(float[] coefficients) {
+    x0y0 = coefficients[0];
+    x1y0 = coefficients[1];
+    x2y0 = coefficients[2];
+    x3y0 = coefficients[3];
+    x0y1 = coefficients[4];
+    x1y1 = coefficients[5];
+    x2y1 = coefficients[6];
+    x3y1 = coefficients[7];
+    x0y2 = coefficients[8];
+    x1y2 = coefficients[9];
+    x2y2 = coefficients[10];
+    x3y2 = coefficients[11];
+    x0y3 = coefficients[12];
+    x1y3 = coefficients[13];
+    x2y3 = coefficients[14];
+    x3y3 = coefficients[15];
+  }
+
+  /**
+   * Create a new instance by scaling the source.
+   *
+   * @param source the source.
+   * @param scale the scale.
+   */
+  FloatBicubicSplineData(FloatBicubicSplineData source, double scale) {
+    x0y0 = (float) (source.x0y0 * scale);
+    x1y0 = (float) (source.x1y0 * scale);
+    x2y0 = (float) (source.x2y0 * scale);
+    x3y0 = (float) (source.x3y0 * scale);
+    x0y1 = (float) (source.x0y1 * scale);
+    x1y1 = (float) (source.x1y1 * scale);
+    x2y1 = (float) (source.x2y1 * scale);
+    x3y1 = (float) (source.x3y1 * scale);
+    x0y2 = (float) (source.x0y2 * scale);
+    x1y2 = (float) (source.x1y2 * scale);
+    x2y2 = (float) (source.x2y2 * scale);
+    x3y2 = (float) (source.x3y2 * scale);
+    x0y3 = (float) (source.x0y3 * scale);
+    x1y3 = (float) (source.x1y3 * scale);
+    x2y3 = (float) (source.x2y3 * scale);
+    x3y3 = (float) (source.x3y3 * scale);
+  }
+
+  /**
+   * Scale the coefficients.
+   *
+   * <p>Note a scaled power table can be used for fast computation of the cubic spline gradients.
+   *
+   * @param scale the scale
+   * @return the scaled coefficients
+   */
+  public FloatBicubicSplineData scale(double scale) {
+    return new FloatBicubicSplineData(this, scale);
+  }
+}
@@ -0,0 +1,187 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Executes benchmark to compare the speed of evaluating a tricubic spline grid using double or
+ * float coefficients.
+ *
+ * <p>Nodes are accessed in a random order. A small grid fits in the CPU cache; a large grid
+ * (64^3 nodes is 128MiB of double coefficients) is limited by memory bandwidth where float
+ * coefficients halve the data to load.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms1G", "-Xmx1G"})
+public class FloatTricubicBenchmark {
+  /** Number of points per invocation. */
+  private static final int POINTS = 1024;
+  /** Number of power tables. */
+  private static final int NUM_TABLES = 64;
+
+  /**
+   * The spline grid.
+   */
+  @State(Scope.Benchmark)
+  public static class GridData {
+    /**
+     * Number of nodes in each dimension.
+     */
+    @Param({"16", "64"})
+    private int size;
+
+    /** The node for each point. */
+    private int[] nodes;
+    /** The power tables. */
+    private double[][] tables;
+    /** The power tables as float. */
+    private float[][] tablesF;
+    /** The double functions. */
+    private DoubleCustomTricubicFunctionArray[] doubleF;
+    /** The float functions. */
+    private FloatCustomTricubicFunctionArray[] floatF;
+
+    /** Create the samples. */
+    @Setup
+    public void setup() {
+      final ThreadLocalRandom rng = ThreadLocalRandom.current();
+      final int n = size * size * size;
+      nodes = rng.ints(POINTS, 0, n).toArray();
+      tables = new double[NUM_TABLES][];
+      tablesF = new float[NUM_TABLES][];
+      for (int i = 0; i < NUM_TABLES; i++) {
+        final float x = rng.nextFloat();
+        final float y = rng.nextFloat();
+        final float z = rng.nextFloat();
+        tables[i] = PowerTables.computePowerTable(x, y, z);
+        tablesF[i] = FloatCustomTricubicFunctionArray.computePowerTable(x, y, z);
+      }
+      doubleF = new DoubleCustomTricubicFunctionArray[n];
+      floatF = new FloatCustomTricubicFunctionArray[n];
+      for (int i = 0; i < n; i++) {
+        final double[] coeff = rng.doubles(64, 0, 456).toArray();
+        final float[] coeffF = new float[64];
+        for (int j = 0; j < 64; j++) {
+          coeffF[j] = (float) coeff[j];
+        }
+        doubleF[i] = new DoubleCustomTricubicFunctionArray(coeff);
+        floatF[i] = new FloatCustomTricubicFunctionArray(coeffF);
+      }
+    }
+  }
+
+  // Benchmarks methods below.
+
+  /**
+   * Evaluate using double coefficients and tables.
+   *
+   * @param data the data
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public void doubleValue(GridData data, Blackhole bh) {
+    for (int i = 0; i < POINTS; i++) {
+      bh.consume(data.doubleF[data.nodes[i]].value(data.tables[i % NUM_TABLES]));
+    }
+  }
+
+  /**
+   * Evaluate using float coefficients and double tables.
+   *
+   * @param data the data
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public void mixedValue(GridData data, Blackhole bh) {
+    for (int i = 0; i < POINTS; i++) {
+      bh.consume(data.floatF[data.nodes[i]].value(data.tables[i % NUM_TABLES]));
+    }
+  }
+
+  /**
+   * Evaluate using float coefficients, float tables and float pairwise summation.
+   *
+   * @param data the data
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public void floatValue(GridData data, Blackhole bh) {
+    for (int i = 0; i < POINTS; i++) {
+      bh.consume(data.floatF[data.nodes[i]].valueFloat(data.tablesF[i % NUM_TABLES]));
+    }
+  }
+
+  /**
+   * Evaluate the gradient using double coefficients and tables.
+   *
+   * @param data the data
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public void doubleGradient(GridData data, Blackhole bh) {
+    final double[] derivative1 = new double[3];
+    for (int i = 0; i < POINTS; i++) {
+      bh.consume(data.doubleF[data.nodes[i]].value(data.tables[i % NUM_TABLES], derivative1));
+      bh.consume(derivative1);
+    }
+  }
+
+  /**
+   * Evaluate the gradient using float coefficients, float tables and float pairwise summation.
+   *
+   * @param data the data
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public void floatGradient(GridData data, Blackhole bh) {
+    final float[] derivative1 = new float[3];
+    for (int i = 0; i < POINTS; i++) {
+      bh.consume(data.floatF[data.nodes[i]].valueFloat(data.tablesF[i % NUM_TABLES], derivative1));
+      bh.consume(derivative1);
+    }
+  }
+}
@@ -0,0 +1,190 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+/**
+ * 3D-spline function using 16-bit floating-point values to store the coefficients.
+ *
+ * <p>This quarters the storage against double. The coefficients are decoded to float as they are
+ * used. See {@link HalfFloats} for the precision of each format.
+ */
+public class HalfCustomTricubicFunctionArray {
+  /**
+   * The 16-bit floating-point format.
+   */
+  public enum Format {
+    /** IEEE 754 binary16. */
+    FP16,
+    /** bfloat16. */
+    BF16
+  }
+
+  /** The 64 coefficients (coeff) for the tri-cubic function. */
+  private final short[] coeff;
+  /** The format. */
+  private final Format format;
+
+  /**
+   * Instantiates a new half custom tricubic function.
+   *
+   * @param coefficients List of spline coefficients.
+   * @param format the format
+   */
+  HalfCustomTricubicFunctionArray(short[] coefficients, Format format) {
+    // Use the table directly
+    this.coeff = coefficients;
+    this.format = format;
+  }
+
+  /**
+   * Create a new instance by encoding the coefficients.
+   *
+   * @param coefficients List of spline coefficients.
+   * @param format the format
+   * @return the function
+   * @throws IllegalArgumentException if a coefficient is outside the finite range of the format
+   */
+  public static HalfCustomTricubicFunctionArray create(double[] coefficients, Format format) {
+    final short[] c = new short[coefficients.length];
+    for (int i = 0; i < c.length; i++) {
+      final float value = (float) coefficients[i];
+      if (format == Format.FP16) {
+        c[i] = HalfFloats.toHalf(value);
+        if ((c[i] & 0x7c00) == 0x7c00) {
+          throw new IllegalArgumentException("Coefficient not a finite half: " + coefficients[i]);
+        }
+      } else {
+        c[i] = HalfFloats.toBFloat16(value);
+        if (!Float.isFinite(HalfFloats.fromBFloat16(c[i]))) {
+          throw new IllegalArgumentException(
+              "Coefficient not a finite bfloat16: " + coefficients[i]);
+        }
+      }
+    }
+    return new HalfCustomTricubicFunctionArray(c, format);
+  }
+
+  /**
+   * Gets the format.
+   *
+   * @return the format
+   */
+  public Format getFormat() {
+    return format;
+  }
+
+  /**
+   * Gets the decoded coefficient.
+   *
+   * @param i the index
+   * @return the coefficient
+   */
+  public float getCoefficient(int i) {
+    return format == Format.FP16 ? HalfFloats.fromFiniteHalf(coeff[i])
+        : HalfFloats.fromBFloat16(coeff[i]);
+  }
+
+  // CHECKSTYLE.OFF: JavadocMethod
+
+  public double value000() {
+    return getCoefficient(0);
+  }
+
+  public double value(double[] table) {
+    double s0 = 0;
+    double s1 = 0;
+    double s2 = 0;
+    double s3 = 0;
+    if (format == Format.FP16) {
+      for (int i = 0; i < 64; i += 4) {
+        s0 += table[i] * HalfFloats.fromFiniteHalf(coeff[i]);
+        s1 += table[i + 1] * HalfFloats.fromFiniteHalf(coeff[i + 1]);
+        s2 += table[i + 2] * HalfFloats.fromFiniteHalf(coeff[i + 2]);
+        s3 += table[i + 3] * HalfFloats.fromFiniteHalf(coeff[i + 3]);
+      }
+    } else {
+      for (int i = 0; i < 64; i += 4) {
+        s0 += table[i] * HalfFloats.fromBFloat16(coeff[i]);
+        s1 += table[i + 1] * HalfFloats.fromBFloat16(coeff[i + 1]);
+        s2 += table[i + 2] * HalfFloats.fromBFloat16(coeff[i + 2]);
+        s3 += table[i + 3] * HalfFloats.fromBFloat16(coeff[i + 3]);
+      }
+    }
+    return (s0 + s1) + (s2 + s3);
+  }
+
+  public double value(float[] table) {
+    float s0 = 0;
+    float s1 = 0;
+    float s2 = 0;
+    float s3 = 0;
+    if (format == Format.FP16) {
+      for (int i = 0; i < 64; i += 4) {
+        s0 += table[i] * HalfFloats.fromFiniteHalf(coeff[i]);
+        s1 += table[i + 1] * HalfFloats.fromFiniteHalf(coeff[i + 1]);
+        s2 += table[i + 2] * HalfFloats.fromFiniteHalf(coeff[i + 2]);
+        s3 += table[i + 3] * HalfFloats.fromFiniteHalf(coeff[i + 3]);
+      }
+    } else {
+      for (int i = 0; i < 64; i += 4) {
+        s0 += table[i] * HalfFloats.fromBFloat16(coeff[i]);
+        s1 += table[i + 1] * HalfFloats.fromBFloat16(coeff[i + 1]);
+        s2 += table[i + 2] * HalfFloats.fromBFloat16(coeff[i + 2]);
+        s3 += table[i + 3] * HalfFloats.fromBFloat16(coeff[i + 3]);
+      }
+    }
+    return (double) (s0 + s1) + (s2 + s3);
+  }
+
+  public double value(double[] table, double[] derivative1) {
+    // Decode each row of 4 coefficients once and accumulate the value and x derivative.
+    // The y and z derivatives use the table entry for the power one lower.
+    double value = 0;
+    double dx = 0;
+    double dy = 0;
+    double dz = 0;
+    for (int i = 0; i < 64; i += 4) {
+      final float c0 = getCoefficient(i);
+      final float c1 = getCoefficient(i + 1);
+      final float c2 = getCoefficient(i + 2);
+      final float c3 = getCoefficient(i + 3);
+      value += table[i] * c0 + table[i + 1] * c1 + table[i + 2] * c2 + table[i + 3] * c3;
+      dx += table[i] * c1 + 2 * table[i + 1] * c2 + 3 * table[i + 2] * c3;
+      // Power of y and z for the row
+      final int py = (i >> 2) & 3;
+      final int pz = i >> 4;
+      if (py != 0) {
+        final int j = i - 4;
+        dy += py * (table[j] * c0 + table[j + 1] * c1 + table[j + 2] * c2 + table[j + 3] * c3);
+      }
+      if (pz != 0) {
+        final int k = i - 16;
+        dz += pz * (table[k] * c0 + table[k + 1] * c1 + table[k + 2] * c2 + table[k + 3] * c3);
+      }
+    }
+    derivative1[0] = dx;
+    derivative1[1] = dy;
+    derivative1[2] = dz;
+    return value;
+  }
+}
@@ -0,0 +1,148 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+/**
+ * Conversion between float values and 16-bit floating-point formats stored in a {@code short}.
+ *
+ * <ul>
+ * <li>IEEE 754 binary16 (half precision): 5 exponent bits and 10 mantissa bits. The relative
+ * precision is 2<sup>-11</sup> and the maximum finite value is 65504.
+ * <li>bfloat16: the upper 16 bits of a float. This has 8 exponent bits and 7 mantissa bits. The
+ * relative precision is 2<sup>-8</sup> with the same range as a float.
+ * </ul>
+ *
+ * <p>Encoding rounds to nearest, ties to even.
+ */
+public final class HalfFloats {
+  /** The maximum finite binary16 value. */
+  public static final float MAX_HALF = 65504f;
+
+  /** No public construction. */
+  private HalfFloats() {}
+
+  /**
+   * Convert the value to IEEE 754 binary16. Values above the finite range are converted to
+   * infinity.
+   *
+   * @param value the value
+   * @return the binary16 bits
+   */
+  public static short toHalf(float value) {
+    final int bits = Float.floatToRawIntBits(value);
+    final int sign = (bits >>> 16) & 0x8000;
+    final int exp = (bits >>> 23) & 0xff;
+    final int mant = bits & 0x7fffff;
+    if (exp == 0xff) {
+      // Infinity or NaN (preserve a quiet NaN)
+      return (short) (sign | 0x7c00 | (mant == 0 ? 0 : 0x200));
+    }
+    // Re-bias the exponent
+    final int e = exp - 112;
+    if (e >= 0x1f) {
+      return (short) (sign | 0x7c00);
+    }
+    if (e <= 0) {
+      // Sub-normal (or zero)
+      if (e < -10) {
+        return (short) sign;
+      }
+      return (short) (sign | roundShift(mant | 0x800000, 14 - e));
+    }
+    // Rounding may carry into the exponent; this correctly creates infinity on overflow
+    return (short) (sign | ((e << 10) + roundShift(mant, 13)));
+  }
+
+  /**
+   * Convert the IEEE 754 binary16 value to a float.
+   *
+   * @param half the binary16 bits
+   * @return the value
+   */
+  public static float fromHalf(short half) {
+    final int bits = half & 0xffff;
+    final int exp = bits & 0x7c00;
+    if (exp == 0x7c00) {
+      // Infinity or NaN
+      return Float.intBitsToFloat(((bits & 0x8000) << 16) | 0x7f800000 | ((bits & 0x3ff) << 13));
+    }
+    return fromFiniteHalf(half);
+  }
+
+  /**
+   * Convert the finite IEEE 754 binary16 value to a float. The result is undefined for infinity
+   * and NaN.
+   *
+   * <p>The exponent and mantissa bits are placed in a float and the exponent bias corrected by
+   * multiplication with 2<sup>112</sup>. This also correctly scales sub-normal values and avoids
+   * branches.
+   *
+   * @param half the binary16 bits
+   * @return the value
+   */
+  public static float fromFiniteHalf(short half) {
+    return Float.intBitsToFloat(((half & 0x8000) << 16) | ((half & 0x7fff) << 13)) * 0x1.0p112f;
+  }
+
+  /**
+   * Convert the value to bfloat16.
+   *
+   * @param value the value
+   * @return the bfloat16 bits
+   */
+  public static short toBFloat16(float value) {
+    final int bits = Float.floatToRawIntBits(value);
+    if ((bits & 0x7fffffff) > 0x7f800000) {
+      // NaN: keep the upper bits and ensure a non-zero mantissa
+      return (short) ((bits >>> 16) | 0x40);
+    }
+    return (short) ((bits + 0x7fff + ((bits >>> 16) & 1)) >>> 16);
+  }
+
+  /**
+   * Convert the bfloat16 value to a float.
+   *
+   * @param bfloat16 the bfloat16 bits
+   * @return the value
+   */
+  public static float fromBFloat16(short bfloat16) {
+    return Float.intBitsToFloat(bfloat16 << 16);
+  }
+
+  /**
+   * Shift the value right with rounding to nearest, ties to even.
+   *
+   * @param value the value
+   * @param shift the shift (in [1, 31])
+   * @return the rounded value
+   */
+  private static int roundShift(int value, int shift) {
+    final int half = 1 << (shift - 1);
+    final int remainder = value & ((1 << shift) - 1);
+    final int result = value >>> shift;
+    if (remainder > half || (remainder == half && (result & 1) != 0)) {
+      return result + 1;
+    }
+    return result;
+  }
+}
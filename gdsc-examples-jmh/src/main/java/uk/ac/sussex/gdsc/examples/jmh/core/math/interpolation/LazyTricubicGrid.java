@@ -0,0 +1,210 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 3D-spline grid that builds the function for each node on first access.
+ *
+ * <p>Built nodes are stored in a cache with a fixed capacity. A cached node is found with a single
+ * volatile read of an array indexed by the node; this fast path does not lock. When a node is
+ * not cached it is built outside of any lock and then inserted under a lock. If the cache is full
+ * a cold node is evicted using the clock (second chance) algorithm: a hit marks the node as
+ * referenced and the clock hand clears the mark of referenced nodes before evicting the first
+ * unmarked node.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class LazyTricubicGrid {
+  /** The builder. */
+  private final TricubicSplineBuilder builder;
+  /** The number of nodes in the x dimension. */
+  private final int maxx;
+  /** The number of nodes in the y dimension. */
+  private final int maxy;
+  /** The number of nodes in the z dimension. */
+  private final int maxz;
+  /** The cached node for each index. */
+  private final AtomicReferenceArray<Node> nodes;
+  /** The clock of cached nodes. */
+  private final Node[] clock;
+  /** The clock hand. */
+  private int hand;
+  /** The number of cached nodes. */
+  private int size;
+  /** The number of nodes inserted into the cache. */
+  private long misses;
+
+  /**
+   * A cached node.
+   */
+  private static class Node {
+    /** The node index. */
+    final int index;
+    /** The function. */
+    final DoubleCustomTricubicFunctionData function;
+    /**
+     * Set when the node is used. This is written without synchronisation; a lost update only
+     * affects the choice of node to evict.
+     */
+    boolean referenced;
+
+    /**
+     * Create an instance.
+     *
+     * @param index the node index
+     * @param function the function
+     */
+    Node(int index, DoubleCustomTricubicFunctionData function) {
+      this.index = index;
+      this.function = function;
+    }
+  }
+
+  /**
+   * Create a new instance.
+   *
+   * @param builder the builder
+   * @param capacity the maximum number of cached nodes
+   * @throws IllegalArgumentException if the capacity is not strictly positive or the number of
+   *         nodes is too large to index
+   */
+  public LazyTricubicGrid(TricubicSplineBuilder builder, int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be strictly positive: " + capacity);
+    }
+    maxx = builder.getMaxX();
+    maxy = builder.getMaxY();
+    maxz = builder.getMaxZ();
+    final long count = (long) maxx * maxy * maxz;
+    if (count > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Too many nodes: " + count);
+    }
+    this.builder = builder;
+    nodes = new AtomicReferenceArray<>((int) count);
+    clock = new Node[(int) Math.min(capacity, count)];
+  }
+
+  /**
+   * Gets the maximum number of cached nodes.
+   *
+   * @return the capacity
+   */
+  public int getCapacity() {
+    return clock.length;
+  }
+
+  /**
+   * Gets the number of cached nodes.
+   *
+   * @return the size
+   */
+  public synchronized int size() {
+    return size;
+  }
+
+  /**
+   * Gets the miss count. This is the number of nodes built and inserted into the cache; a node
+   * built concurrently by another thread is not counted.
+   *
+   * @return the misses
+   */
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Gets the function for the node. The function is built if it is not cached.
+   *
+   * @param i the x node index
+   * @param j the y node index
+   * @param k the z node index
+   * @return the function
+   */
+  public DoubleCustomTricubicFunctionData getFunction(int i, int j, int k) {
+    final int index = i + maxx * (j + maxy * k);
+    final Node node = nodes.get(index);
+    if (node != null) {
+      // Avoid a write to a shared cache line when the mark is already set
+      if (!node.referenced) {
+        node.referenced = true;
+      }
+      return node.function;
+    }
+    final double[] coefficients = new double[DoubleTricubicGrid.NODE_SIZE];
+    builder.buildNode(i, j, k, coefficients, 0);
+    return insert(new Node(index,
+        new DoubleCustomTricubicFunctionData(new DoubleCubicSplineData(coefficients))));
+  }
+
+  /**
+   * Insert the node into the cache. If the node was inserted by another thread then the cached
+   * function is returned.
+   *
+   * @param node the node
+   * @return the function
+   */
+  private synchronized DoubleCustomTricubicFunctionData insert(Node node) {
+    final Node current = nodes.get(node.index);
+    if (current != null) {
+      return current.function;
+    }
+    if (size == clock.length) {
+      // Evict the first node that has not been referenced since the hand last passed
+      Node victim = clock[hand];
+      while (victim.referenced) {
+        victim.referenced = false;
+        hand = (hand + 1) % clock.length;
+        victim = clock[hand];
+      }
+      nodes.set(victim.index, null);
+    } else {
+      size++;
+    }
+    misses++;
+    clock[hand] = node;
+    hand = (hand + 1) % clock.length;
+    nodes.set(node.index, node);
+    return node.function;
+  }
+
+  /**
+   * Compute the value at the grid position. The position is in grid units with the node (i, j, k)
+   * spanning {@code [i, i+1]}, {@code [j, j+1]} and {@code [k, k+1]}.
+   *
+   * @param x the x position (in [0, maxx])
+   * @param y the y position (in [0, maxy])
+   * @param z the z position (in [0, maxz])
+   * @return the value
+   * @throws org.apache.commons.math3.exception.OutOfRangeException if the position is outside
+   *         the grid
+   */
+  public double value(double x, double y, double z) {
+    final int i = DoubleTricubicGrid.nodeIndex(x, maxx);
+    final int j = DoubleTricubicGrid.nodeIndex(y, maxy);
+    final int k = DoubleTricubicGrid.nodeIndex(z, maxz);
+    return getFunction(i, j, k).value0(new CubicSplinePosition(x - i, true),
+        new CubicSplinePosition(y - j, true), new CubicSplinePosition(z - k, true));
+  }
+}
@@ -0,0 +1,294 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Executes benchmark to compare eager construction of the function for every node of a spline
+ * grid with lazy construction on first access.
+ *
+ * <p>The access pattern simulates fitting: the points are clustered around a small number of
+ * random centres so only a small fraction of the nodes are used. The capacity of the lazy grid is
+ * set relative to the number of nodes used by the access pattern (the working set): a ratio below
+ * 1 evicts nodes that are used again and the lazy grid rebuilds them (thrashing).
+ *
+ * <p>The number of nodes built and the number of nodes held by the grid are reported as secondary
+ * results. The heap footprint of the grid is proportional to the number of nodes held. Without
+ * eviction the nodes built by the lazy grid per invocation is the working set.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms2G", "-Xmx2G"})
+public class LazyTricubicGridBenchmark {
+  /** Number of fits. */
+  private static final int FITS = 200;
+  /** Number of points per fit. */
+  private static final int POINTS = 64;
+  /** The half-width of the region around each fit centre (in grid units). */
+  private static final double WIDTH = 1.5;
+
+  /**
+   * The volume and the access pattern.
+   */
+  @State(Scope.Benchmark)
+  public static class GridData {
+    /**
+     * Number of samples in each dimension.
+     */
+    @Param({"64", "96"})
+    private int size;
+
+    /**
+     * The capacity of the lazy grid cache relative to the working set of the access pattern.
+     */
+    @Param({"0.5", "1.25"})
+    private double capacityRatio;
+
+    /** The builder. */
+    private TricubicSplineBuilder builder;
+    /** The capacity of the lazy grid cache. */
+    private int capacity;
+    /** The x position (in grid units). */
+    private double[] x;
+    /** The y position (in grid units). */
+    private double[] y;
+    /** The z position (in grid units). */
+    private double[] z;
+    /** The eager grid. */
+    private DoubleCustomTricubicFunctionData[] eager;
+    /** The lazy grid (with all nodes of the access pattern cached if the capacity allows). */
+    private LazyTricubicGrid lazy;
+
+    /** Create the samples. */
+    @Setup
+    public void setup() {
+      final ThreadLocalRandom rng = ThreadLocalRandom.current();
+      builder = new TricubicSplineBuilder(size, size, size,
+          rng.doubles((long) size * size * size).toArray());
+      final int max = size - 1;
+      x = new double[FITS * POINTS];
+      y = new double[FITS * POINTS];
+      z = new double[FITS * POINTS];
+      for (int i = 0, n = 0; i < FITS; i++) {
+        final double cx = rng.nextDouble(WIDTH, max - WIDTH);
+        final double cy = rng.nextDouble(WIDTH, max - WIDTH);
+        final double cz = rng.nextDouble(WIDTH, max - WIDTH);
+        for (int j = 0; j < POINTS; j++, n++) {
+          x[n] = cx + rng.nextDouble(-WIDTH, WIDTH);
+          y[n] = cy + rng.nextDouble(-WIDTH, WIDTH);
+          z[n] = cz + rng.nextDouble(-WIDTH, WIDTH);
+        }
+      }
+
+      // The number of distinct nodes used by the access pattern
+      final BitSet used = new BitSet();
+      for (int i = 0; i < x.length; i++) {
+        used.set((int) x[i] + max * ((int) y[i] + max * (int) z[i]));
+      }
+      capacity = (int) Math.ceil(used.cardinality() * capacityRatio);
+
+      eager = buildEager(builder);
+      lazy = new LazyTricubicGrid(builder, capacity);
+      for (int i = 0; i < x.length; i++) {
+        lazy.value(x[i], y[i], z[i]);
+      }
+    }
+  }
+
+  /**
+   * The grid counters.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class GridCounters {
+    /** The number of nodes built. */
+    public long builds;
+    /** The number of nodes held by the grid. */
+    public long nodes;
+
+    /**
+     * Reset the counters.
+     */
+    @Setup(Level.Iteration)
+    public void reset() {
+      builds = 0;
+      nodes = 0;
+    }
+
+    /**
+     * Add the counts for the eager grid.
+     *
+     * @param functions the functions
+     */
+    void add(DoubleCustomTricubicFunctionData[] functions) {
+      builds += functions.length;
+      nodes += functions.length;
+    }
+
+    /**
+     * Add the counts for the lazy grid.
+     *
+     * @param grid the grid
+     * @param misses the miss count of the grid before evaluation
+     */
+    void add(LazyTricubicGrid grid, long misses) {
+      builds += grid.getMisses() - misses;
+      nodes += grid.size();
+    }
+  }
+
+  // Benchmarks methods below.
+
+  /**
+   * Build the function for every node and then evaluate the access pattern.
+   *
+   * @param data the data
+   * @param counters the grid counters
+   * @param bh the data sink
+   */
+  @Benchmark
+  public void eagerBuild(GridData data, GridCounters counters, Blackhole bh) {
+    final DoubleCustomTricubicFunctionData[] functions = buildEager(data.builder);
+    evaluate(functions, data.builder, data, bh);
+    counters.add(functions);
+  }
+
+  /**
+   * Create a lazy grid and evaluate the access pattern.
+   *
+   * @param data the data
+   * @param counters the grid counters
+   * @param bh the data sink
+   */
+  @Benchmark
+  public void lazyBuild(GridData data, GridCounters counters, Blackhole bh) {
+    final LazyTricubicGrid grid = new LazyTricubicGrid(data.builder, data.capacity);
+    evaluate(grid, data, bh);
+    counters.add(grid, 0);
+  }
+
+  /**
+   * Evaluate the access pattern using the eager grid.
+   *
+   * @param data the data
+   * @param counters the grid counters
+   * @param bh the data sink
+   */
+  @Benchmark
+  public void eagerValue(GridData data, GridCounters counters, Blackhole bh) {
+    evaluate(data.eager, data.builder, data, bh);
+    counters.nodes += data.eager.length;
+  }
+
+  /**
+   * Evaluate the access pattern using the populated lazy grid.
+   *
+   * @param data the data
+   * @param counters the grid counters
+   * @param bh the data sink
+   */
+  @Benchmark
+  public void lazyValue(GridData data, GridCounters counters, Blackhole bh) {
+    final long misses = data.lazy.getMisses();
+    evaluate(data.lazy, data, bh);
+    counters.add(data.lazy, misses);
+  }
+
+  /**
+   * Build the function for every node.
+   *
+   * @param builder the builder
+   * @return the functions
+   */
+  static DoubleCustomTricubicFunctionData[] buildEager(TricubicSplineBuilder builder) {
+    final int nodesPerPlane = builder.getMaxX() * builder.getMaxY();
+    final DoubleCustomTricubicFunctionData[] functions =
+        new DoubleCustomTricubicFunctionData[nodesPerPlane * builder.getMaxZ()];
+    final double[] plane = new double[builder.getPlaneSize()];
+    for (int k = 0, n = 0; k < builder.getPlanes(); k++) {
+      builder.build(k, k + 1, plane, 0);
+      for (int i = 0; i < nodesPerPlane; i++, n++) {
+        functions[n] = new DoubleCustomTricubicFunctionData(new DoubleCubicSplineData(
+            Arrays.copyOfRange(plane, i * 64, i * 64 + 64)));
+      }
+    }
+    return functions;
+  }
+
+  /**
+   * Evaluate the access pattern using the eager grid.
+   *
+   * @param functions the functions
+   * @param builder the builder
+   * @param data the data
+   * @param bh the data sink
+   */
+  private static void evaluate(DoubleCustomTricubicFunctionData[] functions,
+      TricubicSplineBuilder builder, GridData data, Blackhole bh) {
+    final int maxx = builder.getMaxX();
+    final int maxy = builder.getMaxY();
+    for (int n = 0; n < data.x.length; n++) {
+      final int i = (int) data.x[n];
+      final int j = (int) data.y[n];
+      final int k = (int) data.z[n];
+      final DoubleCustomTricubicFunctionData f = functions[i + maxx * (j + maxy * k)];
+      bh.consume(f.value0(new CubicSplinePosition(data.x[n] - i, true),
+          new CubicSplinePosition(data.y[n] - j, true),
+          new CubicSplinePosition(data.z[n] - k, true)));
+    }
+  }
+
+  /**
+   * Evaluate the access pattern using the lazy grid.
+   *
+   * @param grid the grid
+   * @param data the data
+   * @param bh the data sink
+   */
+  private static void evaluate(LazyTricubicGrid grid, GridData data, Blackhole bh) {
+    for (int n = 0; n < data.x.length; n++) {
+      bh.consume(grid.value(data.x[n], data.y[n], data.z[n]));
+    }
+  }
+}
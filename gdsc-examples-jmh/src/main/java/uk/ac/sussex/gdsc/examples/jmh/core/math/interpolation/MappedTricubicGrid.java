@@ -0,0 +1,307 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import org.apache.commons.math3.exception.OutOfRangeException;
+
+/**
+ * 3D-spline grid that evaluates the coefficients directly from a buffer, typically a memory
+ * mapping of a file.
+ *
+ * <p>The coefficients for each node are stored in blocks of 64. The node index maps each node to
+ * its coefficient block. The polynomial is evaluated using Horner's method reading each
+ * coefficient from the buffer once.
+ *
+ * @see TricubicGridFile
+ */
+public abstract class MappedTricubicGrid {
+  /** The number of coefficients per node. */
+  private static final int NODE_SIZE = DoubleTricubicGrid.NODE_SIZE;
+
+  /** The number of nodes in the x dimension. */
+  private final int maxx;
+  /** The number of nodes in the y dimension. */
+  private final int maxy;
+  /** The number of nodes in the z dimension. */
+  private final int maxz;
+  /** The coefficient block for each node. */
+  private final IntBuffer index;
+
+  /**
+   * Grid using double precision coefficients.
+   */
+  static final class DoubleGrid extends MappedTricubicGrid {
+    /** The coefficients. */
+    private final DoubleBuffer coeff;
+
+    /**
+     * Create a new instance.
+     *
+     * @param maxx the number of nodes in the x dimension
+     * @param maxy the number of nodes in the y dimension
+     * @param maxz the number of nodes in the z dimension
+     * @param index the coefficient block for each node
+     * @param coeff the coefficients
+     */
+    DoubleGrid(int maxx, int maxy, int maxz, IntBuffer index, DoubleBuffer coeff) {
+      super(maxx, maxy, maxz, index);
+      this.coeff = coeff;
+    }
+
+    @Override
+    double get(int index) {
+      return coeff.get(index);
+    }
+  }
+
+  /**
+   * Grid using single precision coefficients.
+   */
+  static final class FloatGrid extends MappedTricubicGrid {
+    /** The coefficients. */
+    private final FloatBuffer coeff;
+
+    /**
+     * Create a new instance.
+     *
+     * @param maxx the number of nodes in the x dimension
+     * @param maxy the number of nodes in the y dimension
+     * @param maxz the number of nodes in the z dimension
+     * @param index the coefficient block for each node
+     * @param coeff the coefficients
+     */
+    FloatGrid(int maxx, int maxy, int maxz, IntBuffer index, FloatBuffer coeff) {
+      super(maxx, maxy, maxz, index);
+      this.coeff = coeff;
+    }
+
+    @Override
+    double get(int index) {
+      return coeff.get(index);
+    }
+  }
+
+  /**
+   * Create a new instance.
+   *
+   * @param maxx the number of nodes in the x dimension
+   * @param maxy the number of nodes in the y dimension
+   * @param maxz the number of nodes in the z dimension
+   * @param index the coefficient block for each node
+   */
+  MappedTricubicGrid(int maxx, int maxy, int maxz, IntBuffer index) {
+    this.maxx = maxx;
+    this.maxy = maxy;
+    this.maxz = maxz;
+    this.index = index;
+  }
+
+  /**
+   * Gets the number of nodes in the x dimension.
+   *
+   * @return the max x
+   */
+  public int getMaxX() {
+    return maxx;
+  }
+
+  /**
+   * Gets the number of nodes in the y dimension.
+   *
+   * @return the max y
+   */
+  public int getMaxY() {
+    return maxy;
+  }
+
+  /**
+   * Gets the number of nodes in the z dimension.
+   *
+   * @return the max z
+   */
+  public int getMaxZ() {
+    return maxz;
+  }
+
+  /**
+   * Gets the coefficient.
+   *
+   * @param index the index
+   * @return the coefficient
+   */
+  abstract double get(int index);
+
+  /**
+   * Gets the index of the first coefficient for the node.
+   *
+   * @param i the x node index
+   * @param j the y node index
+   * @param k the z node index
+   * @return the index
+   */
+  private int offset(int i, int j, int k) {
+    return index.get(i + maxx * (j + maxy * k)) * NODE_SIZE;
+  }
+
+  /**
+   * Copy the coefficients of the node to the destination.
+   *
+   * @param i the x node index
+   * @param j the y node index
+   * @param k the z node index
+   * @param dest the destination
+   * @param destPos the destination position
+   */
+  void copyCoefficients(int i, int j, int k, double[] dest, int destPos) {
+    final int o = offset(i, j, k);
+    for (int n = 0; n < NODE_SIZE; n++) {
+      dest[destPos + n] = get(o + n);
+    }
+  }
+
+  /**
+   * Compute the value at the grid position. The position is in grid units with the node (i, j, k)
+   * spanning {@code [i, i+1]}, {@code [j, j+1]} and {@code [k, k+1]}.
+   *
+   * @param x the x position (in [0, maxx])
+   * @param y the y position (in [0, maxy])
+   * @param z the z position (in [0, maxz])
+   * @return the value
+   * @throws OutOfRangeException if a position is outside the grid
+   */
+  public double value(double x, double y, double z) {
+    final int i = nodeIndex(x, maxx);
+    final int j = nodeIndex(y, maxy);
+    final int k = nodeIndex(z, maxz);
+    return value(i, j, k, x - i, y - j, z - k);
+  }
+
+  /**
+   * Compute the value and gradient at the grid position. The position is in grid units with the
+   * node (i, j, k) spanning {@code [i, i+1]}, {@code [j, j+1]} and {@code [k, k+1]}.
+   *
+   * @param x the x position (in [0, maxx])
+   * @param y the y position (in [0, maxy])
+   * @param z the z position (in [0, maxz])
+   * @param derivative1 the partial first order derivatives with respect to x,y,z
+   * @return the value
+   * @throws OutOfRangeException if a position is outside the grid
+   */
+  public double value(double x, double y, double z, double[] derivative1) {
+    final int i = nodeIndex(x, maxx);
+    final int j = nodeIndex(y, maxy);
+    final int k = nodeIndex(z, maxz);
+    return value(i, j, k, x - i, y - j, z - k, derivative1);
+  }
+
+  /**
+   * Get the index of the node containing the position.
+   *
+   * @param x the position
+   * @param max the number of nodes
+   * @return the node index
+   * @throws OutOfRangeException if the position is outside the grid
+   */
+  private static int nodeIndex(double x, int max) {
+    if (x >= 0 && x <= max) {
+      // The upper bound is in the last node
+      return Math.min((int) x, max - 1);
+    }
+    throw new OutOfRangeException(x, 0, max);
+  }
+
+  /**
+   * Compute the value within the node.
+   *
+   * @param i the x node index
+   * @param j the y node index
+   * @param k the z node index
+   * @param x the x position within the node (in [0, 1])
+   * @param y the y position within the node (in [0, 1])
+   * @param z the z position within the node (in [0, 1])
+   * @return the value
+   */
+  public double value(int i, int j, int k, double x, double y, double z) {
+    final int o = offset(i, j, k);
+    double vz = 0;
+    for (int c = 48; c >= 0; c -= 16) {
+      double vy = 0;
+      for (int b = 12; b >= 0; b -= 4) {
+        final int p = o + c + b;
+        vy = vy * y + (get(p) + x * (get(p + 1) + x * (get(p + 2) + x * get(p + 3))));
+      }
+      vz = vz * z + vy;
+    }
+    return vz;
+  }
+
+  /**
+   * Compute the value and gradient within the node.
+   *
+   * @param i the x node index
+   * @param j the y node index
+   * @param k the z node index
+   * @param x the x position within the node (in [0, 1])
+   * @param y the y position within the node (in [0, 1])
+   * @param z the z position within the node (in [0, 1])
+   * @param derivative1 the partial first order derivatives with respect to x,y,z
+   * @return the value
+   */
+  public double value(int i, int j, int k, double x, double y, double z,
+      double[] derivative1) {
+    final int o = offset(i, j, k);
+    // Horner's method for the polynomial and its derivative in each dimension.
+    // The derivative is updated before the value.
+    double vz = 0;
+    double dxz = 0;
+    double dyz = 0;
+    double dzz = 0;
+    for (int c = 48; c >= 0; c -= 16) {
+      double vy = 0;
+      double dxy = 0;
+      double dyy = 0;
+      for (int b = 12; b >= 0; b -= 4) {
+        final int p = o + c + b;
+        final double c1 = get(p + 1);
+        final double c2 = get(p + 2);
+        final double c3 = get(p + 3);
+        final double vx = get(p) + x * (c1 + x * (c2 + x * c3));
+        final double dx = c1 + x * (2 * c2 + x * 3 * c3);
+        dyy = dyy * y + vy;
+        vy = vy * y + vx;
+        dxy = dxy * y + dx;
+      }
+      dzz = dzz * z + vz;
+      vz = vz * z + vy;
+      dxz = dxz * z + dxy;
+      dyz = dyz * z + dyy;
+    }
+    derivative1[0] = dxz;
+    derivative1[1] = dyz;
+    derivative1[2] = dzz;
+    return vz;
+  }
+}
@@ -0,0 +1,83 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import org.apache.commons.math3.exception.OutOfRangeException;
+
+/**
+ * Contains the cubic spline position for a value within the interpolation range. Used to
+ * pre-compute values to evaluate the spline value.
+ *
+ * <p>This class is mutable so a single instance can be reused for successive evaluations without
+ * allocation.
+ */
+public final class MutableCubicSplinePosition {
+  /** The powers of x: x^1, x^2, x^3. */
+  final double[] powers = new double[3];
+
+  /**
+   * Set the position.
+   *
+   * @param x the distance along the spline to the next node (range 0 to 1)
+   * @return this instance
+   * @throws OutOfRangeException If x is not in the range 0 to 1
+   */
+  public MutableCubicSplinePosition set(double x) {
+    // Use negation to catch NaN
+    if (!(x >= 0 && x <= 1)) {
+      throw new OutOfRangeException(x, 0, 1);
+    }
+    final double x2 = x * x;
+    powers[0] = x;
+    powers[1] = x2;
+    powers[2] = x2 * x;
+    return this;
+  }
+
+  /**
+   * Gets x.
+   *
+   * @return x
+   */
+  public double getX() {
+    return powers[0];
+  }
+
+  /**
+   * Gets x^2.
+   *
+   * @return x^2
+   */
+  public double getX2() {
+    return powers[1];
+  }
+
+  /**
+   * Gets x^3.
+   *
+   * @return x^3
+   */
+  public double getX3() {
+    return powers[2];
+  }
+}
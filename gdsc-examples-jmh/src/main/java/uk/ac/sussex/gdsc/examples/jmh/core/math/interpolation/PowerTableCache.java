@@ -0,0 +1,269 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.Arrays;
+
+/**
+ * A bounded cache of the power tables for a position within a tricubic spline node.
+ *
+ * <p>The position is quantised to a grid of {@code samples} steps in each dimension of the node.
+ * The tables are computed for the quantised position; the interpolation error is bounded by the
+ * change in the function over half a step. A fitting routine evaluates the same sub-pixel offsets
+ * repeatedly as the fit converges; these share a cached table.
+ *
+ * <p>When the cache is full an entry is evicted using the clock algorithm, an approximation of
+ * least recently used (LRU). Each entry has a reference bit that is set on access. The clock hand
+ * advances over the entries clearing the bit until an entry is found that has not been
+ * referenced.
+ *
+ * <p>This class is not thread-safe. Use a cache per thread.
+ */
+public class PowerTableCache {
+  /** The empty slot marker in the hash index. */
+  private static final int EMPTY = -1;
+  /** The golden ratio multiplier for hashing. */
+  private static final long GOLDEN_RATIO = 0x9e3779b97f4a7c15L;
+
+  /** The number of quantisation steps in each dimension. */
+  private final int samples;
+  /** The capacity. */
+  private final int capacity;
+
+  /** The key of each entry. */
+  private final long[] entryKey;
+  /** The tables of each entry. */
+  private final PowerTables[] entryValue;
+  /** The reference bit of each entry. */
+  private final boolean[] referenced;
+  /** The number of entries. */
+  private int size;
+  /** The clock hand. */
+  private int hand;
+
+  /** The hash index keys (open addressing with linear probing). */
+  private final long[] indexKey;
+  /** The hash index entry for each key. */
+  private final int[] indexEntry;
+  /** The hash index mask. */
+  private final int mask;
+  /** The hash index shift used to obtain the upper bits of the hash. */
+  private final int shift;
+
+  /** The hit count. */
+  private long hits;
+  /** The miss count. */
+  private long misses;
+
+  /**
+   * Create a new instance.
+   *
+   * @param samples the number of quantisation steps in each dimension (e.g. 64 for a resolution
+   *        of 1/64 of the node)
+   * @param capacity the maximum number of entries
+   * @throws IllegalArgumentException if samples or capacity are not strictly positive, or the
+   *         capacity is too large
+   */
+  public PowerTableCache(int samples, int capacity) {
+    if (samples < 1) {
+      throw new IllegalArgumentException("Samples must be strictly positive: " + samples);
+    }
+    // The index size is up to 4 times the capacity
+    if (capacity < 1 || capacity > (1 << 28)) {
+      throw new IllegalArgumentException("Invalid capacity: " + capacity);
+    }
+    this.samples = samples;
+    this.capacity = capacity;
+    entryKey = new long[capacity];
+    entryValue = new PowerTables[capacity];
+    referenced = new boolean[capacity];
+    // Load factor of at most 0.5
+    final int indexSize = Integer.highestOneBit(capacity) << 2;
+    indexKey = new long[indexSize];
+    indexEntry = new int[indexSize];
+    Arrays.fill(indexEntry, EMPTY);
+    mask = indexSize - 1;
+    shift = Long.numberOfLeadingZeros(indexSize - 1L);
+  }
+
+  /**
+   * Gets the number of quantisation steps in each dimension.
+   *
+   * @return the samples
+   */
+  public int getSamples() {
+    return samples;
+  }
+
+  /**
+   * Gets the capacity.
+   *
+   * @return the capacity
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Gets the number of entries.
+   *
+   * @return the size
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the hit count.
+   *
+   * @return the hits
+   */
+  public long getHits() {
+    return hits;
+  }
+
+  /**
+   * Gets the miss count.
+   *
+   * @return the misses
+   */
+  public long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Get the power tables for the position. The position is quantised to the nearest sample.
+   *
+   * @param x the x position within the node (in [0, 1])
+   * @param y the y position within the node (in [0, 1])
+   * @param z the z position within the node (in [0, 1])
+   * @return the power tables
+   */
+  public PowerTables get(double x, double y, double z) {
+    final int ix = quantise(x);
+    final int iy = quantise(y);
+    final int iz = quantise(z);
+    final long key = ((long) ix * (samples + 1) + iy) * (samples + 1) + iz;
+    int i = hash(key);
+    for (int entry = indexEntry[i]; entry != EMPTY; entry = indexEntry[i]) {
+      if (indexKey[i] == key) {
+        hits++;
+        referenced[entry] = true;
+        return entryValue[entry];
+      }
+      i = (i + 1) & mask;
+    }
+    misses++;
+    final double scale = 1.0 / samples;
+    final PowerTables tables = PowerTables.create(ix * scale, iy * scale, iz * scale);
+    final int entry = size < capacity ? size++ : evict();
+    entryKey[entry] = key;
+    entryValue[entry] = tables;
+    referenced[entry] = false;
+    // The eviction may have moved keys so find the insertion point again
+    i = hash(key);
+    while (indexEntry[i] != EMPTY) {
+      i = (i + 1) & mask;
+    }
+    indexKey[i] = key;
+    indexEntry[i] = entry;
+    return tables;
+  }
+
+  /**
+   * Clear the cache. The hit and miss counts are reset.
+   */
+  public void clear() {
+    Arrays.fill(indexEntry, EMPTY);
+    Arrays.fill(entryValue, 0, size, null);
+    size = 0;
+    hand = 0;
+    hits = 0;
+    misses = 0;
+  }
+
+  /**
+   * Quantise the position to the nearest sample. Positions outside [0, 1] are clipped.
+   *
+   * @param x the position
+   * @return the sample
+   */
+  private int quantise(double x) {
+    final long v = Math.round(x * samples);
+    return (int) Math.max(0, Math.min(samples, v));
+  }
+
+  /**
+   * Get the hash index position for the key.
+   *
+   * @param key the key
+   * @return the position
+   */
+  private int hash(long key) {
+    return (int) ((key * GOLDEN_RATIO) >>> shift);
+  }
+
+  /**
+   * Evict an entry using the clock algorithm.
+   *
+   * @return the evicted entry
+   */
+  private int evict() {
+    while (referenced[hand]) {
+      referenced[hand] = false;
+      hand = (hand + 1) % capacity;
+    }
+    final int entry = hand;
+    hand = (hand + 1) % capacity;
+    remove(entryKey[entry]);
+    return entry;
+  }
+
+  /**
+   * Remove the key from the hash index. The following keys in the probe sequence are shifted back
+   * to fill the gap.
+   *
+   * @param key the key
+   */
+  private void remove(long key) {
+    int i = hash(key);
+    while (indexKey[i] != key || indexEntry[i] == EMPTY) {
+      i = (i + 1) & mask;
+    }
+    int j = i;
+    for (;;) {
+      j = (j + 1) & mask;
+      if (indexEntry[j] == EMPTY) {
+        break;
+      }
+      // Move the key at j if its ideal position is not cyclically in (i, j]
+      final int k = hash(indexKey[j]);
+      if (((j - k) & mask) >= ((j - i) & mask)) {
+        indexKey[i] = indexKey[j];
+        indexEntry[i] = indexEntry[j];
+        i = j;
+      }
+    }
+    indexEntry[i] = EMPTY;
+  }
+}
@@ -0,0 +1,229 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Executes benchmark to compare the speed of evaluating a tricubic function with the gradient
+ * using power tables that are computed for each point, or obtained from a cache keyed on the
+ * quantised position.
+ *
+ * <p>The access pattern simulates fitting a PSF to a square window of pixels. The PSF centre moves
+ * towards the true centre over a number of iterations. The spline has a configurable number of
+ * nodes per pixel; an integer scale has the same sub-pixel offset for all pixels.
+ *
+ * <p>The cache hit and miss counts are reported as secondary results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms256M", "-Xmx256M"})
+public class PowerTableCacheBenchmark {
+  /** Number of fits. */
+  private static final int FITS = 50;
+  /** Number of iterations per fit. */
+  private static final int ITERATIONS = 10;
+  /** Size of the fit window. */
+  private static final int WINDOW = 9;
+  /** Number of points per invocation. */
+  private static final int POINTS = FITS * ITERATIONS * WINDOW * WINDOW;
+  /** Number of functions. */
+  private static final int NUM_FUNCTIONS = 64;
+
+  /**
+   * The sample points.
+   */
+  @State(Scope.Benchmark)
+  public static class FitData {
+    /**
+     * Number of spline nodes per pixel.
+     */
+    @Param({"2", "1.3"})
+    private double scale;
+
+    /** The function for each point. */
+    private DoubleCustomTricubicFunctionArray[] functions;
+    /** The x position in the node. */
+    private double[] x;
+    /** The y position in the node. */
+    private double[] y;
+    /** The z position in the node. */
+    private double[] z;
+
+    /** Create the samples. */
+    @Setup
+    public void setup() {
+      final ThreadLocalRandom rng = ThreadLocalRandom.current();
+      final DoubleCustomTricubicFunctionArray[] f =
+          new DoubleCustomTricubicFunctionArray[NUM_FUNCTIONS];
+      for (int i = 0; i < NUM_FUNCTIONS; i++) {
+        f[i] = new DoubleCustomTricubicFunctionArray(rng.doubles(64, 0, 456).toArray());
+      }
+      functions = new DoubleCustomTricubicFunctionArray[POINTS];
+      x = new double[POINTS];
+      y = new double[POINTS];
+      z = new double[POINTS];
+      int n = 0;
+      for (int fit = 0; fit < FITS; fit++) {
+        // True centre relative to the window origin, and z in spline nodes
+        final double tx = WINDOW * 0.5 + rng.nextDouble() - 0.5;
+        final double ty = WINDOW * 0.5 + rng.nextDouble() - 0.5;
+        final double tz = rng.nextDouble() * 10;
+        double cx = tx + rng.nextGaussian() * 0.5;
+        double cy = ty + rng.nextGaussian() * 0.5;
+        double cz = tz + rng.nextGaussian();
+        for (int it = 0; it < ITERATIONS; it++) {
+          final double nz = Math.max(0, cz);
+          for (int j = 0; j < WINDOW; j++) {
+            // Offset from the PSF centre in spline nodes
+            final double ny = (j - cy) * scale + 20;
+            for (int i = 0; i < WINDOW; i++) {
+              final double nx = (i - cx) * scale + 20;
+              functions[n] = f[(int) (nx + 3 * ny + 7 * nz) % NUM_FUNCTIONS];
+              x[n] = nx - (int) nx;
+              y[n] = ny - (int) ny;
+              z[n] = nz - (int) nz;
+              n++;
+            }
+          }
+          // Converge towards the true centre
+          cx += (tx - cx) * 0.5 + rng.nextGaussian() * 1e-3;
+          cy += (ty - cy) * 0.5 + rng.nextGaussian() * 1e-3;
+          cz += (tz - cz) * 0.5 + rng.nextGaussian() * 1e-2;
+        }
+      }
+    }
+  }
+
+  /**
+   * The power table cache.
+   */
+  @State(Scope.Thread)
+  public static class CacheData {
+    /**
+     * Number of quantisation steps per node.
+     */
+    @Param({"16", "128"})
+    private int samples;
+
+    /**
+     * Cache capacity.
+     */
+    @Param({"512", "8192"})
+    private int capacity;
+
+    /** The cache. */
+    private PowerTableCache cache;
+
+    /** Create the cache. */
+    @Setup(Level.Trial)
+    public void setup() {
+      cache = new PowerTableCache(samples, capacity);
+    }
+  }
+
+  /**
+   * The cache counters.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class CacheCounters {
+    /** The cache hits. */
+    public long hits;
+    /** The cache misses. */
+    public long misses;
+
+    /**
+     * Reset the counters.
+     */
+    @Setup(Level.Iteration)
+    public void reset() {
+      hits = 0;
+      misses = 0;
+    }
+  }
+
+  // Benchmarks methods below.
+
+  /**
+   * Compute the power tables for each point. Only the tables used by the gradient are computed.
+   *
+   * @param data the data
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public void computeTables(FitData data, Blackhole bh) {
+    final double[] derivative1 = new double[3];
+    for (int i = 0; i < POINTS; i++) {
+      final double[] table = PowerTables.computePowerTable(data.x[i], data.y[i], data.z[i]);
+      final double[] table2 = PowerTables.multiply(table, 2);
+      final double[] table3 = PowerTables.multiply(table, 3);
+      bh.consume(data.functions[i].value(table, table2, table3, derivative1));
+      bh.consume(derivative1);
+    }
+  }
+
+  /**
+   * Obtain the power tables from the cache. The cache is cleared before the fits.
+   *
+   * @param data the data
+   * @param cacheData the cache
+   * @param counters the cache counters
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public void cachedTables(FitData data, CacheData cacheData, CacheCounters counters,
+      Blackhole bh) {
+    final PowerTableCache cache = cacheData.cache;
+    cache.clear();
+    final double[] derivative1 = new double[3];
+    for (int i = 0; i < POINTS; i++) {
+      final PowerTables t = cache.get(data.x[i], data.y[i], data.z[i]);
+      bh.consume(data.functions[i].value(t.table, t.table2, t.table3, derivative1));
+      bh.consume(derivative1);
+    }
+    counters.hits += cache.getHits();
+    counters.misses += cache.getMisses();
+  }
+}
@@ -0,0 +1,144 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+/**
+ * Contains the power table for a position within a tricubic spline node, and the table scaled by
+ * 2, 3 and 6 for use in computing the derivatives.
+ *
+ * <p>The table entry for x^i y^j z^k is at index {@code i + 4 * j + 16 * k}.
+ *
+ * <p>This class is immutable if the tables are not modified.
+ */
+public final class PowerTables {
+  /** The power table. */
+  final double[] table;
+  /** The power table * 2. */
+  final double[] table2;
+  /** The power table * 3. */
+  final double[] table3;
+  /** The power table * 6. */
+  final double[] table6;
+
+  /**
+   * Create an instance.
+   *
+   * @param table the power table
+   */
+  private PowerTables(double[] table) {
+    this.table = table;
+    table2 = multiply(table, 2);
+    table3 = multiply(table, 3);
+    table6 = multiply(table, 6);
+  }
+
+  /**
+   * Create the power tables for the position.
+   *
+   * @param x the x position within the node (in [0, 1])
+   * @param y the y position within the node (in [0, 1])
+   * @param z the z position within the node (in [0, 1])
+   * @return the power tables
+   */
+  public static PowerTables create(double x, double y, double z) {
+    return new PowerTables(computePowerTable(x, y, z));
+  }
+
+  /**
+   * Compute the power table.
+   *
+   * @param x the x position within the node (in [0, 1])
+   * @param y the y position within the node (in [0, 1])
+   * @param z the z position within the node (in [0, 1])
+   * @return the power table
+   */
+  static double[] computePowerTable(double x, double y, double z) {
+    final double[] table = new double[64];
+    final double[] px = {1, x, x * x, x * x * x};
+    final double y2 = y * y;
+    final double[] py = {1, y, y2, y2 * y};
+    final double z2 = z * z;
+    final double[] pz = {1, z, z2, z2 * z};
+    int n = 0;
+    for (int k = 0; k < 4; k++) {
+      for (int j = 0; j < 4; j++) {
+        final double pyz = py[j] * pz[k];
+        for (int i = 0; i < 4; i++) {
+          table[n++] = px[i] * pyz;
+        }
+      }
+    }
+    return table;
+  }
+
+  /**
+   * Multiply the values by the factor.
+   *
+   * @param values the values
+   * @param factor the factor
+   * @return a new array with the result
+   */
+  static double[] multiply(double[] values, double factor) {
+    final double[] result = new double[values.length];
+    for (int i = 0; i < values.length; i++) {
+      result[i] = values[i] * factor;
+    }
+    return result;
+  }
+
+  /**
+   * Gets the power table.
+   *
+   * @return the table
+   */
+  public double[] getTable() {
+    return table;
+  }
+
+  /**
+   * Gets the power table * 2.
+   *
+   * @return the table
+   */
+  public double[] getTable2() {
+    return table2;
+  }
+
+  /**
+   * Gets the power table * 3.
+   *
+   * @return the table
+   */
+  public double[] getTable3() {
+    return table3;
+  }
+
+  /**
+   * Gets the power table * 6.
+   *
+   * @return the table
+   */
+  public double[] getTable6() {
+    return table6;
+  }
+}
@@ -0,0 +1,202 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Executes benchmark to compare the speed of evaluating a tricubic function at batches of sample
+ * points against evaluation one point at a time.
+ *
+ * <p>A fixed number of points are evaluated per invocation using batches of the configured size.
+ * Each batch uses a single function. The score is the time per point.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms256M", "-Xmx256M"})
+public class TricubicBatchBenchmark {
+  /** Number of points per invocation. */
+  private static final int POINTS = 4096;
+  /** Number of functions. */
+  private static final int NUM_FUNCTIONS = 16;
+
+  /**
+   * The batches of sample points.
+   */
+  @State(Scope.Benchmark)
+  public static class BatchData {
+    /**
+     * Number of points in each batch.
+     */
+    @Param({"1", "16", "256", "4096"})
+    private int size;
+
+    /** The x coordinates for each batch. */
+    private double[][] x;
+    /** The y coordinates for each batch. */
+    private double[][] y;
+    /** The z coordinates for each batch. */
+    private double[][] z;
+    /** The output for each batch. */
+    private double[][] out;
+    /** The cubic spline function using array data. */
+    private DoubleCustomTricubicFunctionArray[] arrayF;
+    /** The cubic spline function using custom object data. */
+    private DoubleCustomTricubicFunctionData[] dataF;
+
+    /** Create the samples. */
+    @Setup
+    public void setup() {
+      final ThreadLocalRandom rng = ThreadLocalRandom.current();
+      final int batches = POINTS / size;
+      x = new double[batches][];
+      y = new double[batches][];
+      z = new double[batches][];
+      out = new double[batches][size];
+      for (int i = 0; i < batches; i++) {
+        x[i] = rng.doubles(size).toArray();
+        y[i] = rng.doubles(size).toArray();
+        z[i] = rng.doubles(size).toArray();
+      }
+      arrayF = new DoubleCustomTricubicFunctionArray[NUM_FUNCTIONS];
+      dataF = new DoubleCustomTricubicFunctionData[NUM_FUNCTIONS];
+      for (int i = 0; i < NUM_FUNCTIONS; i++) {
+        final double[] tmp = rng.doubles(64, 0, 456).toArray();
+        arrayF[i] = new DoubleCustomTricubicFunctionArray(tmp);
+        dataF[i] = new DoubleCustomTricubicFunctionData(new DoubleCubicSplineData(tmp));
+      }
+    }
+  }
+
+  // Benchmarks methods below.
+
+  /**
+   * Evaluate each point using the powers of the position.
+   *
+   * @param data the data
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public void arrayValue0(BatchData data, Blackhole bh) {
+    final double[] powerX = new double[3];
+    final double[] powerY = new double[3];
+    final double[] powerZ = new double[3];
+    for (int i = 0; i < data.x.length; i++) {
+      final DoubleCustomTricubicFunctionArray f = data.arrayF[i % NUM_FUNCTIONS];
+      final double[] x = data.x[i];
+      final double[] y = data.y[i];
+      final double[] z = data.z[i];
+      final double[] out = data.out[i];
+      for (int j = 0; j < out.length; j++) {
+        powers(x[j], powerX);
+        powers(y[j], powerY);
+        powers(z[j], powerZ);
+        out[j] = f.value0(powerX, powerY, powerZ);
+      }
+      bh.consume(out);
+    }
+  }
+
+  /**
+   * Evaluate each point using a 64-element power table.
+   *
+   * @param data the data
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public void dataTable(BatchData data, Blackhole bh) {
+    for (int i = 0; i < data.x.length; i++) {
+      final DoubleCustomTricubicFunctionData f = data.dataF[i % NUM_FUNCTIONS];
+      final double[] x = data.x[i];
+      final double[] y = data.y[i];
+      final double[] z = data.z[i];
+      final double[] out = data.out[i];
+      for (int j = 0; j < out.length; j++) {
+        out[j] = f.value(new DoubleCubicSplineData(new CubicSplinePosition(x[j], true),
+            new CubicSplinePosition(y[j], true), new CubicSplinePosition(z[j], true)));
+      }
+      bh.consume(out);
+    }
+  }
+
+  /**
+   * Evaluate each batch using the array coefficients.
+   *
+   * @param data the data
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public void arrayBatch(BatchData data, Blackhole bh) {
+    for (int i = 0; i < data.x.length; i++) {
+      data.arrayF[i % NUM_FUNCTIONS].batchValue(data.x[i], data.y[i], data.z[i], data.out[i]);
+      bh.consume(data.out[i]);
+    }
+  }
+
+  /**
+   * Evaluate each batch using the custom object coefficients.
+   *
+   * @param data the data
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public void dataBatch(BatchData data, Blackhole bh) {
+    for (int i = 0; i < data.x.length; i++) {
+      data.dataF[i % NUM_FUNCTIONS].batchValue(data.x[i], data.y[i], data.z[i], data.out[i]);
+      bh.consume(data.out[i]);
+    }
+  }
+
+  /**
+   * Compute the powers of the value.
+   *
+   * @param value the value
+   * @param power the powers (x^1, x^2, x^3)
+   */
+  private static void powers(double value, double[] power) {
+    power[0] = value;
+    power[1] = value * value;
+    power[2] = power[1] * value;
+  }
+}
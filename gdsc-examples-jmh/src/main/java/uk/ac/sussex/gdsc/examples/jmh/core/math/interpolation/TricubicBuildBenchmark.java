@@ -0,0 +1,242 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Executes benchmark to compare the speed of building a tricubic spline grid from a volume.
+ *
+ * <p>The grid for a 64<sup>3</sup> volume is built and stored. A grid for a 256<sup>3</sup>
+ * volume requires over 8GB of coefficients. The volume build is timed using the same split of
+ * the work into tasks but building each task's planes of nodes into a buffer that is reused by
+ * each thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms1G", "-Xmx1G"})
+public class TricubicBuildBenchmark {
+  /** Number of cells per invocation of the cell transform. */
+  private static final int CELLS = 1024;
+
+  /**
+   * The volume for a grid that can be stored.
+   */
+  @State(Scope.Benchmark)
+  public static class GridData {
+    /**
+     * Number of samples in each dimension.
+     */
+    @Param({"64"})
+    private int size;
+
+    /** The builder. */
+    private TricubicSplineBuilder builder;
+
+    /** Create the samples. */
+    @Setup
+    public void setup() {
+      builder = createBuilder(size);
+    }
+  }
+
+  /**
+   * The volume.
+   */
+  @State(Scope.Benchmark)
+  public static class VolumeData {
+    /**
+     * Number of samples in each dimension.
+     */
+    @Param({"64", "256"})
+    private int size;
+
+    /** The builder. */
+    private TricubicSplineBuilder builder;
+
+    /** Create the samples. */
+    @Setup
+    public void setup() {
+      builder = createBuilder(size);
+    }
+  }
+
+  /**
+   * The thread pool.
+   */
+  @State(Scope.Benchmark)
+  public static class ThreadPool {
+    /**
+     * Number of threads.
+     */
+    @Param({"1", "4"})
+    private int threads;
+
+    /** The pool. */
+    private ForkJoinPool pool;
+
+    /** Create the pool. */
+    @Setup
+    public void setup() {
+      pool = new ForkJoinPool(threads);
+    }
+
+    /** Shutdown the pool. */
+    @TearDown
+    public void tearDown() {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * The cell corner values and the dense 64x64 transform.
+   */
+  @State(Scope.Benchmark)
+  public static class CellData {
+    /** The corner values of each cell. */
+    private double[][] cells;
+    /** The dense transform (row-major). */
+    private double[] matrix;
+
+    /** Create the samples. */
+    @Setup
+    public void setup() {
+      final ThreadLocalRandom rng = ThreadLocalRandom.current();
+      cells = new double[CELLS][];
+      for (int i = 0; i < CELLS; i++) {
+        cells[i] = rng.doubles(64).toArray();
+      }
+      // Each column is the transform of a unit vector
+      matrix = new double[64 * 64];
+      final double[] column = new double[64];
+      final double[] out = new double[64];
+      for (int m = 0; m < 64; m++) {
+        Arrays.fill(column, 0);
+        column[m] = 1;
+        TricubicSplineBuilder.transform(column, out, 0);
+        for (int r = 0; r < 64; r++) {
+          matrix[r * 64 + m] = out[r];
+        }
+      }
+    }
+  }
+
+  /**
+   * Creates the builder for a random volume.
+   *
+   * @param size the number of samples in each dimension
+   * @return the builder
+   */
+  static TricubicSplineBuilder createBuilder(int size) {
+    final double[] values =
+        ThreadLocalRandom.current().doubles((long) size * size * size).toArray();
+    return new TricubicSplineBuilder(size, size, size, values);
+  }
+
+  // Benchmarks methods below.
+
+  /**
+   * Build the grid on the pool.
+   *
+   * @param data the data
+   * @param pool the pool
+   * @return the grid
+   */
+  @Benchmark
+  public DoubleTricubicGrid build(GridData data, ThreadPool pool) {
+    return data.builder.build(pool.pool);
+  }
+
+  /**
+   * Build the grid on the pool using the same tasks as {@link #build(GridData, ThreadPool)}. The
+   * coefficients are discarded.
+   *
+   * @param data the data
+   * @param pool the pool
+   */
+  @Benchmark
+  public void buildAndDiscard(VolumeData data, ThreadPool pool) {
+    data.builder.buildAndDiscard(pool.pool);
+  }
+
+  /**
+   * Transform the cells using the separable sparse transform.
+   *
+   * @param data the data
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(CELLS)
+  public void cellSparse(CellData data, Blackhole bh) {
+    final double[] cell = new double[64];
+    final double[] out = new double[64];
+    for (final double[] values : data.cells) {
+      System.arraycopy(values, 0, cell, 0, 64);
+      TricubicSplineBuilder.transform(cell, out, 0);
+      bh.consume(out);
+    }
+  }
+
+  /**
+   * Transform the cells using the dense 64x64 matrix.
+   *
+   * @param data the data
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(CELLS)
+  public void cellDense(CellData data, Blackhole bh) {
+    final double[] matrix = data.matrix;
+    final double[] out = new double[64];
+    for (final double[] values : data.cells) {
+      for (int r = 0, i = 0; r < 64; r++) {
+        double sum = 0;
+        for (int m = 0; m < 64; m++, i++) {
+          sum += matrix[i] * values[m];
+        }
+        out[r] = sum;
+      }
+      bh.consume(out);
+    }
+  }
+}
@@ -0,0 +1,408 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Executes benchmark to compare the speed of evaluation of a tricubic spline grid stored as an
+ * object per node or as a single packed array, when the grid does not fit in the CPU cache.
+ *
+ * <p>Each invocation evaluates the next block of a long sequence of positions so the cells
+ * visited change between invocations. The positions are sequential through the cells, uniformly
+ * random, or a spatially local random walk. The result is the time per evaluation. Use
+ * {@code -prof perfnorm} where available to report the cache and TLB misses per evaluation.
+ *
+ * <p>The largest grid requires approximately 5.5GiB of heap. Use
+ * {@code -p cells=1000,100000,1000000} on machines with less memory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms8G", "-Xmx8G"})
+public class TricubicCacheBenchmark {
+  /** Number of points per invocation. */
+  private static final int POINTS = 1 << 12;
+  /** Number of points in the sequence of positions. */
+  private static final int TOTAL = 1 << 20;
+  /** The standard deviation of each step of the random walk (in grid units). */
+  private static final double STEP = 0.5;
+
+  /**
+   * Define evaluation of the spline grid.
+   */
+  private interface GridFunction {
+    /**
+     * Compute the value at the grid position.
+     *
+     * @param x the x position
+     * @param y the y position
+     * @param z the z position
+     * @return the value
+     */
+    double value(double x, double y, double z);
+
+    /**
+     * Compute the value and gradient at the grid position.
+     *
+     * @param x the x position
+     * @param y the y position
+     * @param z the z position
+     * @param derivative1 the partial first order derivatives with respect to x,y,z
+     * @return the value
+     */
+    double value(double x, double y, double z, double[] derivative1);
+  }
+
+  /**
+   * A grid using an array object per node.
+   */
+  private static class ArrayGrid implements GridFunction {
+    /** The number of nodes in each dimension. */
+    private final int size;
+    /** The function for each node. */
+    private final DoubleCustomTricubicFunctionArray[] nodes;
+    /** Working space for the x powers. */
+    private final double[] powerX = new double[3];
+    /** Working space for the y powers. */
+    private final double[] powerY = new double[3];
+    /** Working space for the z powers. */
+    private final double[] powerZ = new double[3];
+
+    ArrayGrid(int size, ThreadLocalRandom rng) {
+      this.size = size;
+      nodes = new DoubleCustomTricubicFunctionArray[size * size * size];
+      for (int i = 0; i < nodes.length; i++) {
+        nodes[i] = new DoubleCustomTricubicFunctionArray(createCoefficients(rng));
+      }
+    }
+
+    @Override
+    public double value(double x, double y, double z) {
+      final int i = DoubleTricubicGrid.nodeIndex(x, size);
+      final int j = DoubleTricubicGrid.nodeIndex(y, size);
+      final int k = DoubleTricubicGrid.nodeIndex(z, size);
+      powers(x - i, powerX);
+      powers(y - j, powerY);
+      powers(z - k, powerZ);
+      return nodes[i + size * (j + size * k)].value0(powerX, powerY, powerZ);
+    }
+
+    @Override
+    public double value(double x, double y, double z, double[] derivative1) {
+      final int i = DoubleTricubicGrid.nodeIndex(x, size);
+      final int j = DoubleTricubicGrid.nodeIndex(y, size);
+      final int k = DoubleTricubicGrid.nodeIndex(z, size);
+      powers(x - i, powerX);
+      powers(y - j, powerY);
+      powers(z - k, powerZ);
+      return nodes[i + size * (j + size * k)].value1(powerX, powerY, powerZ, derivative1);
+    }
+  }
+
+  /**
+   * A grid using a custom data object per node.
+   */
+  private static class DataGrid implements GridFunction {
+    /** The number of nodes in each dimension. */
+    private final int size;
+    /** The function for each node. */
+    private final DoubleCustomTricubicFunctionData[] nodes;
+    /** Working space for the x powers. */
+    private final double[] powerX = new double[3];
+    /** Working space for the y powers. */
+    private final double[] powerY = new double[3];
+    /** Working space for the z powers. */
+    private final double[] powerZ = new double[3];
+
+    DataGrid(int size, ThreadLocalRandom rng) {
+      this.size = size;
+      nodes = new DoubleCustomTricubicFunctionData[size * size * size];
+      for (int i = 0; i < nodes.length; i++) {
+        nodes[i] = new DoubleCustomTricubicFunctionData(
+            new DoubleCubicSplineData(createCoefficients(rng)));
+      }
+    }
+
+    @Override
+    public double value(double x, double y, double z) {
+      final int i = DoubleTricubicGrid.nodeIndex(x, size);
+      final int j = DoubleTricubicGrid.nodeIndex(y, size);
+      final int k = DoubleTricubicGrid.nodeIndex(z, size);
+      powers(x - i, powerX);
+      powers(y - j, powerY);
+      powers(z - k, powerZ);
+      return nodes[i + size * (j + size * k)].value0(powerX, powerY, powerZ);
+    }
+
+    @Override
+    public double value(double x, double y, double z, double[] derivative1) {
+      final int i = DoubleTricubicGrid.nodeIndex(x, size);
+      final int j = DoubleTricubicGrid.nodeIndex(y, size);
+      final int k = DoubleTricubicGrid.nodeIndex(z, size);
+      powers(x - i, powerX);
+      powers(y - j, powerY);
+      powers(z - k, powerZ);
+      return nodes[i + size * (j + size * k)].value1(powerX, powerY, powerZ, derivative1);
+    }
+  }
+
+  /**
+   * A grid using a single packed array.
+   */
+  private static class PackedGrid implements GridFunction {
+    /** The grid. */
+    private final DoubleTricubicGrid grid;
+
+    PackedGrid(int size, ThreadLocalRandom rng) {
+      // Fill the packed array directly to avoid a copy of each node
+      final double[] coeff = new double[size * size * size * DoubleTricubicGrid.NODE_SIZE];
+      for (int i = 0; i < coeff.length; i++) {
+        coeff[i] = rng.nextDouble(456);
+      }
+      grid = new DoubleTricubicGrid(size, size, size, coeff);
+    }
+
+    @Override
+    public double value(double x, double y, double z) {
+      return grid.value(x, y, z);
+    }
+
+    @Override
+    public double value(double x, double y, double z, double[] derivative1) {
+      return grid.value(x, y, z, derivative1);
+    }
+  }
+
+  /**
+   * The spline grid and the positions.
+   */
+  @State(Scope.Benchmark)
+  public static class GridData {
+    /**
+     * The approximate number of cells. The grid is a cube.
+     */
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int cells;
+
+    /**
+     * The storage layout of the grid.
+     */
+    @Param({"array", "data", "grid"})
+    private String layout;
+
+    /**
+     * The access pattern.
+     */
+    @Param({"sequential", "random", "walk"})
+    private String access;
+
+    /** The number of nodes in each dimension. */
+    private int size;
+    /** The x position (in grid units). */
+    private double[] x;
+    /** The y position (in grid units). */
+    private double[] y;
+    /** The z position (in grid units). */
+    private double[] z;
+    /** The grid. */
+    private GridFunction function;
+    /** The offset of the next block of positions. */
+    private int offset;
+
+    /** Create the samples. */
+    @Setup
+    public void setup() {
+      final ThreadLocalRandom rng = ThreadLocalRandom.current();
+      size = Math.max(1, (int) Math.round(Math.cbrt(cells)));
+      if ("array".equals(layout)) {
+        function = new ArrayGrid(size, rng);
+      } else if ("data".equals(layout)) {
+        function = new DataGrid(size, rng);
+      } else if ("grid".equals(layout)) {
+        function = new PackedGrid(size, rng);
+      } else {
+        throw new IllegalStateException("Unknown layout: " + layout);
+      }
+
+      x = new double[TOTAL];
+      y = new double[TOTAL];
+      z = new double[TOTAL];
+      if ("sequential".equals(access)) {
+        sequential(rng);
+      } else if ("random".equals(access)) {
+        for (int i = 0; i < TOTAL; i++) {
+          x[i] = rng.nextDouble(size);
+          y[i] = rng.nextDouble(size);
+          z[i] = rng.nextDouble(size);
+        }
+      } else if ("walk".equals(access)) {
+        randomWalk(rng);
+      } else {
+        throw new IllegalStateException("Unknown access pattern: " + access);
+      }
+    }
+
+    /**
+     * Create a random position in each cell with x changing fastest, then y, then z.
+     *
+     * @param rng the random generator
+     */
+    private void sequential(ThreadLocalRandom rng) {
+      int i = 0;
+      int j = 0;
+      int k = 0;
+      for (int n = 0; n < TOTAL; n++) {
+        x[n] = i + rng.nextDouble();
+        y[n] = j + rng.nextDouble();
+        z[n] = k + rng.nextDouble();
+        if (++i == size) {
+          i = 0;
+          if (++j == size) {
+            j = 0;
+            if (++k == size) {
+              k = 0;
+            }
+          }
+        }
+      }
+    }
+
+    /**
+     * Create a random walk through the grid.
+     *
+     * @param rng the random generator
+     */
+    private void randomWalk(ThreadLocalRandom rng) {
+      double px = rng.nextDouble(size);
+      double py = rng.nextDouble(size);
+      double pz = rng.nextDouble(size);
+      for (int i = 0; i < TOTAL; i++) {
+        x[i] = px = reflect(px + rng.nextGaussian() * STEP);
+        y[i] = py = reflect(py + rng.nextGaussian() * STEP);
+        z[i] = pz = reflect(pz + rng.nextGaussian() * STEP);
+      }
+    }
+
+    /**
+     * Reflect the position into the grid.
+     *
+     * @param value the position
+     * @return the reflected position
+     */
+    private double reflect(double value) {
+      if (value < 0) {
+        return Math.min(-value, size);
+      }
+      if (value > size) {
+        return Math.max(2 * size - value, 0);
+      }
+      return value;
+    }
+
+    /**
+     * Gets the offset of the next block of positions.
+     *
+     * @return the offset
+     */
+    int next() {
+      final int from = offset;
+      offset = (from + POINTS) & (TOTAL - 1);
+      return from;
+    }
+  }
+
+  // Benchmarks methods below.
+
+  /**
+   * Evaluate the value.
+   *
+   * @param data the data
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public void value(GridData data, Blackhole bh) {
+    final GridFunction f = data.function;
+    final int from = data.next();
+    for (int i = from; i < from + POINTS; i++) {
+      bh.consume(f.value(data.x[i], data.y[i], data.z[i]));
+    }
+  }
+
+  /**
+   * Evaluate the value and gradient.
+   *
+   * @param data the data
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public void gradient(GridData data, Blackhole bh) {
+    final GridFunction f = data.function;
+    final double[] derivative1 = new double[3];
+    final int from = data.next();
+    for (int i = from; i < from + POINTS; i++) {
+      bh.consume(f.value(data.x[i], data.y[i], data.z[i], derivative1));
+      bh.consume(derivative1);
+    }
+  }
+
+  /**
+   * Create the coefficients for a node.
+   *
+   * @param rng the random generator
+   * @return the coefficients
+   */
+  private static double[] createCoefficients(ThreadLocalRandom rng) {
+    return rng.doubles(DoubleTricubicGrid.NODE_SIZE, 0, 456).toArray();
+  }
+
+  /**
+   * Compute the powers of the value.
+   *
+   * @param x the value
+   * @param power the powers (x^1, x^2, x^3)
+   */
+  private static void powers(double x, double[] power) {
+    power[0] = x;
+    power[1] = x * x;
+    power[2] = power[1] * x;
+  }
+}
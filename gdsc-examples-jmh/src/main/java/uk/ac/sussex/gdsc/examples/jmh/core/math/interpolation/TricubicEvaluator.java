@@ -0,0 +1,259 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+/**
+ * Evaluate the value, gradient and Hessian diagonal of a tricubic spline grid without allocation.
+ *
+ * <p>The results are written to a flat buffer owned by the evaluator. Each point uses
+ * {@link #STRIDE} consecutive values: the value; the first order partial derivatives with respect
+ * to x, y and z; and the second order partial derivatives with respect to x, y and z.
+ *
+ * <p>The power table and the buffer are scratch storage reused for each call. The evaluator is not
+ * thread-safe; each thread should use its own instance. The buffer is only reallocated if a fit
+ * window requires more space than any previous call.
+ */
+public final class TricubicEvaluator {
+  /** The number of values per point in the buffer. */
+  public static final int STRIDE = 7;
+  /** The offset of the value. */
+  public static final int VALUE = 0;
+  /** The offset of the first order partial derivatives. */
+  public static final int GRADIENT = 1;
+  /** The offset of the second order partial derivatives. */
+  public static final int HESSIAN = 4;
+
+  /** The grid. */
+  private final DoubleTricubicGrid grid;
+  /** The coefficients of the grid. */
+  private final double[] coeff;
+  /** The power table. */
+  private final double[] table = new double[64];
+  /** The powers of y. */
+  private final double[] powerY = new double[4];
+  /** The powers of z. */
+  private final double[] powerZ = new double[4];
+  /** The output buffer. */
+  private double[] buffer = new double[STRIDE];
+
+  /**
+   * Create a new instance.
+   *
+   * @param grid the grid
+   */
+  public TricubicEvaluator(DoubleTricubicGrid grid) {
+    this.grid = grid;
+    this.coeff = grid.getCoefficients();
+    powerY[0] = 1;
+    powerZ[0] = 1;
+  }
+
+  /**
+   * Gets the buffer containing the results of the last evaluation.
+   *
+   * @return the buffer
+   */
+  public double[] getBuffer() {
+    return buffer;
+  }
+
+  /**
+   * Evaluate at the grid position. The position is in grid units with the node (i, j, k) spanning
+   * {@code [i, i+1]}, {@code [j, j+1]} and {@code [k, k+1]}. The results are written to the start
+   * of the buffer.
+   *
+   * @param x the x position (in [0, maxx])
+   * @param y the y position (in [0, maxy])
+   * @param z the z position (in [0, maxz])
+   * @return the buffer
+   * @throws org.apache.commons.math3.exception.OutOfRangeException if the position is outside
+   *         the grid
+   */
+  public double[] evaluate(double x, double y, double z) {
+    final int i = DoubleTricubicGrid.nodeIndex(x, grid.getMaxX());
+    final int j = DoubleTricubicGrid.nodeIndex(y, grid.getMaxY());
+    final int k = DoubleTricubicGrid.nodeIndex(z, grid.getMaxZ());
+    setPowerZ(z - k);
+    setTable(x - i, y - j);
+    evaluate(grid.index(i, j, k), 0);
+    return buffer;
+  }
+
+  /**
+   * Evaluate all the pixels of a fit window. The pixel (u, v) is at the grid position
+   * {@code (x0 + u, y0 + v, z)}. The results for the pixel are written to the buffer at offset
+   * {@code (u + v * width) * STRIDE}.
+   *
+   * @param x0 the x position of the first pixel
+   * @param y0 the y position of the first pixel
+   * @param z the z position
+   * @param width the window width
+   * @param height the window height
+   * @return the buffer
+   * @throws org.apache.commons.math3.exception.OutOfRangeException if a pixel is outside the
+   *         grid
+   * @see #evaluate(double, double, double, int, int, double)
+   */
+  public double[] evaluate(double x0, double y0, double z, int width, int height) {
+    return evaluate(x0, y0, z, width, height, 1);
+  }
+
+  /**
+   * Evaluate all the pixels of a fit window. The pixel (u, v) is at the grid position
+   * {@code (x0 + u * step, y0 + v * step, z)}. The results for the pixel are written to the
+   * buffer at offset {@code (u + v * width) * STRIDE}.
+   *
+   * <p>The power table depends only on the offsets within the node. It is rebuilt only when the
+   * offsets change from the previous pixel. When the step is an integer the offsets are the same
+   * for every pixel and the table is built once for the window.
+   *
+   * @param x0 the x position of the first pixel
+   * @param y0 the y position of the first pixel
+   * @param z the z position
+   * @param width the window width
+   * @param height the window height
+   * @param step the distance between pixels (in grid units)
+   * @return the buffer
+   * @throws org.apache.commons.math3.exception.OutOfRangeException if a pixel is outside the
+   *         grid
+   */
+  public double[] evaluate(double x0, double y0, double z, int width, int height, double step) {
+    final int size = width * height * STRIDE;
+    if (buffer.length < size) {
+      buffer = new double[size];
+    }
+    final int maxx = grid.getMaxX();
+    final int maxy = grid.getMaxY();
+    final int k = DoubleTricubicGrid.nodeIndex(z, grid.getMaxZ());
+    setPowerZ(z - k);
+    // Offsets are computed relative to the first pixel so an integer step reproduces them exactly
+    final int i0 = DoubleTricubicGrid.nodeIndex(x0, maxx);
+    final int j0 = DoubleTricubicGrid.nodeIndex(y0, maxy);
+    final double fx0 = x0 - i0;
+    final double fy0 = y0 - j0;
+    // Offsets used to build the current table (NaN forces a build)
+    double tx = Double.NaN;
+    double ty = Double.NaN;
+    for (int v = 0, offset = 0; v < height; v++) {
+      final double dy = v * step;
+      final int j = DoubleTricubicGrid.nodeIndex(y0 + dy, maxy);
+      final double y = fy0 + (dy - (j - j0));
+      for (int u = 0; u < width; u++, offset += STRIDE) {
+        final double dx = u * step;
+        final int i = DoubleTricubicGrid.nodeIndex(x0 + dx, maxx);
+        final double x = fx0 + (dx - (i - i0));
+        if (x != tx || y != ty) {
+          setTable(x, y);
+          tx = x;
+          ty = y;
+        }
+        evaluate(grid.index(i, j, k), offset);
+      }
+    }
+    return buffer;
+  }
+
+  /**
+   * Sets the powers of z.
+   *
+   * @param z the z position within the node
+   */
+  private void setPowerZ(double z) {
+    powerZ[1] = z;
+    powerZ[2] = z * z;
+    powerZ[3] = z * z * z;
+  }
+
+  /**
+   * Sets the power table. The powers of z must be set.
+   *
+   * @param x the x position within the node
+   * @param y the y position within the node
+   */
+  private void setTable(double x, double y) {
+    final double[] t = table;
+    final double x2 = x * x;
+    final double x3 = x2 * x;
+    powerY[1] = y;
+    powerY[2] = y * y;
+    powerY[3] = y * y * y;
+    for (int n = 0, kz = 0; kz < 4; kz++) {
+      for (int ky = 0; ky < 4; ky++, n += 4) {
+        final double s = powerZ[kz] * powerY[ky];
+        t[n] = s;
+        t[n + 1] = s * x;
+        t[n + 2] = s * x2;
+        t[n + 3] = s * x3;
+      }
+    }
+  }
+
+  /**
+   * Evaluate within the node. The power table must be set.
+   *
+   * @param base the index of the node coefficients
+   * @param offset the offset in the buffer
+   */
+  private void evaluate(int base, int offset) {
+    final double[] c = coeff;
+    final double[] t = table;
+    // The derivative of each term uses the table entry for the power one (or two) lower.
+    // x: stride 1 within each row of 4
+    double value = 0;
+    double dx = 0;
+    double dxx = 0;
+    for (int n = 0; n < 64; n += 4) {
+      final int o = base + n;
+      value += t[n] * c[o] + t[n + 1] * c[o + 1] + t[n + 2] * c[o + 2] + t[n + 3] * c[o + 3];
+      dx += t[n] * c[o + 1] + 2 * t[n + 1] * c[o + 2] + 3 * t[n + 2] * c[o + 3];
+      dxx += 2 * t[n] * c[o + 2] + 6 * t[n + 1] * c[o + 3];
+    }
+    // y: stride 4 within each block of 16
+    double dy = 0;
+    double dyy = 0;
+    for (int b = 0; b < 64; b += 16) {
+      for (int n = b; n < b + 4; n++) {
+        final int o = base + n;
+        dy += t[n] * c[o + 4] + 2 * t[n + 4] * c[o + 8] + 3 * t[n + 8] * c[o + 12];
+        dyy += 2 * t[n] * c[o + 8] + 6 * t[n + 4] * c[o + 12];
+      }
+    }
+    // z: stride 16
+    double dz = 0;
+    double dzz = 0;
+    for (int n = 0; n < 16; n++) {
+      final int o = base + n;
+      dz += t[n] * c[o + 16] + 2 * t[n + 16] * c[o + 32] + 3 * t[n + 32] * c[o + 48];
+      dzz += 2 * t[n] * c[o + 32] + 6 * t[n + 16] * c[o + 48];
+    }
+
+    final double[] out = buffer;
+    out[offset + VALUE] = value;
+    out[offset + GRADIENT] = dx;
+    out[offset + GRADIENT + 1] = dy;
+    out[offset + GRADIENT + 2] = dz;
+    out[offset + HESSIAN] = dxx;
+    out[offset + HESSIAN + 1] = dyy;
+    out[offset + HESSIAN + 2] = dzz;
+  }
+}
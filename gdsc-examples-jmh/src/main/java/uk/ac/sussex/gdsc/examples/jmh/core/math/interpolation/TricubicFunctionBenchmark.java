@@ -30,7 +30,9 @@ import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
@@ -38,6 +40,9 @@ import uk.ac.sussex.gdsc.core.utils.SimpleArrayUtils;
 
 /**
  * Executes benchmark to compare the speed of generation of Base64 strings.
+ *
+ * <p>The Kernel cases use the default {@link TricubicKernel}. This can be changed using
+ * {@code -jvmArgsAppend -Dgdsc.tricubic.kernel=scalar}.
  */
 @BenchmarkMode(Mode.AverageTime)
 @OutputTimeUnit(TimeUnit.MICROSECONDS)
@@ -50,6 +55,16 @@ public class TricubicFunctionBenchmark {
   private static final int NUM_FUNCTIONS = 100;
   /** Number of samples per run. */
   private static final int NUM_SAMPLES = 100;
+  /** Number of lattice samples in x and y. */
+  private static final int LATTICE_XY = 5;
+  /** Number of lattice samples in z. */
+  private static final int LATTICE_Z = NUM_SAMPLES / (LATTICE_XY * LATTICE_XY);
+  /** Number of grid nodes in x and y for the fit window. */
+  private static final int WINDOW_GRID = 10;
+  /** Fit window size. */
+  private static final int WINDOW = WINDOW_GRID - 1;
+  /** The step used for finite differences. */
+  private static final double DELTA = 1e-4;
 
   /** The x position. */
   private static final CubicSplinePosition[] x;
@@ -75,8 +90,14 @@ public class TricubicFunctionBenchmark {
   private static final FloatCustomTricubicFunctionArray[] arrayFF;
   /** The cubic spline function using custom object data. */
   private static final DoubleCustomTricubicFunctionData[] dataF;
+  /** The cubic spline function using IEEE 754 binary16 array data. */
+  private static final HalfCustomTricubicFunctionArray[] arrayHF;
+  /** The cubic spline function using bfloat16 array data. */
+  private static final HalfCustomTricubicFunctionArray[] arrayBF;
   /** Power tables. */
   private static final double[][] arrayTables;
+  /** Power tables as float. */
+  private static final float[][] arrayTablesF;
   /** Power tables. */
   private static final double[][] arrayTables2;
   /** Power tables * 2. */
@@ -91,6 +112,16 @@ public class TricubicFunctionBenchmark {
   private static final DoubleCubicSplineData[] dataTables3;
   /** Power tables * 6. */
   private static final DoubleCubicSplineData[] dataTables6;
+  /** The x lattice position. */
+  private static final double[] latticeX;
+  /** The y lattice position. */
+  private static final double[] latticeY;
+  /** The z lattice position. */
+  private static final double[] latticeZ;
+  /** Power tables at y +/- delta and z +/- delta for finite differences. */
+  private static final double[][][] arrayTablesDelta;
+  /** The grid of the functions for the fit window (a single plane of nodes). */
+  private static final DoubleTricubicGrid windowGrid;
 
   static {
     final ThreadLocalRandom rng = ThreadLocalRandom.current();
@@ -104,6 +135,7 @@ public class TricubicFunctionBenchmark {
     powerZ = new double[NUM_SAMPLES][];
     powerZF = new float[NUM_SAMPLES][];
     arrayTables = new double[NUM_SAMPLES][];
+    arrayTablesF = new float[NUM_SAMPLES][];
     arrayTables2 = new double[NUM_SAMPLES][];
     arrayTables3 = new double[NUM_SAMPLES][];
     arrayTables6 = new double[NUM_SAMPLES][];
@@ -111,6 +143,7 @@ public class TricubicFunctionBenchmark {
     dataTables2 = new DoubleCubicSplineData[NUM_SAMPLES];
     dataTables3 = new DoubleCubicSplineData[NUM_SAMPLES];
     dataTables6 = new DoubleCubicSplineData[NUM_SAMPLES];
+    arrayTablesDelta = new double[4][NUM_SAMPLES][];
     for (int i = 0; i < NUM_SAMPLES; i++) {
       x[i] = new CubicSplinePosition(rng.nextDouble());
       y[i] = new CubicSplinePosition(rng.nextDouble());
@@ -123,6 +156,7 @@ public class TricubicFunctionBenchmark {
       powerZF[i] = SimpleArrayUtils.toFloat(powerZ[i]);
       final double[] tmp = computePowerTable(powerX[i], powerY[i], powerZ[i]);
       arrayTables[i] = tmp;
+      arrayTablesF[i] = SimpleArrayUtils.toFloat(tmp);
       arrayTables2[i] = multiply(tmp, 2);
       arrayTables3[i] = multiply(tmp, 3);
       arrayTables6[i] = multiply(tmp, 6);
@@ -130,16 +164,88 @@ public class TricubicFunctionBenchmark {
       dataTables2[i] = dataTables[i].scale(2);
       dataTables3[i] = dataTables[i].scale(3);
       dataTables6[i] = dataTables[i].scale(6);
+      arrayTablesDelta[0][i] = computePowerTable(powerX[i], powers(y[i].x1 + DELTA), powerZ[i]);
+      arrayTablesDelta[1][i] = computePowerTable(powerX[i], powers(y[i].x1 - DELTA), powerZ[i]);
+      arrayTablesDelta[2][i] = computePowerTable(powerX[i], powerY[i], powers(z[i].x1 + DELTA));
+      arrayTablesDelta[3][i] = computePowerTable(powerX[i], powerY[i], powers(z[i].x1 - DELTA));
     }
 
+    latticeX = rng.doubles(LATTICE_XY).toArray();
+    latticeY = rng.doubles(LATTICE_XY).toArray();
+    latticeZ = rng.doubles(LATTICE_Z).toArray();
+
     arrayF = new DoubleCustomTricubicFunctionArray[NUM_FUNCTIONS];
     arrayFF = new FloatCustomTricubicFunctionArray[NUM_FUNCTIONS];
     dataF = new DoubleCustomTricubicFunctionData[NUM_FUNCTIONS];
+    arrayHF = new HalfCustomTricubicFunctionArray[NUM_FUNCTIONS];
+    arrayBF = new HalfCustomTricubicFunctionArray[NUM_FUNCTIONS];
+    final double[][] nodes = new double[NUM_FUNCTIONS][];
     for (int i = 0; i < NUM_FUNCTIONS; i++) {
       final double[] tmp = createCoefficients(rng);
+      nodes[i] = tmp;
       arrayF[i] = new DoubleCustomTricubicFunctionArray(tmp);
       arrayFF[i] = new FloatCustomTricubicFunctionArray(SimpleArrayUtils.toFloat(tmp));
       dataF[i] = new DoubleCustomTricubicFunctionData(new DoubleCubicSplineData(tmp));
+      arrayHF[i] = HalfCustomTricubicFunctionArray.create(tmp,
+          HalfCustomTricubicFunctionArray.Format.FP16);
+      arrayBF[i] = HalfCustomTricubicFunctionArray.create(tmp,
+          HalfCustomTricubicFunctionArray.Format.BF16);
+    }
+    windowGrid = DoubleTricubicGrid.create(WINDOW_GRID, WINDOW_GRID, 1, nodes);
+  }
+
+  /**
+   * The allocation-free evaluator. Use {@code -prof gc} to verify the allocation rate.
+   */
+  @State(Scope.Thread)
+  public static class EvaluatorState {
+    /**
+     * The distance between pixels. An integer step reuses the power table for the window; a
+     * fractional step rebuilds it when the offsets within the node change.
+     */
+    @Param({"1", "0.5"})
+    private double step;
+
+    /** The evaluator. */
+    private TricubicEvaluator evaluator;
+
+    /** Create the evaluator. */
+    @Setup
+    public void setup() {
+      evaluator = new TricubicEvaluator(windowGrid);
+    }
+  }
+
+  /**
+   * The matrix of the generated kernels for each combination of coefficient precision, storage
+   * layout and power table precision.
+   */
+  @State(Scope.Benchmark)
+  public static class MatrixData {
+    /** The precision of the coefficients. */
+    @Param
+    private TricubicFunctionMatrix.Precision coefficients;
+
+    /** The storage layout. */
+    @Param
+    private TricubicFunctionMatrix.Layout layout;
+
+    /** The precision of the power table. */
+    @Param
+    private TricubicFunctionMatrix.Precision table;
+
+    /** The matrix. */
+    private TricubicFunctionMatrix matrix;
+
+    /** Create the matrix. */
+    @Setup
+    public void setup() {
+      final ThreadLocalRandom rng = ThreadLocalRandom.current();
+      final double[][] nodes = new double[NUM_FUNCTIONS][];
+      for (int i = 0; i < NUM_FUNCTIONS; i++) {
+        nodes[i] = createCoefficients(rng);
+      }
+      matrix = TricubicFunctionMatrix.create(coefficients, layout, table, nodes, x, y, z);
     }
   }
 
@@ -430,35 +536,160 @@ public class TricubicFunctionBenchmark {
   // Pre-computed powers
 
   @Benchmark
-  public void arrayPreValue0(Blackhole bh) {
+  public void matrixValue0(MatrixData data, Blackhole bh) {
+    final TricubicFunctionMatrix matrix = data.matrix;
+    final Sink64 sink = new Sink64();
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(matrix.value(i, j));
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void matrixValue1(MatrixData data, Blackhole bh) {
+    final TricubicFunctionMatrix matrix = data.matrix;
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[3];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(matrix.value(i, j, derivative1));
+        sink.put(derivative1);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void matrixValue2(MatrixData data, Blackhole bh) {
+    final TricubicFunctionMatrix matrix = data.matrix;
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[3];
+    final double[] derivative2 = new double[3];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(matrix.value(i, j, derivative1, derivative2));
+        sink.put(derivative1);
+        sink.put(derivative2);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void matrixHessian(MatrixData data, Blackhole bh) {
+    final TricubicFunctionMatrix matrix = data.matrix;
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[3];
+    final double[] hessian = new double[9];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(matrix.valueHessian(i, j, derivative1, hessian));
+        sink.put(derivative1);
+        for (final double h : hessian) {
+          sink.put(h);
+        }
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayPreValue0Kernel(Blackhole bh) {
+    final TricubicKernel kernel = TricubicKernel.getDefault();
     final Sink64 sink = new Sink64();
     for (int i = 0; i < NUM_FUNCTIONS; i++) {
       final DoubleCustomTricubicFunctionArray f = arrayF[i];
       for (int j = 0; j < NUM_SAMPLES; j++) {
-        sink.put(f.value(arrayTables[j]));
+        sink.put(f.value(arrayTables[j], kernel));
       }
     }
     bh.consume(sink.counter);
   }
 
   @Benchmark
-  public void dataPreValue0(Blackhole bh) {
+  public void dataPreValue0Kernel(Blackhole bh) {
+    final TricubicKernel kernel = TricubicKernel.getDefault();
     final Sink64 sink = new Sink64();
     for (int i = 0; i < NUM_FUNCTIONS; i++) {
       final DoubleCustomTricubicFunctionData f = dataF[i];
       for (int j = 0; j < NUM_SAMPLES; j++) {
-        sink.put(f.value(dataTables[j]));
+        sink.put(f.value(dataTables[j], kernel));
       }
     }
     bh.consume(sink.counter);
   }
 
-  // @Benchmark
-  public void arrayPreValue1(Blackhole bh) {
+  @Benchmark
+  public void arrayFFPreValue0Kernel(Blackhole bh) {
+    final TricubicKernel kernel = TricubicKernel.getDefault();
+    final Sink64 sink = new Sink64();
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final FloatCustomTricubicFunctionArray f = arrayFF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(arrayTablesF[j], kernel));
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  // 16-bit coefficients: compare with the Kernel variants for the decode cost
+
+  @Benchmark
+  public void arrayHFPreValue0(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final HalfCustomTricubicFunctionArray f = arrayHF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(arrayTables[j]));
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayBFPreValue0(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final HalfCustomTricubicFunctionArray f = arrayBF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(arrayTables[j]));
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayHFFPreValue0(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final HalfCustomTricubicFunctionArray f = arrayHF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(arrayTablesF[j]));
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayBFFPreValue0(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final HalfCustomTricubicFunctionArray f = arrayBF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(arrayTablesF[j]));
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayHFPreValue1(Blackhole bh) {
     final Sink64 sink = new Sink64();
     final double[] derivative1 = new double[3];
     for (int i = 0; i < NUM_FUNCTIONS; i++) {
-      final DoubleCustomTricubicFunctionArray f = arrayF[i];
+      final HalfCustomTricubicFunctionArray f = arrayHF[i];
       for (int j = 0; j < NUM_SAMPLES; j++) {
         sink.put(f.value(arrayTables[j], derivative1));
         sink.put(derivative1);
@@ -467,47 +698,73 @@ public class TricubicFunctionBenchmark {
     bh.consume(sink.counter);
   }
 
-  // @Benchmark
-  public void dataPreValue1(Blackhole bh) {
+  @Benchmark
+  public void arrayBFPreValue1(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[3];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final HalfCustomTricubicFunctionArray f = arrayBF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(arrayTables[j], derivative1));
+        sink.put(derivative1);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayPreGradient(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[3];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final DoubleCustomTricubicFunctionArray f = arrayF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        f.gradient(arrayTables[j], derivative1);
+        sink.put(derivative1);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void dataPreGradient(Blackhole bh) {
     final Sink64 sink = new Sink64();
     final double[] derivative1 = new double[3];
     for (int i = 0; i < NUM_FUNCTIONS; i++) {
       final DoubleCustomTricubicFunctionData f = dataF[i];
       for (int j = 0; j < NUM_SAMPLES; j++) {
-        sink.put(f.value(dataTables[j], derivative1));
+        f.gradient(dataTables[j], derivative1);
         sink.put(derivative1);
       }
     }
     bh.consume(sink.counter);
   }
 
-  // @Benchmark
-  public void arrayPreValue2(Blackhole bh) {
+  @Benchmark
+  public void arrayPreValue1Kernel(Blackhole bh) {
+    final TricubicKernel kernel = TricubicKernel.getDefault();
     final Sink64 sink = new Sink64();
     final double[] derivative1 = new double[3];
-    final double[] derivative2 = new double[3];
     for (int i = 0; i < NUM_FUNCTIONS; i++) {
       final DoubleCustomTricubicFunctionArray f = arrayF[i];
       for (int j = 0; j < NUM_SAMPLES; j++) {
-        sink.put(f.value(arrayTables[j], derivative1, derivative2));
+        sink.put(f.value(arrayTables[j], derivative1, kernel));
         sink.put(derivative1);
-        sink.put(derivative2);
       }
     }
     bh.consume(sink.counter);
   }
 
-  // @Benchmark
-  public void dataPreValue2(Blackhole bh) {
+  @Benchmark
+  public void dataPreValue1Kernel(Blackhole bh) {
+    final TricubicKernel kernel = TricubicKernel.getDefault();
     final Sink64 sink = new Sink64();
     final double[] derivative1 = new double[3];
-    final double[] derivative2 = new double[3];
     for (int i = 0; i < NUM_FUNCTIONS; i++) {
       final DoubleCustomTricubicFunctionData f = dataF[i];
       for (int j = 0; j < NUM_SAMPLES; j++) {
-        sink.put(f.value(dataTables[j], derivative1, derivative2));
+        sink.put(f.value(dataTables[j], derivative1, kernel));
         sink.put(derivative1);
-        sink.put(derivative2);
       }
     }
     bh.consume(sink.counter);
@@ -576,4 +833,196 @@ public class TricubicFunctionBenchmark {
     }
     bh.consume(sink.counter);
   }
+
+  // Including the position computation
+
+  @Benchmark
+  public void arrayValue0NewPosition(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final DoubleCustomTricubicFunctionArray f = arrayF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(new CubicSplinePosition(x[j].x1), new CubicSplinePosition(y[j].x1),
+            new CubicSplinePosition(z[j].x1)));
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayValue0MutablePosition(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final MutableCubicSplinePosition px = new MutableCubicSplinePosition();
+    final MutableCubicSplinePosition py = new MutableCubicSplinePosition();
+    final MutableCubicSplinePosition pz = new MutableCubicSplinePosition();
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final DoubleCustomTricubicFunctionArray f = arrayF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(px.set(x[j].x1), py.set(y[j].x1), pz.set(z[j].x1)));
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayBatchValue0Positions(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] xs = new double[NUM_SAMPLES];
+    final double[] ys = new double[NUM_SAMPLES];
+    final double[] zs = new double[NUM_SAMPLES];
+    for (int j = 0; j < NUM_SAMPLES; j++) {
+      xs[j] = x[j].x1;
+      ys[j] = y[j].x1;
+      zs[j] = z[j].x1;
+    }
+    final CubicSplinePositions px = new CubicSplinePositions(NUM_SAMPLES);
+    final CubicSplinePositions py = new CubicSplinePositions(NUM_SAMPLES);
+    final CubicSplinePositions pz = new CubicSplinePositions(NUM_SAMPLES);
+    final double[] values = new double[NUM_SAMPLES];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      // Compute the positions for each batch as a fitter evaluating new points would
+      arrayF[i].batchValue(px.set(xs), py.set(ys), pz.set(zs), values);
+      for (final double value : values) {
+        sink.put(value);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  // Lattice sampling
+
+  @Benchmark
+  public void arrayLatticePointValue0(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[][] px = new double[LATTICE_XY][];
+    final double[][] py = new double[LATTICE_XY][];
+    final double[][] pz = new double[LATTICE_Z][];
+    for (int i = 0; i < LATTICE_XY; i++) {
+      px[i] = powers(latticeX[i]);
+      py[i] = powers(latticeY[i]);
+    }
+    for (int i = 0; i < LATTICE_Z; i++) {
+      pz[i] = powers(latticeZ[i]);
+    }
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final DoubleCustomTricubicFunctionArray f = arrayF[i];
+      for (final double[] powerZ : pz) {
+        for (final double[] powerY : py) {
+          for (final double[] powerX : px) {
+            sink.put(f.value0(powerX, powerY, powerZ));
+          }
+        }
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayLatticeValue0(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] values = new double[NUM_SAMPLES];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      arrayF[i].latticeValue(latticeX, latticeY, latticeZ, values);
+      for (final double value : values) {
+        sink.put(value);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  // Full Hessian
+
+  @Benchmark
+  public void arrayPreScaledHessian(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[3];
+    final double[] hessian = new double[9];
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final DoubleCustomTricubicFunctionArray f = arrayF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.valueHessian(arrayTables[j], arrayTables2[j], arrayTables3[j], arrayTables6[j],
+            derivative1, hessian));
+        sink.put(derivative1);
+        for (final double h : hessian) {
+          sink.put(h);
+        }
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void arrayFiniteDifferenceHessian(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final double[] derivative1 = new double[3];
+    final double[] derivative2 = new double[3];
+    final double[] hessian = new double[9];
+    final double[] up = new double[3];
+    final double[] down = new double[3];
+    final double scale = 0.5 / DELTA;
+    for (int i = 0; i < NUM_FUNCTIONS; i++) {
+      final DoubleCustomTricubicFunctionArray f = arrayF[i];
+      for (int j = 0; j < NUM_SAMPLES; j++) {
+        sink.put(f.value(arrayTables[j], arrayTables2[j], arrayTables3[j], arrayTables6[j],
+            derivative1, derivative2));
+        // Central difference of the gradient in y and z for the mixed partials
+        f.value(arrayTablesDelta[0][j], up);
+        f.value(arrayTablesDelta[1][j], down);
+        hessian[1] = hessian[3] = (up[0] - down[0]) * scale;
+        hessian[5] = hessian[7] = (up[2] - down[2]) * scale;
+        f.value(arrayTablesDelta[2][j], up);
+        f.value(arrayTablesDelta[3][j], down);
+        hessian[2] = hessian[6] = (up[0] - down[0]) * scale;
+        hessian[0] = derivative2[0];
+        hessian[4] = derivative2[1];
+        hessian[8] = derivative2[2];
+        sink.put(derivative1);
+        for (final double h : hessian) {
+          sink.put(h);
+        }
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  // Fit window of value, gradient and Hessian diagonal.
+  // Each window is offset by the sample position.
+
+  @Benchmark
+  public void arrayWindowValue2(Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    for (int j = 0; j < NUM_SAMPLES; j++) {
+      for (int v = 0; v < WINDOW; v++) {
+        for (int u = 0; u < WINDOW; u++) {
+          // Allocate the powers, table and derivatives per call as the fitter does
+          final double[] table =
+              computePowerTable(powers(x[j].x1), powers(y[j].x1), powers(z[j].x1));
+          final double[] derivative1 = new double[3];
+          final double[] derivative2 = new double[3];
+          sink.put(arrayF[u + v * WINDOW_GRID].value(table, derivative1, derivative2));
+          sink.put(derivative1);
+          sink.put(derivative2);
+        }
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  @Benchmark
+  public void evaluatorWindowValue2(EvaluatorState state, Blackhole bh) {
+    final Sink64 sink = new Sink64();
+    final TricubicEvaluator evaluator = state.evaluator;
+    for (int j = 0; j < NUM_SAMPLES; j++) {
+      final double[] buffer =
+          evaluator.evaluate(x[j].x1, y[j].x1, z[j].x1, WINDOW, WINDOW, state.step);
+      for (int i = 0; i < WINDOW * WINDOW * TricubicEvaluator.STRIDE; i++) {
+        sink.put(buffer[i]);
+      }
+    }
+    bh.consume(sink.counter);
+  }
+
+  private static double[] powers(double x) {
+    return new double[] {x, x * x, x * x * x};
+  }
 }
@@ -0,0 +1,277 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Executes benchmark to compare the speed of random access evaluation of a tricubic spline grid
+ * stored as an object per node or as a single packed array.
+ *
+ * <p>The approximate heap footprint per node of the layout is reported as a secondary result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms1G", "-Xmx1G"})
+public class TricubicGridBenchmark {
+  /** Number of points per invocation. */
+  private static final int POINTS = 1024;
+
+  /**
+   * The spline grid in each layout.
+   */
+  @State(Scope.Benchmark)
+  public static class GridData {
+    /**
+     * Number of nodes in each dimension.
+     */
+    @Param({"16", "48"})
+    private int size;
+
+    /** The x position (in grid units). */
+    private double[] x;
+    /** The y position (in grid units). */
+    private double[] y;
+    /** The z position (in grid units). */
+    private double[] z;
+    /** The cubic spline function for each node using array data. */
+    private DoubleCustomTricubicFunctionArray[] arrayF;
+    /** The cubic spline function for each node using custom object data. */
+    private DoubleCustomTricubicFunctionData[] dataF;
+    /** The packed grid. */
+    private DoubleTricubicGrid grid;
+    /** The approximate heap footprint per node using an array object per node. */
+    private long arrayBytes;
+    /** The approximate heap footprint per node using a custom data object per node. */
+    private long dataBytes;
+    /** The approximate heap footprint per node using the packed grid. */
+    private long gridBytes;
+
+    /** Create the samples. */
+    @Setup
+    public void setup() {
+      final ThreadLocalRandom rng = ThreadLocalRandom.current();
+      x = rng.doubles(POINTS, 0, size).toArray();
+      y = rng.doubles(POINTS, 0, size).toArray();
+      z = rng.doubles(POINTS, 0, size).toArray();
+      final int nodes = size * size * size;
+
+      long before = usedMemory();
+      final double[][] coeff = new double[nodes][];
+      arrayF = new DoubleCustomTricubicFunctionArray[nodes];
+      for (int i = 0; i < nodes; i++) {
+        coeff[i] = rng.doubles(64, 0, 456).toArray();
+        arrayF[i] = new DoubleCustomTricubicFunctionArray(coeff[i]);
+      }
+      arrayBytes = (usedMemory() - before) / nodes;
+
+      before = usedMemory();
+      dataF = new DoubleCustomTricubicFunctionData[nodes];
+      for (int i = 0; i < nodes; i++) {
+        dataF[i] = new DoubleCustomTricubicFunctionData(new DoubleCubicSplineData(coeff[i]));
+      }
+      dataBytes = (usedMemory() - before) / nodes;
+
+      before = usedMemory();
+      grid = DoubleTricubicGrid.create(size, size, size, coeff);
+      gridBytes = (usedMemory() - before) / nodes;
+    }
+
+    /**
+     * Get the approximate used heap memory after garbage collection.
+     *
+     * @return the used memory
+     */
+    private static long usedMemory() {
+      final Runtime runtime = Runtime.getRuntime();
+      for (int i = 0; i < 3; i++) {
+        System.gc();
+      }
+      return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Gets the node index for the position.
+     *
+     * @param i the point index
+     * @return the node index
+     */
+    int node(int i) {
+      return (int) x[i] + size * ((int) y[i] + size * (int) z[i]);
+    }
+  }
+
+  /**
+   * The footprint of the layout.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class FootprintCounters {
+    /** The approximate heap footprint per node (in bytes). */
+    public long bytesPerNode;
+  }
+
+  // Benchmarks methods below.
+
+  /**
+   * Evaluate the value using an array object per node.
+   *
+   * @param data the data
+   * @param counters the footprint counters
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public void arrayValue(GridData data, FootprintCounters counters, Blackhole bh) {
+    counters.bytesPerNode = data.arrayBytes;
+    final double[] powerX = new double[3];
+    final double[] powerY = new double[3];
+    final double[] powerZ = new double[3];
+    for (int i = 0; i < POINTS; i++) {
+      final DoubleCustomTricubicFunctionArray f = data.arrayF[data.node(i)];
+      powers(data.x[i], powerX);
+      powers(data.y[i], powerY);
+      powers(data.z[i], powerZ);
+      bh.consume(f.value0(powerX, powerY, powerZ));
+    }
+  }
+
+  /**
+   * Evaluate the value using a custom data object per node.
+   *
+   * @param data the data
+   * @param counters the footprint counters
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public void dataValue(GridData data, FootprintCounters counters, Blackhole bh) {
+    counters.bytesPerNode = data.dataBytes;
+    for (int i = 0; i < POINTS; i++) {
+      final DoubleCustomTricubicFunctionData f = data.dataF[data.node(i)];
+      bh.consume(f.value0(position(data.x[i]), position(data.y[i]), position(data.z[i])));
+    }
+  }
+
+  /**
+   * Evaluate the value using the packed grid.
+   *
+   * @param data the data
+   * @param counters the footprint counters
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public void gridValue(GridData data, FootprintCounters counters, Blackhole bh) {
+    counters.bytesPerNode = data.gridBytes;
+    final DoubleTricubicGrid grid = data.grid;
+    for (int i = 0; i < POINTS; i++) {
+      bh.consume(grid.value(data.x[i], data.y[i], data.z[i]));
+    }
+  }
+
+  /**
+   * Evaluate the value and gradient using an array object per node.
+   *
+   * @param data the data
+   * @param counters the footprint counters
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public void arrayGradient(GridData data, FootprintCounters counters, Blackhole bh) {
+    counters.bytesPerNode = data.arrayBytes;
+    final double[] powerX = new double[3];
+    final double[] powerY = new double[3];
+    final double[] powerZ = new double[3];
+    final double[] derivative1 = new double[3];
+    for (int i = 0; i < POINTS; i++) {
+      final DoubleCustomTricubicFunctionArray f = data.arrayF[data.node(i)];
+      powers(data.x[i], powerX);
+      powers(data.y[i], powerY);
+      powers(data.z[i], powerZ);
+      bh.consume(f.value1(powerX, powerY, powerZ, derivative1));
+      bh.consume(derivative1);
+    }
+  }
+
+  /**
+   * Evaluate the value and gradient using the packed grid.
+   *
+   * @param data the data
+   * @param counters the footprint counters
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public void gridGradient(GridData data, FootprintCounters counters, Blackhole bh) {
+    counters.bytesPerNode = data.gridBytes;
+    final DoubleTricubicGrid grid = data.grid;
+    final double[] derivative1 = new double[3];
+    for (int i = 0; i < POINTS; i++) {
+      bh.consume(grid.value(data.x[i], data.y[i], data.z[i], derivative1));
+      bh.consume(derivative1);
+    }
+  }
+
+  /**
+   * Compute the powers of the fractional part of the value.
+   *
+   * @param value the value
+   * @param power the powers (x^1, x^2, x^3)
+   */
+  private static void powers(double value, double[] power) {
+    final double x = value - (int) value;
+    power[0] = x;
+    power[1] = x * x;
+    power[2] = power[1] * x;
+  }
+
+  /**
+   * Create the position for the fractional part of the value.
+   *
+   * @param value the value
+   * @return the position
+   */
+  private static CubicSplinePosition position(double value) {
+    return new CubicSplinePosition(value - (int) value, true);
+  }
+}
@@ -0,0 +1,297 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Read and write a tricubic spline grid using a compact binary file format.
+ *
+ * <p>The file is little-endian with the layout:
+ *
+ * <pre>
+ * offset  size            content
+ * 0       4               magic number ("TCSG")
+ * 4       4               version (1)
+ * 8       4               bytes per coefficient (4 = float; 8 = double)
+ * 12      12              number of nodes in the x, y and z dimensions
+ * 24      4               number of coefficient blocks
+ * 28      4               reserved (0)
+ * 32      4 * nodes       node index: the coefficient block for each node
+ * aligned 64 * blocks * b coefficient blocks (aligned to 64 bytes)
+ * </pre>
+ *
+ * <p>Nodes are ordered with x changing fastest, then y, then z. Identical nodes share a block;
+ * this compacts the flat border regions typical of a PSF model.
+ *
+ * <p>The coefficients can be evaluated directly from a memory mapping of the file. The file size
+ * is limited to 2GiB by the mapping.
+ */
+public final class TricubicGridFile {
+  /** The magic number: "TCSG" as little-endian bytes. */
+  static final int MAGIC = 0x47534354;
+  /** The file format version. */
+  static final int VERSION = 1;
+  /** The size of the header. */
+  static final int HEADER_SIZE = 32;
+  /** The alignment of the coefficient blocks. */
+  private static final int ALIGNMENT = 64;
+  /** The number of coefficients per node. */
+  private static final int NODE_SIZE = DoubleTricubicGrid.NODE_SIZE;
+
+  /**
+   * A key for the coefficients of a node.
+   */
+  private static class NodeKey {
+    /** The coefficients. */
+    final double[] coeff;
+    /** The offset of the node coefficients. */
+    final int offset;
+    /** The hash code. */
+    final int hash;
+
+    /**
+     * Create an instance.
+     *
+     * @param coeff the coefficients
+     * @param offset the offset of the node coefficients
+     */
+    NodeKey(double[] coeff, int offset) {
+      this.coeff = coeff;
+      this.offset = offset;
+      int h = 1;
+      for (int i = 0; i < NODE_SIZE; i++) {
+        final long bits = Double.doubleToLongBits(coeff[offset + i]);
+        h = 31 * h + (int) (bits ^ (bits >>> 32));
+      }
+      hash = h;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj instanceof NodeKey) {
+        final NodeKey other = (NodeKey) obj;
+        for (int i = 0; i < NODE_SIZE; i++) {
+          if (Double.doubleToLongBits(coeff[offset + i]) != Double
+              .doubleToLongBits(other.coeff[other.offset + i])) {
+            return false;
+          }
+        }
+        return true;
+      }
+      return false;
+    }
+  }
+
+  /** No public construction. */
+  private TricubicGridFile() {}
+
+  /**
+   * Write the grid to the file.
+   *
+   * @param grid the grid
+   * @param path the file path
+   * @param singlePrecision set to true to store the coefficients as float
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public static void write(DoubleTricubicGrid grid, Path path, boolean singlePrecision)
+      throws IOException {
+    final double[] coeff = grid.getCoefficients();
+    final int nodes = grid.getMaxX() * grid.getMaxY() * grid.getMaxZ();
+
+    // Share identical nodes. The nodes are written in row-major order for any grid layout.
+    final int[] index = new int[nodes];
+    final int[] blocks = new int[nodes];
+    final Map<NodeKey, Integer> map = new HashMap<>();
+    int size = 0;
+    int n = 0;
+    for (int k = 0; k < grid.getMaxZ(); k++) {
+      for (int j = 0; j < grid.getMaxY(); j++) {
+        for (int i = 0; i < grid.getMaxX(); i++) {
+          final int from = grid.index(i, j, k);
+          final Integer block = map.putIfAbsent(new NodeKey(coeff, from), size);
+          if (block == null) {
+            blocks[size] = from;
+            index[n++] = size++;
+          } else {
+            index[n++] = block;
+          }
+        }
+      }
+    }
+
+    final int bytes = singlePrecision ? Float.BYTES : Double.BYTES;
+    final long dataOffset = dataOffset(nodes);
+    final long length = dataOffset + (long) size * NODE_SIZE * bytes;
+    if (length > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Grid is too large to map: " + length);
+    }
+    final ByteBuffer buffer = ByteBuffer.allocate((int) length).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(MAGIC).putInt(VERSION).putInt(bytes).putInt(grid.getMaxX())
+        .putInt(grid.getMaxY()).putInt(grid.getMaxZ()).putInt(size).putInt(0);
+    for (final int block : index) {
+      buffer.putInt(block);
+    }
+    buffer.position((int) dataOffset);
+    for (int i = 0; i < size; i++) {
+      final int from = blocks[i];
+      for (int j = 0; j < NODE_SIZE; j++) {
+        if (singlePrecision) {
+          buffer.putFloat((float) coeff[from + j]);
+        } else {
+          buffer.putDouble(coeff[from + j]);
+        }
+      }
+    }
+    buffer.flip();
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  /**
+   * Map the file and create a grid that evaluates the coefficients directly from the mapping.
+   *
+   * @param path the file path
+   * @return the grid
+   * @throws IOException Signals that an I/O exception has occurred, or the file is not a valid
+   *         grid file.
+   */
+  public static MappedTricubicGrid map(Path path) throws IOException {
+    final MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("File is too large to map: " + channel.size());
+      }
+      buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+    }
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+      throw new IOException("Not a tricubic grid file: " + path);
+    }
+    if (buffer.getInt(4) != VERSION) {
+      throw new IOException("Unsupported version: " + buffer.getInt(4));
+    }
+    final int bytes = buffer.getInt(8);
+    final int maxx = buffer.getInt(12);
+    final int maxy = buffer.getInt(16);
+    final int maxz = buffer.getInt(20);
+    final int size = buffer.getInt(24);
+    if ((bytes != Float.BYTES && bytes != Double.BYTES) || maxx < 1 || maxy < 1 || maxz < 1
+        || size < 0) {
+      throw new IOException("Invalid header: " + path);
+    }
+    final long nodes = (long) maxx * maxy * maxz;
+    final long dataOffset = dataOffset(nodes);
+    if (dataOffset + (long) size * NODE_SIZE * bytes != buffer.limit()) {
+      throw new IOException("Invalid file length: " + path);
+    }
+    final ByteBuffer index = slice(buffer, HEADER_SIZE);
+    final ByteBuffer data = slice(buffer, (int) dataOffset);
+    for (int i = 0; i < nodes; i++) {
+      final int block = index.getInt(i * Integer.BYTES);
+      if (block < 0 || block >= size) {
+        throw new IOException("Invalid node index: " + block);
+      }
+    }
+    if (bytes == Float.BYTES) {
+      return new MappedTricubicGrid.FloatGrid(maxx, maxy, maxz, index.asIntBuffer(),
+          data.asFloatBuffer());
+    }
+    return new MappedTricubicGrid.DoubleGrid(maxx, maxy, maxz, index.asIntBuffer(),
+        data.asDoubleBuffer());
+  }
+
+  /**
+   * Read the file into a grid stored on the heap.
+   *
+   * @param path the file path
+   * @return the grid
+   * @throws IOException Signals that an I/O exception has occurred, the file is not a valid
+   *         grid file, or the grid is too large to store in a single array.
+   */
+  public static DoubleTricubicGrid read(Path path) throws IOException {
+    final MappedTricubicGrid mapped = map(path);
+    final int maxx = mapped.getMaxX();
+    final int maxy = mapped.getMaxY();
+    final int maxz = mapped.getMaxZ();
+    // Nodes may share coefficients in the file so the grid can be larger than the file
+    final long size = (long) maxx * maxy * maxz * NODE_SIZE;
+    if (size > Integer.MAX_VALUE - 8) {
+      throw new IOException("Grid is too large to read: " + maxx + "x" + maxy + "x" + maxz);
+    }
+    final double[] coeff = new double[(int) size];
+    int node = 0;
+    for (int k = 0; k < maxz; k++) {
+      for (int j = 0; j < maxy; j++) {
+        for (int i = 0; i < maxx; i++) {
+          mapped.copyCoefficients(i, j, k, coeff, node);
+          node += NODE_SIZE;
+        }
+      }
+    }
+    return new DoubleTricubicGrid(maxx, maxy, maxz, coeff);
+  }
+
+  /**
+   * Get the offset of the coefficient data.
+   *
+   * @param nodes the number of nodes
+   * @return the offset
+   */
+  private static long dataOffset(long nodes) {
+    final long end = HEADER_SIZE + nodes * Integer.BYTES;
+    return (end + ALIGNMENT - 1) & -ALIGNMENT;
+  }
+
+  /**
+   * Create a little-endian slice of the buffer from the offset.
+   *
+   * @param buffer the buffer
+   * @param offset the offset
+   * @return the slice
+   */
+  private static ByteBuffer slice(ByteBuffer buffer, int offset) {
+    final ByteBuffer dup = buffer.duplicate();
+    dup.position(offset);
+    // The slice has big-endian order
+    return dup.slice().order(ByteOrder.LITTLE_ENDIAN);
+  }
+}
@@ -0,0 +1,203 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes benchmark to compare the time to load a tricubic spline grid from disk and evaluate
+ * the first value.
+ *
+ * <p>Each invocation loads the model and evaluates a single point. The files are read repeatedly
+ * so will be in the operating system page cache; the benchmark measures the cost of decoding the
+ * model and not the disk speed.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms1G", "-Xmx1G"})
+public class TricubicGridFileBenchmark {
+  /**
+   * The model files.
+   */
+  @State(Scope.Benchmark)
+  public static class ModelFiles {
+    /**
+     * Number of nodes in each dimension.
+     */
+    @Param({"32", "64"})
+    private int size;
+
+    /** The directory for the files. */
+    private Path dir;
+    /** The serialized model. */
+    private Path serialized;
+    /** The binary model with double coefficients. */
+    private Path binaryDouble;
+    /** The binary model with float coefficients. */
+    private Path binaryFloat;
+
+    /**
+     * Create the model files.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+      final ThreadLocalRandom rng = ThreadLocalRandom.current();
+      final int nodes = size * size * size;
+      final double[][] coeff = new double[nodes][];
+      final DoubleCubicSplineData[] data = new DoubleCubicSplineData[nodes];
+      for (int i = 0; i < nodes; i++) {
+        coeff[i] = rng.doubles(64, 0, 456).toArray();
+        data[i] = new DoubleCubicSplineData(coeff[i]);
+      }
+      dir = Files.createTempDirectory("tricubic");
+      serialized = dir.resolve("model.ser");
+      try (ObjectOutputStream out =
+          new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(serialized)))) {
+        out.writeInt(size);
+        out.writeObject(data);
+      }
+      final DoubleTricubicGrid grid = DoubleTricubicGrid.create(size, size, size, coeff);
+      binaryDouble = dir.resolve("model64.bin");
+      TricubicGridFile.write(grid, binaryDouble, false);
+      binaryFloat = dir.resolve("model32.bin");
+      TricubicGridFile.write(grid, binaryFloat, true);
+    }
+
+    /**
+     * Delete the model files.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+      Files.delete(serialized);
+      Files.delete(binaryDouble);
+      Files.delete(binaryFloat);
+      Files.delete(dir);
+    }
+
+    /**
+     * Gets the position to evaluate in each dimension.
+     *
+     * @return the position
+     */
+    double getPosition() {
+      return size * 0.5 + 0.25;
+    }
+  }
+
+  // Benchmarks methods below.
+
+  /**
+   * Deserialize the coefficients for each node and evaluate the first value.
+   *
+   * @param files the files
+   * @return the value
+   * @throws IOException Signals that an I/O exception has occurred.
+   * @throws ClassNotFoundException if the class of a serialized object cannot be found
+   */
+  @Benchmark
+  public double deserialize(ModelFiles files) throws IOException, ClassNotFoundException {
+    final int size;
+    final DoubleCubicSplineData[] data;
+    try (ObjectInputStream in =
+        new ObjectInputStream(new BufferedInputStream(Files.newInputStream(files.serialized)))) {
+      size = in.readInt();
+      data = (DoubleCubicSplineData[]) in.readObject();
+    }
+    final DoubleCustomTricubicFunctionData[] functions =
+        new DoubleCustomTricubicFunctionData[data.length];
+    for (int i = 0; i < data.length; i++) {
+      functions[i] = new DoubleCustomTricubicFunctionData(data[i]);
+    }
+    final double p = files.getPosition();
+    final int i = (int) p;
+    final CubicSplinePosition position = new CubicSplinePosition(p - i);
+    return functions[i + size * (i + size * i)].value0(position, position, position);
+  }
+
+  /**
+   * Read the binary double coefficients to the heap and evaluate the first value.
+   *
+   * @param files the files
+   * @return the value
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  @Benchmark
+  public double readDouble(ModelFiles files) throws IOException {
+    final double p = files.getPosition();
+    return TricubicGridFile.read(files.binaryDouble).value(p, p, p);
+  }
+
+  /**
+   * Map the binary double coefficients and evaluate the first value.
+   *
+   * @param files the files
+   * @return the value
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  @Benchmark
+  public double mapDouble(ModelFiles files) throws IOException {
+    final double p = files.getPosition();
+    return TricubicGridFile.map(files.binaryDouble).value(p, p, p);
+  }
+
+  /**
+   * Map the binary float coefficients and evaluate the first value.
+   *
+   * @param files the files
+   * @return the value
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  @Benchmark
+  public double mapFloat(ModelFiles files) throws IOException {
+    final double p = files.getPosition();
+    return TricubicGridFile.map(files.binaryFloat).value(p, p, p);
+  }
+}
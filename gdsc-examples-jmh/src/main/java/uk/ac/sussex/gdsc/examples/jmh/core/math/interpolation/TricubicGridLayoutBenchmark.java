@@ -0,0 +1,312 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Executes benchmark to compare the speed of evaluation of a packed tricubic spline grid with the
+ * nodes stored in row-major or Morton order.
+ *
+ * <p>The positions simulate the access patterns of fitting a spot: a random walk through
+ * neighbouring nodes; or a local window of nodes around a random centre. Each invocation
+ * evaluates the next block of a long sequence of positions so the grid is not held in cache by
+ * repeating the same positions. Use {@code -prof perfnorm} to count the cache and TLB misses per
+ * evaluation.
+ *
+ * <p>The number of moves to a different node, and the number of moves to a node with coefficients
+ * on a different memory page, are reported as secondary results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms2G", "-Xmx2G"})
+public class TricubicGridLayoutBenchmark {
+  /** Number of points per invocation. */
+  private static final int POINTS = 1 << 12;
+  /** Number of points in the sequence of positions. */
+  private static final int TOTAL = 1 << 20;
+  /** The base-2 logarithm of the number of coefficients in a memory page (4 KiB). */
+  private static final int PAGE_BITS = 9;
+  /** The standard deviation of each step of the random walk (in grid units). */
+  private static final double STEP = 0.5;
+  /** The number of nodes in each dimension of the local window. */
+  private static final int WINDOW = 4;
+  /** The number of samples per node in each dimension of the local window. */
+  private static final int SAMPLES = 2;
+
+  /**
+   * The spline grid and the positions.
+   */
+  @State(Scope.Benchmark)
+  public static class GridData {
+    /**
+     * Number of nodes in each dimension (x-y-z). This includes cubic grids, grids shaped for a PSF
+     * with a small z depth, and non-power-of-two sizes.
+     */
+    @Param({"32x32x32", "64x64x64", "33x33x33", "64x64x10", "100x100x40"})
+    private String size;
+
+    /**
+     * The storage order of the nodes.
+     */
+    @Param({"ROW_MAJOR", "MORTON"})
+    private DoubleTricubicGrid.Layout layout;
+
+    /**
+     * The access pattern.
+     */
+    @Param({"walk", "window"})
+    private String access;
+
+    /** The x position (in grid units). */
+    private double[] x;
+    /** The y position (in grid units). */
+    private double[] y;
+    /** The z position (in grid units). */
+    private double[] z;
+    /** The packed grid. */
+    private DoubleTricubicGrid grid;
+    /** The number of nodes in each dimension. */
+    private int[] max;
+    /** The cumulative count of moves to a different node. */
+    private int[] nodeMoves;
+    /** The cumulative count of moves to a node on a different memory page. */
+    private int[] pageMoves;
+    /** The offset of the next block of positions. */
+    private int offset;
+
+    /** Create the samples. */
+    @Setup
+    public void setup() {
+      final ThreadLocalRandom rng = ThreadLocalRandom.current();
+      max = Arrays.stream(size.split("x")).mapToInt(Integer::parseInt).toArray();
+      final double[][] coeff = new double[max[0] * max[1] * max[2]][];
+      for (int i = 0; i < coeff.length; i++) {
+        coeff[i] = rng.doubles(64, 0, 456).toArray();
+      }
+      grid = DoubleTricubicGrid.create(max[0], max[1], max[2], coeff, layout);
+
+      x = new double[TOTAL];
+      y = new double[TOTAL];
+      z = new double[TOTAL];
+      if ("walk".equals(access)) {
+        randomWalk(rng);
+      } else if ("window".equals(access)) {
+        localWindow(rng);
+      } else {
+        throw new IllegalStateException("Unknown access pattern: " + access);
+      }
+      countMoves();
+    }
+
+    /**
+     * Count the moves between the nodes of consecutive positions. The first position follows the
+     * last position of the sequence.
+     */
+    private void countMoves() {
+      nodeMoves = new int[TOTAL + 1];
+      pageMoves = new int[TOTAL + 1];
+      int previous = nodeOffset(TOTAL - 1);
+      for (int i = 0; i < TOTAL; i++) {
+        final int current = nodeOffset(i);
+        nodeMoves[i + 1] = nodeMoves[i] + (current == previous ? 0 : 1);
+        pageMoves[i + 1] =
+            pageMoves[i] + ((current >>> PAGE_BITS) == (previous >>> PAGE_BITS) ? 0 : 1);
+        previous = current;
+      }
+    }
+
+    /**
+     * Gets the offset of the coefficients of the node for the position.
+     *
+     * @param i the position index
+     * @return the offset
+     */
+    private int nodeOffset(int i) {
+      return grid.index(DoubleTricubicGrid.nodeIndex(x[i], max[0]),
+          DoubleTricubicGrid.nodeIndex(y[i], max[1]), DoubleTricubicGrid.nodeIndex(z[i], max[2]));
+    }
+
+    /**
+     * Gets the offset of the next block of positions.
+     *
+     * @return the offset
+     */
+    int next() {
+      final int from = offset;
+      offset = (from + POINTS) & (TOTAL - 1);
+      return from;
+    }
+
+    /**
+     * Create a random walk through the grid.
+     *
+     * @param rng the random generator
+     */
+    private void randomWalk(ThreadLocalRandom rng) {
+      double px = rng.nextDouble(max[0]);
+      double py = rng.nextDouble(max[1]);
+      double pz = rng.nextDouble(max[2]);
+      for (int i = 0; i < TOTAL; i++) {
+        x[i] = px = reflect(px + rng.nextGaussian() * STEP, max[0]);
+        y[i] = py = reflect(py + rng.nextGaussian() * STEP, max[1]);
+        z[i] = pz = reflect(pz + rng.nextGaussian() * STEP, max[2]);
+      }
+    }
+
+    /**
+     * Reflect the position into the grid.
+     *
+     * @param value the position
+     * @param size the number of nodes in the dimension
+     * @return the reflected position
+     */
+    private static double reflect(double value, int size) {
+      if (value < 0) {
+        return Math.min(-value, size);
+      }
+      if (value > size) {
+        return Math.max(2 * size - value, 0);
+      }
+      return value;
+    }
+
+    /**
+     * Create samples from local windows of nodes around random centres. Each window is sampled
+     * with x changing fastest, then y, then z.
+     *
+     * @param rng the random generator
+     */
+    private void localWindow(ThreadLocalRandom rng) {
+      final int n = WINDOW * SAMPLES;
+      final double step = 1.0 / SAMPLES;
+      int i = 0;
+      while (i < TOTAL) {
+        final int ox = rng.nextInt(max[0] - WINDOW + 1);
+        final int oy = rng.nextInt(max[1] - WINDOW + 1);
+        final int oz = rng.nextInt(max[2] - WINDOW + 1);
+        for (int k = 0; k < n && i < TOTAL; k++) {
+          for (int j = 0; j < n && i < TOTAL; j++) {
+            for (int m = 0; m < n && i < TOTAL; m++, i++) {
+              x[i] = ox + (m + 0.5) * step;
+              y[i] = oy + (j + 0.5) * step;
+              z[i] = oz + (k + 0.5) * step;
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * The counts of the moves between nodes.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class MoveCounters {
+    /** The moves to a different node. */
+    public long nodes;
+    /** The moves to a node on a different memory page. */
+    public long pages;
+
+    /**
+     * Reset the counters.
+     */
+    @Setup(Level.Iteration)
+    public void reset() {
+      nodes = 0;
+      pages = 0;
+    }
+
+    /**
+     * Add the counts for the block of positions.
+     *
+     * @param data the data
+     * @param from the offset of the block
+     */
+    void add(GridData data, int from) {
+      nodes += data.nodeMoves[from + POINTS] - data.nodeMoves[from];
+      pages += data.pageMoves[from + POINTS] - data.pageMoves[from];
+    }
+  }
+
+  // Benchmarks methods below.
+
+  /**
+   * Evaluate the value.
+   *
+   * @param data the data
+   * @param counters the move counters
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public void value(GridData data, MoveCounters counters, Blackhole bh) {
+    final DoubleTricubicGrid grid = data.grid;
+    final int from = data.next();
+    for (int i = from; i < from + POINTS; i++) {
+      bh.consume(grid.value(data.x[i], data.y[i], data.z[i]));
+    }
+    counters.add(data, from);
+  }
+
+  /**
+   * Evaluate the value and gradient.
+   *
+   * @param data the data
+   * @param counters the move counters
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(POINTS)
+  public void gradient(GridData data, MoveCounters counters, Blackhole bh) {
+    final DoubleTricubicGrid grid = data.grid;
+    final double[] derivative1 = new double[3];
+    final int from = data.next();
+    for (int i = from; i < from + POINTS; i++) {
+      bh.consume(grid.value(data.x[i], data.y[i], data.z[i], derivative1));
+      bh.consume(derivative1);
+    }
+    counters.add(data, from);
+  }
+}
@@ -0,0 +1,71 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+/**
+ * Define the kernel used to compute the 64-term sum of a power table and the coefficients.
+ */
+public enum TricubicKernel {
+  /** Sum the terms in order using a single accumulator. */
+  SCALAR,
+  /**
+   * Sum the terms using independent accumulators (lanes) for each power of x and combine them
+   * with a tree reduction. This breaks the dependency chain of the scalar sum.
+   */
+  LANES;
+
+  /** The system property used to select the default kernel. */
+  public static final String PROPERTY = "gdsc.tricubic.kernel";
+
+  /** The default kernel. */
+  private static final TricubicKernel DEFAULT = parse(System.getProperty(PROPERTY));
+
+  /**
+   * Gets the default kernel. This is set using the system property {@value #PROPERTY}; the
+   * default is {@link #LANES}. Use {@link #SCALAR} for the single accumulator fallback.
+   *
+   * @return the default kernel
+   */
+  public static TricubicKernel getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Parse the kernel name.
+   *
+   * @param name the name (can be null)
+   * @return the kernel
+   * @throws IllegalArgumentException if the name is not a known kernel
+   */
+  static TricubicKernel parse(String name) {
+    if (name == null) {
+      return LANES;
+    }
+    for (final TricubicKernel kernel : values()) {
+      if (kernel.name().equalsIgnoreCase(name)) {
+        return kernel;
+      }
+    }
+    throw new IllegalArgumentException("Unknown tricubic kernel: " + name);
+  }
+}
@@ -0,0 +1,217 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.Arrays;
+
+/**
+ * A tricubic spline model that can be shared between threads. Evaluation uses a lightweight
+ * per-thread {@link Context} that holds the mutable scratch state.
+ *
+ * <p>The model is immutable. It holds a function for each node of the grid. Each context holds
+ * the node and the power table of the current position. The context is not thread-safe; each
+ * thread should create its own context. The node index of a context is padded on either side so
+ * that contexts used by different threads do not write to the same cache line. The power table
+ * is a separate array allocated by the thread that creates the context.
+ */
+public final class TricubicModel {
+  /** The number of coefficients per node. */
+  private static final int NODE_SIZE = DoubleTricubicGrid.NODE_SIZE;
+
+  /** The grid. */
+  private final DoubleTricubicGrid grid;
+  /** The function of each node, indexed by the offset of the node coefficients in the grid. */
+  private final DoubleCustomTricubicFunctionArray[] functions;
+
+  // Padding of the mutable context state uses a class hierarchy. Fields of a superclass are laid
+  // out before the fields of a subclass. This pads 128 bytes to cover hardware that prefetches
+  // cache lines in adjacent pairs.
+
+  /**
+   * Padding before the mutable context state.
+   */
+  abstract static class ContextPad0 {
+    // CHECKSTYLE.OFF: MemberName
+    long p00;
+    long p01;
+    long p02;
+    long p03;
+    long p04;
+    long p05;
+    long p06;
+    long p07;
+    long p08;
+    long p09;
+    long p0a;
+    long p0b;
+    long p0c;
+    long p0d;
+    long p0e;
+    long p0f;
+    // CHECKSTYLE.ON: MemberName
+  }
+
+  /**
+   * The mutable context state.
+   */
+  abstract static class ContextState extends ContextPad0 {
+    /** The function of the current position. */
+    int node;
+  }
+
+  /**
+   * Padding after the mutable context state.
+   */
+  abstract static class ContextPad1 extends ContextState {
+    // CHECKSTYLE.OFF: MemberName
+    long p10;
+    long p11;
+    long p12;
+    long p13;
+    long p14;
+    long p15;
+    long p16;
+    long p17;
+    long p18;
+    long p19;
+    long p1a;
+    long p1b;
+    long p1c;
+    long p1d;
+    long p1e;
+    long p1f;
+    // CHECKSTYLE.ON: MemberName
+  }
+
+  /**
+   * The per-thread evaluation context.
+   */
+  public static final class Context extends ContextPad1 {
+    /** The grid. */
+    private final DoubleTricubicGrid grid;
+    /** The function of each node. */
+    private final DoubleCustomTricubicFunctionArray[] functions;
+    /** The power table of the current position. */
+    private final double[] table = new double[NODE_SIZE];
+
+    /**
+     * Create a new instance.
+     *
+     * @param model the model
+     */
+    Context(TricubicModel model) {
+      this.grid = model.grid;
+      this.functions = model.functions;
+    }
+
+    /**
+     * Sets the current position. The position is in grid units with the node (i, j, k) spanning
+     * {@code [i, i+1]}, {@code [j, j+1]} and {@code [k, k+1]}.
+     *
+     * @param x the x position (in [0, maxx])
+     * @param y the y position (in [0, maxy])
+     * @param z the z position (in [0, maxz])
+     * @throws org.apache.commons.math3.exception.OutOfRangeException if a position is outside
+     *         the grid
+     */
+    public void setPosition(double x, double y, double z) {
+      final int i = DoubleTricubicGrid.nodeIndex(x, grid.getMaxX());
+      final int j = DoubleTricubicGrid.nodeIndex(y, grid.getMaxY());
+      final int k = DoubleTricubicGrid.nodeIndex(z, grid.getMaxZ());
+      final double x1 = x - i;
+      final double y1 = y - j;
+      final double z1 = z - k;
+      final double x2 = x1 * x1;
+      final double x3 = x2 * x1;
+      final double[] t = table;
+      int n = 0;
+      double pz = 1;
+      for (int c = 0; c < 4; c++) {
+        double pyz = pz;
+        for (int b = 0; b < 4; b++) {
+          t[n] = pyz;
+          t[n + 1] = pyz * x1;
+          t[n + 2] = pyz * x2;
+          t[n + 3] = pyz * x3;
+          n += 4;
+          pyz *= y1;
+        }
+        pz *= z1;
+      }
+      node = grid.index(i, j, k) / NODE_SIZE;
+    }
+
+    /**
+     * Compute the value at the current position.
+     *
+     * @return the value
+     */
+    public double value() {
+      return functions[node].value(table);
+    }
+
+    /**
+     * Compute the value and gradient at the current position.
+     *
+     * @param derivative1 the partial first order derivatives with respect to x,y,z
+     * @return the value
+     */
+    public double value(double[] derivative1) {
+      return functions[node].value(table, derivative1);
+    }
+  }
+
+  /**
+   * Create a new instance.
+   *
+   * @param grid the grid
+   */
+  public TricubicModel(DoubleTricubicGrid grid) {
+    this.grid = grid;
+    final double[] coeff = grid.getCoefficients();
+    functions = new DoubleCustomTricubicFunctionArray[coeff.length / NODE_SIZE];
+    for (int i = 0; i < functions.length; i++) {
+      functions[i] = new DoubleCustomTricubicFunctionArray(
+          Arrays.copyOfRange(coeff, i * NODE_SIZE, (i + 1) * NODE_SIZE));
+    }
+  }
+
+  /**
+   * Gets the grid.
+   *
+   * @return the grid
+   */
+  public DoubleTricubicGrid getGrid() {
+    return grid;
+  }
+
+  /**
+   * Create a new evaluation context. This should be called by the thread that will use the
+   * context so the context is allocated in the memory local to that thread.
+   *
+   * @return the context
+   */
+  public Context newContext() {
+    return new Context(this);
+  }
+}
@@ -0,0 +1,188 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Executes benchmark to verify the scaling of evaluation of a shared tricubic spline model using
+ * a context per thread.
+ *
+ * <p>The time per evaluation should be constant as the number of threads increases (up to the
+ * number of physical cores). The contexts are created by each benchmark thread. The adjacent
+ * benchmarks use contexts created together on a single thread to detect false sharing between
+ * contexts that are adjacent in memory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms256M", "-Xmx256M"})
+public class TricubicModelBenchmark {
+  /** Number of points per invocation. */
+  private static final int POINTS = 1024;
+  /** Number of nodes in each dimension. */
+  private static final int SIZE = 8;
+  /** The maximum number of threads. */
+  private static final int MAX_THREADS = 8;
+
+  /**
+   * The shared model and positions.
+   */
+  @State(Scope.Benchmark)
+  public static class ModelData {
+    /** The x position (in grid units). */
+    private double[] x;
+    /** The y position (in grid units). */
+    private double[] y;
+    /** The z position (in grid units). */
+    private double[] z;
+    /** The model. */
+    private TricubicModel model;
+    /** The contexts created together on a single thread. */
+    private TricubicModel.Context[] contexts;
+    /** The index of the next adjacent context. */
+    private final AtomicInteger next = new AtomicInteger();
+
+    /** Create the samples. */
+    @Setup
+    public void setup() {
+      final ThreadLocalRandom rng = ThreadLocalRandom.current();
+      x = rng.doubles(POINTS, 0, SIZE).toArray();
+      y = rng.doubles(POINTS, 0, SIZE).toArray();
+      z = rng.doubles(POINTS, 0, SIZE).toArray();
+      final double[][] coeff = new double[SIZE * SIZE * SIZE][];
+      for (int i = 0; i < coeff.length; i++) {
+        coeff[i] = rng.doubles(64, 0, 456).toArray();
+      }
+      model = new TricubicModel(DoubleTricubicGrid.create(SIZE, SIZE, SIZE, coeff));
+      contexts = new TricubicModel.Context[MAX_THREADS];
+      for (int i = 0; i < MAX_THREADS; i++) {
+        contexts[i] = model.newContext();
+      }
+      next.set(0);
+    }
+  }
+
+  /**
+   * The per-thread contexts.
+   */
+  @State(Scope.Thread)
+  public static class ContextData {
+    /** The context created by this thread. */
+    private TricubicModel.Context context;
+    /** The context created with the other adjacent contexts. */
+    private TricubicModel.Context adjacent;
+    /** The gradient. */
+    private final double[] derivative1 = new double[3];
+
+    /**
+     * Create the contexts.
+     *
+     * @param data the model data
+     */
+    @Setup
+    public void setup(ModelData data) {
+      context = data.model.newContext();
+      adjacent = data.contexts[data.next.getAndIncrement() % MAX_THREADS];
+    }
+  }
+
+  // Benchmarks methods below.
+  // @CHECKSTYLE.OFF: JavadocMethod
+
+  @Benchmark
+  @Threads(1)
+  @OperationsPerInvocation(POINTS)
+  public void context1(ModelData data, ContextData context, Blackhole bh) {
+    evaluate(data, context.context, context.derivative1, bh);
+  }
+
+  @Benchmark
+  @Threads(2)
+  @OperationsPerInvocation(POINTS)
+  public void context2(ModelData data, ContextData context, Blackhole bh) {
+    evaluate(data, context.context, context.derivative1, bh);
+  }
+
+  @Benchmark
+  @Threads(4)
+  @OperationsPerInvocation(POINTS)
+  public void context4(ModelData data, ContextData context, Blackhole bh) {
+    evaluate(data, context.context, context.derivative1, bh);
+  }
+
+  @Benchmark
+  @Threads(MAX_THREADS)
+  @OperationsPerInvocation(POINTS)
+  public void context8(ModelData data, ContextData context, Blackhole bh) {
+    evaluate(data, context.context, context.derivative1, bh);
+  }
+
+  @Benchmark
+  @Threads(4)
+  @OperationsPerInvocation(POINTS)
+  public void adjacent4(ModelData data, ContextData context, Blackhole bh) {
+    evaluate(data, context.adjacent, context.derivative1, bh);
+  }
+
+  @Benchmark
+  @Threads(MAX_THREADS)
+  @OperationsPerInvocation(POINTS)
+  public void adjacent8(ModelData data, ContextData context, Blackhole bh) {
+    evaluate(data, context.adjacent, context.derivative1, bh);
+  }
+
+  /**
+   * Evaluate the value and gradient at each position.
+   *
+   * @param data the data
+   * @param context the context
+   * @param derivative1 the gradient
+   * @param bh the data sink
+   */
+  private static void evaluate(ModelData data, TricubicModel.Context context,
+      double[] derivative1, Blackhole bh) {
+    for (int i = 0; i < POINTS; i++) {
+      context.setPosition(data.x[i], data.y[i], data.z[i]);
+      bh.consume(context.value(derivative1));
+      bh.consume(derivative1);
+    }
+  }
+}
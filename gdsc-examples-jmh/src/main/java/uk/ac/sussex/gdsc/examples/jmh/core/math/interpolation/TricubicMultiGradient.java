@@ -0,0 +1,155 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+/**
+ * Evaluate the gradient of multiple tricubic functions at the same position using a single power
+ * table. This is used when a model has several functions that share the position, for example a
+ * PSF and its derivative models.
+ *
+ * <p>The coefficients for the K functions are packed into a single array. The power table is
+ * converted once into the weights for the derivative of each coefficient with respect to x, y and
+ * z. Each gradient is then three dot products of the weights with the coefficients of the
+ * function. The 16 coefficients with a zero power of the dimension have no derivative so each dot
+ * product uses only the 48 remaining terms. The value is not computed.
+ *
+ * <p>The weights are scratch storage reused for each call. The instance is not thread-safe; each
+ * thread should use its own instance.
+ */
+public final class TricubicMultiGradient {
+  /** The number of coefficients per function. */
+  private static final int NODE_SIZE = DoubleTricubicGrid.NODE_SIZE;
+  /** The number of coefficients with a non-zero derivative with respect to each dimension. */
+  private static final int TERMS = 48;
+
+  /** The number of functions. */
+  private final int size;
+  /** The packed coefficients. The coefficients for function f start at {@code 64 * f}. */
+  private final double[] coeff;
+  /** The weights for the derivative with respect to x. */
+  private final double[] weightX = new double[TERMS];
+  /** The weights for the derivative with respect to y. */
+  private final double[] weightY = new double[TERMS];
+  /** The weights for the derivative with respect to z. */
+  private final double[] weightZ = new double[TERMS];
+
+  /**
+   * Create a new instance.
+   *
+   * @param coefficients the packed coefficients for all the functions
+   * @throws IllegalArgumentException if the coefficients length is not a positive multiple of 64
+   */
+  TricubicMultiGradient(double[] coefficients) {
+    if (coefficients.length == 0 || coefficients.length % NODE_SIZE != 0) {
+      throw new IllegalArgumentException("Invalid coefficients length: " + coefficients.length);
+    }
+    this.size = coefficients.length / NODE_SIZE;
+    this.coeff = coefficients;
+  }
+
+  /**
+   * Create a new instance from the coefficients of each function.
+   *
+   * @param functions the coefficients for each function (length 64)
+   * @return the instance
+   * @throws IllegalArgumentException if there are no functions or a function does not have 64
+   *         coefficients
+   */
+  public static TricubicMultiGradient create(double[]... functions) {
+    final double[] coefficients = new double[functions.length * NODE_SIZE];
+    for (int i = 0; i < functions.length; i++) {
+      if (functions[i].length != NODE_SIZE) {
+        throw new IllegalArgumentException(
+            "Invalid function coefficients length: " + functions[i].length);
+      }
+      System.arraycopy(functions[i], 0, coefficients, i * NODE_SIZE, NODE_SIZE);
+    }
+    return new TricubicMultiGradient(coefficients);
+  }
+
+  /**
+   * Gets the number of functions.
+   *
+   * @return the size
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * Compute the gradient of each function. The partial first order derivatives with respect to
+   * x, y and z of function f are written to {@code derivative1[3 * f]} to
+   * {@code derivative1[3 * f + 2]}.
+   *
+   * @param table the power table
+   * @param derivative1 the partial first order derivatives (length {@code 3 * size})
+   */
+  public void gradient(double[] table, double[] derivative1) {
+    final double[] wx = weightX;
+    final double[] wy = weightY;
+    final double[] wz = weightZ;
+    // d/dx x^i = i * x^(i-1). The table entry for the reduced power is offset by 1 for x,
+    // 4 for y and 16 for z.
+    // x: coefficients i + 4r for i in [1, 3]
+    for (int r = 0, m = 0; r < NODE_SIZE; r += 4, m += 3) {
+      wx[m] = table[r];
+      wx[m + 1] = 2 * table[r + 1];
+      wx[m + 2] = 3 * table[r + 2];
+    }
+    // y: coefficients [4, 16) + 16k
+    for (int k = 0, m = 0; k < NODE_SIZE; k += 16, m += 12) {
+      for (int n = 0; n < 4; n++) {
+        wy[m + n] = table[k + n];
+        wy[m + n + 4] = 2 * table[k + n + 4];
+        wy[m + n + 8] = 3 * table[k + n + 8];
+      }
+    }
+    // z: coefficients [16, 64)
+    for (int n = 0; n < 16; n++) {
+      wz[n] = table[n];
+      wz[n + 16] = 2 * table[n + 16];
+      wz[n + 32] = 3 * table[n + 32];
+    }
+    final double[] c = coeff;
+    for (int f = 0, o = 0; f < size; f++, o += NODE_SIZE) {
+      double dx = 0;
+      for (int r = o, m = 0; m < TERMS; r += 4, m += 3) {
+        dx += wx[m] * c[r + 1] + wx[m + 1] * c[r + 2] + wx[m + 2] * c[r + 3];
+      }
+      double dy = 0;
+      for (int k = o + 4, m = 0; m < TERMS; k += 16, m += 12) {
+        for (int n = 0; n < 12; n++) {
+          dy += wy[m + n] * c[k + n];
+        }
+      }
+      double dz = 0;
+      for (int n = 0, k = o + 16; n < TERMS; n++) {
+        dz += wz[n] * c[k + n];
+      }
+      final int i = 3 * f;
+      derivative1[i] = dx;
+      derivative1[i + 1] = dy;
+      derivative1[i + 2] = dz;
+    }
+  }
+}
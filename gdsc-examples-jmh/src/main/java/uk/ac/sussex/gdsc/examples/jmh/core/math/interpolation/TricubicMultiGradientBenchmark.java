@@ -0,0 +1,181 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Executes benchmark to compare the speed of computing the gradient of K tricubic functions that
+ * share the same position. The functions are evaluated separately, or together using a single
+ * power table with {@link TricubicMultiGradient}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms256M", "-Xmx256M"})
+public class TricubicMultiGradientBenchmark {
+  /** Number of samples per invocation. */
+  private static final int NUM_SAMPLES = 100;
+
+  /**
+   * The functions and the power tables.
+   */
+  @State(Scope.Thread)
+  public static class FunctionData {
+    /**
+     * The number of functions.
+     */
+    @Param({"2", "3", "4", "5", "6", "7", "8"})
+    private int functions;
+
+    /** The power tables. */
+    private double[][] tables;
+    /** The power tables. */
+    private DoubleCubicSplineData[] dataTables;
+    /** The functions using array data. */
+    private DoubleCustomTricubicFunctionArray[] arrayF;
+    /** The functions using custom object data. */
+    private DoubleCustomTricubicFunctionData[] dataF;
+    /** The fused functions. */
+    private TricubicMultiGradient multi;
+    /** The gradients. */
+    private double[] derivative1;
+
+    /** Create the samples. */
+    @Setup
+    public void setup() {
+      final ThreadLocalRandom rng = ThreadLocalRandom.current();
+      tables = new double[NUM_SAMPLES][];
+      dataTables = new DoubleCubicSplineData[NUM_SAMPLES];
+      for (int i = 0; i < NUM_SAMPLES; i++) {
+        final CubicSplinePosition x = new CubicSplinePosition(rng.nextDouble());
+        final CubicSplinePosition y = new CubicSplinePosition(rng.nextDouble());
+        final CubicSplinePosition z = new CubicSplinePosition(rng.nextDouble());
+        tables[i] = PowerTables.computePowerTable(x.x1, y.x1, z.x1);
+        dataTables[i] = new DoubleCubicSplineData(x, y, z);
+      }
+      final double[][] coeff = new double[functions][];
+      arrayF = new DoubleCustomTricubicFunctionArray[functions];
+      dataF = new DoubleCustomTricubicFunctionData[functions];
+      for (int i = 0; i < functions; i++) {
+        coeff[i] = rng.doubles(64, 0, 456).toArray();
+        arrayF[i] = new DoubleCustomTricubicFunctionArray(coeff[i]);
+        dataF[i] = new DoubleCustomTricubicFunctionData(new DoubleCubicSplineData(coeff[i]));
+      }
+      multi = TricubicMultiGradient.create(coeff);
+      derivative1 = new double[3 * functions];
+    }
+  }
+
+  // Benchmarks methods below.
+
+  /**
+   * Compute the value and gradient of each function using array data.
+   *
+   * @param data the data
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(NUM_SAMPLES)
+  public void arrayValue1(FunctionData data, Blackhole bh) {
+    final double[] derivative1 = new double[3];
+    for (int j = 0; j < NUM_SAMPLES; j++) {
+      final double[] table = data.tables[j];
+      for (final DoubleCustomTricubicFunctionArray f : data.arrayF) {
+        bh.consume(f.value(table, derivative1));
+        bh.consume(derivative1);
+      }
+    }
+  }
+
+  /**
+   * Compute the gradient of each function using array data.
+   *
+   * @param data the data
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(NUM_SAMPLES)
+  public void arrayGradient(FunctionData data, Blackhole bh) {
+    final double[] derivative1 = new double[3];
+    for (int j = 0; j < NUM_SAMPLES; j++) {
+      final double[] table = data.tables[j];
+      for (final DoubleCustomTricubicFunctionArray f : data.arrayF) {
+        f.gradient(table, derivative1);
+        bh.consume(derivative1);
+      }
+    }
+  }
+
+  /**
+   * Compute the gradient of each function using custom object data.
+   *
+   * @param data the data
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(NUM_SAMPLES)
+  public void dataGradient(FunctionData data, Blackhole bh) {
+    final double[] derivative1 = new double[3];
+    for (int j = 0; j < NUM_SAMPLES; j++) {
+      final DoubleCubicSplineData table = data.dataTables[j];
+      for (final DoubleCustomTricubicFunctionData f : data.dataF) {
+        f.gradient(table, derivative1);
+        bh.consume(derivative1);
+      }
+    }
+  }
+
+  /**
+   * Compute the gradient of all functions using the fused evaluator.
+   *
+   * @param data the data
+   * @param bh the data sink
+   */
+  @Benchmark
+  @OperationsPerInvocation(NUM_SAMPLES)
+  public void multiGradient(FunctionData data, Blackhole bh) {
+    final TricubicMultiGradient multi = data.multi;
+    final double[] derivative1 = data.derivative1;
+    for (int j = 0; j < NUM_SAMPLES; j++) {
+      multi.gradient(data.tables[j], derivative1);
+      bh.consume(derivative1);
+    }
+  }
+}
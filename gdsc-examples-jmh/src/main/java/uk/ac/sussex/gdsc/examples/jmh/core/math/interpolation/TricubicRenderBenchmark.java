@@ -0,0 +1,170 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes benchmark to compare the speed of rendering a tricubic spline PSF model onto an image.
+ *
+ * <p>The model is a grid of NxNx8 nodes. The image is a single plane sampled across the full
+ * extent of the grid in x and y at the mid-point in z. The larger grid has pixels further apart
+ * than the nodes for the smallest image.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class TricubicRenderBenchmark {
+  /** The number of grid nodes in z. */
+  private static final int GRID_Z = 8;
+
+  /**
+   * The model and image.
+   */
+  @State(Scope.Benchmark)
+  public static class ImageData {
+    /**
+     * The image width and height.
+     */
+    @Param({"64", "256", "1024"})
+    private int size;
+
+    /**
+     * The number of grid nodes in x and y.
+     */
+    @Param({"16", "128"})
+    private int nodes;
+
+    /** The grid. */
+    private DoubleTricubicGrid grid;
+    /** The renderer. */
+    private TricubicRenderer renderer;
+    /** The grid distance between pixels. */
+    private double step;
+
+    /** Create the samples. */
+    @Setup
+    public void setup() {
+      final ThreadLocalRandom rng = ThreadLocalRandom.current();
+      final double[][] coeff = new double[nodes * nodes * GRID_Z][];
+      for (int i = 0; i < coeff.length; i++) {
+        coeff[i] = rng.doubles(64, 0, 456).toArray();
+      }
+      grid = DoubleTricubicGrid.create(nodes, nodes, GRID_Z, coeff);
+      renderer = new TricubicRenderer(grid);
+      step = (double) nodes / size;
+    }
+  }
+
+  /**
+   * The thread pool.
+   */
+  @State(Scope.Benchmark)
+  public static class ThreadPool {
+    /**
+     * Number of threads.
+     */
+    @Param({"1", "2", "4"})
+    private int threads;
+
+    /** The pool. */
+    private ForkJoinPool pool;
+
+    /** Create the pool. */
+    @Setup
+    public void setup() {
+      pool = new ForkJoinPool(threads);
+    }
+
+    /** Shutdown the pool. */
+    @TearDown
+    public void tearDown() {
+      pool.shutdown();
+    }
+  }
+
+  // Benchmarks methods below.
+
+  /**
+   * Render the image using a single-threaded loop over the value of each pixel.
+   *
+   * @param data the data
+   * @return the image
+   */
+  @Benchmark
+  public double[] pixelLoop(ImageData data) {
+    final DoubleTricubicGrid grid = data.grid;
+    final int size = data.size;
+    final double step = data.step;
+    final double z = GRID_Z * 0.5;
+    final double[] image = new double[size * size];
+    for (int y = 0, i = 0; y < size; y++) {
+      final double gy = y * step;
+      for (int x = 0; x < size; x++) {
+        image[i++] = grid.value(x * step, gy, z);
+      }
+    }
+    return image;
+  }
+
+  /**
+   * Render the image using tiles in the current thread.
+   *
+   * @param data the data
+   * @return the image
+   */
+  @Benchmark
+  public double[] tiled(ImageData data) {
+    return data.renderer.render(0, 0, GRID_Z * 0.5, data.step, 1, data.size, data.size, 1, null);
+  }
+
+  /**
+   * Render the image using tiles on the thread pool.
+   *
+   * @param data the data
+   * @param pool the pool
+   * @return the image
+   */
+  @Benchmark
+  public double[] tiledPool(ImageData data, ThreadPool pool) {
+    return data.renderer.render(0, 0, GRID_Z * 0.5, data.step, 1, data.size, data.size, 1,
+        pool.pool);
+  }
+}
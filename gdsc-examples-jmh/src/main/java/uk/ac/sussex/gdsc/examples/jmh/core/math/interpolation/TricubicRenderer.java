@@ -0,0 +1,340 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Render a tricubic spline grid onto a pixel image.
+ *
+ * <p>The image samples the grid on a regular lattice. The node index and the position within the
+ * node are separable by axis; they are computed once for each column, row and plane of the image
+ * and shared by all the pixels. The polynomial of each node is evaluated using Horner's method in
+ * z, then y, then x: the 16 partial sums in z are computed once per plane for each distinct node
+ * sampled by the tile, and the 4 partial sums in y once per row, leaving a cubic in x for each
+ * pixel. When the pixels are further apart than the nodes only the sampled nodes are evaluated.
+ * The image is partitioned into square tiles that are rendered independently, optionally on a
+ * {@link ForkJoinPool}. The storage for the partial sums is reused by each thread.
+ *
+ * <p>Pixels that sample outside the grid are zero.
+ */
+public class TricubicRenderer {
+  /** The default tile size. */
+  public static final int DEFAULT_TILE_SIZE = 32;
+
+  /** The grid. */
+  private final DoubleTricubicGrid grid;
+  /** The tile size. */
+  private final int tileSize;
+  /** The scratch storage for each thread. */
+  private final ThreadLocal<Scratch> scratch;
+
+  /**
+   * The sample positions along one axis of the image.
+   */
+  private static class Axis {
+    /** The node index of each sample, or -1 if outside the grid. */
+    final int[] node;
+    /** The position within the node for each sample. */
+    final double[] position;
+
+    /**
+     * Create an instance.
+     *
+     * @param origin the grid position of the first sample
+     * @param step the grid distance between samples
+     * @param size the number of samples
+     * @param max the number of grid nodes
+     */
+    Axis(double origin, double step, int size, int max) {
+      node = new int[size];
+      position = new double[size];
+      for (int n = 0; n < size; n++) {
+        final double x = origin + n * step;
+        if (x >= 0 && x <= max) {
+          final int i = Math.min((int) x, max - 1);
+          node[n] = i;
+          position[n] = x - i;
+        } else {
+          node[n] = -1;
+        }
+      }
+    }
+  }
+
+  /**
+   * The scratch storage used to render a tile.
+   */
+  private static class Scratch {
+    /** The distinct x nodes of the tile. */
+    final int[] nodeX;
+    /** The distinct y nodes of the tile. */
+    final int[] nodeY;
+    /** The index into the distinct x nodes of each tile column, or -1 if outside the grid. */
+    final int[] slotX;
+    /** The index into the distinct y nodes of each tile row, or -1 if outside the grid. */
+    final int[] slotY;
+    /** The partial sums in y for each distinct x node. */
+    final double[] by;
+    /** The partial sums in z for each distinct node. */
+    double[] bz = new double[0];
+
+    /**
+     * Create an instance.
+     *
+     * @param tileSize the tile size
+     */
+    Scratch(int tileSize) {
+      nodeX = new int[tileSize];
+      nodeY = new int[tileSize];
+      slotX = new int[tileSize];
+      slotY = new int[tileSize];
+      by = new double[tileSize * 4];
+    }
+
+    /**
+     * Gets the storage for the partial sums in z for the number of nodes.
+     *
+     * @param nodes the number of nodes
+     * @return the storage
+     */
+    double[] getBz(int nodes) {
+      if (bz.length < nodes * 16) {
+        bz = new double[nodes * 16];
+      }
+      return bz;
+    }
+  }
+
+  /**
+   * Render a range of tiles.
+   */
+  private class RenderTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    /** The x axis. */
+    private final Axis ax;
+    /** The y axis. */
+    private final Axis ay;
+    /** The z axis. */
+    private final Axis az;
+    /** The image. */
+    private final double[] image;
+    /** The number of tiles along the x axis. */
+    private final int tilesX;
+    /** The start tile (inclusive). */
+    private final int from;
+    /** The end tile (exclusive). */
+    private final int to;
+
+    /**
+     * Create an instance.
+     *
+     * @param ax the x axis
+     * @param ay the y axis
+     * @param az the z axis
+     * @param image the image
+     * @param tilesX the number of tiles along the x axis
+     * @param from the start tile (inclusive)
+     * @param to the end tile (exclusive)
+     */
+    RenderTask(Axis ax, Axis ay, Axis az, double[] image, int tilesX, int from, int to) {
+      this.ax = ax;
+      this.ay = ay;
+      this.az = az;
+      this.image = image;
+      this.tilesX = tilesX;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from == 1) {
+        renderTile(ax, ay, az, image, from % tilesX, from / tilesX);
+      } else {
+        final int mid = (from + to) >>> 1;
+        invokeAll(new RenderTask(ax, ay, az, image, tilesX, from, mid),
+            new RenderTask(ax, ay, az, image, tilesX, mid, to));
+      }
+    }
+  }
+
+  /**
+   * Create a new instance with the default tile size.
+   *
+   * @param grid the grid
+   */
+  public TricubicRenderer(DoubleTricubicGrid grid) {
+    this(grid, DEFAULT_TILE_SIZE);
+  }
+
+  /**
+   * Create a new instance.
+   *
+   * @param grid the grid
+   * @param tileSize the tile size
+   * @throws IllegalArgumentException if the tile size is not strictly positive
+   */
+  public TricubicRenderer(DoubleTricubicGrid grid, int tileSize) {
+    if (tileSize < 1) {
+      throw new IllegalArgumentException("Tile size must be strictly positive: " + tileSize);
+    }
+    this.grid = grid;
+    this.tileSize = tileSize;
+    scratch = ThreadLocal.withInitial(() -> new Scratch(tileSize));
+  }
+
+  /**
+   * Render the grid onto an image. The pixel (x, y, z) samples the grid position
+   * {@code (x0 + x * step, y0 + y * step, z0 + z * zstep)}. The image is packed with x changing
+   * fastest, then y, then z.
+   *
+   * <p>If the pool is null the tiles are rendered in the current thread.
+   *
+   * @param x0 the grid x position of the first pixel
+   * @param y0 the grid y position of the first pixel
+   * @param z0 the grid z position of the first plane
+   * @param step the grid distance between pixels
+   * @param zstep the grid distance between planes
+   * @param width the image width
+   * @param height the image height
+   * @param depth the image depth
+   * @param pool the pool (can be null)
+   * @return the image
+   */
+  public double[] render(double x0, double y0, double z0, double step, double zstep, int width,
+      int height, int depth, ForkJoinPool pool) {
+    final double[] image = new double[width * height * depth];
+    final Axis ax = new Axis(x0, step, width, grid.getMaxX());
+    final Axis ay = new Axis(y0, step, height, grid.getMaxY());
+    final Axis az = new Axis(z0, zstep, depth, grid.getMaxZ());
+    final int tilesX = (width + tileSize - 1) / tileSize;
+    final int tilesY = (height + tileSize - 1) / tileSize;
+    final int tiles = tilesX * tilesY;
+    if (pool == null) {
+      for (int tile = 0; tile < tiles; tile++) {
+        renderTile(ax, ay, az, image, tile % tilesX, tile / tilesX);
+      }
+    } else if (tiles != 0) {
+      pool.invoke(new RenderTask(ax, ay, az, image, tilesX, 0, tiles));
+    }
+    return image;
+  }
+
+  /**
+   * Render the tile for all planes of the image.
+   *
+   * @param ax the x axis
+   * @param ay the y axis
+   * @param az the z axis
+   * @param image the image
+   * @param tx the tile x index
+   * @param ty the tile y index
+   */
+  private void renderTile(Axis ax, Axis ay, Axis az, double[] image, int tx, int ty) {
+    final int width = ax.node.length;
+    final int height = ay.node.length;
+    final int fromX = tx * tileSize;
+    final int toX = Math.min(width, fromX + tileSize);
+    final int fromY = ty * tileSize;
+    final int toY = Math.min(height, fromY + tileSize);
+    // Distinct nodes sampled by the tile
+    final Scratch s = scratch.get();
+    final int ni = distinctNodes(ax.node, fromX, toX, s.nodeX, s.slotX);
+    final int nj = distinctNodes(ay.node, fromY, toY, s.nodeY, s.slotY);
+    if (ni == 0 || nj == 0) {
+      return;
+    }
+    // Partial sums in z for each node of the plane; in y for each node of the row
+    final double[] bz = s.getBz(ni * nj);
+    final double[] by = s.by;
+    final double[] c = grid.getCoefficients();
+    for (int z = 0; z < az.node.length; z++) {
+      final int k = az.node[z];
+      if (k < 0) {
+        continue;
+      }
+      final double zz = az.position[z];
+      for (int j = 0, b = 0; j < nj; j++) {
+        for (int i = 0; i < ni; i++) {
+          final int o = grid.index(s.nodeX[i], s.nodeY[j], k);
+          for (int n = 0; n < 16; n++, b++) {
+            bz[b] = c[o + n] + zz * (c[o + n + 16] + zz * (c[o + n + 32] + zz * c[o + n + 48]));
+          }
+        }
+      }
+      final int plane = z * width * height;
+      for (int y = fromY; y < toY; y++) {
+        final int j = s.slotY[y - fromY];
+        if (j < 0) {
+          continue;
+        }
+        final double yy = ay.position[y];
+        for (int i = 0, b = j * ni * 16; i < ni; i++, b += 16) {
+          by[i * 4] = bz[b] + yy * (bz[b + 4] + yy * (bz[b + 8] + yy * bz[b + 12]));
+          by[i * 4 + 1] = bz[b + 1] + yy * (bz[b + 5] + yy * (bz[b + 9] + yy * bz[b + 13]));
+          by[i * 4 + 2] = bz[b + 2] + yy * (bz[b + 6] + yy * (bz[b + 10] + yy * bz[b + 14]));
+          by[i * 4 + 3] = bz[b + 3] + yy * (bz[b + 7] + yy * (bz[b + 11] + yy * bz[b + 15]));
+        }
+        final int row = plane + y * width;
+        for (int x = fromX; x < toX; x++) {
+          final int i = s.slotX[x - fromX];
+          if (i >= 0) {
+            final int a = i * 4;
+            final double xx = ax.position[x];
+            image[row + x] = by[a] + xx * (by[a + 1] + xx * (by[a + 2] + xx * by[a + 3]));
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the distinct node indices of the samples in the range. The samples are on a regular
+   * lattice so equal nodes are adjacent. Samples outside the grid are assigned the slot -1.
+   *
+   * @param node the node index of each sample
+   * @param from the start sample (inclusive)
+   * @param to the end sample (exclusive)
+   * @param distinct the distinct nodes (output)
+   * @param slot the index into the distinct nodes of each sample in the range (output)
+   * @return the number of distinct nodes
+   */
+  private static int distinctNodes(int[] node, int from, int to, int[] distinct, int[] slot) {
+    int count = 0;
+    for (int n = from; n < to; n++) {
+      final int i = node[n];
+      if (i < 0) {
+        slot[n - from] = -1;
+      } else {
+        if (count == 0 || distinct[count - 1] != i) {
+          distinct[count++] = i;
+        }
+        slot[n - from] = count - 1;
+      }
+    }
+    return count;
+  }
+}
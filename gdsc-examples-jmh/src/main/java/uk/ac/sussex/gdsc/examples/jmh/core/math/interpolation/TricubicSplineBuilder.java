@@ -0,0 +1,449 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Build a tricubic spline grid from a volume of values.
+ *
+ * <p>The volume values are sampled at unit spacing. Each cell between 8 adjacent samples is a
+ * node of the spline grid; a volume of {@code nx * ny * nz} samples creates a grid of
+ * {@code (nx-1) * (ny-1) * (nz-1)} nodes. The 64 coefficients of each node are computed from the
+ * value and the derivatives f<sub>x</sub>, f<sub>y</sub>, f<sub>z</sub>, f<sub>xy</sub>,
+ * f<sub>xz</sub>, f<sub>yz</sub> and f<sub>xyz</sub> at the 8 corners of the cell. The derivatives
+ * are estimated using central finite differences (one-sided at the volume edges).
+ *
+ * <p>The 64x64 transform from the corner values to the coefficients is the tensor product of the
+ * 4x4 cubic Hermite transform for each axis. It is applied as 48 sparse 4x4 transforms (16 along
+ * each axis) rather than a dense matrix-vector product.
+ *
+ * <ul>
+ * <li>F. Lekien and J. Marsden (2005) Tricubic interpolation in three dimensions. International
+ * Journal for Numerical Methods in Engineering 63(3), 455-471.
+ * </ul>
+ */
+public final class TricubicSplineBuilder {
+  /** The number of derivative values at each sample. */
+  private static final int DERIVATIVES = 8;
+  /**
+   * The minimum number of planes of nodes to build in a single task. Each task computes the
+   * derivatives of the plane below its first plane and allocates the working storage.
+   */
+  private static final int MIN_PLANES = 4;
+  /** The number of tasks per thread of the pool used to balance the load. */
+  private static final int TASKS_PER_THREAD = 4;
+
+  /** The volume values. */
+  private final double[] values;
+  /** The number of samples in the x dimension. */
+  private final int nx;
+  /** The number of samples in the y dimension. */
+  private final int ny;
+  /** The number of samples in the z dimension. */
+  private final int nz;
+
+  /**
+   * Build a range of planes of nodes.
+   */
+  private class BuildTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    /** The coefficients. */
+    private final double[] coefficients;
+    /** The buffer for each thread used to discard the coefficients (can be null). */
+    private final ThreadLocal<double[]> buffer;
+    /** The start plane (inclusive). */
+    private final int from;
+    /** The end plane (exclusive). */
+    private final int to;
+    /** The maximum number of planes to build in a single task. */
+    private final int threshold;
+
+    /**
+     * Create an instance.
+     *
+     * @param coefficients the coefficients
+     * @param buffer the buffer for each thread used to discard the coefficients (can be null)
+     * @param from the start plane (inclusive)
+     * @param to the end plane (exclusive)
+     * @param threshold the maximum number of planes to build in a single task
+     */
+    BuildTask(double[] coefficients, ThreadLocal<double[]> buffer, int from, int to,
+        int threshold) {
+      this.coefficients = coefficients;
+      this.buffer = buffer;
+      this.from = from;
+      this.to = to;
+      this.threshold = threshold;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= threshold) {
+        if (buffer == null) {
+          build(from, to, coefficients, from * getPlaneSize());
+        } else {
+          build(from, to, buffer.get(), 0);
+        }
+      } else {
+        final int mid = (from + to) >>> 1;
+        invokeAll(new BuildTask(coefficients, buffer, from, mid, threshold),
+            new BuildTask(coefficients, buffer, mid, to, threshold));
+      }
+    }
+  }
+
+  /**
+   * Create a new instance. The volume is packed with x changing fastest, then y, then z.
+   *
+   * @param nx the number of samples in the x dimension
+   * @param ny the number of samples in the y dimension
+   * @param nz the number of samples in the z dimension
+   * @param values the values
+   * @throws IllegalArgumentException if a dimension is below 2 or the values length does not
+   *         match the dimensions
+   */
+  public TricubicSplineBuilder(int nx, int ny, int nz, double[] values) {
+    if (nx < 2 || ny < 2 || nz < 2) {
+      throw new IllegalArgumentException("Invalid dimensions: " + nx + "x" + ny + "x" + nz);
+    }
+    if (values.length != (long) nx * ny * nz) {
+      throw new IllegalArgumentException("Values length " + values.length + " != " + nx + "x"
+          + ny + "x" + nz);
+    }
+    this.values = values;
+    this.nx = nx;
+    this.ny = ny;
+    this.nz = nz;
+  }
+
+  /**
+   * Gets the number of nodes in the x dimension.
+   *
+   * @return the max x
+   */
+  public int getMaxX() {
+    return nx - 1;
+  }
+
+  /**
+   * Gets the number of nodes in the y dimension.
+   *
+   * @return the max y
+   */
+  public int getMaxY() {
+    return ny - 1;
+  }
+
+  /**
+   * Gets the number of nodes in the z dimension.
+   *
+   * @return the max z
+   */
+  public int getMaxZ() {
+    return nz - 1;
+  }
+
+  /**
+   * Gets the number of planes of nodes in the z dimension.
+   *
+   * @return the number of planes
+   */
+  public int getPlanes() {
+    return nz - 1;
+  }
+
+  /**
+   * Gets the number of coefficients for a plane of nodes.
+   *
+   * @return the plane size
+   */
+  public int getPlaneSize() {
+    return (nx - 1) * (ny - 1) * DoubleTricubicGrid.NODE_SIZE;
+  }
+
+  /**
+   * Build the spline grid.
+   *
+   * <p>If the pool is null the grid is built in the current thread.
+   *
+   * @param pool the pool (can be null)
+   * @return the grid
+   * @throws IllegalArgumentException if the grid is too large to store in a single array
+   */
+  public DoubleTricubicGrid build(ForkJoinPool pool) {
+    final long size = (long) getPlaneSize() * getPlanes();
+    if (size > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Grid too large: " + size);
+    }
+    final double[] coefficients = new double[(int) size];
+    if (pool == null) {
+      build(0, getPlanes(), coefficients, 0);
+    } else {
+      pool.invoke(new BuildTask(coefficients, null, 0, getPlanes(), getThreshold(pool)));
+    }
+    return new DoubleTricubicGrid(nx - 1, ny - 1, nz - 1, coefficients);
+  }
+
+  /**
+   * Build the spline grid on the pool and discard the coefficients. The work is split into the
+   * same tasks as {@link #build(ForkJoinPool)} but each task writes to a buffer reused by each
+   * thread. This allows timing the build of a grid that is too large to store.
+   *
+   * @param pool the pool
+   */
+  void buildAndDiscard(ForkJoinPool pool) {
+    final int threshold = getThreshold(pool);
+    final int length = threshold * getPlaneSize();
+    pool.invoke(new BuildTask(null, ThreadLocal.withInitial(() -> new double[length]), 0,
+        getPlanes(), threshold));
+  }
+
+  /**
+   * Gets the maximum number of planes to build in a single task. The planes are split into
+   * {@value #TASKS_PER_THREAD} tasks per thread of the pool with a minimum of
+   * {@value #MIN_PLANES} planes per task.
+   *
+   * @param pool the pool
+   * @return the threshold
+   */
+  private int getThreshold(ForkJoinPool pool) {
+    final int tasks = pool.getParallelism() * TASKS_PER_THREAD;
+    return Math.max(MIN_PLANES, (getPlanes() + tasks - 1) / tasks);
+  }
+
+  /**
+   * Build a range of planes of nodes. This allows large volumes to be processed in chunks. The
+   * coefficients for node (i, j, k) are written to
+   * {@code offset + 64 * (i + (nx-1) * (j + (ny-1) * (k - from)))}.
+   *
+   * @param from the start plane (inclusive)
+   * @param to the end plane (exclusive)
+   * @param coefficients the coefficients
+   * @param offset the offset into the coefficients
+   */
+  public void build(int from, int to, double[] coefficients, int offset) {
+    final int planeSize = nx * ny;
+    // Derivatives at the lower and upper samples of the current plane of nodes
+    double[][] lower = new double[DERIVATIVES][planeSize];
+    double[][] upper = new double[DERIVATIVES][planeSize];
+    computeDerivatives(from, lower);
+    final double[] cell = new double[DoubleTricubicGrid.NODE_SIZE];
+    int index = offset;
+    for (int k = from; k < to; k++) {
+      computeDerivatives(k + 1, upper);
+      for (int j = 0; j < ny - 1; j++) {
+        for (int i = 0; i < nx - 1; i++) {
+          final int s = i + j * nx;
+          gather(lower, s, cell, 0);
+          gather(upper, s, cell, 1);
+          transform(cell, coefficients, index);
+          index += DoubleTricubicGrid.NODE_SIZE;
+        }
+      }
+      final double[][] tmp = lower;
+      lower = upper;
+      upper = tmp;
+    }
+  }
+
+  /**
+   * Build a single node. The derivatives at the corners are computed directly from the volume
+   * values.
+   *
+   * @param i the x node index
+   * @param j the y node index
+   * @param k the z node index
+   * @param coefficients the coefficients
+   * @param offset the offset into the coefficients
+   */
+  public void buildNode(int i, int j, int k, double[] coefficients, int offset) {
+    final double[] cell = new double[DoubleTricubicGrid.NODE_SIZE];
+    for (int n = 0; n < DERIVATIVES; n++) {
+      final int base = (n >> 1 & 2) * 16 + (n & 2) * 4 + (n & 1) * 2;
+      for (int cz = 0; cz < 2; cz++) {
+        for (int cy = 0; cy < 2; cy++) {
+          for (int cx = 0; cx < 2; cx++) {
+            cell[base + cz * 16 + cy * 4 + cx] = sample(n, i + cx, j + cy, k + cz);
+          }
+        }
+      }
+    }
+    transform(cell, coefficients, offset);
+  }
+
+  /**
+   * Compute the value or derivative at the sample using finite differences. The derivative index
+   * has bit 0, 1 and 2 set for a derivative with respect to x, y and z.
+   *
+   * @param n the derivative index
+   * @param i the x sample index
+   * @param j the y sample index
+   * @param k the z sample index
+   * @return the value
+   */
+  private double sample(int n, int i, int j, int k) {
+    if ((n & 4) != 0) {
+      final int k0 = Math.max(0, k - 1);
+      final int k1 = Math.min(nz - 1, k + 1);
+      return (sample(n & 3, i, j, k1) - sample(n & 3, i, j, k0)) / (k1 - k0);
+    }
+    if ((n & 2) != 0) {
+      final int j0 = Math.max(0, j - 1);
+      final int j1 = Math.min(ny - 1, j + 1);
+      return (sample(n & 1, i, j1, k) - sample(n & 1, i, j0, k)) / (j1 - j0);
+    }
+    if (n != 0) {
+      final int i0 = Math.max(0, i - 1);
+      final int i1 = Math.min(nx - 1, i + 1);
+      return (sample(0, i1, j, k) - sample(0, i0, j, k)) / (i1 - i0);
+    }
+    return values[i + nx * (j + ny * k)];
+  }
+
+  /**
+   * Compute the value and derivatives for a plane of samples. The derivatives are stored using an
+   * index with bit 0, 1 and 2 set for a derivative with respect to x, y and z.
+   *
+   * @param k the plane
+   * @param d the derivatives
+   */
+  private void computeDerivatives(int k, double[][] d) {
+    final int planeSize = nx * ny;
+    System.arraycopy(values, k * planeSize, d[0], 0, planeSize);
+    // Central difference in z
+    final int k0 = Math.max(0, k - 1);
+    final int k1 = Math.min(nz - 1, k + 1);
+    final double scale = 1.0 / (k1 - k0);
+    final double[] dz = d[4];
+    for (int n = 0, i0 = k0 * planeSize, i1 = k1 * planeSize; n < planeSize; n++) {
+      dz[n] = (values[i1 + n] - values[i0 + n]) * scale;
+    }
+    differenceX(d[0], d[1]);
+    differenceY(d[0], d[2]);
+    differenceY(d[1], d[3]);
+    differenceX(d[4], d[5]);
+    differenceY(d[4], d[6]);
+    differenceY(d[5], d[7]);
+  }
+
+  /**
+   * Compute the central difference in x.
+   *
+   * @param in the input plane
+   * @param out the output plane
+   */
+  private void differenceX(double[] in, double[] out) {
+    for (int j = 0, row = 0; j < ny; j++, row += nx) {
+      out[row] = in[row + 1] - in[row];
+      for (int i = 1; i < nx - 1; i++) {
+        out[row + i] = (in[row + i + 1] - in[row + i - 1]) * 0.5;
+      }
+      out[row + nx - 1] = in[row + nx - 1] - in[row + nx - 2];
+    }
+  }
+
+  /**
+   * Compute the central difference in y.
+   *
+   * @param in the input plane
+   * @param out the output plane
+   */
+  private void differenceY(double[] in, double[] out) {
+    for (int j = 0, row = 0; j < ny; j++, row += nx) {
+      final int j0 = Math.max(0, j - 1) * nx;
+      final int j1 = Math.min(ny - 1, j + 1) * nx;
+      final double scale = 1.0 / ((j1 - j0) / nx);
+      for (int i = 0; i < nx; i++) {
+        out[row + i] = (in[j1 + i] - in[j0 + i]) * scale;
+      }
+    }
+  }
+
+  /**
+   * Gather the value and derivatives at the 4 corners of the cell in a plane. The values are
+   * stored in a 4x4x4 tensor where the index along each axis is {@code corner + 2 * derivative}.
+   *
+   * @param d the derivatives of the plane
+   * @param s the index of the lower corner of the cell in the plane
+   * @param cell the cell
+   * @param cz the z corner of the plane (0 or 1)
+   */
+  private void gather(double[][] d, int s, double[] cell, int cz) {
+    for (int n = 0; n < DERIVATIVES; n++) {
+      final double[] dn = d[n];
+      final int base = (cz + (n >> 1 & 2)) * 16 + (n & 2) * 4 + (n & 1) * 2;
+      cell[base] = dn[s];
+      cell[base + 1] = dn[s + 1];
+      cell[base + 4] = dn[s + nx];
+      cell[base + 5] = dn[s + nx + 1];
+    }
+  }
+
+  /**
+   * Transform the corner values of the cell to the spline coefficients. The cubic Hermite
+   * transform is applied along each axis of the 4x4x4 tensor in place.
+   *
+   * @param cell the corner values
+   * @param coefficients the coefficients
+   * @param offset the offset into the coefficients
+   */
+  static void transform(double[] cell, double[] coefficients, int offset) {
+    // x: stride 1
+    for (int n = 0; n < 64; n += 4) {
+      hermite(cell, n, 1);
+    }
+    // y: stride 4
+    for (int n = 0; n < 64; n += 16) {
+      for (int i = n; i < n + 4; i++) {
+        hermite(cell, i, 4);
+      }
+    }
+    // z: stride 16
+    for (int n = 0; n < 16; n++) {
+      hermite(cell, n, 16);
+    }
+    System.arraycopy(cell, 0, coefficients, offset, 64);
+  }
+
+  /**
+   * Apply the cubic Hermite transform in place. The input is the value at 0 and 1 and the
+   * derivative at 0 and 1. The output is the coefficients of the cubic polynomial.
+   *
+   * @param a the data
+   * @param i the index of the first element
+   * @param stride the stride between elements
+   */
+  private static void hermite(double[] a, int i, int stride) {
+    final double p0 = a[i];
+    final double p1 = a[i + stride];
+    final double d0 = a[i + 2 * stride];
+    final double d1 = a[i + 3 * stride];
+    final double dp = p1 - p0;
+    a[i + stride] = d0;
+    a[i + 2 * stride] = 3 * dp - 2 * d0 - d1;
+    a[i + 3 * stride] = d0 + d1 - 2 * dp;
+  }
+}
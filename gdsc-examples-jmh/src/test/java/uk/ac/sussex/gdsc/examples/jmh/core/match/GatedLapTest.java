@@ -0,0 +1,88 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.match;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link GatedLap}.
+ */
+@SuppressWarnings({"javadoc"})
+class GatedLapTest {
+  @Test
+  void testNegativeGateThrows() {
+    final int[][] cost = {{1}};
+    Assertions.assertThrows(IllegalArgumentException.class, () -> GatedLap.compute(cost, -1));
+  }
+
+  @Test
+  void testNoAllowedAssignments() {
+    final int[][] cost = {{5, 6}, {7, 8}};
+    Assertions.assertArrayEquals(new int[] {-1, -1}, GatedLap.compute(cost, 4));
+  }
+
+  @Test
+  void testSameAsWholeMatrix() {
+    final SplittableRandom rng = new SplittableRandom(2347823L);
+    final LapSolver solver = new LapSolver();
+    for (int n = 0; n < 200; n++) {
+      final int rows = 1 + rng.nextInt(30);
+      final int cols = 1 + rng.nextInt(30);
+      final int[][] cost = LapSolverTest.createCost(rng, rows, cols, 100);
+      final int gate = rng.nextInt(20);
+      final int[] e = LapBenchmark.computeGated(cost, gate, solver);
+      final int[] a1 = GatedLap.compute(cost, gate);
+      final int[] a2 = GatedLap.compute(cost, gate, ForkJoinPool.commonPool());
+      for (final int[] a : new int[][] {a1, a2}) {
+        assertGated(cost, gate, a);
+        Assertions.assertEquals(count(e), count(a));
+        Assertions.assertEquals(LapSolverTest.totalCost(cost, e), LapSolverTest.totalCost(cost, a));
+      }
+    }
+  }
+
+  private static void assertGated(int[][] cost, int gate, int[] assignments) {
+    final boolean[] used = new boolean[cost[0].length];
+    for (int i = 0; i < assignments.length; i++) {
+      final int j = assignments[i];
+      if (j >= 0) {
+        Assertions.assertTrue(cost[i][j] <= gate);
+        Assertions.assertFalse(used[j]);
+        used[j] = true;
+      }
+    }
+  }
+
+  private static int count(int[] assignments) {
+    int count = 0;
+    for (final int j : assignments) {
+      if (j >= 0) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
@@ -0,0 +1,284 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.match;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import uk.ac.sussex.gdsc.core.match.JonkerVolgenantAssignment;
+
+/**
+ * Test for {@link LapSolver}.
+ */
+@SuppressWarnings({"javadoc"})
+class LapSolverTest {
+  @Test
+  void testEmpty() {
+    Assertions.assertArrayEquals(new int[0], new LapSolver().compute(new int[0][0]));
+  }
+
+  @Test
+  void testSmallMatricesAreOptimal() {
+    final SplittableRandom rng = new SplittableRandom(126378461L);
+    final LapSolver solver = new LapSolver();
+    for (int rows = 1; rows <= 6; rows++) {
+      for (int cols = 1; cols <= 6; cols++) {
+        for (int i = 0; i < 20; i++) {
+          final int[][] cost = createCost(rng, rows, cols, 10);
+          final int[] a = solver.compute(cost);
+          assertValid(a, rows, cols);
+          Assertions.assertEquals(bruteForce(cost), totalCost(cost, a));
+        }
+      }
+    }
+  }
+
+  @Test
+  void testLargeMatrices() {
+    final SplittableRandom rng = new SplittableRandom(978236412L);
+    final LapSolver solver = new LapSolver();
+    for (final int size : new int[] {10, 50, 128}) {
+      for (final int max : new int[] {5, size, 1000}) {
+        final int[][] cost = createCost(rng, size, size, max);
+        final int[] a = solver.compute(cost);
+        assertValid(a, size, size);
+        Assertions.assertEquals(totalCost(cost, JonkerVolgenantAssignment.compute(cost)),
+            totalCost(cost, a));
+      }
+    }
+  }
+
+  @Test
+  void testGeneratedMatrices() {
+    final Random rng = new Random(1236812L);
+    final LapSolver solver = new LapSolver();
+    final List<int[][]> costs = new ArrayList<>();
+    costs.add(CostMatrices.macholWien(40, 40));
+    costs.add(CostMatrices.macholWien(30, 45));
+    costs.add(CostMatrices.pointSet(rng, 60, 1, 0, 0.25));
+    costs.add(CostMatrices.pointSet(rng, 60, 0.8, 0.25, 0.5));
+    costs.add(CostMatrices.pointSet(rng, 60, 0.5, 0, 0.1));
+    for (final int[][] cost : costs) {
+      final int rows = cost.length;
+      final int cols = cost[0].length;
+      final int[] a = solver.compute(cost);
+      assertValid(a, rows, cols);
+      Assertions.assertEquals(totalCost(cost, JonkerVolgenantAssignment.compute(cost)),
+          totalCost(cost, a));
+    }
+    Assertions.assertEquals(48 + 15, costs.get(3)[0].length);
+    Assertions.assertEquals(30, costs.get(4)[0].length);
+  }
+
+  @Test
+  void testRectangularMatrices() {
+    final SplittableRandom rng = new SplittableRandom(-723846L);
+    final LapSolver solver = new LapSolver();
+    for (final int size : new int[] {2, 17, 64}) {
+      for (final boolean tall : new boolean[] {true, false}) {
+        final int[][] cost = tall ? createCost(rng, 100, size, 100) : createCost(rng, size, 100, 100);
+        final int[] a = solver.compute(cost);
+        assertValid(a, cost.length, cost[0].length);
+        // Solve as a square matrix padded with zero cost
+        final int[][] square = LapBenchmark.pad(cost);
+        Assertions.assertEquals(totalCost(square, solver.compute(square)), totalCost(cost, a));
+      }
+    }
+  }
+
+  @Test
+  void testUnassignedCostThrowsWithBadLength() {
+    final int[][] cost = {{1, 2}};
+    final LapSolver solver = new LapSolver();
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> solver.compute(cost, new int[2], new int[2]));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> solver.compute(cost, new int[1], new int[1]));
+  }
+
+  @Test
+  void testUnassignedCostSmallMatricesAreOptimal() {
+    final SplittableRandom rng = new SplittableRandom(-8723468L);
+    final LapSolver solver = new LapSolver();
+    for (int rows = 1; rows <= 5; rows++) {
+      for (int cols = 1; cols <= 5; cols++) {
+        for (int i = 0; i < 20; i++) {
+          final int[][] cost = createCost(rng, rows, cols, 20);
+          final int[] rowCost = rng.ints(rows, 0, 10).toArray();
+          final int[] colCost = rng.ints(cols, 0, 10).toArray();
+          final int[] a = solver.compute(cost, rowCost, colCost);
+          Assertions.assertEquals(rows, a.length);
+          Assertions.assertEquals(bruteForce(cost, rowCost, colCost),
+              totalCost(cost, a, rowCost, colCost));
+        }
+      }
+    }
+  }
+
+  @Test
+  void testUnassignedCostSameAsPadded() {
+    final SplittableRandom rng = new SplittableRandom(12368L);
+    final LapSolver solver = new LapSolver();
+    for (final int[] dims : new int[][] {{50, 50}, {20, 70}, {70, 20}}) {
+      for (final int max : new int[] {5, 50}) {
+        final int[][] cost = createCost(rng, dims[0], dims[1], 100);
+        final int[] rowCost = rng.ints(dims[0], 0, max).toArray();
+        final int[] colCost = rng.ints(dims[1], 0, max).toArray();
+        final int[] a = solver.compute(cost, rowCost, colCost);
+        final int[][] square = LapBenchmark.padUnassigned(cost, rowCost, colCost);
+        Assertions.assertEquals(totalCost(square, solver.compute(square)),
+            totalCost(cost, a, rowCost, colCost));
+      }
+    }
+  }
+
+  @Test
+  void testBatch() {
+    final SplittableRandom rng = new SplittableRandom(-2367842L);
+    final List<int[][]> costs = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      costs.add(createCost(rng, 1 + rng.nextInt(10), 1 + rng.nextInt(10), 20));
+    }
+    final int[][] batch = LapBatch.compute(costs);
+    final LapSolver solver = new LapSolver();
+    for (int i = 0; i < costs.size(); i++) {
+      Assertions.assertArrayEquals(solver.compute(costs.get(i)), batch[i]);
+    }
+  }
+
+  static int[][] createCost(SplittableRandom rng, int rows, int cols, int max) {
+    final int[][] cost = new int[rows][];
+    for (int i = 0; i < rows; i++) {
+      cost[i] = rng.ints(cols, 0, max).toArray();
+    }
+    return cost;
+  }
+
+  static void assertValid(int[] assignments, int rows, int cols) {
+    Assertions.assertEquals(rows, assignments.length);
+    final boolean[] used = new boolean[cols];
+    int count = 0;
+    for (final int j : assignments) {
+      if (j >= 0) {
+        Assertions.assertFalse(used[j]);
+        used[j] = true;
+        count++;
+      }
+    }
+    Assertions.assertEquals(Math.min(rows, cols), count);
+  }
+
+  static long totalCost(int[][] cost, int[] assignments) {
+    long sum = 0;
+    for (int i = 0; i < assignments.length; i++) {
+      if (assignments[i] >= 0) {
+        sum += cost[i][assignments[i]];
+      }
+    }
+    return sum;
+  }
+
+  static long totalCost(int[][] cost, int[] assignments, int[] rowCost, int[] colCost) {
+    long sum = 0;
+    final boolean[] used = new boolean[colCost.length];
+    for (int i = 0; i < assignments.length; i++) {
+      final int j = assignments[i];
+      if (j >= 0) {
+        Assertions.assertFalse(used[j]);
+        used[j] = true;
+        sum += cost[i][j];
+      } else {
+        sum += rowCost[i];
+      }
+    }
+    for (int j = 0; j < used.length; j++) {
+      if (!used[j]) {
+        sum += colCost[j];
+      }
+    }
+    return sum;
+  }
+
+  /**
+   * Compute the minimum cost of assigning min(rows, columns) pairs by enumeration.
+   */
+  static long bruteForce(int[][] cost) {
+    final int rows = cost.length;
+    final int cols = cost[0].length;
+    return bruteForce(cost, 0, new boolean[cols], Math.max(0, rows - cols));
+  }
+
+  private static long bruteForce(int[][] cost, int row, boolean[] used, int skips) {
+    if (row == cost.length) {
+      return 0;
+    }
+    long min = Long.MAX_VALUE;
+    if (skips > 0) {
+      min = bruteForce(cost, row + 1, used, skips - 1);
+    }
+    for (int j = 0; j < used.length; j++) {
+      if (!used[j]) {
+        used[j] = true;
+        final long c = bruteForce(cost, row + 1, used, skips);
+        if (c != Long.MAX_VALUE) {
+          min = Math.min(min, cost[row][j] + c);
+        }
+        used[j] = false;
+      }
+    }
+    return min;
+  }
+
+  /**
+   * Compute the minimum cost of assignment with a cost for unassigned rows and columns by
+   * enumeration.
+   */
+  static long bruteForce(int[][] cost, int[] rowCost, int[] colCost) {
+    return bruteForce(cost, rowCost, colCost, 0, new boolean[colCost.length]);
+  }
+
+  private static long bruteForce(int[][] cost, int[] rowCost, int[] colCost, int row,
+      boolean[] used) {
+    if (row == cost.length) {
+      long sum = 0;
+      for (int j = 0; j < used.length; j++) {
+        if (!used[j]) {
+          sum += colCost[j];
+        }
+      }
+      return sum;
+    }
+    long min = rowCost[row] + bruteForce(cost, rowCost, colCost, row + 1, used);
+    for (int j = 0; j < used.length; j++) {
+      if (!used[j]) {
+        used[j] = true;
+        min = Math.min(min, cost[row][j] + bruteForce(cost, rowCost, colCost, row + 1, used));
+        used[j] = false;
+      }
+    }
+    return min;
+  }
+}
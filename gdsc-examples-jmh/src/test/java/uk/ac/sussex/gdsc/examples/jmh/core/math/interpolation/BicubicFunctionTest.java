@@ -0,0 +1,115 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for the custom bicubic functions.
+ */
+@SuppressWarnings({"javadoc"})
+class BicubicFunctionTest {
+  @Test
+  void testBicubicValue() {
+    final SplittableRandom rng = new SplittableRandom(87612387L);
+    final double[] coeff = rng.doubles(16, -10, 10).toArray();
+    // The tricubic function at z=0 is the bicubic function
+    final DoubleCustomTricubicFunctionArray reference =
+        new DoubleCustomTricubicFunctionArray(Arrays.copyOf(coeff, 64));
+    final float[] fcoeff = new float[16];
+    for (int i = 0; i < 16; i++) {
+      fcoeff[i] = (float) coeff[i];
+    }
+    final DoubleCustomBicubicFunctionArray f1 = new DoubleCustomBicubicFunctionArray(coeff);
+    final FloatCustomBicubicFunctionArray f2 = new FloatCustomBicubicFunctionArray(fcoeff);
+    final DoubleCustomBicubicFunctionData f3 =
+        new DoubleCustomBicubicFunctionData(new DoubleBicubicSplineData(coeff));
+    final CubicSplinePosition z = new CubicSplinePosition(0);
+    for (int n = 0; n < 10; n++) {
+      final CubicSplinePosition x = new CubicSplinePosition(n == 0 ? 0 : rng.nextDouble());
+      final CubicSplinePosition y = new CubicSplinePosition(n == 0 ? 0 : rng.nextDouble());
+      final double[] e1 = new double[3];
+      final double[] e2 = new double[3];
+      final double expected = reference.value(TricubicFunctionTest.powerTable(x, y, z), e1, e2);
+      final double[] px = {x.x1, x.x2, x.x3};
+      final double[] py = {y.x1, y.x2, y.x3};
+      final double[] table = Arrays.copyOf(TricubicFunctionTest.powerTable(x, y, z), 16);
+      final double[] table2 = TricubicFunctionTest.scale(table, 2);
+      final double[] table3 = TricubicFunctionTest.scale(table, 3);
+      final double[] table6 = TricubicFunctionTest.scale(table, 6);
+      final DoubleBicubicSplineData data = new DoubleBicubicSplineData(x, y);
+      final FloatBicubicSplineData dataF = new FloatBicubicSplineData(x, y);
+      Assertions.assertEquals(table[9], data.x1y2);
+      Assertions.assertEquals((float) table[9], dataF.x1y2);
+      final double[] d1 = new double[2];
+      final double[] d2 = new double[2];
+      // Double coefficients
+      TricubicFunctionTest.assertEquals(expected, f1.value0(px, py), 1e-12);
+      TricubicFunctionTest.assertEquals(expected, f1.value1(px, py, d1), 1e-12);
+      assertBicubicGradient(e1, d1, 1e-12);
+      TricubicFunctionTest.assertEquals(expected, f1.value2(px, py, d1, d2), 1e-12);
+      assertBicubicGradient(e1, d1, 1e-12);
+      assertBicubicGradient(e2, d2, 1e-12);
+      TricubicFunctionTest.assertEquals(expected, f1.value(table), 1e-12);
+      TricubicFunctionTest.assertEquals(expected, f1.value(table, d1), 1e-12);
+      assertBicubicGradient(e1, d1, 1e-12);
+      TricubicFunctionTest.assertEquals(expected, f1.value(table, table2, table3, d1), 1e-12);
+      assertBicubicGradient(e1, d1, 1e-12);
+      TricubicFunctionTest.assertEquals(expected, f1.value(table, d1, d2), 1e-12);
+      assertBicubicGradient(e1, d1, 1e-12);
+      assertBicubicGradient(e2, d2, 1e-12);
+      TricubicFunctionTest.assertEquals(expected,
+          f1.value(table, table2, table3, table6, d1, d2), 1e-12);
+      assertBicubicGradient(e1, d1, 1e-12);
+      assertBicubicGradient(e2, d2, 1e-12);
+      // Data layout
+      TricubicFunctionTest.assertEquals(expected, f3.value0(x, y), 1e-12);
+      TricubicFunctionTest.assertEquals(expected, f3.value2(x, y, d1, d2), 1e-12);
+      assertBicubicGradient(e1, d1, 1e-12);
+      assertBicubicGradient(e2, d2, 1e-12);
+      TricubicFunctionTest.assertEquals(expected,
+          f3.value(data, data.scale(2), data.scale(3), data.scale(6), d1, d2), 1e-12);
+      assertBicubicGradient(e1, d1, 1e-12);
+      assertBicubicGradient(e2, d2, 1e-12);
+      // Float coefficients and tables
+      Assertions.assertEquals(expected, f2.value2(px, py, d1, d2), 1e-4);
+      assertBicubicGradient(e1, d1, 1e-3);
+      assertBicubicGradient(e2, d2, 1e-3);
+      Assertions.assertEquals(expected, f3.value(dataF, d1, d2), 1e-4);
+      assertBicubicGradient(e1, d1, 1e-3);
+      assertBicubicGradient(e2, d2, 1e-3);
+    }
+    TricubicFunctionTest.assertEquals(coeff[0], f1.value00(), 0);
+  }
+
+  private static void assertBicubicGradient(double[] expected, double[] actual,
+      double relativeError) {
+    for (int i = 0; i < 2; i++) {
+      Assertions.assertEquals(expected[i], actual[i],
+          Math.max(1, Math.abs(expected[i])) * relativeError);
+    }
+  }
+}
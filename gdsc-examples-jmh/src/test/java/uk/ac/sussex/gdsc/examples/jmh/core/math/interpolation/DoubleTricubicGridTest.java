@@ -0,0 +1,166 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link DoubleTricubicGrid}.
+ */
+@SuppressWarnings({"javadoc"})
+class DoubleTricubicGridTest {
+  @Test
+  void testGridThrows() {
+    final double[] c = new double[64 * 6];
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new DoubleTricubicGrid(0, 2, 3, c));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new DoubleTricubicGrid(1, 2, 2, c));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> DoubleTricubicGrid.create(1, 2, 3, new double[5][64]));
+    final DoubleTricubicGrid grid = new DoubleTricubicGrid(1, 2, 3, c);
+    Assertions.assertThrows(OutOfRangeException.class, () -> grid.value(-0.5, 0, 0));
+    Assertions.assertThrows(OutOfRangeException.class, () -> grid.value(0, 2.5, 0));
+    Assertions.assertThrows(OutOfRangeException.class, () -> grid.value(0, 0, Double.NaN));
+  }
+
+  @Test
+  void testGridValue() {
+    final SplittableRandom rng = new SplittableRandom(2368712L);
+    final int maxx = 3;
+    final int maxy = 4;
+    final int maxz = 2;
+    final double[][] nodes = new double[maxx * maxy * maxz][];
+    final DoubleCustomTricubicFunctionArray[] f =
+        new DoubleCustomTricubicFunctionArray[nodes.length];
+    for (int i = 0; i < nodes.length; i++) {
+      nodes[i] = TricubicFunctionTest.createCoefficients(rng);
+      f[i] = new DoubleCustomTricubicFunctionArray(nodes[i]);
+    }
+    final DoubleTricubicGrid grid = DoubleTricubicGrid.create(maxx, maxy, maxz, nodes);
+    final double[] d1 = new double[3];
+    final double[] d2 = new double[3];
+    for (int n = 0; n < 50; n++) {
+      final double x = rng.nextDouble() * maxx;
+      final double y = rng.nextDouble() * maxy;
+      final double z = rng.nextDouble() * maxz;
+      final int i = (int) x;
+      final int j = (int) y;
+      final int k = (int) z;
+      final DoubleCustomTricubicFunctionArray node = f[i + maxx * (j + maxy * k)];
+      final double[] px = TricubicFunctionTest.powers(x - i);
+      final double[] py = TricubicFunctionTest.powers(y - j);
+      final double[] pz = TricubicFunctionTest.powers(z - k);
+      TricubicFunctionTest.assertEquals(node.value0(px, py, pz), grid.value(x, y, z), 1e-12);
+      final double expected = node.value1(px, py, pz, d1);
+      TricubicFunctionTest.assertEquals(expected, grid.value(x, y, z, d2), 1e-12);
+      for (int m = 0; m < 3; m++) {
+        TricubicFunctionTest.assertEquals(d1[m], d2[m], 1e-12);
+      }
+    }
+    // Upper bound is within the last node
+    final DoubleCustomTricubicFunctionArray node = f[f.length - 1];
+    final double[] p = {1, 1, 1};
+    TricubicFunctionTest.assertEquals(node.value0(p, p, p), grid.value(maxx, maxy, maxz), 1e-12);
+  }
+
+  @Test
+  void testMortonGrid() throws IOException {
+    Assertions.assertEquals(0, DoubleTricubicGrid.morton(0, 0, 0));
+    Assertions.assertEquals(1, DoubleTricubicGrid.morton(1, 0, 0));
+    Assertions.assertEquals(2, DoubleTricubicGrid.morton(0, 1, 0));
+    Assertions.assertEquals(4, DoubleTricubicGrid.morton(0, 0, 1));
+    Assertions.assertEquals(0b111000, DoubleTricubicGrid.morton(2, 2, 2));
+    Assertions.assertEquals((1 << 30) - 1, DoubleTricubicGrid.morton(1023, 1023, 1023));
+    // Bricks of 4x4x2 nodes: 1x2x2 bricks
+    Assertions.assertEquals(4 * 32 * 64, DoubleTricubicGrid.getCoefficientsLength(4, 5, 3,
+        DoubleTricubicGrid.Layout.MORTON));
+    // Only the edge bricks are padded
+    for (final int[] dim : new int[][] {{33, 33, 33}, {64, 64, 10}, {100, 100, 40},
+        {256, 256, 1}, {1024, 1, 1}, {1, 1, 1}, {2, 3, 1}}) {
+      final long rowMajor = DoubleTricubicGrid.getCoefficientsLength(dim[0], dim[1], dim[2],
+          DoubleTricubicGrid.Layout.ROW_MAJOR);
+      final long padded = DoubleTricubicGrid.getCoefficientsLength(dim[0], dim[1], dim[2],
+          DoubleTricubicGrid.Layout.MORTON);
+      Assertions.assertTrue(padded <= rowMajor * 1.5, () -> Arrays.toString(dim));
+    }
+    // Each node has a unique index
+    for (final int[] dim : new int[][] {{4, 5, 3}, {7, 6, 1}, {9, 2, 5}}) {
+      final DoubleTricubicGrid g = new DoubleTricubicGrid(dim[0], dim[1], dim[2],
+          new double[(int) DoubleTricubicGrid.getCoefficientsLength(dim[0], dim[1], dim[2],
+              DoubleTricubicGrid.Layout.MORTON)],
+          DoubleTricubicGrid.Layout.MORTON);
+      final BitSet used = new BitSet();
+      for (int k = 0; k < dim[2]; k++) {
+        for (int j = 0; j < dim[1]; j++) {
+          for (int i = 0; i < dim[0]; i++) {
+            final int index = g.index(i, j, k);
+            Assertions.assertEquals(0, index % 64);
+            Assertions.assertTrue(index < g.getCoefficients().length);
+            Assertions.assertFalse(used.get(index / 64));
+            used.set(index / 64);
+          }
+        }
+      }
+    }
+
+    final SplittableRandom rng = new SplittableRandom(891237L);
+    final int maxx = 4;
+    final int maxy = 5;
+    final int maxz = 3;
+    final double[][] nodes = new double[maxx * maxy * maxz][];
+    for (int i = 0; i < nodes.length; i++) {
+      nodes[i] = TricubicFunctionTest.createCoefficients(rng);
+    }
+    final DoubleTricubicGrid grid = DoubleTricubicGrid.create(maxx, maxy, maxz, nodes);
+    final DoubleTricubicGrid morton =
+        DoubleTricubicGrid.create(maxx, maxy, maxz, nodes, DoubleTricubicGrid.Layout.MORTON);
+    Assertions.assertEquals(DoubleTricubicGrid.Layout.MORTON, morton.getLayout());
+    final double[] d1 = new double[3];
+    final double[] d2 = new double[3];
+    for (int n = 0; n < 50; n++) {
+      final double x = rng.nextDouble() * maxx;
+      final double y = rng.nextDouble() * maxy;
+      final double z = rng.nextDouble() * maxz;
+      Assertions.assertEquals(grid.value(x, y, z, d1), morton.value(x, y, z, d2));
+      Assertions.assertArrayEquals(d1, d2);
+    }
+    // The file is written in row-major order
+    final Path path = Files.createTempFile("grid", ".bin");
+    try {
+      TricubicGridFile.write(morton, path, false);
+      Assertions.assertArrayEquals(grid.getCoefficients(),
+          TricubicGridFile.read(path).getCoefficients());
+    } finally {
+      Files.delete(path);
+    }
+  }
+}
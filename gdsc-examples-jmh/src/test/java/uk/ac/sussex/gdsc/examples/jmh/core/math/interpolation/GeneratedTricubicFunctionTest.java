@@ -0,0 +1,518 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import uk.ac.sussex.gdsc.core.utils.SimpleArrayUtils;
+
+/**
+ * Test for the generated tricubic functions and the generated function matrix.
+ */
+@SuppressWarnings({"javadoc"})
+class GeneratedTricubicFunctionTest {
+  /** Delta for kernels using double precision powers. */
+  private static final double DELTA = 1e-9;
+  /** Delta for kernels using single precision powers. */
+  private static final double FLOAT_DELTA = 1e-3;
+
+  /**
+   * Evaluate a kernel computing the value and optionally the first and second order partial
+   * derivatives.
+   */
+  private interface Evaluator {
+    double value(double[] d1, double[] d2);
+  }
+
+  /**
+   * A kernel of a function. The order is: 0 = value; 1 = gradient; 2 = second derivatives; 3 =
+   * Hessian.
+   */
+  private static final class Kernel {
+    final String name;
+    final int order;
+    final double delta;
+    final Evaluator evaluator;
+
+    Kernel(String name, int order, double delta, Evaluator evaluator) {
+      this.name = name;
+      this.order = order;
+      this.delta = delta;
+      this.evaluator = evaluator;
+    }
+  }
+
+  /**
+   * The powers of a sample position in each form used by the functions.
+   */
+  private static final class Sample {
+    final double[] point;
+    final CubicSplinePosition x;
+    final CubicSplinePosition y;
+    final CubicSplinePosition z;
+    final MutableCubicSplinePosition mx;
+    final MutableCubicSplinePosition my;
+    final MutableCubicSplinePosition mz;
+    final double[] px;
+    final double[] py;
+    final double[] pz;
+    final float[] fpx;
+    final float[] fpy;
+    final float[] fpz;
+    final double[][] table = new double[4][];
+    final float[][] ftable = new float[4][];
+    final DoubleCubicSplineData[] data = new DoubleCubicSplineData[4];
+    final FloatCubicSplineData[] fdata = new FloatCubicSplineData[4];
+
+    Sample(SplittableRandom rng) {
+      point = new double[] {rng.nextDouble(), rng.nextDouble(), rng.nextDouble()};
+      x = new CubicSplinePosition(point[0]);
+      y = new CubicSplinePosition(point[1]);
+      z = new CubicSplinePosition(point[2]);
+      mx = new MutableCubicSplinePosition().set(point[0]);
+      my = new MutableCubicSplinePosition().set(point[1]);
+      mz = new MutableCubicSplinePosition().set(point[2]);
+      px = TricubicFunctionTest.powers(point[0]);
+      py = TricubicFunctionTest.powers(point[1]);
+      pz = TricubicFunctionTest.powers(point[2]);
+      fpx = SimpleArrayUtils.toFloat(px);
+      fpy = SimpleArrayUtils.toFloat(py);
+      fpz = SimpleArrayUtils.toFloat(pz);
+      // The tables scaled by 1, 2, 3 and 6
+      final double[] scale = {1, 2, 3, 6};
+      final double[] t = TricubicFunctionTest.powerTable(x, y, z);
+      final DoubleCubicSplineData d = new DoubleCubicSplineData(x, y, z);
+      final FloatCubicSplineData f = new FloatCubicSplineData(x, y, z);
+      for (int i = 0; i < 4; i++) {
+        table[i] = TricubicFunctionTest.scale(t, scale[i]);
+        ftable[i] = SimpleArrayUtils.toFloat(table[i]);
+        data[i] = d.scale(scale[i]);
+        fdata[i] = f.scale(scale[i]);
+      }
+    }
+  }
+
+  @Test
+  void testGeneratedFunctions() {
+    final SplittableRandom rng = new SplittableRandom(7612381L);
+    // Use coefficients exactly representable as a float so all storage matches the reference
+    final float[] fcoeff = SimpleArrayUtils.toFloat(TricubicFunctionTest.createCoefficients(rng));
+    final double[] coeff = toDouble(fcoeff);
+    final DoubleCustomTricubicFunctionArray f1 = new DoubleCustomTricubicFunctionArray(coeff);
+    final DoubleCustomTricubicFunctionData f2 =
+        new DoubleCustomTricubicFunctionData(new DoubleCubicSplineData(coeff));
+    final FloatCustomTricubicFunctionArray f3 = new FloatCustomTricubicFunctionArray(fcoeff);
+    final FloatCustomTricubicFunctionData f4 =
+        new FloatCustomTricubicFunctionData(new FloatCubicSplineData(fcoeff));
+    for (int n = 0; n < 10; n++) {
+      final Sample s = new Sample(rng);
+      final List<Kernel> kernels = new ArrayList<>();
+      addKernels(kernels, f1, s);
+      addKernels(kernels, f2, s);
+      addKernels(kernels, f3, s);
+      addKernels(kernels, f4, s);
+      for (final Kernel kernel : kernels) {
+        assertKernel(coeff, s.point, kernel);
+      }
+    }
+  }
+
+  @Test
+  void testValue000() {
+    final SplittableRandom rng = new SplittableRandom(2376123L);
+    final double[] coeff = TricubicFunctionTest.createCoefficients(rng);
+    final DoubleCustomTricubicFunctionData f =
+        new DoubleCustomTricubicFunctionData(new DoubleCubicSplineData(coeff));
+    final double[] origin = new double[3];
+    final double[] d1 = new double[3];
+    final double[] d2 = new double[3];
+    Assertions.assertEquals(coeff[0], f.value000());
+    Assertions.assertEquals(coeff[0], f.value000(d1));
+    Assertions.assertArrayEquals(new double[] {coeff[1], coeff[4], coeff[16]}, d1);
+    Assertions.assertEquals(coeff[0], f.value000(d1, d2));
+    for (int i = 0; i < 3; i++) {
+      Assertions.assertEquals(derivative(coeff, origin, unit(i, 1)), d1[i]);
+      Assertions.assertEquals(derivative(coeff, origin, unit(i, 2)), d2[i]);
+    }
+  }
+
+  @Test
+  void testMatrix() {
+    final SplittableRandom rng = new SplittableRandom(9812763L);
+    final double[][] nodes = new double[3][];
+    for (int i = 0; i < nodes.length; i++) {
+      nodes[i] = toDouble(SimpleArrayUtils.toFloat(TricubicFunctionTest.createCoefficients(rng)));
+    }
+    final Sample[] samples = new Sample[5];
+    final CubicSplinePosition[] x = new CubicSplinePosition[samples.length];
+    final CubicSplinePosition[] y = new CubicSplinePosition[samples.length];
+    final CubicSplinePosition[] z = new CubicSplinePosition[samples.length];
+    for (int i = 0; i < samples.length; i++) {
+      samples[i] = new Sample(rng);
+      x[i] = samples[i].x;
+      y[i] = samples[i].y;
+      z[i] = samples[i].z;
+    }
+    for (final TricubicFunctionMatrix.Precision coefficients : TricubicFunctionMatrix.Precision
+        .values()) {
+      for (final TricubicFunctionMatrix.Layout layout : TricubicFunctionMatrix.Layout.values()) {
+        for (final TricubicFunctionMatrix.Precision table : TricubicFunctionMatrix.Precision
+            .values()) {
+          final TricubicFunctionMatrix matrix =
+              TricubicFunctionMatrix.create(coefficients, layout, table, nodes, x, y, z);
+          final double delta =
+              table == TricubicFunctionMatrix.Precision.FLOAT ? FLOAT_DELTA : DELTA;
+          for (int i = 0; i < nodes.length; i++) {
+            for (int j = 0; j < samples.length; j++) {
+              final int function = i;
+              final int sample = j;
+              final String name = coefficients + " " + layout + " " + table;
+              final double[] coeff = nodes[i];
+              final double[] point = samples[j].point;
+              assertKernel(coeff, point, new Kernel(name, 0, delta,
+                  (a, b) -> matrix.value(function, sample)));
+              assertKernel(coeff, point, new Kernel(name, 1, delta,
+                  (a, b) -> matrix.value(function, sample, a)));
+              assertKernel(coeff, point, new Kernel(name, 2, delta,
+                  (a, b) -> matrix.value(function, sample, a, b)));
+              assertKernel(coeff, point, new Kernel(name, 3, delta,
+                  (a, b) -> matrix.valueHessian(function, sample, a, b)));
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private static void addKernels(List<Kernel> list, DoubleCustomTricubicFunctionArray f,
+      Sample s) {
+    final String name = "DoubleArray ";
+    list.add(new Kernel(name + "value0(double[])", 0, DELTA, (a, b) -> f.value0(s.px, s.py, s.pz)));
+    list.add(new Kernel(name + "value1(double[])", 1, DELTA,
+        (a, b) -> f.value1(s.px, s.py, s.pz, a)));
+    list.add(new Kernel(name + "value2(double[])", 2, DELTA,
+        (a, b) -> f.value2(s.px, s.py, s.pz, a, b)));
+    list.add(new Kernel(name + "value0(position)", 0, DELTA, (a, b) -> f.value0(s.x, s.y, s.z)));
+    list.add(new Kernel(name + "value1(position)", 1, DELTA,
+        (a, b) -> f.value1(s.x, s.y, s.z, a)));
+    list.add(new Kernel(name + "value2(position)", 2, DELTA,
+        (a, b) -> f.value2(s.x, s.y, s.z, a, b)));
+    list.add(new Kernel(name + "value(position)", 0, DELTA, (a, b) -> f.value(s.x, s.y, s.z)));
+    list.add(new Kernel(name + "value(mutable)", 0, DELTA, (a, b) -> f.value(s.mx, s.my, s.mz)));
+    final double[][] dt = s.table;
+    addTableKernels(list, name + "double[] ", DELTA,
+        (a, b) -> f.value(dt[0]),
+        (a, b) -> f.value(dt[0], a),
+        (a, b) -> f.value(dt[0], a, b),
+        (a, b) -> f.valueHessian(dt[0], a, b),
+        (a, b) -> {
+          f.gradient(dt[0], a);
+          return f.value(dt[0]);
+        },
+        (a, b) -> f.valueLanes(dt[0]),
+        (a, b) -> f.valueLanes(dt[0], a),
+        (a, b) -> f.value(dt[0], TricubicKernel.LANES),
+        (a, b) -> f.value(dt[0], a, TricubicKernel.LANES),
+        (a, b) -> f.value(dt[0], dt[1], dt[2], a),
+        (a, b) -> f.value(dt[0], dt[1], dt[2], dt[3], a, b),
+        (a, b) -> f.valueHessian(dt[0], dt[1], dt[2], dt[3], a, b));
+    final float[][] ft = s.ftable;
+    addTableKernels(list, name + "float[] ", FLOAT_DELTA,
+        (a, b) -> f.value(ft[0]),
+        (a, b) -> f.value(ft[0], a),
+        (a, b) -> f.value(ft[0], a, b),
+        (a, b) -> f.valueHessian(ft[0], a, b),
+        (a, b) -> {
+          f.gradient(ft[0], a);
+          return f.value(ft[0]);
+        },
+        (a, b) -> f.valueLanes(ft[0]),
+        (a, b) -> f.valueLanes(ft[0], a),
+        (a, b) -> f.value(ft[0], TricubicKernel.LANES),
+        (a, b) -> f.value(ft[0], a, TricubicKernel.LANES),
+        (a, b) -> f.value(ft[0], ft[1], ft[2], a),
+        (a, b) -> f.value(ft[0], ft[1], ft[2], ft[3], a, b),
+        (a, b) -> f.valueHessian(ft[0], ft[1], ft[2], ft[3], a, b));
+  }
+
+  private static void addKernels(List<Kernel> list, DoubleCustomTricubicFunctionData f,
+      Sample s) {
+    final String name = "DoubleData ";
+    list.add(new Kernel(name + "value0(double[])", 0, DELTA, (a, b) -> f.value0(s.px, s.py, s.pz)));
+    list.add(new Kernel(name + "value1(double[])", 1, DELTA,
+        (a, b) -> f.value1(s.px, s.py, s.pz, a)));
+    list.add(new Kernel(name + "value2(double[])", 2, DELTA,
+        (a, b) -> f.value2(s.px, s.py, s.pz, a, b)));
+    list.add(new Kernel(name + "value0(position)", 0, DELTA, (a, b) -> f.value0(s.x, s.y, s.z)));
+    list.add(new Kernel(name + "value1(position)", 1, DELTA,
+        (a, b) -> f.value1(s.x, s.y, s.z, a)));
+    list.add(new Kernel(name + "value2(position)", 2, DELTA,
+        (a, b) -> f.value2(s.x, s.y, s.z, a, b)));
+    list.add(new Kernel(name + "value(position)", 0, DELTA, (a, b) -> f.value(s.x, s.y, s.z)));
+    list.add(new Kernel(name + "value(mutable)", 0, DELTA, (a, b) -> f.value(s.mx, s.my, s.mz)));
+    final DoubleCubicSplineData[] dd = s.data;
+    addTableKernels(list, name + "double data ", DELTA,
+        (a, b) -> f.value(dd[0]),
+        (a, b) -> f.value(dd[0], a),
+        (a, b) -> f.value(dd[0], a, b),
+        (a, b) -> f.valueHessian(dd[0], a, b),
+        (a, b) -> {
+          f.gradient(dd[0], a);
+          return f.value(dd[0]);
+        },
+        (a, b) -> f.valueLanes(dd[0]),
+        (a, b) -> f.valueLanes(dd[0], a),
+        (a, b) -> f.value(dd[0], TricubicKernel.LANES),
+        (a, b) -> f.value(dd[0], a, TricubicKernel.LANES),
+        (a, b) -> f.value(dd[0], dd[1], dd[2], a),
+        (a, b) -> f.value(dd[0], dd[1], dd[2], dd[3], a, b),
+        (a, b) -> f.valueHessian(dd[0], dd[1], dd[2], dd[3], a, b));
+    final FloatCubicSplineData[] fd = s.fdata;
+    addTableKernels(list, name + "float data ", FLOAT_DELTA,
+        (a, b) -> f.value(fd[0]),
+        (a, b) -> f.value(fd[0], a),
+        (a, b) -> f.value(fd[0], a, b),
+        (a, b) -> f.valueHessian(fd[0], a, b),
+        (a, b) -> {
+          f.gradient(fd[0], a);
+          return f.value(fd[0]);
+        },
+        (a, b) -> f.valueLanes(fd[0]),
+        (a, b) -> f.valueLanes(fd[0], a),
+        (a, b) -> f.value(fd[0], TricubicKernel.LANES),
+        (a, b) -> f.value(fd[0], a, TricubicKernel.LANES),
+        (a, b) -> f.value(fd[0], fd[1], fd[2], a),
+        (a, b) -> f.value(fd[0], fd[1], fd[2], fd[3], a, b),
+        (a, b) -> f.valueHessian(fd[0], fd[1], fd[2], fd[3], a, b));
+  }
+
+  private static void addKernels(List<Kernel> list, FloatCustomTricubicFunctionArray f,
+      Sample s) {
+    final String name = "FloatArray ";
+    list.add(new Kernel(name + "value0(double[])", 0, DELTA, (a, b) -> f.value0(s.px, s.py, s.pz)));
+    list.add(new Kernel(name + "value1(double[])", 1, DELTA,
+        (a, b) -> f.value1(s.px, s.py, s.pz, a)));
+    list.add(new Kernel(name + "value2(double[])", 2, DELTA,
+        (a, b) -> f.value2(s.px, s.py, s.pz, a, b)));
+    list.add(new Kernel(name + "value0(float[])", 0, FLOAT_DELTA,
+        (a, b) -> f.value0(s.fpx, s.fpy, s.fpz)));
+    list.add(new Kernel(name + "value1(float[])", 1, FLOAT_DELTA,
+        (a, b) -> f.value1(s.fpx, s.fpy, s.fpz, a)));
+    list.add(new Kernel(name + "value2(float[])", 2, FLOAT_DELTA,
+        (a, b) -> f.value2(s.fpx, s.fpy, s.fpz, a, b)));
+    list.add(new Kernel(name + "value0(position)", 0, DELTA, (a, b) -> f.value0(s.x, s.y, s.z)));
+    list.add(new Kernel(name + "value1(position)", 1, DELTA,
+        (a, b) -> f.value1(s.x, s.y, s.z, a)));
+    list.add(new Kernel(name + "value2(position)", 2, DELTA,
+        (a, b) -> f.value2(s.x, s.y, s.z, a, b)));
+    list.add(new Kernel(name + "value(position)", 0, DELTA, (a, b) -> f.value(s.x, s.y, s.z)));
+    list.add(new Kernel(name + "value(mutable)", 0, DELTA, (a, b) -> f.value(s.mx, s.my, s.mz)));
+    final double[][] dt = s.table;
+    addTableKernels(list, name + "double[] ", DELTA,
+        (a, b) -> f.value(dt[0]),
+        (a, b) -> f.value(dt[0], a),
+        (a, b) -> f.value(dt[0], a, b),
+        (a, b) -> f.valueHessian(dt[0], a, b),
+        (a, b) -> {
+          f.gradient(dt[0], a);
+          return f.value(dt[0]);
+        },
+        (a, b) -> f.valueLanes(dt[0]),
+        (a, b) -> f.valueLanes(dt[0], a),
+        (a, b) -> f.value(dt[0], TricubicKernel.LANES),
+        (a, b) -> f.value(dt[0], a, TricubicKernel.LANES),
+        (a, b) -> f.value(dt[0], dt[1], dt[2], a),
+        (a, b) -> f.value(dt[0], dt[1], dt[2], dt[3], a, b),
+        (a, b) -> f.valueHessian(dt[0], dt[1], dt[2], dt[3], a, b));
+    final float[][] ft = s.ftable;
+    addTableKernels(list, name + "float[] ", FLOAT_DELTA,
+        (a, b) -> f.value(ft[0]),
+        (a, b) -> f.value(ft[0], a),
+        (a, b) -> f.value(ft[0], a, b),
+        (a, b) -> f.valueHessian(ft[0], a, b),
+        (a, b) -> {
+          f.gradient(ft[0], a);
+          return f.value(ft[0]);
+        },
+        (a, b) -> f.valueLanes(ft[0]),
+        (a, b) -> f.valueLanes(ft[0], a),
+        (a, b) -> f.value(ft[0], TricubicKernel.LANES),
+        (a, b) -> f.value(ft[0], a, TricubicKernel.LANES),
+        (a, b) -> f.value(ft[0], ft[1], ft[2], a),
+        (a, b) -> f.value(ft[0], ft[1], ft[2], ft[3], a, b),
+        (a, b) -> f.valueHessian(ft[0], ft[1], ft[2], ft[3], a, b));
+  }
+
+  private static void addKernels(List<Kernel> list, FloatCustomTricubicFunctionData f,
+      Sample s) {
+    final String name = "FloatData ";
+    list.add(new Kernel(name + "value0(double[])", 0, DELTA, (a, b) -> f.value0(s.px, s.py, s.pz)));
+    list.add(new Kernel(name + "value1(double[])", 1, DELTA,
+        (a, b) -> f.value1(s.px, s.py, s.pz, a)));
+    list.add(new Kernel(name + "value2(double[])", 2, DELTA,
+        (a, b) -> f.value2(s.px, s.py, s.pz, a, b)));
+    list.add(new Kernel(name + "value0(float[])", 0, FLOAT_DELTA,
+        (a, b) -> f.value0(s.fpx, s.fpy, s.fpz)));
+    list.add(new Kernel(name + "value1(float[])", 1, FLOAT_DELTA,
+        (a, b) -> f.value1(s.fpx, s.fpy, s.fpz, a)));
+    list.add(new Kernel(name + "value2(float[])", 2, FLOAT_DELTA,
+        (a, b) -> f.value2(s.fpx, s.fpy, s.fpz, a, b)));
+    list.add(new Kernel(name + "value0(position)", 0, DELTA, (a, b) -> f.value0(s.x, s.y, s.z)));
+    list.add(new Kernel(name + "value1(position)", 1, DELTA,
+        (a, b) -> f.value1(s.x, s.y, s.z, a)));
+    list.add(new Kernel(name + "value2(position)", 2, DELTA,
+        (a, b) -> f.value2(s.x, s.y, s.z, a, b)));
+    list.add(new Kernel(name + "value(position)", 0, DELTA, (a, b) -> f.value(s.x, s.y, s.z)));
+    list.add(new Kernel(name + "value(mutable)", 0, DELTA, (a, b) -> f.value(s.mx, s.my, s.mz)));
+    final DoubleCubicSplineData[] dd = s.data;
+    addTableKernels(list, name + "double data ", DELTA,
+        (a, b) -> f.value(dd[0]),
+        (a, b) -> f.value(dd[0], a),
+        (a, b) -> f.value(dd[0], a, b),
+        (a, b) -> f.valueHessian(dd[0], a, b),
+        (a, b) -> {
+          f.gradient(dd[0], a);
+          return f.value(dd[0]);
+        },
+        (a, b) -> f.valueLanes(dd[0]),
+        (a, b) -> f.valueLanes(dd[0], a),
+        (a, b) -> f.value(dd[0], TricubicKernel.LANES),
+        (a, b) -> f.value(dd[0], a, TricubicKernel.LANES),
+        (a, b) -> f.value(dd[0], dd[1], dd[2], a),
+        (a, b) -> f.value(dd[0], dd[1], dd[2], dd[3], a, b),
+        (a, b) -> f.valueHessian(dd[0], dd[1], dd[2], dd[3], a, b));
+    final FloatCubicSplineData[] fd = s.fdata;
+    addTableKernels(list, name + "float data ", FLOAT_DELTA,
+        (a, b) -> f.value(fd[0]),
+        (a, b) -> f.value(fd[0], a),
+        (a, b) -> f.value(fd[0], a, b),
+        (a, b) -> f.valueHessian(fd[0], a, b),
+        (a, b) -> {
+          f.gradient(fd[0], a);
+          return f.value(fd[0]);
+        },
+        (a, b) -> f.valueLanes(fd[0]),
+        (a, b) -> f.valueLanes(fd[0], a),
+        (a, b) -> f.value(fd[0], TricubicKernel.LANES),
+        (a, b) -> f.value(fd[0], a, TricubicKernel.LANES),
+        (a, b) -> f.value(fd[0], fd[1], fd[2], a),
+        (a, b) -> f.value(fd[0], fd[1], fd[2], fd[3], a, b),
+        (a, b) -> f.valueHessian(fd[0], fd[1], fd[2], fd[3], a, b));
+  }
+
+  // CHECKSTYLE.OFF: ParameterNumber
+
+  private static void addTableKernels(List<Kernel> list, String name, double delta,
+      Evaluator value, Evaluator value1, Evaluator value2, Evaluator valueHessian,
+      Evaluator gradient, Evaluator lanes, Evaluator lanes1, Evaluator kernel, Evaluator kernel1,
+      Evaluator scaled1, Evaluator scaled2, Evaluator scaledHessian) {
+    list.add(new Kernel(name + "value", 0, delta, value));
+    list.add(new Kernel(name + "value1", 1, delta, value1));
+    list.add(new Kernel(name + "value2", 2, delta, value2));
+    list.add(new Kernel(name + "valueHessian", 3, delta, valueHessian));
+    list.add(new Kernel(name + "gradient", 1, delta, gradient));
+    list.add(new Kernel(name + "valueLanes", 0, delta, lanes));
+    list.add(new Kernel(name + "valueLanes1", 1, delta, lanes1));
+    list.add(new Kernel(name + "value(kernel)", 0, delta, kernel));
+    list.add(new Kernel(name + "value1(kernel)", 1, delta, kernel1));
+    list.add(new Kernel(name + "value1(scaled)", 1, delta, scaled1));
+    list.add(new Kernel(name + "value2(scaled)", 2, delta, scaled2));
+    list.add(new Kernel(name + "valueHessian(scaled)", 3, delta, scaledHessian));
+  }
+
+  // CHECKSTYLE.ON: ParameterNumber
+
+  /**
+   * Assert the kernel computes the value and the partial derivatives of the given order.
+   * The expected values are computed by differentiating the polynomial term by term.
+   *
+   * @param coeff the coefficients
+   * @param point the point
+   * @param kernel the kernel
+   */
+  private static void assertKernel(double[] coeff, double[] point, Kernel kernel) {
+    final double[] d1 = new double[3];
+    final double[] d2 = new double[9];
+    final double value = kernel.evaluator.value(d1, d2);
+    Assertions.assertEquals(derivative(coeff, point, 0, 0, 0), value, kernel.delta,
+        () -> kernel.name + " value");
+    for (int i = 0; i < 3 && kernel.order > 0; i++) {
+      final int axis = i;
+      Assertions.assertEquals(derivative(coeff, point, unit(i, 1)), d1[i], kernel.delta,
+          () -> kernel.name + " derivative1[" + axis + "]");
+      if (kernel.order == 2) {
+        Assertions.assertEquals(derivative(coeff, point, unit(i, 2)), d2[i], kernel.delta,
+            () -> kernel.name + " derivative2[" + axis + "]");
+      } else if (kernel.order == 3) {
+        for (int j = 0; j < 3; j++) {
+          final int[] order = unit(i, 1);
+          order[j]++;
+          final int index = i * 3 + j;
+          Assertions.assertEquals(derivative(coeff, point, order), d2[index], kernel.delta,
+              () -> kernel.name + " hessian[" + index + "]");
+        }
+      }
+    }
+  }
+
+  /**
+   * Compute the partial derivative of the polynomial by differentiating each term.
+   *
+   * @param coeff the coefficients
+   * @param point the point
+   * @param order the order of the derivative with respect to x, y and z
+   * @return the derivative
+   */
+  private static double derivative(double[] coeff, double[] point, int... order) {
+    double sum = 0;
+    for (int m = 0; m < 64; m++) {
+      final int[] power = {m & 3, (m >> 2) & 3, m >> 4};
+      double term = coeff[m];
+      for (int k = 0; k < 3; k++) {
+        for (int o = 0; o < order[k]; o++) {
+          term *= power[k] - o;
+        }
+        term *= Math.pow(point[k], Math.max(0, power[k] - order[k]));
+      }
+      sum += term;
+    }
+    return sum;
+  }
+
+  private static double[] toDouble(float[] values) {
+    final double[] result = new double[values.length];
+    for (int i = 0; i < values.length; i++) {
+      result[i] = values[i];
+    }
+    return result;
+  }
+
+  private static int[] unit(int axis, int order) {
+    final int[] result = new int[3];
+    result[axis] = order;
+    return result;
+  }
+}
@@ -0,0 +1,86 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link HalfCustomTricubicFunctionArray}.
+ */
+@SuppressWarnings({"javadoc"})
+class HalfCustomTricubicFunctionArrayTest {
+  @Test
+  void testHalfValueErrorBound() {
+    final SplittableRandom rng = new SplittableRandom(9812732L);
+    for (final HalfCustomTricubicFunctionArray.Format format : HalfCustomTricubicFunctionArray
+        .Format.values()) {
+      // Relative error of the coefficient encoding: half the unit of least precision,
+      // plus the rounding of the coefficient to float
+      final double u = (format == HalfCustomTricubicFunctionArray.Format.FP16 ? 0x1.0p-11
+          : 0x1.0p-8) + 0x1.0p-24;
+      double maxError = 0;
+      for (int n = 0; n < 200; n++) {
+        final double[] coeff = TricubicFunctionTest.createCoefficients(rng);
+        final double[] absCoeff = new double[64];
+        for (int i = 0; i < 64; i++) {
+          absCoeff[i] = Math.abs(coeff[i]);
+        }
+        final HalfCustomTricubicFunctionArray f =
+            HalfCustomTricubicFunctionArray.create(coeff, format);
+        Assertions.assertEquals(format, f.getFormat());
+        final DoubleCustomTricubicFunctionArray expectedF =
+            new DoubleCustomTricubicFunctionArray(coeff);
+        final DoubleCustomTricubicFunctionArray absF =
+            new DoubleCustomTricubicFunctionArray(absCoeff);
+        final double[] table = TricubicFunctionTest.powerTable(
+            new CubicSplinePosition(rng.nextDouble()), new CubicSplinePosition(rng.nextDouble()),
+            new CubicSplinePosition(rng.nextDouble()));
+        final float[] ftable = new float[64];
+        for (int i = 0; i < 64; i++) {
+          ftable[i] = (float) table[i];
+        }
+        final double[] d1 = new double[3];
+        final double[] absD1 = new double[3];
+        final double[] hd1 = new double[3];
+        final double expected = expectedF.value(table, d1);
+        final double absSum = absF.value(table, absD1);
+        final double error = Math.abs(f.value(table) - expected);
+        Assertions.assertTrue(error <= u * absSum, () -> format + " value error " + error);
+        // Float accumulation adds rounding of 16 * 2^-24 relative to the sum of terms
+        final double fe = Math.abs(f.value(ftable) - expected);
+        Assertions.assertTrue(fe <= (u + 0x1.0p-20) * absSum, () -> format + " float error " + fe);
+        Assertions.assertEquals(f.value(table), f.value(table, hd1), Math.abs(expected) * 1e-12);
+        for (int i = 0; i < 3; i++) {
+          final double e = Math.abs(hd1[i] - d1[i]);
+          Assertions.assertTrue(e <= u * absD1[i] + 1e-12, () -> format + " gradient error " + e);
+        }
+        maxError = Math.max(maxError, error / absSum);
+      }
+      // The encoding error is observed
+      final double max = maxError;
+      Assertions.assertTrue(max > u / 64, () -> format + " max error " + max);
+    }
+  }
+}
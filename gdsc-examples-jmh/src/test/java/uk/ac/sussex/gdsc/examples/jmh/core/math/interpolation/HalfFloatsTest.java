@@ -0,0 +1,62 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link HalfFloats}.
+ */
+@SuppressWarnings({"javadoc"})
+class HalfFloatsTest {
+  @Test
+  void testHalfFloats() {
+    for (final float v : new float[] {0, 1, -2, 0.5f, 1024, HalfFloats.MAX_HALF, 0x1.0p-14f,
+        0x1.0p-24f, -0x1.ff8p-15f}) {
+      Assertions.assertEquals(v, HalfFloats.fromHalf(HalfFloats.toHalf(v)));
+      Assertions.assertEquals(v, HalfFloats.fromFiniteHalf(HalfFloats.toHalf(v)));
+    }
+    for (final float v : new float[] {0, 1, -2, 0.5f, 1024, 0x1.0p-14f, 0x1.0p-24f, 0x1.0p-130f,
+        -0x1.fep100f}) {
+      Assertions.assertEquals(v, HalfFloats.fromBFloat16(HalfFloats.toBFloat16(v)));
+    }
+    Assertions.assertEquals(0x3c00, HalfFloats.toHalf(1));
+    Assertions.assertEquals((short) 0xc000, HalfFloats.toHalf(-2));
+    Assertions.assertEquals(0x7bff, HalfFloats.toHalf(HalfFloats.MAX_HALF));
+    Assertions.assertEquals(0x7c00, HalfFloats.toHalf(65520));
+    Assertions.assertEquals(0x0001, HalfFloats.toHalf(0x1.0p-24f));
+    Assertions.assertEquals(0, HalfFloats.toHalf(0x1.0p-26f));
+    Assertions.assertEquals(Float.POSITIVE_INFINITY, HalfFloats.fromHalf((short) 0x7c00));
+    Assertions.assertTrue(Float.isNaN(HalfFloats.fromHalf(HalfFloats.toHalf(Float.NaN))));
+    Assertions.assertTrue(Float.isNaN(HalfFloats.fromBFloat16(HalfFloats.toBFloat16(Float.NaN))));
+    // Ties to even
+    Assertions.assertEquals(0x3c00, HalfFloats.toHalf(1 + 0x1.0p-11f));
+    Assertions.assertEquals(0x3c02, HalfFloats.toHalf(1 + 0x3.0p-11f));
+    Assertions.assertEquals(0x3f80, HalfFloats.toBFloat16(1 + 0x1.0p-8f));
+    Assertions.assertEquals(0x3f82, HalfFloats.toBFloat16(1 + 0x3.0p-8f));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> HalfCustomTricubicFunctionArray.create(new double[] {1e5},
+            HalfCustomTricubicFunctionArray.Format.FP16));
+  }
+}
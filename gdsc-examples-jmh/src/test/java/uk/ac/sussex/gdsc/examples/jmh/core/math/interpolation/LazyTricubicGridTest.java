@@ -0,0 +1,103 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link LazyTricubicGrid}.
+ */
+@SuppressWarnings({"javadoc"})
+class LazyTricubicGridTest {
+  @Test
+  void testLazyGrid() {
+    final SplittableRandom rng = new SplittableRandom(8761234L);
+    final int nx = 5;
+    final int ny = 4;
+    final int nz = 6;
+    final double[] values = rng.doubles(nx * ny * nz).toArray();
+    final TricubicSplineBuilder builder = new TricubicSplineBuilder(nx, ny, nz, values);
+    final DoubleTricubicGrid grid = builder.build(null);
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new LazyTricubicGrid(builder, 0));
+    final LazyTricubicGrid lazy = new LazyTricubicGrid(builder, 7);
+    Assertions.assertEquals(7, lazy.getCapacity());
+    Assertions.assertEquals(0, lazy.size());
+    for (int n = 0; n < 200; n++) {
+      final double x = rng.nextDouble(nx - 1);
+      final double y = rng.nextDouble(ny - 1);
+      final double z = rng.nextDouble(nz - 1);
+      Assertions.assertEquals(grid.value(x, y, z), lazy.value(x, y, z), 1e-10);
+    }
+    Assertions.assertEquals(7, lazy.size());
+    Assertions.assertTrue(lazy.getMisses() > 7);
+    // Cached
+    final DoubleCustomTricubicFunctionData f = lazy.getFunction(1, 2, 3);
+    final long misses = lazy.getMisses();
+    Assertions.assertSame(f, lazy.getFunction(1, 2, 3));
+    Assertions.assertEquals(misses, lazy.getMisses());
+    // Capacity is limited by the number of nodes
+    Assertions.assertEquals(60, new LazyTricubicGrid(builder, 100).getCapacity());
+
+    // Evaluate concurrently with a small capacity so nodes are evicted while in use
+    final int size = 500;
+    final double[] x = new double[size];
+    final double[] y = new double[size];
+    final double[] z = new double[size];
+    final double[] expected = new double[size];
+    for (int i = 0; i < size; i++) {
+      x[i] = rng.nextDouble(nx - 1);
+      y[i] = rng.nextDouble(ny - 1);
+      z[i] = rng.nextDouble(nz - 1);
+      expected[i] = grid.value(x[i], y[i], z[i]);
+    }
+    final ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (final int capacity : new int[] {3, 60}) {
+        final LazyTricubicGrid shared = new LazyTricubicGrid(builder, capacity);
+        final double[][] results = new double[8][];
+        pool.submit(() -> IntStream.range(0, results.length).parallel()
+            .forEach(t -> {
+              final double[] r = new double[size];
+              // Each task uses a different order of the positions
+              for (int i = 0; i < size; i++) {
+                final int n = (i + t * 61) % size;
+                r[n] = shared.value(x[n], y[n], z[n]);
+              }
+              results[t] = r;
+            })).join();
+        for (final double[] r : results) {
+          for (int i = 0; i < size; i++) {
+            Assertions.assertEquals(expected[i], r[i], 1e-10);
+          }
+        }
+        Assertions.assertEquals(capacity, shared.size());
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link PowerTableCache}.
+ */
+@SuppressWarnings({"javadoc"})
+class PowerTableCacheTest {
+  @Test
+  void testPowerTableCacheThrows() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new PowerTableCache(0, 10));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new PowerTableCache(10, 0));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new PowerTableCache(10, (1 << 28) + 1));
+  }
+
+  @Test
+  void testPowerTableCache() {
+    final SplittableRandom rng = new SplittableRandom(623417L);
+    final int samples = 8;
+    final int capacity = 50;
+    final PowerTableCache cache = new PowerTableCache(samples, capacity);
+    final PowerTables t1 = cache.get(0.5, 0.25, 1);
+    Assertions.assertSame(t1, cache.get(0.51, 0.24, 0.99));
+    Assertions.assertEquals(1, cache.getHits());
+    Assertions.assertEquals(1, cache.getMisses());
+    Assertions.assertArrayEquals(PowerTables.create(0.5, 0.25, 1).getTable(), t1.getTable());
+    Assertions.assertArrayEquals(PowerTables.create(0.5, 0.25, 1).getTable6(), t1.getTable6());
+    // Random access with eviction
+    final int n = 5000;
+    for (int i = 0; i < n; i++) {
+      final int ix = rng.nextInt(samples + 1);
+      final int iy = rng.nextInt(samples + 1);
+      final int iz = rng.nextInt(samples + 1);
+      final double x = (double) ix / samples;
+      final double y = (double) iy / samples;
+      final double z = (double) iz / samples;
+      Assertions.assertArrayEquals(PowerTables.create(x, y, z).getTable2(),
+          cache.get(x, y, z).getTable2());
+      Assertions.assertTrue(cache.size() <= capacity);
+    }
+    Assertions.assertEquals(n + 2, cache.getHits() + cache.getMisses());
+    Assertions.assertEquals(capacity, cache.size());
+    // A recently used entry survives eviction
+    final PowerTables t2 = cache.get(0, 0, 0);
+    cache.get(0, 0, 0);
+    for (int i = 0; i < capacity / 2; i++) {
+      cache.get(1, 1, (double) i / capacity);
+    }
+    Assertions.assertSame(t2, cache.get(0, 0, 0));
+    cache.clear();
+    Assertions.assertEquals(0, cache.size());
+    Assertions.assertEquals(0, cache.getHits());
+    Assertions.assertNotSame(t2, cache.get(0, 0, 0));
+  }
+}
@@ -0,0 +1,101 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.SplittableRandom;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link TricubicEvaluator}.
+ */
+@SuppressWarnings({"javadoc"})
+class TricubicEvaluatorTest {
+  @Test
+  void testEvaluator() {
+    final SplittableRandom rng = new SplittableRandom(768123L);
+    final int maxx = 4;
+    final int maxy = 3;
+    final int maxz = 2;
+    final double[][] nodes = new double[maxx * maxy * maxz][];
+    for (int i = 0; i < nodes.length; i++) {
+      nodes[i] = TricubicFunctionTest.createCoefficients(rng);
+    }
+    final DoubleTricubicGrid grid = DoubleTricubicGrid.create(maxx, maxy, maxz, nodes);
+    final TricubicEvaluator evaluator = new TricubicEvaluator(grid);
+    final double x0 = 0.4;
+    final double y0 = 0.7;
+    final double z = 1.25;
+    final int width = 4;
+    final int height = 3;
+    final double[] buffer = evaluator.evaluate(x0, y0, z, width, height);
+    Assertions.assertSame(buffer, evaluator.getBuffer());
+    assertWindow(grid, nodes, buffer, x0, y0, z, width, height, 1);
+    // Non-integer steps change the offsets within the node for each pixel
+    assertWindow(grid, nodes, evaluator.evaluate(x0, y0, z, width, height, 0.75), x0, y0, z,
+        width, height, 0.75);
+    assertWindow(grid, nodes, evaluator.evaluate(0.1, 0.2, z, 2, 2, 2), 0.1, 0.2, z, 2, 2, 2);
+    // Smaller windows reuse the buffer
+    Assertions.assertSame(buffer, evaluator.evaluate(0, 0, 0, 2, 2));
+    // The last pixel is on the upper bound of the grid
+    assertWindow(grid, nodes, evaluator.evaluate(0, 0, z, 5, 4, 1), 0, 0, z, 5, 4, 1);
+    Assertions.assertThrows(OutOfRangeException.class,
+        () -> evaluator.evaluate(x0, y0, z, width + 1, height));
+    Assertions.assertThrows(OutOfRangeException.class,
+        () -> evaluator.evaluate(x0, y0, z, width, height, 1.5));
+  }
+
+  private static void assertWindow(DoubleTricubicGrid grid, double[][] nodes, double[] buffer,
+      double x0, double y0, double z, int width, int height, double step) {
+    final int maxx = grid.getMaxX();
+    final int maxy = grid.getMaxY();
+    final double[] d1 = new double[3];
+    final double[] d2 = new double[3];
+    for (int v = 0; v < height; v++) {
+      for (int u = 0; u < width; u++) {
+        final double x = x0 + u * step;
+        final double y = y0 + v * step;
+        final int i = Math.min((int) x, maxx - 1);
+        final int j = Math.min((int) y, maxy - 1);
+        final int k = (int) z;
+        final DoubleCustomTricubicFunctionArray f =
+            new DoubleCustomTricubicFunctionArray(nodes[i + maxx * (j + maxy * k)]);
+        final double value = f.value(TricubicFunctionTest.powerTable(new CubicSplinePosition(x - i),
+            new CubicSplinePosition(y - j), new CubicSplinePosition(z - k)), d1, d2);
+        final int offset = (u + v * width) * TricubicEvaluator.STRIDE;
+        TricubicFunctionTest.assertEquals(value, buffer[offset + TricubicEvaluator.VALUE], 1e-12);
+        for (int n = 0; n < 3; n++) {
+          TricubicFunctionTest.assertEquals(d1[n],
+              buffer[offset + TricubicEvaluator.GRADIENT + n], 1e-10);
+          TricubicFunctionTest.assertEquals(d2[n],
+              buffer[offset + TricubicEvaluator.HESSIAN + n], 1e-10);
+        }
+        final double[] single = new TricubicEvaluator(grid).evaluate(x, y, z);
+        for (int n = 0; n < TricubicEvaluator.STRIDE; n++) {
+          TricubicFunctionTest.assertEquals(single[n], buffer[offset + n], 1e-10);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,314 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.apache.commons.math3.exception.OutOfRangeException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for the custom tricubic functions.
+ */
+@SuppressWarnings({"javadoc"})
+class TricubicFunctionTest {
+  @Test
+  void testBatchValue() {
+    final SplittableRandom rng = new SplittableRandom(123786123L);
+    final double[] coeff = createCoefficients(rng);
+    final DoubleCustomTricubicFunctionArray f1 = new DoubleCustomTricubicFunctionArray(coeff);
+    final DoubleCustomTricubicFunctionData f2 =
+        new DoubleCustomTricubicFunctionData(new DoubleCubicSplineData(coeff));
+    final int size = 17;
+    final double[] x = rng.doubles(size).toArray();
+    final double[] y = rng.doubles(size).toArray();
+    final double[] z = rng.doubles(size).toArray();
+    // Include the node bounds
+    x[0] = y[0] = z[0] = 0;
+    x[1] = y[1] = z[1] = 1;
+    final double[] out1 = new double[size];
+    final double[] out2 = new double[size];
+    f1.batchValue(x, y, z, out1);
+    f2.batchValue(x, y, z, out2);
+    for (int i = 0; i < size; i++) {
+      final double expected = f2.value(new DoubleCubicSplineData(new CubicSplinePosition(x[i]),
+          new CubicSplinePosition(y[i]), new CubicSplinePosition(z[i])));
+      assertEquals(expected, out1[i], 1e-12);
+      assertEquals(expected, out2[i], 1e-12);
+      // Evaluation using the powers of the position
+      final double[] px = powers(x[i]);
+      final double[] py = powers(y[i]);
+      final double[] pz = powers(z[i]);
+      assertEquals(expected, f2.value0(px, py, pz), 1e-12);
+      final double[] d1 = new double[3];
+      final double[] d2 = new double[3];
+      assertEquals(f1.value1(px, py, pz, d1), f2.value1(px, py, pz, d2), 1e-12);
+      Assertions.assertArrayEquals(d1, d2, 1e-10);
+    }
+    Assertions.assertEquals(coeff[0], out1[0]);
+  }
+
+  @Test
+  void testPositions() {
+    final SplittableRandom rng = new SplittableRandom(6512387L);
+    final DoubleCustomTricubicFunctionArray f =
+        new DoubleCustomTricubicFunctionArray(createCoefficients(rng));
+    final int size = 11;
+    final double[] x = rng.doubles(size).toArray();
+    final double[] y = rng.doubles(size).toArray();
+    final double[] z = rng.doubles(size).toArray();
+    x[0] = 1;
+    final CubicSplinePositions px = new CubicSplinePositions(2);
+    final CubicSplinePositions py = new CubicSplinePositions(2).set(y);
+    final CubicSplinePositions pz = new CubicSplinePositions(size).set(z);
+    Assertions.assertSame(px, px.set(x));
+    Assertions.assertEquals(size, px.size());
+    final double[] out = new double[size];
+    f.batchValue(px, py, pz, out);
+    final double[] expected = new double[size];
+    f.batchValue(x, y, z, expected);
+    Assertions.assertArrayEquals(expected, out);
+    // The number of points is the size of the positions, not the capacity
+    final double[] x3 = Arrays.copyOf(x, 3);
+    final double[] y3 = Arrays.copyOf(y, 3);
+    final double[] z3 = Arrays.copyOf(z, 3);
+    final double[] out3 = new double[3];
+    f.batchValue(px.set(x3), py.set(y3), pz.set(z3), out3);
+    Assertions.assertArrayEquals(Arrays.copyOf(expected, 3), out3);
+    Assertions.assertThrows(IllegalArgumentException.class, () -> f.batchValue(px, py, pz, out));
+    py.set(y);
+    Assertions.assertThrows(IllegalArgumentException.class, () -> f.batchValue(px, py, pz, out3));
+    final MutableCubicSplinePosition mx = new MutableCubicSplinePosition();
+    final MutableCubicSplinePosition my = new MutableCubicSplinePosition();
+    final MutableCubicSplinePosition mz = new MutableCubicSplinePosition();
+    for (int i = 0; i < size; i++) {
+      final CubicSplinePosition p = new CubicSplinePosition(x[i]);
+      Assertions.assertEquals(p.getX(), px.getX(i));
+      Assertions.assertEquals(p.getX2(), px.getX2(i));
+      Assertions.assertEquals(p.getX3(), px.getX3(i));
+      Assertions.assertSame(mx, mx.set(x[i]));
+      Assertions.assertEquals(p.getX(), mx.getX());
+      Assertions.assertEquals(p.getX2(), mx.getX2());
+      Assertions.assertEquals(p.getX3(), mx.getX3());
+      assertEquals(expected[i], f.value(mx, my.set(y[i]), mz.set(z[i])), 1e-12);
+      assertEquals(expected[i], f.value(p, new CubicSplinePosition(y[i]),
+          new CubicSplinePosition(z[i])), 1e-12);
+    }
+    x[3] = 1.5;
+    Assertions.assertThrows(OutOfRangeException.class, () -> px.set(x));
+    Assertions.assertEquals(0, px.size());
+    Assertions.assertThrows(OutOfRangeException.class, () -> mx.set(Double.NaN));
+  }
+
+  @Test
+  void testLatticeValue() {
+    final SplittableRandom rng = new SplittableRandom(9812734L);
+    final DoubleCustomTricubicFunctionArray f =
+        new DoubleCustomTricubicFunctionArray(createCoefficients(rng));
+    final double[] x = {0, 0.25, 0.6, 1};
+    final double[] y = rng.doubles(3).toArray();
+    final double[] z = rng.doubles(2).toArray();
+    final double[] out = new double[x.length * y.length * z.length];
+    f.latticeValue(x, y, z, out);
+    int index = 0;
+    for (final double zz : z) {
+      for (final double yy : y) {
+        for (final double xx : x) {
+          final double expected = f.value0(powers(xx), powers(yy), powers(zz));
+          assertEquals(expected, out[index++], 1e-12);
+        }
+      }
+    }
+  }
+
+  @Test
+  void testValueHessian() {
+    final SplittableRandom rng = new SplittableRandom(3482934L);
+    final double[] coeff = createCoefficients(rng);
+    final DoubleCustomTricubicFunctionArray f = new DoubleCustomTricubicFunctionArray(coeff);
+    final double[] d1 = new double[3];
+    final double[] d2 = new double[3];
+    final double[] h1 = new double[3];
+    final double[] hessian = new double[9];
+    for (int n = 0; n < 10; n++) {
+      final double[] p = {rng.nextDouble(), rng.nextDouble(), rng.nextDouble()};
+      final double[] table = powerTable(new CubicSplinePosition(p[0]),
+          new CubicSplinePosition(p[1]), new CubicSplinePosition(p[2]));
+      final double value = f.value(table, d1, d2);
+      Assertions.assertEquals(value, f.valueHessian(table, scale(table, 2), scale(table, 3),
+          scale(table, 6), h1, hessian), Math.abs(value) * 1e-12);
+      for (int i = 0; i < 3; i++) {
+        assertEquals(d1[i], h1[i], 1e-12);
+        assertEquals(d2[i], hessian[i * 4], 1e-12);
+        for (int j = 0; j < 3; j++) {
+          // Differentiate the polynomial term by term
+          final int[] order = new int[3];
+          order[i]++;
+          order[j]++;
+          double expected = 0;
+          for (int m = 0; m < 64; m++) {
+            final int[] power = {m & 3, (m >> 2) & 3, m >> 4};
+            double term = coeff[m];
+            for (int k = 0; k < 3; k++) {
+              for (int o = 0; o < order[k]; o++) {
+                term *= power[k] - o;
+              }
+              term *= Math.pow(p[k], Math.max(0, power[k] - order[k]));
+            }
+            expected += term;
+          }
+          Assertions.assertEquals(expected, hessian[i * 3 + j], Math.abs(expected) * 1e-10);
+        }
+      }
+    }
+  }
+
+  static double[] scale(double[] table, double factor) {
+    final double[] scaled = new double[table.length];
+    for (int i = 0; i < table.length; i++) {
+      scaled[i] = table[i] * factor;
+    }
+    return scaled;
+  }
+
+  @Test
+  void testLanesValue() {
+    final SplittableRandom rng = new SplittableRandom(3468173L);
+    final double[] coeff = createCoefficients(rng);
+    final DoubleCustomTricubicFunctionArray f1 = new DoubleCustomTricubicFunctionArray(coeff);
+    final DoubleCustomTricubicFunctionData f2 =
+        new DoubleCustomTricubicFunctionData(new DoubleCubicSplineData(coeff));
+    final float[] fcoeff = new float[64];
+    for (int i = 0; i < 64; i++) {
+      fcoeff[i] = (float) coeff[i];
+    }
+    final FloatCustomTricubicFunctionArray f3 = new FloatCustomTricubicFunctionArray(fcoeff);
+    final double[] d1 = new double[3];
+    final double[] d2 = new double[3];
+    for (int n = 0; n < 20; n++) {
+      final CubicSplinePosition x = new CubicSplinePosition(rng.nextDouble());
+      final CubicSplinePosition y = new CubicSplinePosition(rng.nextDouble());
+      final CubicSplinePosition z = new CubicSplinePosition(rng.nextDouble());
+      final double[] table = powerTable(x, y, z);
+      final float[] ftable = new float[64];
+      for (int i = 0; i < 64; i++) {
+        ftable[i] = (float) table[i];
+      }
+      final DoubleCubicSplineData data = new DoubleCubicSplineData(x, y, z);
+      for (final TricubicKernel kernel : TricubicKernel.values()) {
+        assertEquals(f1.value(table), f1.value(table, kernel), 1e-12);
+        assertEquals(f1.value(table, d1), f1.value(table, d2, kernel), 1e-12);
+        assertGradient(d1, d2, 1e-10);
+        assertEquals(f2.value(data), f2.value(data, kernel), 1e-12);
+        assertEquals(f2.value(data, d1), f2.value(data, d2, kernel), 1e-12);
+        assertGradient(d1, d2, 1e-10);
+        Assertions.assertEquals(f3.value(ftable), f3.value(ftable, kernel), 1e-3);
+        Assertions.assertEquals(f3.value(ftable, d1), f3.value(ftable, d2, kernel), 1e-3);
+        assertGradient(d1, d2, 1e-3);
+      }
+    }
+  }
+
+  /**
+   * Test the float path error against the double path using the same (float) coefficients. The
+   * error bound is a multiple of the unit roundoff {@code u = 2^-24} times the sum of the absolute
+   * terms. The float path has rounding in the power table (up to 8 products), the term product (1)
+   * and the pairwise summation of 64 terms (6); the gradient has 2 more operations to combine the
+   * sums for each power. The test uses 16u which covers all these.
+   */
+  @Test
+  void testFloatValueErrorBound() {
+    final SplittableRandom rng = new SplittableRandom(2861238L);
+    // The bound gamma(15) = 15u / (1 - 15u) derived for the pairwise summation
+    final double u = 0x1.0p-24;
+    final double gamma = 15 * u / (1 - 15 * u);
+    for (int n = 0; n < 200; n++) {
+      final float[] fcoeff = new float[64];
+      final double[] coeff = new double[64];
+      final double[] absCoeff = new double[64];
+      for (int i = 0; i < 64; i++) {
+        fcoeff[i] = (float) rng.nextDouble(-10, 10);
+        coeff[i] = fcoeff[i];
+        absCoeff[i] = Math.abs(coeff[i]);
+      }
+      final FloatCustomTricubicFunctionArray f = new FloatCustomTricubicFunctionArray(fcoeff);
+      final DoubleCustomTricubicFunctionArray expectedF =
+          new DoubleCustomTricubicFunctionArray(coeff);
+      final DoubleCustomTricubicFunctionArray absF =
+          new DoubleCustomTricubicFunctionArray(absCoeff);
+      final float x = (float) rng.nextDouble();
+      final float y = (float) rng.nextDouble();
+      final float z = (float) rng.nextDouble();
+      final float[] ftable = FloatCustomTricubicFunctionArray.computePowerTable(x, y, z);
+      final double[] table = powerTable(new CubicSplinePosition(x), new CubicSplinePosition(y),
+          new CubicSplinePosition(z));
+      final double[] d1 = new double[3];
+      final double[] absD1 = new double[3];
+      final float[] fd1 = new float[3];
+      final double expected = expectedF.value(table, d1);
+      final double absSum = absF.value(table, absD1);
+      final double error = Math.abs(f.valueFloat(ftable) - expected);
+      Assertions.assertEquals(error, Math.abs(f.valueFloat(ftable, fd1) - expected));
+      Assertions.assertTrue(error <= gamma * absSum, () -> "value error " + error);
+      for (int i = 0; i < 3; i++) {
+        final double e = Math.abs(fd1[i] - d1[i]);
+        Assertions.assertTrue(e <= gamma * absD1[i], () -> "gradient error " + e);
+      }
+    }
+  }
+
+  static void assertGradient(double[] expected, double[] actual, double delta) {
+    for (int i = 0; i < 3; i++) {
+      Assertions.assertEquals(expected[i], actual[i], delta);
+    }
+  }
+
+  static double[] powerTable(CubicSplinePosition x, CubicSplinePosition y,
+      CubicSplinePosition z) {
+    final double[] px = {1, x.x1, x.x2, x.x3};
+    final double[] py = {1, y.x1, y.x2, y.x3};
+    final double[] pz = {1, z.x1, z.x2, z.x3};
+    final double[] table = new double[64];
+    for (int k = 0; k < 4; k++) {
+      for (int j = 0; j < 4; j++) {
+        for (int i = 0; i < 4; i++) {
+          table[k * 16 + j * 4 + i] = px[i] * py[j] * pz[k];
+        }
+      }
+    }
+    return table;
+  }
+
+  static double[] powers(double x) {
+    return new double[] {x, x * x, x * x * x};
+  }
+
+  static double[] createCoefficients(SplittableRandom rng) {
+    return rng.doubles(64, -10, 10).toArray();
+  }
+
+  static void assertEquals(double expected, double actual, double relativeError) {
+    Assertions.assertEquals(expected, actual, Math.abs(expected) * relativeError);
+  }
+}
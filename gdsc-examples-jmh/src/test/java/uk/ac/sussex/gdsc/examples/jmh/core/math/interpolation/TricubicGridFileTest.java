@@ -0,0 +1,91 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link TricubicGridFile}.
+ */
+@SuppressWarnings({"javadoc"})
+class TricubicGridFileTest {
+  @Test
+  void testGridFile() throws IOException {
+    final SplittableRandom rng = new SplittableRandom(97123414L);
+    final int maxx = 3;
+    final int maxy = 2;
+    final int maxz = 4;
+    final double[][] nodes = new double[maxx * maxy * maxz][];
+    for (int i = 0; i < nodes.length; i++) {
+      nodes[i] = TricubicFunctionTest.createCoefficients(rng);
+    }
+    // Shared nodes
+    nodes[3] = nodes[1];
+    nodes[7] = nodes[1];
+    final DoubleTricubicGrid grid = DoubleTricubicGrid.create(maxx, maxy, maxz, nodes);
+    final Path path = Files.createTempFile("grid", ".bin");
+    try {
+      TricubicGridFile.write(grid, path, false);
+      // Header (32) + index (96) is aligned to 128
+      Assertions.assertEquals(128 + (nodes.length - 2) * 64 * 8, Files.size(path));
+      final DoubleTricubicGrid grid2 = TricubicGridFile.read(path);
+      Assertions.assertArrayEquals(grid.getCoefficients(), grid2.getCoefficients());
+      assertSameGrid(grid, TricubicGridFile.map(path), 1e-10);
+
+      TricubicGridFile.write(grid, path, true);
+      // Coefficients are in [-10, 10]: expect float rounding errors of 64 * 10 * 2^-24
+      assertSameGrid(grid, TricubicGridFile.map(path), 1e-4);
+
+      Files.write(path, new byte[64]);
+      Assertions.assertThrows(IOException.class, () -> TricubicGridFile.map(path));
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  private static void assertSameGrid(DoubleTricubicGrid expected, MappedTricubicGrid actual,
+      double delta) {
+    Assertions.assertEquals(expected.getMaxX(), actual.getMaxX());
+    Assertions.assertEquals(expected.getMaxY(), actual.getMaxY());
+    Assertions.assertEquals(expected.getMaxZ(), actual.getMaxZ());
+    final SplittableRandom rng = new SplittableRandom(7621L);
+    final double[] d1 = new double[3];
+    final double[] d2 = new double[3];
+    for (int n = 0; n < 50; n++) {
+      final double x = rng.nextDouble() * expected.getMaxX();
+      final double y = rng.nextDouble() * expected.getMaxY();
+      final double z = rng.nextDouble() * expected.getMaxZ();
+      Assertions.assertEquals(expected.value(x, y, z), actual.value(x, y, z), delta);
+      Assertions.assertEquals(expected.value(x, y, z, d1), actual.value(x, y, z, d2), delta);
+      for (int m = 0; m < 3; m++) {
+        // Gradient terms are scaled by up to 3
+        Assertions.assertEquals(d1[m], d2[m], 3 * delta);
+      }
+    }
+  }
+}
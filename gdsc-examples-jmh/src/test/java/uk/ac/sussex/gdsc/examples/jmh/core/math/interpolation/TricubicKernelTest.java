@@ -0,0 +1,41 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link TricubicKernel}.
+ */
+@SuppressWarnings({"javadoc"})
+class TricubicKernelTest {
+  @Test
+  void testKernelParse() {
+    Assertions.assertEquals(TricubicKernel.LANES, TricubicKernel.parse(null));
+    Assertions.assertEquals(TricubicKernel.LANES, TricubicKernel.parse("lanes"));
+    Assertions.assertEquals(TricubicKernel.SCALAR, TricubicKernel.parse("SCALAR"));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> TricubicKernel.parse("unknown"));
+  }
+}
@@ -0,0 +1,86 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link TricubicModel}.
+ */
+@SuppressWarnings({"javadoc"})
+class TricubicModelTest {
+  @Test
+  void testModel() {
+    final SplittableRandom rng = new SplittableRandom(7861231L);
+    final int maxx = 3;
+    final int maxy = 4;
+    final int maxz = 2;
+    final double[][] nodes = new double[maxx * maxy * maxz][];
+    for (int i = 0; i < nodes.length; i++) {
+      nodes[i] = TricubicFunctionTest.createCoefficients(rng);
+    }
+    final DoubleTricubicGrid grid = DoubleTricubicGrid.create(maxx, maxy, maxz, nodes,
+        DoubleTricubicGrid.Layout.MORTON);
+    final TricubicModel model = new TricubicModel(grid);
+    Assertions.assertSame(grid, model.getGrid());
+    final int size = 100;
+    final double[] x = rng.doubles(size, 0, maxx).toArray();
+    final double[] y = rng.doubles(size, 0, maxy).toArray();
+    final double[] z = rng.doubles(size, 0, maxz).toArray();
+    final double[] expected = new double[size * 4];
+    final double[] d1 = new double[3];
+    for (int i = 0; i < size; i++) {
+      expected[i * 4] = grid.value(x[i], y[i], z[i], d1);
+      System.arraycopy(d1, 0, expected, i * 4 + 1, 3);
+    }
+    // Evaluate concurrently using a context per task
+    final ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      final double[][] results = new double[8][];
+      pool.submit(() -> IntStream.range(0, results.length).parallel()
+          .forEach(t -> {
+            final TricubicModel.Context context = model.newContext();
+            final double[] derivative1 = new double[3];
+            final double[] r = new double[size * 4];
+            for (int i = 0; i < size; i++) {
+              context.setPosition(x[i], y[i], z[i]);
+              Assertions.assertEquals(context.value(), context.value(derivative1));
+              r[i * 4] = context.value(derivative1);
+              System.arraycopy(derivative1, 0, r, i * 4 + 1, 3);
+            }
+            results[t] = r;
+          })).join();
+      for (final double[] r : results) {
+        for (int i = 0; i < r.length; i++) {
+          TricubicFunctionTest.assertEquals(expected[i], r[i], 1e-10);
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
@@ -0,0 +1,62 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link TricubicMultiGradient}.
+ */
+@SuppressWarnings({"javadoc"})
+class TricubicMultiGradientTest {
+  @Test
+  void testMultiGradient() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> TricubicMultiGradient.create());
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> TricubicMultiGradient.create(new double[63]));
+    final SplittableRandom rng = new SplittableRandom(1236123L);
+    final int size = 5;
+    final double[][] coeff = new double[size][];
+    for (int i = 0; i < size; i++) {
+      coeff[i] = TricubicFunctionTest.createCoefficients(rng);
+    }
+    final TricubicMultiGradient multi = TricubicMultiGradient.create(coeff);
+    Assertions.assertEquals(size, multi.getSize());
+    final double[] d1 = new double[3];
+    final double[] derivative1 = new double[3 * size];
+    for (int n = 0; n < 10; n++) {
+      final double[] table = TricubicFunctionTest.powerTable(
+          new CubicSplinePosition(rng.nextDouble()), new CubicSplinePosition(rng.nextDouble()),
+          new CubicSplinePosition(rng.nextDouble()));
+      multi.gradient(table, derivative1);
+      for (int i = 0; i < size; i++) {
+        new DoubleCustomTricubicFunctionArray(coeff[i]).gradient(table, d1);
+        for (int j = 0; j < 3; j++) {
+          TricubicFunctionTest.assertEquals(d1[j], derivative1[3 * i + j], 1e-12);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,84 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link TricubicRenderer}.
+ */
+@SuppressWarnings({"javadoc"})
+class TricubicRendererTest {
+  @Test
+  void testRender() {
+    final SplittableRandom rng = new SplittableRandom(126378123L);
+    final int maxx = 4;
+    final int maxy = 3;
+    final int maxz = 2;
+    final double[][] nodes = new double[maxx * maxy * maxz][];
+    for (int i = 0; i < nodes.length; i++) {
+      nodes[i] = TricubicFunctionTest.createCoefficients(rng);
+    }
+    final DoubleTricubicGrid grid = DoubleTricubicGrid.create(maxx, maxy, maxz, nodes);
+    final TricubicRenderer renderer = new TricubicRenderer(grid, 5);
+    final ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      // The image extends outside the grid
+      assertRender(grid, renderer, pool, -0.75, 0.125, 0.3, 0.25, 0.6, 21, 14, 4);
+      // Pixels further apart than the nodes skip nodes within a tile
+      assertRender(grid, renderer, pool, 0.2, -1.1, 0.5, 1.5, 0.5, 7, 6, 3);
+      assertRender(grid, renderer, pool, 0, 0, 1, 2, 1, 3, 2, 1);
+    } finally {
+      pool.shutdown();
+    }
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new TricubicRenderer(grid, 0));
+  }
+
+  private static void assertRender(DoubleTricubicGrid grid, TricubicRenderer renderer,
+      ForkJoinPool pool, double x0, double y0, double z0, double step, double zstep, int width,
+      int height, int depth) {
+    final int maxx = grid.getMaxX();
+    final int maxy = grid.getMaxY();
+    final int maxz = grid.getMaxZ();
+    final double[] expected = new double[width * height * depth];
+    for (int z = 0, i = 0; z < depth; z++) {
+      for (int y = 0; y < height; y++) {
+        for (int x = 0; x < width; x++, i++) {
+          final double gx = x0 + x * step;
+          final double gy = y0 + y * step;
+          final double gz = z0 + z * zstep;
+          if (gx >= 0 && gx <= maxx && gy >= 0 && gy <= maxy && gz >= 0 && gz <= maxz) {
+            expected[i] = grid.value(gx, gy, gz);
+          }
+        }
+      }
+    }
+    Assertions.assertArrayEquals(expected,
+        renderer.render(x0, y0, z0, step, zstep, width, height, depth, null), 1e-10);
+    Assertions.assertArrayEquals(expected,
+        renderer.render(x0, y0, z0, step, zstep, width, height, depth, pool), 1e-10);
+  }
+}
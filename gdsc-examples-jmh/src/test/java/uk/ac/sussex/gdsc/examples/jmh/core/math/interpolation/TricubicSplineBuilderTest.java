@@ -0,0 +1,94 @@
+/*-
+ * #%L
+ * Code for running JMH benchmarks to assess performance.
+ * %%
+ * Copyright (C) 2018 - 2020 Alex Herbert
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-3.0.html>.
+ * #L%
+ */
+
+package uk.ac.sussex.gdsc.examples.jmh.core.math.interpolation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link TricubicSplineBuilder}.
+ */
+@SuppressWarnings({"javadoc"})
+class TricubicSplineBuilderTest {
+  @Test
+  void testSplineBuilder() {
+    final SplittableRandom rng = new SplittableRandom(2368172L);
+    final int nx = 6;
+    final int ny = 5;
+    final int nz = 7;
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new TricubicSplineBuilder(1, ny, nz, new double[ny * nz]));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new TricubicSplineBuilder(nx, ny, nz, new double[nx * ny]));
+
+    // A linear function is reproduced exactly by the finite differences
+    final double[] values = new double[nx * ny * nz];
+    for (int k = 0, n = 0; k < nz; k++) {
+      for (int j = 0; j < ny; j++) {
+        for (int i = 0; i < nx; i++) {
+          values[n++] = 3 + 0.5 * i - 1.25 * j + 2 * k;
+        }
+      }
+    }
+    DoubleTricubicGrid grid = new TricubicSplineBuilder(nx, ny, nz, values).build(null);
+    Assertions.assertEquals(nx - 1, grid.getMaxX());
+    Assertions.assertEquals(ny - 1, grid.getMaxY());
+    Assertions.assertEquals(nz - 1, grid.getMaxZ());
+    final double[] d1 = new double[3];
+    for (int n = 0; n < 20; n++) {
+      final double x = rng.nextDouble(nx - 1);
+      final double y = rng.nextDouble(ny - 1);
+      final double z = rng.nextDouble(nz - 1);
+      Assertions.assertEquals(3 + 0.5 * x - 1.25 * y + 2 * z, grid.value(x, y, z, d1), 1e-10);
+      Assertions.assertArrayEquals(new double[] {0.5, -1.25, 2}, d1, 1e-10);
+    }
+
+    // Random values are interpolated at the samples
+    for (int i = 0; i < values.length; i++) {
+      values[i] = rng.nextDouble();
+    }
+    final TricubicSplineBuilder builder = new TricubicSplineBuilder(nx, ny, nz, values);
+    grid = builder.build(null);
+    for (int k = 0, n = 0; k < nz; k++) {
+      for (int j = 0; j < ny; j++) {
+        for (int i = 0; i < nx; i++) {
+          Assertions.assertEquals(values[n++], grid.value(i, j, k), 1e-10);
+        }
+      }
+    }
+    final ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      Assertions.assertArrayEquals(grid.getCoefficients(), builder.build(pool).getCoefficients());
+      builder.buildAndDiscard(pool);
+    } finally {
+      pool.shutdown();
+    }
+    // Build in chunks
+    final double[] c = new double[builder.getPlaneSize() * builder.getPlanes()];
+    builder.build(0, 2, c, 0);
+    builder.build(2, builder.getPlanes(), c, 2 * builder.getPlaneSize());
+    Assertions.assertArrayEquals(grid.getCoefficients(), c);
+  }
+}